@@ -0,0 +1,101 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.benchmark;
+
+import io.github.crramirez.casvizer.dialect.Dialect;
+import io.github.crramirez.casvizer.dialect.DialectFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Types;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL generation of each {@link Dialect}: identifier quoting, pagination, EXPLAIN and
+ * sampling queries, catalog queries and type mapping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DialectBenchmark {
+
+    private static final String QUERY = "SELECT o.id, o.total, c.name FROM orders o JOIN customers c "
+        + "ON c.id = o.customer_id WHERE o.status = 'open' ORDER BY o.created DESC";
+    private static final int[] SQL_TYPES = {Types.INTEGER, Types.BIGINT, Types.DECIMAL, Types.DOUBLE,
+        Types.VARCHAR, Types.CLOB, Types.DATE, Types.TIMESTAMP, Types.BOOLEAN, Types.BLOB};
+
+    @Param({"postgresql", "mysql", "sqlite"})
+    private String databaseType;
+
+    private Dialect dialect;
+    private List<String> hashColumns;
+
+    @Setup
+    public void setUp() {
+        dialect = DialectFactory.getDialect(databaseType);
+        hashColumns = List.of(dialect.quoteIdentifier("total"), dialect.quoteIdentifier("name"),
+            dialect.quoteIdentifier("status"));
+    }
+
+    @Benchmark
+    public String quoteIdentifier() {
+        return dialect.quoteIdentifier("order \"items\"");
+    }
+
+    @Benchmark
+    public String addPagination() {
+        return dialect.addPagination(QUERY, 100, 5000);
+    }
+
+    @Benchmark
+    public String structuredExplainQuery() {
+        return dialect.getStructuredExplainQuery(QUERY, true);
+    }
+
+    @Benchmark
+    public String sampleQuery() {
+        return dialect.getSampleQuery("public", "orders", 100, 1_000_000L, "id");
+    }
+
+    @Benchmark
+    public String rangeHashQuery() {
+        return dialect.getRangeHashQuery(QUERY, dialect.quoteIdentifier("id"), hashColumns, 0, 1_000_000, 1000);
+    }
+
+    @Benchmark
+    public void catalogQueries(Blackhole blackhole) {
+        blackhole.consume(dialect.getListTablesQuery("public"));
+        blackhole.consume(dialect.getListColumnsQuery("public", "orders"));
+        blackhole.consume(dialect.getTableStatisticsQueries("public"));
+    }
+
+    @Benchmark
+    public void columnTypeNames(Blackhole blackhole) {
+        for (int sqlType : SQL_TYPES) {
+            blackhole.consume(dialect.getColumnTypeName(sqlType, 12, 2));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.benchmark;
+
+import io.github.crramirez.casvizer.model.QueryResult;
+import io.github.crramirez.casvizer.service.ExportService;
+import io.github.crramirez.casvizer.service.QueryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of each {@link ExportService} encoder to write a materialized result to a file.
+ * The result is read once per trial, so only encoding and writing are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExportServiceBenchmark {
+
+    @Param({"10000", "100000"})
+    private int rows;
+
+    private final ExportService exportService = new ExportService();
+    private QueryResult result;
+    private Path directory;
+    private String filename;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        try (SqliteFixture fixture = SqliteFixture.create(rows, 0)) {
+            result = new QueryService().executeQuery(fixture.getConnection(), "SELECT * FROM " + SqliteFixture.TABLE);
+        }
+        directory = Files.createTempDirectory("casvizer-jmh-export");
+        filename = directory.resolve("export.out").toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        SqliteFixture.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public long csv() throws Exception {
+        exportService.exportToCSV(result, filename);
+        return new File(filename).length();
+    }
+
+    @Benchmark
+    public long sql() throws Exception {
+        exportService.exportToSQL(result, SqliteFixture.TABLE, filename);
+        return new File(filename).length();
+    }
+
+    @Benchmark
+    public long text() throws Exception {
+        exportService.exportToText(result, filename);
+        return new File(filename).length();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.benchmark;
+
+import io.github.crramirez.casvizer.service.MetadataService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catalog loading as done by the database browser: listing tables, their statistics and
+ * the columns of a table, on a catalog of {@code tables} tables.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MetadataServiceBenchmark {
+
+    private static final int ROWS = 1000;
+
+    @Param({"100", "1000"})
+    private int tables;
+
+    private final MetadataService metadataService = new MetadataService();
+    private SqliteFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = SqliteFixture.create(ROWS, tables);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        fixture.close();
+    }
+
+    @Benchmark
+    public List<String> listTables() throws Exception {
+        return metadataService.listTables(fixture.getConnection(), null);
+    }
+
+    @Benchmark
+    public Map<String, MetadataService.TableStatistics> tableStatistics() throws Exception {
+        return metadataService.getTableStatistics(fixture.getConnection(), null);
+    }
+
+    @Benchmark
+    public List<MetadataService.ColumnInfo> listColumns() throws Exception {
+        return metadataService.listColumns(fixture.getConnection(), null, SqliteFixture.CATALOG_TABLE_PREFIX + 0);
+    }
+}
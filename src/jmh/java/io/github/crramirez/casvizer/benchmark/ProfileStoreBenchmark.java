@@ -0,0 +1,79 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.benchmark;
+
+import io.github.crramirez.casvizer.model.ConnectionProfile;
+import io.github.crramirez.casvizer.persistence.ProfileStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to load the profiles file, which includes decrypting every stored password.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProfileStoreBenchmark {
+
+    @Param({"10", "100"})
+    private int profiles;
+
+    private Path directory;
+    private ProfileStore profileStore;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("casvizer-jmh-profiles");
+        profileStore = new ProfileStore(directory.resolve("profiles.json").toString());
+        List<ConnectionProfile> list = new ArrayList<>();
+        for (int i = 0; i < profiles; i++) {
+            ConnectionProfile profile = new ConnectionProfile("profile-" + i, (i % 2 == 0) ? "postgresql" : "mysql");
+            profile.setHost("db" + i + ".example.com");
+            profile.setPort((i % 2 == 0) ? 5432 : 3306);
+            profile.setDatabase("app");
+            profile.setUsername("user" + i);
+            profile.setPassword("secret-" + i);
+            list.add(profile);
+        }
+        profileStore.saveProfiles(list);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        SqliteFixture.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public List<ConnectionProfile> loadProfiles() throws Exception {
+        return profileStore.loadProfiles();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.benchmark;
+
+import io.github.crramirez.casvizer.model.QueryResult;
+import io.github.crramirez.casvizer.service.QueryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to run a query and materialize its rows into a {@link QueryResult}. Reading from
+ * SQLite is part of the measurement, as it is for users.
+ * <p>
+ * SQLite columns only carry a type affinity, so {@link QueryService} reads them with
+ * {@code getObject} and the type-specialized column readers are not measured here; see
+ * {@link io.github.crramirez.casvizer.service.ColumnReaderBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class QueryServiceBenchmark {
+
+    @Param({"10000", "100000"})
+    private int rows;
+
+    private SqliteFixture fixture;
+    private QueryService queryService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = SqliteFixture.create(rows, 0);
+        queryService = new QueryService();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        fixture.close();
+    }
+
+    @Benchmark
+    public QueryResult materializeAll() throws Exception {
+        return queryService.executeQuery(fixture.getConnection(), "SELECT * FROM " + SqliteFixture.TABLE);
+    }
+
+    @Benchmark
+    public QueryResult materializePage() throws Exception {
+        return queryService.executeQuery(fixture.getConnection(), "SELECT * FROM " + SqliteFixture.TABLE, 1000, 0);
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.benchmark;
+
+import io.github.crramirez.casvizer.model.ConnectionProfile;
+import io.github.crramirez.casvizer.model.DatabaseConnection;
+import io.github.crramirez.casvizer.service.TableWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Generated SQLite database used by the benchmarks.
+ * <p>
+ * The {@value #TABLE} table holds {@code rows} rows mixing integers, decimals, short and
+ * long text, dates and nulls, the way a typical result does; {@code tables} more tables
+ * with a few columns each give the catalog something to list. Values come from a fixed
+ * seed so every run reads the same data.
+ * <p>
+ * The wide numeric fixture instead holds a single {@value #WIDE_TABLE} table of
+ * {@value #WIDE_INTEGER_COLUMNS} INTEGER and {@value #WIDE_REAL_COLUMNS} REAL columns with
+ * occasional nulls. Every value matches its declared type, so typed column readers can be
+ * used on it even though SQLite does not enforce column types.
+ */
+public final class SqliteFixture implements AutoCloseable {
+
+    public static final String WIDE_TABLE = "bench_numeric";
+    public static final int WIDE_INTEGER_COLUMNS = 12;
+    public static final int WIDE_REAL_COLUMNS = 12;
+
+    static final String TABLE = "bench_rows";
+    static final String CATALOG_TABLE_PREFIX = "catalog_";
+
+    private static final long SEED = 42;
+    private static final String[] CATEGORIES = {"books", "games", "garden", "music", "tools", "toys"};
+
+    private final Path directory;
+    private final DatabaseConnection connection;
+
+    private SqliteFixture(Path directory, DatabaseConnection connection) {
+        this.directory = directory;
+        this.connection = connection;
+    }
+
+    /**
+     * Create and connect to a fixture database in a new temporary directory.
+     *
+     * @param rows Number of rows of the {@value #TABLE} table
+     * @param tables Number of additional catalog tables
+     * @return The open fixture
+     * @throws IOException if the directory cannot be created
+     * @throws SQLException if the database cannot be filled
+     */
+    static SqliteFixture create(int rows, int tables) throws IOException, SQLException {
+        SqliteFixture fixture = open();
+        try {
+            fixture.fillRows(rows);
+            fixture.createCatalogTables(tables);
+        } catch (SQLException | RuntimeException e) {
+            fixture.close();
+            throw e;
+        }
+        return fixture;
+    }
+
+    /**
+     * Create and connect to a wide numeric fixture database in a new temporary directory.
+     *
+     * @param rows Number of rows of the {@value #WIDE_TABLE} table
+     * @return The open fixture
+     * @throws IOException if the directory cannot be created
+     * @throws SQLException if the database cannot be filled
+     */
+    public static SqliteFixture createWideNumeric(int rows) throws IOException, SQLException {
+        SqliteFixture fixture = open();
+        try {
+            fixture.fillWideNumeric(rows);
+        } catch (SQLException | RuntimeException e) {
+            fixture.close();
+            throw e;
+        }
+        return fixture;
+    }
+
+    private static SqliteFixture open() throws IOException, SQLException {
+        Path directory = Files.createTempDirectory("casvizer-jmh");
+        ConnectionProfile profile = new ConnectionProfile("benchmark", "sqlite");
+        profile.setDatabase(directory.resolve("fixture.db").toString());
+        DatabaseConnection connection = new DatabaseConnection(profile);
+        connection.connect();
+        return new SqliteFixture(directory, connection);
+    }
+
+    public DatabaseConnection getConnection() {
+        return connection;
+    }
+
+    Path getDirectory() {
+        return directory;
+    }
+
+    private void fillRows(int rows) throws SQLException {
+        List<TableWriter.Column> columns = List.of(
+            new TableWriter.Column("id", Types.BIGINT, 19, 0),
+            new TableWriter.Column("name", Types.VARCHAR, 40, 0),
+            new TableWriter.Column("category", Types.VARCHAR, 20, 0),
+            new TableWriter.Column("amount", Types.DOUBLE, 15, 0),
+            new TableWriter.Column("quantity", Types.INTEGER, 10, 0),
+            new TableWriter.Column("created", Types.VARCHAR, 10, 0),
+            new TableWriter.Column("note", Types.VARCHAR, 200, 0));
+        Random random = new Random(SEED);
+        try (TableWriter writer = new TableWriter(connection, TABLE, columns, TableWriter.DEFAULT_BATCH_SIZE)) {
+            writer.createTable(true);
+            for (int i = 1; i <= rows; i++) {
+                String note = (random.nextInt(4) == 0) ? null
+                    : "Note " + Long.toHexString(random.nextLong()) + " for row " + i;
+                writer.write(new Object[] {
+                    (long) i,
+                    "item-" + random.nextInt(rows),
+                    CATEGORIES[random.nextInt(CATEGORIES.length)],
+                    Math.round(random.nextDouble() * 100_000) / 100.0,
+                    random.nextInt(1000),
+                    String.format("2025-%02d-%02d", 1 + random.nextInt(12), 1 + random.nextInt(28)),
+                    note});
+            }
+            writer.flush();
+        }
+    }
+
+    private void fillWideNumeric(int rows) throws SQLException {
+        List<TableWriter.Column> columns = new ArrayList<>();
+        for (int i = 0; i < WIDE_INTEGER_COLUMNS; i++) {
+            columns.add(new TableWriter.Column("i" + i, Types.INTEGER, 10, 0));
+        }
+        for (int i = 0; i < WIDE_REAL_COLUMNS; i++) {
+            columns.add(new TableWriter.Column("r" + i, Types.DOUBLE, 15, 0));
+        }
+        Random random = new Random(SEED);
+        try (TableWriter writer = new TableWriter(connection, WIDE_TABLE, columns, TableWriter.DEFAULT_BATCH_SIZE)) {
+            writer.createTable(true);
+            for (int row = 1; row <= rows; row++) {
+                Object[] values = new Object[columns.size()];
+                for (int i = 0; i < values.length; i++) {
+                    // The first row has no nulls, since the SQLite driver derives column classes from it
+                    if (row > 1 && random.nextInt(20) == 0) {
+                        continue;
+                    }
+                    values[i] = (i < WIDE_INTEGER_COLUMNS)
+                        ? (Object) random.nextInt(1_000_000)
+                        : (Object) (random.nextDouble() * 1_000_000);
+                }
+                writer.write(values);
+            }
+            writer.flush();
+        }
+    }
+
+    private void createCatalogTables(int tables) throws SQLException {
+        try (Statement stmt = connection.getConnection().createStatement()) {
+            for (int i = 0; i < tables; i++) {
+                stmt.addBatch("CREATE TABLE " + CATALOG_TABLE_PREFIX + i + " (id INTEGER PRIMARY KEY, "
+                    + "code TEXT NOT NULL, label TEXT, price NUMERIC(10, 2) DEFAULT 0, stock INTEGER, "
+                    + "updated TIMESTAMP, payload BLOB)");
+            }
+            stmt.addBatch("ANALYZE");
+            stmt.executeBatch();
+        }
+    }
+
+    @Override
+    public void close() throws IOException, SQLException {
+        try {
+            connection.disconnect();
+        } finally {
+            deleteDirectory(directory);
+        }
+    }
+
+    static void deleteDirectory(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
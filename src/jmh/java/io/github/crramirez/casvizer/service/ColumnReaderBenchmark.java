@@ -0,0 +1,89 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.service;
+
+import io.github.crramirez.casvizer.benchmark.SqliteFixture;
+import io.github.crramirez.casvizer.model.ColumnStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to read a wide numeric result into column storage with the type-specialized
+ * column readers and with {@code getObject}.
+ * <p>
+ * The readers are created with {@link ColumnReader#forMetaData} directly, bypassing the
+ * dialect check in {@link QueryService}, which only uses typed readers for dialects with
+ * strict column types. The fixture's values all match their declared types, so reading
+ * it from SQLite with typed getters is safe.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ColumnReaderBenchmark {
+
+    @Param({"10000", "100000"})
+    private int rows;
+
+    @Param({"true", "false"})
+    private boolean typed;
+
+    private SqliteFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = SqliteFixture.createWideNumeric(rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        fixture.close();
+    }
+
+    @Benchmark
+    public List<ColumnStorage> readWideNumeric() throws SQLException {
+        try (Statement stmt = fixture.getConnection().getConnection().createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT * FROM " + SqliteFixture.WIDE_TABLE)) {
+            ColumnReader[] readers = ColumnReader.forMetaData(rs.getMetaData(), typed);
+            while (rs.next()) {
+                for (ColumnReader reader : readers) {
+                    reader.read(rs);
+                }
+            }
+            List<ColumnStorage> columns = new ArrayList<>(readers.length);
+            for (ColumnReader reader : readers) {
+                columns.add(reader.getStorage());
+            }
+            return columns;
+        }
+    }
+}
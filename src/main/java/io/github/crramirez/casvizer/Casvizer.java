@@ -21,18 +21,40 @@ import casciian.TApplication;
 import casciian.TWindow;
 import casciian.event.TMenuEvent;
 import casciian.menu.TMenu;
+import io.github.crramirez.casvizer.dialect.DialectFactory;
+import io.github.crramirez.casvizer.dialect.DriverProperty;
+import io.github.crramirez.casvizer.model.AppSettings;
 import io.github.crramirez.casvizer.model.ConnectionProfile;
+import io.github.crramirez.casvizer.model.DatabaseConnection;
+import io.github.crramirez.casvizer.persistence.PlanHistoryStore;
 import io.github.crramirez.casvizer.persistence.ProfileStore;
+import io.github.crramirez.casvizer.persistence.SettingsStore;
+import io.github.crramirez.casvizer.persistence.SlowQueryLog;
 import io.github.crramirez.casvizer.service.ConnectionService;
 import io.github.crramirez.casvizer.service.MetadataService;
+import io.github.crramirez.casvizer.service.MetricsDumper;
+import io.github.crramirez.casvizer.service.MetricsRegistry;
+import io.github.crramirez.casvizer.service.PlanHistoryService;
+import io.github.crramirez.casvizer.service.QueryResultCache;
 import io.github.crramirez.casvizer.service.QueryService;
 import io.github.crramirez.casvizer.service.ExportService;
+import io.github.crramirez.casvizer.service.ScratchWorkspace;
+import io.github.crramirez.casvizer.service.StatementStatistics;
 import io.github.crramirez.casvizer.ui.ConnectionDialog;
+import io.github.crramirez.casvizer.ui.CopyTableWindow;
 import io.github.crramirez.casvizer.ui.DatabaseBrowserWindow;
+import io.github.crramirez.casvizer.ui.MetricsWindow;
+import io.github.crramirez.casvizer.ui.PlanHistoryWindow;
 import io.github.crramirez.casvizer.ui.QueryEditorWindow;
+import io.github.crramirez.casvizer.ui.ResultWindow;
+import io.github.crramirez.casvizer.ui.StatementStatisticsWindow;
 
+import java.io.IOException;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Main Casvizer application - Database visualization TUI tool.
@@ -49,12 +71,32 @@ public class Casvizer extends TApplication {
     private final QueryService queryService;
     private final ExportService exportService;
     private final ProfileStore profileStore;
+    private final ScratchWorkspace scratchWorkspace;
+    private final PlanHistoryService planHistoryService;
+    private final MetricsRegistry metricsRegistry;
+    private final MetricsDumper metricsDumper;
+    private final StatementStatistics statementStatistics;
+    private final String slowQueryLogPath;
+    private final List<String> startupWarnings = new ArrayList<>();
+    private final SettingsStore settingsStore;
+    private final AppSettings settings;
     
     private static final int MENU_NEW_CONNECTION = 2001;
     private static final int MENU_DISCONNECT = 2002;
     private static final int MENU_DATABASE_BROWSER = 2003;
     private static final int MENU_QUERY_EDITOR = 2004;
     private static final int MENU_ABOUT = 2005;
+    private static final int MENU_RESULT_CACHE = 2006;
+    private static final int MENU_SCRATCH_WORKSPACE = 2007;
+    private static final int MENU_SWITCH_CONNECTION = 2008;
+    private static final int MENU_CONNECTION_INFO = 2009;
+    private static final int MENU_DRIVER_PROPERTY = 2010;
+    private static final int MENU_COPY_TABLE = 2011;
+    private static final int MENU_PLAN_HISTORY = 2012;
+    private static final int MENU_PLAN_RECORDING = 2013;
+    private static final int MENU_METRICS = 2014;
+    private static final int MENU_STATEMENT_STATISTICS = 2015;
+    private static final int MENU_SLOW_QUERY_LOG = 2016;
 
     /**
      * Constructor.
@@ -70,16 +112,70 @@ public class Casvizer extends TApplication {
         this.queryService = new QueryService();
         this.exportService = new ExportService();
         
+        // Session metrics fed by every service
+        this.metricsRegistry = new MetricsRegistry();
+        connectionService.setMetrics(metricsRegistry);
+        metadataService.setMetrics(metricsRegistry);
+        queryService.setMetrics(metricsRegistry);
+        exportService.setMetrics(metricsRegistry);
+        
+        // Calls, time and rows of every statement by fingerprint
+        this.statementStatistics = new StatementStatistics();
+        queryService.setStatementStatistics(statementStatistics);
+        
         // Initialize profile store
         String userHome = System.getProperty("user.home");
         String profilesPath = Paths.get(userHome, ".casvizer", "profiles.json").toString();
         this.profileStore = new ProfileStore(profilesPath);
         
+        // Local SQLite database for materialized results, next to the profiles
+        String scratchPath = Paths.get(userHome, ".casvizer", "scratch.db").toString();
+        this.scratchWorkspace = new ScratchWorkspace(scratchPath);
+        
+        // Plans and timings of executed queries
+        String planHistoryPath = Paths.get(userHome, ".casvizer", "plan-history.json").toString();
+        this.planHistoryService = new PlanHistoryService(queryService, new PlanHistoryStore(planHistoryPath));
+        
+        // Settings kept across sessions
+        String settingsPath = Paths.get(userHome, ".casvizer", "settings.json").toString();
+        this.settingsStore = new SettingsStore(settingsPath);
+        AppSettings settings;
+        try {
+            settings = settingsStore.load();
+        } catch (IOException e) {
+            settings = new AppSettings();
+            startupWarnings.add("Using default settings: " + e.getMessage());
+        }
+        this.settings = settings;
+        planHistoryService.setEnabled(settings.isPlanRecordingEnabled());
+        
+        // Snapshots of the session metrics, appended on request or periodically
+        String metricsPath = Paths.get(userHome, ".casvizer", "metrics.jsonl").toString();
+        this.metricsDumper = new MetricsDumper(metricsRegistry, metricsPath);
+        
+        // Slow statements with their plans, on from the start if a threshold is set
+        this.slowQueryLogPath = Paths.get(userHome, ".casvizer", "slow-queries.log").toString();
+        String slowQueryThreshold = System.getenv("CASVIZER_SLOW_QUERY_MS");
+        if (slowQueryThreshold != null && !slowQueryThreshold.trim().isEmpty()) {
+            try {
+                queryService.setSlowQueryLog(new SlowQueryLog(slowQueryLogPath,
+                    Long.parseLong(slowQueryThreshold.trim())));
+            } catch (IllegalArgumentException e) {
+                startupWarnings.add("Ignoring invalid CASVIZER_SLOW_QUERY_MS: " + slowQueryThreshold
+                    + ". Use Tools > Slow Query Log to set a threshold.");
+            }
+        }
+        
         // Setup menus
         setupMenus();
         
         // Show welcome window
         showWelcomeWindow();
+        
+        // The terminal is already in TUI mode, so problems found so far are shown once the UI runs
+        for (String warning : startupWarnings) {
+            invokeLater(() -> showMessageDialog("Startup", warning));
+        }
     }
     
     @Override
@@ -90,19 +186,50 @@ public class Casvizer extends TApplication {
         } catch (Exception e) {
             System.err.println("Error disconnecting database connections: " + e.getMessage());
         }
+        if (metricsDumper.isRunning()) {
+            // Keep the final state of a session that was being dumped
+            metricsDumper.stop();
+            try {
+                metricsDumper.dump();
+            } catch (Exception e) {
+                System.err.println("Error dumping metrics: " + e.getMessage());
+            }
+        }
+        try {
+            planHistoryService.close();
+        } catch (Exception e) {
+            System.err.println("Error closing plan history connection: " + e.getMessage());
+        }
+        try {
+            scratchWorkspace.close();
+        } catch (Exception e) {
+            System.err.println("Error closing scratch workspace: " + e.getMessage());
+        }
         super.onExit();
     }
 
     private void setupMenus() {
         TMenu connectionMenu = addMenu("&Connection");
         connectionMenu.addItem(MENU_NEW_CONNECTION, "&New Connection...");
+        connectionMenu.addItem(MENU_SWITCH_CONNECTION, "&Switch Connection...");
         connectionMenu.addItem(MENU_DISCONNECT, "&Disconnect");
+        connectionMenu.addItem(MENU_CONNECTION_INFO, "Connection &Info");
+        connectionMenu.addItem(MENU_DRIVER_PROPERTY, "Driver &Property...");
         connectionMenu.addSeparator();
         connectionMenu.addDefaultItem(TMenu.MID_EXIT);
 
         TMenu toolsMenu = addMenu("&Tools");
         toolsMenu.addItem(MENU_DATABASE_BROWSER, "&Database Browser");
         toolsMenu.addItem(MENU_QUERY_EDITOR, "&Query Editor");
+        toolsMenu.addItem(MENU_SCRATCH_WORKSPACE, "Scratch &Workspace");
+        toolsMenu.addItem(MENU_COPY_TABLE, "Copy &Table...");
+        toolsMenu.addItem(MENU_PLAN_HISTORY, "Plan &History");
+        toolsMenu.addItem(MENU_METRICS, "Session &Metrics");
+        toolsMenu.addItem(MENU_STATEMENT_STATISTICS, "Statement &Statistics");
+        toolsMenu.addSeparator();
+        toolsMenu.addItem(MENU_RESULT_CACHE, "Toggle Result &Cache");
+        toolsMenu.addItem(MENU_PLAN_RECORDING, "Toggle Plan &Recording");
+        toolsMenu.addItem(MENU_SLOW_QUERY_LOG, "Slow Query &Log...");
 
         TMenu helpMenu = addMenu("&Help");
         helpMenu.addItem(MENU_ABOUT, "&About");
@@ -133,6 +260,50 @@ public class Casvizer extends TApplication {
                 showAboutDialog();
                 return true;
                 
+            case MENU_RESULT_CACHE:
+                toggleResultCache();
+                return true;
+                
+            case MENU_SCRATCH_WORKSPACE:
+                openScratchWorkspace();
+                return true;
+                
+            case MENU_SWITCH_CONNECTION:
+                switchConnection();
+                return true;
+                
+            case MENU_CONNECTION_INFO:
+                showConnectionInfo();
+                return true;
+                
+            case MENU_DRIVER_PROPERTY:
+                setDriverProperty();
+                return true;
+                
+            case MENU_COPY_TABLE:
+                showCopyTable();
+                return true;
+                
+            case MENU_PLAN_HISTORY:
+                new PlanHistoryWindow(this, planHistoryService);
+                return true;
+                
+            case MENU_PLAN_RECORDING:
+                togglePlanRecording();
+                return true;
+                
+            case MENU_METRICS:
+                new MetricsWindow(this, metricsRegistry, metricsDumper);
+                return true;
+                
+            case MENU_STATEMENT_STATISTICS:
+                new StatementStatisticsWindow(this, statementStatistics);
+                return true;
+                
+            case MENU_SLOW_QUERY_LOG:
+                configureSlowQueryLog();
+                return true;
+                
             default:
                 return super.onMenu(menu);
         }
@@ -199,12 +370,189 @@ public class Casvizer extends TApplication {
         }
         
         try {
-            new QueryEditorWindow(this, connectionService, queryService, exportService);
+            new QueryEditorWindow(this, connectionService, queryService, exportService, scratchWorkspace,
+                planHistoryService);
         } catch (Exception e) {
             showErrorDialog("Query Editor Error", "Failed to open query editor: " + e.getMessage());
         }
     }
 
+    private void showCopyTable() {
+        if (!connectionService.hasActiveConnection()) {
+            showMessageDialog("Info", "Please connect to a database first.");
+            return;
+        }
+        
+        try {
+            new CopyTableWindow(this, connectionService, queryService, connectionService.getActiveConnection());
+        } catch (Exception e) {
+            showErrorDialog("Copy Table Error", "Failed to open copy window: " + e.getMessage());
+        }
+    }
+
+    private void openScratchWorkspace() {
+        try {
+            connectionService.setActiveConnection(ScratchWorkspace.PROFILE_NAME);
+            DatabaseConnection active = connectionService.getActiveConnection();
+            if (active == null || !active.getProfile().getName().equals(ScratchWorkspace.PROFILE_NAME)) {
+                connectionService.connect(scratchWorkspace.getProfile());
+            }
+            showMessageDialog("Scratch Workspace",
+                "Scratch workspace is now the active connection. Use Connection > Switch Connection to go back.");
+        } catch (Exception e) {
+            showErrorDialog("Scratch Workspace Error", "Failed to open scratch workspace: " + e.getMessage());
+        }
+    }
+
+    private void switchConnection() {
+        List<DatabaseConnection> connections = connectionService.getAllConnections();
+        if (connections.isEmpty()) {
+            showMessageDialog("Info", "No open connections.");
+            return;
+        }
+        
+        List<String> names = new ArrayList<>();
+        for (DatabaseConnection connection : connections) {
+            names.add(connection.getProfile().getName());
+        }
+        String name = inputBox("Switch Connection", "Open connections: " + String.join(", ", names),
+            names.get(0)).getText();
+        if (name == null || name.trim().isEmpty()) {
+            return;
+        }
+        if (!names.contains(name.trim())) {
+            showErrorDialog("Switch Connection", "No open connection named " + name.trim());
+            return;
+        }
+        connectionService.setActiveConnection(name.trim());
+    }
+
+    private void showConnectionInfo() {
+        DatabaseConnection active = connectionService.getActiveConnection();
+        if (active == null) {
+            showMessageDialog("Info", "No active connection.");
+            return;
+        }
+        ConnectionProfile profile = active.getProfile();
+        String presets = profile.isPerformancePresetsEnabled() ? "presets on" : "presets off";
+        new ResultWindow(this, String.format("Connection Info - %s (%s, %s)",
+            profile.getName(), profile.getDatabaseType(), presets), connectionService.getSettingsReport(active));
+    }
+
+    private void setDriverProperty() {
+        DatabaseConnection active = connectionService.getActiveConnection();
+        if (active == null) {
+            showMessageDialog("Info", "No active connection.");
+            return;
+        }
+        String spec = inputBox("Driver Property",
+            "name=value to override, name= to remove, presets=on|off for the performance preset:", "").getText();
+        if (spec == null || spec.trim().isEmpty()) {
+            return;
+        }
+        int equals = spec.indexOf('=');
+        if (equals <= 0) {
+            showErrorDialog("Driver Property", "Expected name=value");
+            return;
+        }
+        String name = spec.substring(0, equals).trim();
+        String value = spec.substring(equals + 1).trim();
+        
+        // Validate on a copy so an invalid value leaves the profile untouched
+        ConnectionProfile profile = active.getProfile();
+        Map<String, String> properties = new LinkedHashMap<>(profile.getDriverProperties());
+        boolean presetsEnabled = profile.isPerformancePresetsEnabled();
+        try {
+            if (name.equalsIgnoreCase("presets")) {
+                if (!value.equalsIgnoreCase("on") && !value.equalsIgnoreCase("off")) {
+                    throw new IllegalArgumentException("presets must be on or off");
+                }
+                presetsEnabled = value.equalsIgnoreCase("on");
+            } else if (value.isEmpty()) {
+                properties.remove(name);
+            } else {
+                properties.put(name, value);
+            }
+            DriverProperty.resolve(DialectFactory.getDialect(profile.getDatabaseType()), presetsEnabled, properties);
+            
+            profile.setDriverProperties(properties);
+            profile.setPerformancePresetsEnabled(presetsEnabled);
+            if (!profile.getName().equals(ScratchWorkspace.PROFILE_NAME)) {
+                profileStore.addProfile(profile);
+            }
+            showMessageDialog("Driver Property", "Saved. Reconnect to apply the new settings.");
+        } catch (Exception e) {
+            showErrorDialog("Driver Property", e.getMessage());
+        }
+    }
+
+    private void toggleResultCache() {
+        QueryResultCache cache = queryService.getResultCache();
+        if (cache == null) {
+            queryService.setResultCache(new QueryResultCache());
+            showMessageDialog("Result Cache", String.format(
+                "Result cache enabled (%d entries, %d min TTL, %d MB).",
+                QueryResultCache.DEFAULT_MAX_ENTRIES,
+                QueryResultCache.DEFAULT_TTL_MS / 60_000,
+                QueryResultCache.DEFAULT_MAX_BYTES / (1024 * 1024)));
+        } else {
+            queryService.setResultCache(null);
+            showMessageDialog("Result Cache", String.format(
+                "Result cache disabled. Hits: %d, misses: %d, evictions: %d, invalidations: %d.",
+                cache.getHits(), cache.getMisses(), cache.getEvictions(), cache.getInvalidations()));
+        }
+    }
+
+    private void togglePlanRecording() {
+        boolean enabled = !planHistoryService.isEnabled();
+        planHistoryService.setEnabled(enabled);
+        settings.setPlanRecordingEnabled(enabled);
+        try {
+            settingsStore.save(settings);
+        } catch (IOException e) {
+            showErrorDialog("Plan History", "Plan recording " + (enabled ? "enabled" : "disabled")
+                + " for this session only, the setting could not be saved: " + e.getMessage());
+            return;
+        }
+        showMessageDialog("Plan History", enabled
+            ? "Plan recording enabled. Each read-only query run in the Query Editor is explained once more to record its plan."
+            : "Plan recording disabled.");
+    }
+
+    private void configureSlowQueryLog() {
+        SlowQueryLog log = queryService.getSlowQueryLog();
+        String current = (log != null) ? String.valueOf(log.getThresholdMs()) : "off";
+        String status = (log != null && log.getLastError() != null)
+            ? " Last write failed: " + log.getLastError() : "";
+        String input = inputBox("Slow Query Log",
+            "Log statements slower than this many milliseconds, with their plan, to " + slowQueryLogPath
+                + " (off to disable)." + status, current).getText();
+        if (input == null || input.trim().isEmpty()) {
+            return;
+        }
+        if (input.trim().equalsIgnoreCase("off")) {
+            queryService.setSlowQueryLog(null);
+            showMessageDialog("Slow Query Log", "Slow query log disabled.");
+            return;
+        }
+        try {
+            long thresholdMs = Long.parseLong(input.trim());
+            if (log != null) {
+                log.setThresholdMs(thresholdMs);
+            } else {
+                queryService.setSlowQueryLog(new SlowQueryLog(slowQueryLogPath, thresholdMs));
+            }
+            showMessageDialog("Slow Query Log", String.format(
+                "Statements taking %d ms or more are logged to %s (rotated at %d MB, %d old files kept).",
+                thresholdMs, slowQueryLogPath, SlowQueryLog.DEFAULT_MAX_BYTES / (1024 * 1024),
+                SlowQueryLog.DEFAULT_MAX_FILES));
+        } catch (NumberFormatException e) {
+            showErrorDialog("Slow Query Log", "Invalid threshold: " + input.trim());
+        } catch (IllegalArgumentException e) {
+            showErrorDialog("Slow Query Log", e.getMessage());
+        }
+    }
+
     @Override
     protected void showAboutDialog() {
         TWindow window = addWindow("About Casvizer", 0, 0, 50, 10,
@@ -0,0 +1,39 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer;
+
+import io.github.crramirez.casvizer.cli.CasvizerCli;
+
+/**
+ * Entry point: starts the TUI when run without arguments and the command line mode
+ * otherwise. {@link Casvizer} is only referenced on the TUI path, so the command line
+ * mode never loads or initializes the TUI classes and works without a terminal.
+ */
+public final class Launcher {
+
+    private Launcher() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            Casvizer.main(args);
+            return;
+        }
+        System.exit(CasvizerCli.run(args, System.out, System.err));
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.cli;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import io.github.crramirez.casvizer.model.ConnectionProfile;
+import io.github.crramirez.casvizer.persistence.ProfileStore;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Non-interactive command line mode, for cron jobs and scripts: runs queries, exports,
+ * SQL scripts and CSV imports on saved connection profiles, described by arguments or
+ * by a JSON job file whose jobs run in parallel with bounded concurrency. It only uses
+ * services and persistence classes, so no TUI class is loaded.
+ * <p>
+ * Exit codes: 0 if everything succeeded, 1 if a job failed, 2 for invalid arguments,
+ * an invalid job file or an unknown profile, 3 if the profiles cannot be loaded.
+ */
+public final class CasvizerCli {
+
+    public static final int EXIT_OK = 0;
+    public static final int EXIT_FAILED = 1;
+    public static final int EXIT_USAGE = 2;
+    public static final int EXIT_ERROR = 3;
+
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    private static final String USAGE = String.join(System.lineSeparator(),
+        "Usage: casvizer [command]",
+        "Without a command the text user interface starts. Commands:",
+        "  query <profile> <sql|@file> [format=text|csv]",
+        "  export <profile> <sql|@file> <output> [format=csv|sql|text] [table=NAME]",
+        "  script <profile> <file.sql> [on-error=abort|continue] [batch=N] [commit=N]",
+        "  import <profile> <file.csv> <table> [mode=append|create|replace] [schema=NAME] [batch=N]",
+        "  run <jobs.json> [parallel=N]",
+        "  replay <profile> <log.sql|log.csv> [workers=N] [timing=on|off] [speed=X] [timeout=S] [report=FILE]",
+        "  profiles",
+        "  help",
+        "Query, export, script and import also take name=NAME to label their status line.");
+
+    private CasvizerCli() {
+    }
+
+    /**
+     * Run a command.
+     *
+     * @param args The command and its arguments
+     * @param out Receives query results and listings
+     * @param err Receives status lines and errors
+     * @return The exit code
+     */
+    public static int run(String[] args, PrintStream out, PrintStream err) {
+        String command = args[0].toLowerCase(Locale.ROOT);
+        String[] commandArgs = Arrays.copyOfRange(args, 1, args.length);
+        switch (command) {
+            case "help":
+            case "--help":
+            case "-h":
+                out.println(USAGE);
+                return EXIT_OK;
+            case "replay":
+                return ReplayCommand.run(commandArgs, out, err);
+            case "query":
+            case "export":
+            case "script":
+            case "import":
+            case "run":
+            case "profiles":
+                break;
+            default:
+                err.println("Unknown command: " + args[0]);
+                err.println(USAGE);
+                return EXIT_USAGE;
+        }
+        
+        Map<String, ConnectionProfile> profiles;
+        try {
+            profiles = loadProfiles();
+        } catch (IOException | RuntimeException e) {
+            String errorMsg = (e.getMessage() != null) ? e.getMessage() : e.getClass().getSimpleName();
+            err.println("Failed to load connection profiles: " + errorMsg);
+            return EXIT_ERROR;
+        }
+        if (command.equals("profiles")) {
+            for (ConnectionProfile profile : profiles.values()) {
+                out.println(profile.getName() + "\t" + profile.getDatabaseType());
+            }
+            return EXIT_OK;
+        }
+        
+        List<Job> jobs;
+        int parallelism;
+        try {
+            if (command.equals("run")) {
+                JobFile jobFile = readJobFile(commandArgs);
+                jobs = jobFile.jobs;
+                parallelism = jobFile.parallel;
+            } else {
+                jobs = List.of(parseJob(command, commandArgs));
+                parallelism = 1;
+            }
+            for (Job job : jobs) {
+                job.validate();
+                if (!profiles.containsKey(job.getProfile())) {
+                    throw new IllegalArgumentException(job.getDisplayName() + ": unknown connection profile "
+                        + job.getProfile());
+                }
+            }
+        } catch (IllegalArgumentException | IOException | JsonParseException e) {
+            err.println(e.getMessage());
+            if (!command.equals("run")) {
+                err.println(USAGE);
+            }
+            return EXIT_USAGE;
+        }
+        
+        List<JobRunner.JobResult> results = new JobRunner(profiles, out, err).runAll(jobs, parallelism);
+        long failed = results.stream().filter(result -> !result.isSucceeded()).count();
+        if (jobs.size() > 1) {
+            err.println(String.format("%d jobs, %d failed", jobs.size(), failed));
+        }
+        return (failed > 0) ? EXIT_FAILED : EXIT_OK;
+    }
+
+    /**
+     * Build a job from its command and arguments: the positional arguments of the
+     * command, then {@code name=value} options. Positional arguments are taken by
+     * position since SQL text may contain {@code =}.
+     */
+    static Job parseJob(String type, String[] args) {
+        int positional;
+        switch (type) {
+            case Job.TYPE_QUERY:
+            case Job.TYPE_SCRIPT:
+                positional = 2;
+                break;
+            default:
+                positional = 3;
+                break;
+        }
+        if (args.length < positional) {
+            throw new IllegalArgumentException("Missing arguments for " + type);
+        }
+        Job job = new Job(type, args[0]);
+        switch (type) {
+            case Job.TYPE_QUERY:
+            case Job.TYPE_EXPORT:
+                if (args[1].startsWith("@")) {
+                    job.setFile(args[1].substring(1));
+                } else {
+                    job.setSql(args[1]);
+                }
+                if (type.equals(Job.TYPE_EXPORT)) {
+                    job.setOutput(args[2]);
+                }
+                break;
+            case Job.TYPE_SCRIPT:
+                job.setFile(args[1]);
+                break;
+            default:
+                job.setFile(args[1]);
+                job.setTable(args[2]);
+                break;
+        }
+        for (int i = positional; i < args.length; i++) {
+            int equals = args[i].indexOf('=');
+            if (equals <= 0) {
+                throw new IllegalArgumentException("Invalid option, expected name=value: " + args[i]);
+            }
+            job.setOption(args[i].substring(0, equals), args[i].substring(equals + 1));
+        }
+        return job;
+    }
+
+    /**
+     * Read a job file: either a JSON array of jobs, or an object with a {@code jobs}
+     * array and an optional {@code parallel} limit. A {@code parallel=N} argument
+     * overrides the file.
+     */
+    private static JobFile readJobFile(String[] args) throws IOException {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Missing job file");
+        }
+        String json = Files.readString(Paths.get(args[0]), StandardCharsets.UTF_8).trim();
+        Gson gson = new Gson();
+        JobFile jobFile;
+        if (json.startsWith("[")) {
+            jobFile = new JobFile();
+            jobFile.jobs = new ArrayList<>(Arrays.asList(gson.fromJson(json, Job[].class)));
+        } else {
+            jobFile = gson.fromJson(json, JobFile.class);
+        }
+        if (jobFile == null || jobFile.jobs == null || jobFile.jobs.isEmpty()) {
+            throw new IllegalArgumentException("The job file has no jobs: " + args[0]);
+        }
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].toLowerCase(Locale.ROOT).startsWith("parallel=")) {
+                try {
+                    jobFile.parallel = Integer.parseInt(args[i].substring("parallel=".length()));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid value for parallel: " + args[i]);
+                }
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (jobFile.parallel <= 0) {
+            throw new IllegalArgumentException("parallel must be a positive integer");
+        }
+        return jobFile;
+    }
+
+    /**
+     * Load the saved connection profiles by name from {@code ~/.casvizer/profiles.json}.
+     */
+    static Map<String, ConnectionProfile> loadProfiles() throws IOException {
+        String userHome = System.getProperty("user.home");
+        ProfileStore profileStore = new ProfileStore(Paths.get(userHome, ".casvizer", "profiles.json").toString());
+        Map<String, ConnectionProfile> profiles = new LinkedHashMap<>();
+        for (ConnectionProfile profile : profileStore.loadProfiles()) {
+            profiles.put(profile.getName(), profile);
+        }
+        return profiles;
+    }
+
+    /**
+     * Contents of a job file.
+     */
+    private static class JobFile {
+        private int parallel = DEFAULT_PARALLELISM;
+        private List<Job> jobs;
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.cli;
+
+import java.util.Locale;
+
+/**
+ * A unit of work of the command line: a query, an export, a script or an import on one
+ * connection profile. Jobs are read from a JSON job file with Gson or built from the
+ * command line arguments, whose {@code name=value} options map to the same fields.
+ */
+public class Job {
+    public static final String TYPE_QUERY = "query";
+    public static final String TYPE_EXPORT = "export";
+    public static final String TYPE_SCRIPT = "script";
+    public static final String TYPE_IMPORT = "import";
+
+    private String name;
+    private String type;
+    private String profile;
+    private String sql;
+    private String file;
+    private String output;
+    private String format;
+    private String schema;
+    private String table;
+    private String mode;
+    private String onError;
+    private Integer batchSize;
+    private Integer commitInterval;
+
+    public Job() {
+    }
+
+    public Job(String type, String profile) {
+        this.type = type;
+        this.profile = profile;
+    }
+
+    /**
+     * Set a field from a command line option.
+     *
+     * @param option The option name, e.g. {@code format} or {@code on-error}
+     * @param value The option value
+     * @throws IllegalArgumentException if the option is unknown or its value invalid
+     */
+    public void setOption(String option, String value) {
+        try {
+            switch (option.toLowerCase(Locale.ROOT)) {
+                case "name":
+                    name = value;
+                    break;
+                case "output":
+                    output = value;
+                    break;
+                case "format":
+                    format = value;
+                    break;
+                case "schema":
+                    schema = value;
+                    break;
+                case "table":
+                    table = value;
+                    break;
+                case "mode":
+                    mode = value;
+                    break;
+                case "on-error":
+                    onError = value;
+                    break;
+                case "batch":
+                    batchSize = Integer.parseInt(value);
+                    break;
+                case "commit":
+                    commitInterval = Integer.parseInt(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + option);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + option + ": " + value);
+        }
+    }
+
+    /**
+     * Check that the job has what its type needs.
+     *
+     * @throws IllegalArgumentException if the job is incomplete or has invalid values
+     */
+    public void validate() {
+        if (type == null) {
+            throw new IllegalArgumentException(getDisplayName() + ": type is required");
+        }
+        if (profile == null || profile.isBlank()) {
+            throw new IllegalArgumentException(getDisplayName() + ": profile is required");
+        }
+        switch (type.toLowerCase(Locale.ROOT)) {
+            case TYPE_QUERY:
+                requireSql();
+                checkFormat("text", "csv");
+                break;
+            case TYPE_EXPORT:
+                requireSql();
+                require(output, "output");
+                checkFormat("text", "csv", "sql");
+                break;
+            case TYPE_SCRIPT:
+                require(file, "file");
+                if (onError != null && !onError.equalsIgnoreCase("abort") && !onError.equalsIgnoreCase("continue")) {
+                    throw new IllegalArgumentException(getDisplayName() + ": on-error must be abort or continue");
+                }
+                break;
+            case TYPE_IMPORT:
+                require(file, "file");
+                require(table, "table");
+                if (mode != null && !mode.equalsIgnoreCase("append") && !mode.equalsIgnoreCase("create")
+                        && !mode.equalsIgnoreCase("replace")) {
+                    throw new IllegalArgumentException(getDisplayName() + ": mode must be append, create or replace");
+                }
+                break;
+            default:
+                throw new IllegalArgumentException(getDisplayName() + ": unknown type " + type);
+        }
+        if ((batchSize != null && batchSize <= 0) || (commitInterval != null && commitInterval <= 0)) {
+            throw new IllegalArgumentException(getDisplayName() + ": batch sizes must be positive integers");
+        }
+    }
+
+    private void requireSql() {
+        if ((sql == null || sql.isBlank()) && (file == null || file.isBlank())) {
+            throw new IllegalArgumentException(getDisplayName() + ": sql or file is required");
+        }
+    }
+
+    private void require(String value, String field) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(getDisplayName() + ": " + field + " is required");
+        }
+    }
+
+    private void checkFormat(String... formats) {
+        if (format == null) {
+            return;
+        }
+        for (String allowed : formats) {
+            if (allowed.equalsIgnoreCase(format)) {
+                return;
+            }
+        }
+        throw new IllegalArgumentException(getDisplayName() + ": format must be one of " + String.join(", ", formats));
+    }
+
+    /**
+     * Get the export format, from the format field or else the output file extension.
+     *
+     * @return text, csv or sql
+     */
+    public String getEffectiveFormat() {
+        if (format != null) {
+            return format.toLowerCase(Locale.ROOT);
+        }
+        String target = (output != null) ? output.toLowerCase(Locale.ROOT) : "";
+        if (target.endsWith(".csv")) {
+            return "csv";
+        } else if (target.endsWith(".sql")) {
+            return "sql";
+        }
+        return "text";
+    }
+
+    /**
+     * Get a name for messages: the job name, or its type and profile.
+     *
+     * @return The display name
+     */
+    public String getDisplayName() {
+        if (name != null && !name.isBlank()) {
+            return name;
+        }
+        return ((type != null) ? type : "job") + "@" + profile;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getProfile() {
+        return profile;
+    }
+
+    public void setProfile(String profile) {
+        this.profile = profile;
+    }
+
+    /**
+     * Get the statement of a query or export; when null the statement is read from
+     * {@link #getFile()}.
+     *
+     * @return The SQL statement
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    public void setSql(String sql) {
+        this.sql = sql;
+    }
+
+    /**
+     * Get the input file: the script to run, the CSV file to import, or the file holding
+     * the statement of a query or export.
+     *
+     * @return The input file path
+     */
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public String getOutput() {
+        return output;
+    }
+
+    public void setOutput(String output) {
+        this.output = output;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public String getSchema() {
+        return schema;
+    }
+
+    public void setSchema(String schema) {
+        this.schema = schema;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public void setTable(String table) {
+        this.table = table;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public String getOnError() {
+        return onError;
+    }
+
+    public void setOnError(String onError) {
+        this.onError = onError;
+    }
+
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(Integer batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Integer getCommitInterval() {
+        return commitInterval;
+    }
+
+    public void setCommitInterval(Integer commitInterval) {
+        this.commitInterval = commitInterval;
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.cli;
+
+import io.github.crramirez.casvizer.dialect.DriverProperty;
+import io.github.crramirez.casvizer.model.ConnectionProfile;
+import io.github.crramirez.casvizer.model.DatabaseConnection;
+import io.github.crramirez.casvizer.model.QueryResult;
+import io.github.crramirez.casvizer.service.CsvImporter;
+import io.github.crramirez.casvizer.service.ExportService;
+import io.github.crramirez.casvizer.service.MetadataService;
+import io.github.crramirez.casvizer.service.QueryService;
+import io.github.crramirez.casvizer.service.ScriptRunner;
+import io.github.crramirez.casvizer.service.SqlUtils;
+import io.github.crramirez.casvizer.service.TableWriter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs command line jobs, each on its own connection, with at most {@code parallelism}
+ * jobs at a time. Jobs are independent: a failed job does not stop the others. Query
+ * output is written to standard output in one piece per job so concurrent jobs do not
+ * interleave; one status line per finished job goes to standard error.
+ */
+public class JobRunner {
+
+    /**
+     * Errors of a script job listed on standard error; the rest are only counted.
+     */
+    private static final int MAX_LISTED_ERRORS = 10;
+
+    private final Map<String, ConnectionProfile> profiles;
+    private final PrintStream out;
+    private final PrintStream err;
+    private final QueryService queryService = new QueryService();
+    private final ExportService exportService = new ExportService();
+    private final MetadataService metadataService = new MetadataService();
+
+    /**
+     * @param profiles The connection profiles by name
+     * @param out Receives query results
+     * @param err Receives job status lines
+     */
+    public JobRunner(Map<String, ConnectionProfile> profiles, PrintStream out, PrintStream err) {
+        this.profiles = profiles;
+        this.out = out;
+        this.err = err;
+    }
+
+    /**
+     * Run jobs, the first {@code parallelism} at once and each following one as soon as
+     * another completes.
+     *
+     * @param jobs The jobs, already validated
+     * @param parallelism Maximum number of jobs running at the same time
+     * @return The outcome of each job, in job order
+     */
+    public List<JobResult> runAll(List<Job> jobs, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be a positive integer");
+        }
+        List<JobResult> results = new ArrayList<>();
+        int threads = Math.min(parallelism, jobs.size());
+        if (threads <= 1) {
+            for (Job job : jobs) {
+                results.add(run(job));
+            }
+            return results;
+        }
+        
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "casvizer-job-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<JobResult>> futures = new ArrayList<>();
+            for (Job job : jobs) {
+                futures.add(executor.submit(() -> run(job)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    // run() reports failures in its result, this is an unexpected error
+                    results.add(new JobResult(jobs.get(i).getDisplayName(), false,
+                        String.valueOf(e.getCause()), 0));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    results.add(new JobResult(jobs.get(i).getDisplayName(), false, "Interrupted", 0));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return results;
+    }
+
+    /**
+     * Run one job on a new connection and report its status line.
+     *
+     * @param job The job, already validated
+     * @return The outcome of the job
+     */
+    public JobResult run(Job job) {
+        long startNanos = System.nanoTime();
+        JobResult result;
+        DatabaseConnection connection = new DatabaseConnection(profiles.get(job.getProfile()));
+        try {
+            connection.connect();
+            for (DriverProperty.Setting rejected : connection.getRejectedSettings()) {
+                err.println("[" + job.getDisplayName() + "] ignoring preset setting "
+                    + rejected.getProperty().getName() + "=" + rejected.getValue() + ": " + rejected.getRejection());
+            }
+            switch (job.getType().toLowerCase(Locale.ROOT)) {
+                case Job.TYPE_QUERY:
+                    result = runQuery(job, connection, startNanos);
+                    break;
+                case Job.TYPE_EXPORT:
+                    result = runExport(job, connection, startNanos);
+                    break;
+                case Job.TYPE_SCRIPT:
+                    result = runScript(job, connection, startNanos);
+                    break;
+                default:
+                    result = runImport(job, connection, startNanos);
+                    break;
+            }
+        } catch (IOException | SQLException | RuntimeException e) {
+            String errorMsg = (e.getMessage() != null) ? e.getMessage() : e.getClass().getSimpleName();
+            result = new JobResult(job.getDisplayName(), false, errorMsg, System.nanoTime() - startNanos);
+        } finally {
+            try {
+                connection.disconnect();
+            } catch (SQLException e) {
+                // The job outcome is already decided
+            }
+        }
+        err.println(result);
+        return result;
+    }
+
+    private JobResult runQuery(Job job, DatabaseConnection connection, long startNanos)
+            throws IOException, SQLException {
+        String sql = readSql(job);
+        if (!SqlUtils.isReadOnlyQuery(sql)) {
+            int affectedRows = queryService.executeUpdate(connection, sql);
+            return new JobResult(job.getDisplayName(), true, String.format("%,d rows affected", affectedRows),
+                System.nanoTime() - startNanos);
+        }
+        QueryResult queryResult = queryService.executeQuery(connection, sql);
+        StringWriter text = new StringWriter();
+        try (PrintWriter writer = new PrintWriter(text)) {
+            if (job.getEffectiveFormat().equals("csv")) {
+                exportService.writeCsv(queryResult, writer);
+            } else {
+                exportService.writeText(queryResult, writer);
+            }
+        }
+        synchronized (out) {
+            out.print(text);
+            out.flush();
+        }
+        return new JobResult(job.getDisplayName(), true, String.format("%,d rows", queryResult.getRowCount()),
+            System.nanoTime() - startNanos);
+    }
+
+    private JobResult runExport(Job job, DatabaseConnection connection, long startNanos)
+            throws IOException, SQLException {
+        QueryResult queryResult = queryService.executeQuery(connection, readSql(job));
+        String format = job.getEffectiveFormat();
+        switch (format) {
+            case "csv":
+                exportService.exportToCSV(queryResult, job.getOutput());
+                break;
+            case "sql":
+                exportService.exportToSQL(queryResult, (job.getTable() != null) ? job.getTable() : "exported_data",
+                    job.getOutput());
+                break;
+            default:
+                exportService.exportToText(queryResult, job.getOutput());
+                break;
+        }
+        return new JobResult(job.getDisplayName(), true, String.format("%,d rows exported to %s as %s",
+            queryResult.getRowCount(), job.getOutput(), format), System.nanoTime() - startNanos);
+    }
+
+    private JobResult runScript(Job job, DatabaseConnection connection, long startNanos)
+            throws IOException, SQLException {
+        ScriptRunner.ErrorPolicy errorPolicy = (job.getOnError() != null)
+            ? ScriptRunner.ErrorPolicy.valueOf(job.getOnError().toUpperCase(Locale.ROOT))
+            : ScriptRunner.ErrorPolicy.ABORT;
+        ScriptRunner runner = new ScriptRunner(
+            (job.getBatchSize() != null) ? job.getBatchSize() : ScriptRunner.DEFAULT_BATCH_SIZE,
+            (job.getCommitInterval() != null) ? job.getCommitInterval() : ScriptRunner.DEFAULT_COMMIT_INTERVAL,
+            errorPolicy);
+        ScriptRunner.ScriptResult scriptResult = runner.run(connection, Paths.get(job.getFile()), null);
+        List<ScriptRunner.ScriptError> errors = scriptResult.getErrors();
+        for (int i = 0; i < Math.min(errors.size(), MAX_LISTED_ERRORS); i++) {
+            err.println("[" + job.getDisplayName() + "] " + job.getFile() + ": " + errors.get(i));
+        }
+        boolean succeeded = scriptResult.getStatementsFailed() == 0 && !scriptResult.isAborted();
+        return new JobResult(job.getDisplayName(), succeeded,
+            scriptResult + (scriptResult.isAborted() ? ", aborted" : ""), System.nanoTime() - startNanos);
+    }
+
+    private JobResult runImport(Job job, DatabaseConnection connection, long startNanos)
+            throws IOException, SQLException {
+        CsvImporter.Mode mode = (job.getMode() != null)
+            ? CsvImporter.Mode.valueOf(job.getMode().toUpperCase(Locale.ROOT)) : CsvImporter.Mode.APPEND;
+        CsvImporter.ImportResult importResult = new CsvImporter(metadataService).importCsv(connection,
+            Paths.get(job.getFile()), job.getSchema(), job.getTable(), mode,
+            (job.getBatchSize() != null) ? job.getBatchSize() : TableWriter.DEFAULT_BATCH_SIZE);
+        return new JobResult(job.getDisplayName(), true, importResult.toString(), System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Get the statement of a query or export job, inline or from its file.
+     */
+    private static String readSql(Job job) throws IOException {
+        if (job.getSql() != null && !job.getSql().isBlank()) {
+            return job.getSql();
+        }
+        String sql = Files.readString(Paths.get(job.getFile()), StandardCharsets.UTF_8).trim();
+        // A file holds a single statement, possibly terminated like in a script
+        return sql.endsWith(";") ? sql.substring(0, sql.length() - 1).trim() : sql;
+    }
+
+    /**
+     * Outcome of a job.
+     */
+    public static class JobResult {
+        private final String jobName;
+        private final boolean succeeded;
+        private final String message;
+        private final long elapsedNanos;
+
+        public JobResult(String jobName, boolean succeeded, String message, long elapsedNanos) {
+            this.jobName = jobName;
+            this.succeeded = succeeded;
+            this.message = message;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public String getJobName() {
+            return jobName;
+        }
+
+        public boolean isSucceeded() {
+            return succeeded;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public long getElapsedMs() {
+            return elapsedNanos / 1_000_000;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("[%s] %s: %s (%,d ms)", jobName, succeeded ? "OK" : "FAILED", message,
+                getElapsedMs());
+        }
+    }
+}
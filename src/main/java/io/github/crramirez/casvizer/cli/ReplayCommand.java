@@ -0,0 +1,137 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.cli;
+
+import io.github.crramirez.casvizer.model.ConnectionProfile;
+import io.github.crramirez.casvizer.service.ExportService;
+import io.github.crramirez.casvizer.service.ScriptRunner;
+import io.github.crramirez.casvizer.service.WorkloadReplayer;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Replays a workload log from the command line, without the text user interface:
+ * <pre>
+ * casvizer replay &lt;profile&gt; &lt;log&gt; [options]
+ * </pre>
+ * The options are those of {@link WorkloadReplayer.ReplayOptions#parse(String)}, plus
+ * {@code report=<file>} to also write the per-fingerprint report as CSV. Progress goes to
+ * standard error and the summary and report to standard output.
+ */
+public final class ReplayCommand {
+
+    public static final int EXIT_OK = 0;
+    public static final int EXIT_STATEMENTS_FAILED = 1;
+    public static final int EXIT_USAGE = 2;
+    public static final int EXIT_ERROR = 3;
+
+    private static final long PROGRESS_INTERVAL_NANOS = 5_000_000_000L;
+
+    private static final String USAGE = "Usage: casvizer replay <profile> <log.sql|log.csv> "
+        + "[workers=N] [timing=on|off] [speed=X] [timeout=SECONDS] [report=FILE.csv]";
+
+    private ReplayCommand() {
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * Run a replay.
+     *
+     * @param args Profile name, log file and options
+     * @param out Receives the summary and report
+     * @param err Receives progress and errors
+     * @return {@link #EXIT_OK}, {@link #EXIT_STATEMENTS_FAILED} if any statement failed,
+     *         {@link #EXIT_USAGE} for invalid arguments, or {@link #EXIT_ERROR} if the replay
+     *         could not run
+     */
+    public static int run(String[] args, PrintStream out, PrintStream err) {
+        if (args.length < 2) {
+            err.println(USAGE);
+            return EXIT_USAGE;
+        }
+        Path log = Paths.get(args[1]);
+        if (!Files.isReadable(log)) {
+            err.println("Cannot read log file: " + log);
+            return EXIT_USAGE;
+        }
+        StringBuilder spec = new StringBuilder();
+        String reportFile = null;
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].toLowerCase(Locale.ROOT).startsWith("report=")) {
+                reportFile = args[i].substring("report=".length());
+            } else {
+                spec.append(args[i]).append(' ');
+            }
+        }
+        WorkloadReplayer.ReplayOptions options;
+        try {
+            options = WorkloadReplayer.ReplayOptions.parse(spec.toString());
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println(USAGE);
+            return EXIT_USAGE;
+        }
+        
+        try {
+            ConnectionProfile profile = CasvizerCli.loadProfiles().get(args[0]);
+            if (profile == null) {
+                err.println("Unknown connection profile: " + args[0]);
+                return EXIT_USAGE;
+            }
+            err.println("Replaying " + log + " on " + profile.getName() + " with " + options);
+            WorkloadReplayer replayer = new WorkloadReplayer();
+            long[] lastProgress = {System.nanoTime()};
+            WorkloadReplayer.ReplayResult result = replayer.replay(profile, log, options, progress -> {
+                long now = System.nanoTime();
+                if (!progress.isFinished() && now - lastProgress[0] >= PROGRESS_INTERVAL_NANOS) {
+                    lastProgress[0] = now;
+                    err.println(String.format(Locale.ROOT, "%,d statements, %,.1f/s, %,d failed",
+                        progress.getStatementsExecuted(), progress.getStatementsPerSecond(),
+                        progress.getStatementsFailed()));
+                }
+            });
+            
+            out.println(result);
+            PrintWriter writer = new PrintWriter(out);
+            ExportService exportService = new ExportService();
+            exportService.writeText(result.toQueryResult(), writer);
+            writer.flush();
+            for (ScriptRunner.ScriptError error : result.getErrors()) {
+                err.println(error);
+            }
+            if (reportFile != null) {
+                exportService.exportToCSV(result.toQueryResult(), reportFile);
+            }
+            return (result.getStatementsFailed() > 0) ? EXIT_STATEMENTS_FAILED : EXIT_OK;
+        } catch (IOException | SQLException | RuntimeException e) {
+            String errorMsg = (e.getMessage() != null) ? e.getMessage() : e.getClass().getSimpleName();
+            err.println("Replay failed: " + errorMsg);
+            return EXIT_ERROR;
+        }
+    }
+}
@@ -17,6 +17,8 @@
  */
 package io.github.crramirez.casvizer.dialect;
 
+import java.util.List;
+
 /**
  * Interface for database-specific SQL dialect operations.
  */
@@ -48,6 +50,24 @@ public interface Dialect {
      */
     String getExplainQuery(String query);
 
+    /**
+     * Get the EXPLAIN syntax that produces a machine-readable plan in {@link #getPlanFormat()}.
+     * In analyze mode the statement is executed so the plan includes actual row counts and
+     * times, where the database supports it.
+     *
+     * @param query The query to explain
+     * @param analyze Whether to execute the query and report runtime statistics
+     * @return The EXPLAIN query
+     */
+    String getStructuredExplainQuery(String query, boolean analyze);
+
+    /**
+     * Get the output format of {@link #getStructuredExplainQuery(String, boolean)}.
+     *
+     * @return The plan format
+     */
+    PlanFormat getPlanFormat();
+
     /**
      * Get the query to list all schemas/databases.
      *
@@ -72,6 +92,100 @@ public interface Dialect {
      */
     String getListColumnsQuery(String schema, String table);
 
+    /**
+     * Check whether the driver reports column types that every value in the column honours.
+     * <p>
+     * When true, result columns can be read with type-specialized getters such as
+     * {@code getLong} into primitive storage. Databases with dynamic typing, where a
+     * column may hold values of mixed types, must return false so values are read
+     * with {@code getObject}.
+     *
+     * @return true if typed reads are safe for this database
+     */
+    boolean hasStrictColumnTypes();
+
+    /**
+     * Get the fetch size that makes the driver stream rows from a cursor instead of
+     * buffering the whole result in memory.
+     * <p>
+     * Callers must use a forward-only, read-only statement and run it with autocommit
+     * disabled, which some drivers require before they honour the fetch size.
+     *
+     * @return The fetch size to set on streaming statements
+     */
+    int getStreamingFetchSize();
+
+    /**
+     * Get the column type to use when creating a table for values of the given JDBC type.
+     *
+     * @param sqlType The JDBC type from {@link java.sql.Types}
+     * @param precision The column precision or length reported by the driver (0 if unknown)
+     * @param scale The column scale reported by the driver
+     * @return The column type declaration for CREATE TABLE
+     */
+    String getColumnTypeName(int sqlType, int precision, int scale);
+
+    /**
+     * Get the tunable driver and session properties of this database, including the
+     * performance preset applied to new connections unless the profile disables it.
+     *
+     * @return The known properties, in display order
+     */
+    List<DriverProperty> getPerformanceProperties();
+
+    /**
+     * Get the statement that applies a session-scoped property after connecting.
+     *
+     * @param name The property name
+     * @param value The validated property value
+     * @return The statement to execute
+     */
+    String getSessionPropertyStatement(String name, String value);
+
+    /**
+     * Get a query that summarizes the rows of a query in buckets of consecutive integer
+     * keys. It returns one row per non-empty bucket with the bucket number (counted from
+     * {@code start}), the row count and an order-independent sum of per-row hashes, so
+     * ranges can be compared between two databases of the same type without transferring
+     * their rows.
+     *
+     * @param query The query whose rows to summarize
+     * @param keyColumn The quoted integer key column
+     * @param columns The quoted columns to hash, in a fixed order
+     * @param start The first key of the range
+     * @param end The key after the last key of the range
+     * @param bucketWidth The number of keys per bucket
+     * @return The summary query, or null if the database has no suitable hash function
+     */
+    String getRangeHashQuery(String query, String keyColumn, List<String> columns, long start, long end,
+                             long bucketWidth);
+
+    /**
+     * Get queries that read table statistics from the catalog, without scanning any table.
+     * <p>
+     * Each query returns one row per table: the table name, the estimated row count, the
+     * total size in bytes, the data size and the index size. Values other than the name
+     * may be null when the database has not collected them. The queries are alternatives,
+     * most complete first, for databases where some statistics sources may be missing.
+     *
+     * @param schema The schema name (null for default)
+     * @return The statistics queries to try in order
+     */
+    List<String> getTableStatisticsQueries(String schema);
+
+    /**
+     * Get a query that returns about {@code rows} rows of a table using the cheapest
+     * sampling the database offers, reading only a small part of the table.
+     *
+     * @param schema The schema name (null for default)
+     * @param table The table name
+     * @param rows The number of rows to return
+     * @param estimatedRows The estimated row count of the table, or null if unknown
+     * @param integerKey The table's single-column integer primary key, or null if it has none
+     * @return The sample query
+     */
+    String getSampleQuery(String schema, String table, int rows, Long estimatedRows, String integerKey);
+
     /**
      * Get the name of this dialect.
      *
@@ -0,0 +1,217 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.dialect;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A typed, tunable setting of a database connection, with the value a dialect's
+ * performance preset uses for it.
+ * <p>
+ * Connection-scoped properties are handed to the JDBC driver when connecting. Session-scoped
+ * properties are applied with a statement right after connecting, e.g. SQLite PRAGMAs.
+ */
+public class DriverProperty {
+
+    /**
+     * Value type of a property, used to validate profile overrides.
+     */
+    public enum Type {
+        BOOLEAN, INTEGER, STRING
+    }
+
+    /**
+     * How a property is applied.
+     */
+    public enum Scope {
+        CONNECTION, SESSION
+    }
+
+    private final String name;
+    private final Type type;
+    private final Scope scope;
+    private final String presetValue;
+    private final String description;
+
+    public DriverProperty(String name, Type type, Scope scope, String presetValue, String description) {
+        this.name = name;
+        this.type = type;
+        this.scope = scope;
+        this.presetValue = presetValue;
+        this.description = description;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Scope getScope() {
+        return scope;
+    }
+
+    /**
+     * Get the value used by the dialect's performance preset.
+     *
+     * @return The preset value, or null if the property is not part of the preset
+     */
+    public String getPresetValue() {
+        return presetValue;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Validate a value against the property type and normalize it.
+     *
+     * @param value The value to check
+     * @return The normalized value ({@code true}/{@code false} for booleans)
+     * @throws IllegalArgumentException if the value does not match the type
+     */
+    public String validate(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value of " + name + " cannot be null");
+        }
+        String trimmed = value.trim();
+        switch (type) {
+            case BOOLEAN:
+                switch (trimmed.toLowerCase(Locale.ROOT)) {
+                    case "true":
+                    case "on":
+                    case "yes":
+                    case "1":
+                        return "true";
+                    case "false":
+                    case "off":
+                    case "no":
+                    case "0":
+                        return "false";
+                    default:
+                        throw new IllegalArgumentException(name + " must be true or false: " + value);
+                }
+            case INTEGER:
+                try {
+                    return Long.toString(Long.parseLong(trimmed));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException(name + " must be an integer: " + value);
+                }
+            default:
+                return trimmed;
+        }
+    }
+
+    /**
+     * Combine a dialect's preset with a profile's overrides.
+     * <p>
+     * Overrides of known properties are validated against their type. Unknown names are
+     * passed to the driver unchanged, so any driver option can be set.
+     *
+     * @param dialect The dialect of the connection
+     * @param presetsEnabled Whether to start from the dialect's performance preset
+     * @param overrides Property values set on the profile, by name
+     * @return The effective settings, preset properties first
+     * @throws IllegalArgumentException if an override does not match its property type
+     */
+    public static List<Setting> resolve(Dialect dialect, boolean presetsEnabled, Map<String, String> overrides) {
+        Map<String, Setting> settings = new LinkedHashMap<>();
+        Map<String, DriverProperty> known = new LinkedHashMap<>();
+        for (DriverProperty property : dialect.getPerformanceProperties()) {
+            known.put(property.getName(), property);
+            if (presetsEnabled && property.getPresetValue() != null) {
+                settings.put(property.getName(), new Setting(property, property.getPresetValue(), false));
+            }
+        }
+        if (overrides != null) {
+            for (Map.Entry<String, String> override : overrides.entrySet()) {
+                DriverProperty property = known.get(override.getKey());
+                if (property == null) {
+                    property = new DriverProperty(override.getKey(), Type.STRING, Scope.CONNECTION, null,
+                        "Driver property");
+                }
+                settings.put(property.getName(), new Setting(property, property.validate(override.getValue()), true));
+            }
+        }
+        return new ArrayList<>(settings.values());
+    }
+
+    /**
+     * The effective value of a property on a connection.
+     */
+    public static class Setting {
+        private final DriverProperty property;
+        private final String value;
+        private final boolean fromProfile;
+        private final String rejection;
+
+        public Setting(DriverProperty property, String value, boolean fromProfile) {
+            this(property, value, fromProfile, null);
+        }
+
+        private Setting(DriverProperty property, String value, boolean fromProfile, String rejection) {
+            this.property = property;
+            this.value = value;
+            this.fromProfile = fromProfile;
+            this.rejection = rejection;
+        }
+
+        /**
+         * Mark the setting as rejected by the database, so it is reported but not in effect.
+         *
+         * @param reason The database's error message
+         * @return A copy of this setting carrying the reason
+         */
+        public Setting rejected(String reason) {
+            return new Setting(property, value, fromProfile, reason);
+        }
+
+        public DriverProperty getProperty() {
+            return property;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        /**
+         * Check whether the value was set on the profile rather than taken from the preset.
+         *
+         * @return true for a profile override
+         */
+        public boolean isFromProfile() {
+            return fromProfile;
+        }
+
+        /**
+         * Get the reason the database rejected the setting.
+         *
+         * @return The error message, or null if the setting is in effect
+         */
+        public String getRejection() {
+            return rejection;
+        }
+    }
+}
@@ -17,6 +17,9 @@
  */
 package io.github.crramirez.casvizer.dialect;
 
+import java.sql.Types;
+import java.util.List;
+
 /**
  * MySQL database dialect implementation.
  */
@@ -46,6 +49,17 @@ public class MySQLDialect implements Dialect {
         return "EXPLAIN " + query;
     }
 
+    @Override
+    public String getStructuredExplainQuery(String query, boolean analyze) {
+        // EXPLAIN ANALYZE always uses the tree format, so the estimate-only plan does too
+        return (analyze ? "EXPLAIN ANALYZE " : "EXPLAIN FORMAT=TREE ") + query;
+    }
+
+    @Override
+    public PlanFormat getPlanFormat() {
+        return PlanFormat.MYSQL_TREE;
+    }
+
     @Override
     public String getListSchemasQuery() {
         return "SELECT schema_name FROM information_schema.schemata " +
@@ -81,6 +95,137 @@ public class MySQLDialect implements Dialect {
                "ORDER BY ordinal_position";
     }
 
+    @Override
+    public boolean hasStrictColumnTypes() {
+        return true;
+    }
+
+    @Override
+    public int getStreamingFetchSize() {
+        // Connector/J streams row by row only for this sentinel value
+        return Integer.MIN_VALUE;
+    }
+
+    @Override
+    public String getColumnTypeName(int sqlType, int precision, int scale) {
+        switch (sqlType) {
+            case Types.BIT:
+            case Types.BOOLEAN:
+                return "BOOLEAN";
+            case Types.TINYINT:
+                return "TINYINT";
+            case Types.SMALLINT:
+                return "SMALLINT";
+            case Types.INTEGER:
+                return "INT";
+            case Types.BIGINT:
+                return "BIGINT";
+            case Types.REAL:
+                return "FLOAT";
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return "DOUBLE";
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                return precision > 0 && precision <= 65
+                    ? "DECIMAL(" + precision + ", " + Math.min(scale, 30) + ")" : "DECIMAL(65, 30)";
+            case Types.CHAR:
+            case Types.NCHAR:
+            case Types.VARCHAR:
+            case Types.NVARCHAR:
+                // Longer values would exceed the row size limit with utf8mb4
+                return precision > 0 && precision <= 16_383 ? "VARCHAR(" + precision + ")" : "LONGTEXT";
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+            case Types.BLOB:
+                return "LONGBLOB";
+            case Types.DATE:
+                return "DATE";
+            case Types.TIME:
+            case Types.TIME_WITH_TIMEZONE:
+                return "TIME";
+            case Types.TIMESTAMP:
+            case Types.TIMESTAMP_WITH_TIMEZONE:
+                return "DATETIME(6)";
+            default:
+                return "LONGTEXT";
+        }
+    }
+
+    @Override
+    public List<DriverProperty> getPerformanceProperties() {
+        return List.of(
+            new DriverProperty("rewriteBatchedStatements", DriverProperty.Type.BOOLEAN,
+                DriverProperty.Scope.CONNECTION, "true", "Send batched INSERTs as multi-row INSERT statements"),
+            new DriverProperty("useServerPrepStmts", DriverProperty.Type.BOOLEAN, DriverProperty.Scope.CONNECTION,
+                "true", "Prepare statements on the server instead of emulating them"),
+            new DriverProperty("cachePrepStmts", DriverProperty.Type.BOOLEAN, DriverProperty.Scope.CONNECTION,
+                "true", "Reuse prepared statements with the same SQL"),
+            new DriverProperty("prepStmtCacheSize", DriverProperty.Type.INTEGER, DriverProperty.Scope.CONNECTION,
+                "250", "Prepared statements cached per connection"),
+            new DriverProperty("prepStmtCacheSqlLimit", DriverProperty.Type.INTEGER, DriverProperty.Scope.CONNECTION,
+                "2048", "Longest statement that is cached, in characters"),
+            new DriverProperty("useCompression", DriverProperty.Type.BOOLEAN, DriverProperty.Scope.CONNECTION,
+                "false", "Compress the protocol; only helps on slow links"));
+    }
+
+    @Override
+    public String getSessionPropertyStatement(String name, String value) {
+        if (!name.matches("[A-Za-z0-9_]+")) {
+            throw new IllegalArgumentException("Invalid session variable name: " + name);
+        }
+        // Numeric system variables reject quoted values
+        String literal = value.matches("-?\\d+") ? value : DialectUtils.quoteStringLiteral(value);
+        return "SET SESSION " + name + " = " + literal;
+    }
+
+    @Override
+    public String getRangeHashQuery(String query, String keyColumn, List<String> columns, long start, long end,
+                                    long bucketWidth) {
+        // CONCAT_WS skips NULLs, so they are replaced by a character that cannot be confused with ''
+        StringBuilder row = new StringBuilder();
+        for (String column : columns) {
+            if (row.length() > 0) {
+                row.append(", ");
+            }
+            row.append("IFNULL(").append(column).append(", CHAR(0))");
+        }
+        return "SELECT (" + keyColumn + " - " + start + ") DIV " + bucketWidth + ", COUNT(*),"
+            + " SUM(CAST(CONV(SUBSTRING(MD5(CONCAT_WS(CHAR(31), " + row + ")), 1, 16), 16, 10) AS UNSIGNED))"
+            + " FROM (" + query + ") AS diff_source"
+            + " WHERE " + keyColumn + " >= " + start + " AND " + keyColumn + " < " + end
+            + " GROUP BY 1";
+    }
+
+    @Override
+    public List<String> getTableStatisticsQueries(String schema) {
+        String schemaCondition = (schema == null || schema.isEmpty())
+            ? "table_schema = DATABASE()"
+            : "table_schema = " + DialectUtils.quoteStringLiteral(schema);
+        // table_rows is exact for MyISAM and an estimate for InnoDB
+        return List.of("SELECT table_name, table_rows, data_length + index_length, data_length, index_length " +
+               "FROM information_schema.tables " +
+               "WHERE " + schemaCondition + " AND table_type = 'BASE TABLE' " +
+               "ORDER BY table_name");
+    }
+
+    @Override
+    public String getSampleQuery(String schema, String table, int rows, Long estimatedRows, String integerKey) {
+        String qualifiedTable = (schema == null || schema.isEmpty())
+            ? quoteIdentifier(table)
+            : quoteIdentifier(schema) + "." + quoteIdentifier(table);
+        if (integerKey == null) {
+            return addPagination("SELECT * FROM " + qualifiedTable, rows, 0);
+        }
+        // Probe a random key range; MIN and MAX of the primary key are index lookups and the
+        // derived table evaluates RAND() only once
+        String key = quoteIdentifier(integerKey);
+        return "SELECT t.* FROM " + qualifiedTable + " AS t JOIN (SELECT MIN(" + key + ") + FLOOR(RAND() * "
+            + "GREATEST(1, MAX(" + key + ") - MIN(" + key + ") - " + rows + " + 1)) AS start FROM "
+            + qualifiedTable + ") AS probe ON t." + key + " >= probe.start ORDER BY t." + key + " LIMIT " + rows;
+    }
+
     @Override
     public String getName() {
         return "MySQL";
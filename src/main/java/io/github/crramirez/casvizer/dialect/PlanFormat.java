@@ -0,0 +1,57 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.dialect;
+
+/**
+ * Output format of a dialect's structured EXPLAIN query.
+ */
+public enum PlanFormat {
+    /**
+     * A JSON document with a nested {@code Plan} object, as produced by PostgreSQL's
+     * {@code EXPLAIN (FORMAT JSON)}.
+     */
+    POSTGRES_JSON(true),
+
+    /**
+     * An indented text tree of {@code -> operation (cost=.. rows=..)} lines, as produced by
+     * MySQL's {@code EXPLAIN FORMAT=TREE} and {@code EXPLAIN ANALYZE}.
+     */
+    MYSQL_TREE(true),
+
+    /**
+     * Rows of node id, parent id and description, as produced by SQLite's
+     * {@code EXPLAIN QUERY PLAN}.
+     */
+    SQLITE_QUERY_PLAN(false);
+
+    private final boolean runtimeStatistics;
+
+    PlanFormat(boolean runtimeStatistics) {
+        this.runtimeStatistics = runtimeStatistics;
+    }
+
+    /**
+     * Check whether the analyze variant of this format reports actual rows and times per
+     * node. When it does not, the statement has to be run separately to measure it.
+     *
+     * @return true if per-node runtime statistics are available
+     */
+    public boolean hasRuntimeStatistics() {
+        return runtimeStatistics;
+    }
+}
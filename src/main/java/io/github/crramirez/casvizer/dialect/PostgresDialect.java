@@ -17,11 +17,20 @@
  */
 package io.github.crramirez.casvizer.dialect;
 
+import java.sql.Types;
+import java.util.List;
+import java.util.Locale;
+
 /**
  * PostgreSQL database dialect implementation.
  */
 public class PostgresDialect implements Dialect {
 
+    /**
+     * How many times more rows than requested a table sample aims for.
+     */
+    private static final long SAMPLE_OVERSAMPLING = 3;
+
     @Override
     public String quoteIdentifier(String identifier) {
         if (identifier == null || identifier.isEmpty()) {
@@ -46,6 +55,16 @@ public class PostgresDialect implements Dialect {
         return "EXPLAIN " + query;
     }
 
+    @Override
+    public String getStructuredExplainQuery(String query, boolean analyze) {
+        return (analyze ? "EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " : "EXPLAIN (FORMAT JSON) ") + query;
+    }
+
+    @Override
+    public PlanFormat getPlanFormat() {
+        return PlanFormat.POSTGRES_JSON;
+    }
+
     @Override
     public String getListSchemasQuery() {
         return "SELECT schema_name FROM information_schema.schemata " +
@@ -76,6 +95,126 @@ public class PostgresDialect implements Dialect {
                "ORDER BY ordinal_position";
     }
 
+    @Override
+    public boolean hasStrictColumnTypes() {
+        return true;
+    }
+
+    @Override
+    public int getStreamingFetchSize() {
+        // PgJDBC only uses a cursor when autocommit is off and the fetch size is positive
+        return 1000;
+    }
+
+    @Override
+    public String getColumnTypeName(int sqlType, int precision, int scale) {
+        switch (sqlType) {
+            case Types.BIT:
+            case Types.BOOLEAN:
+                return "BOOLEAN";
+            case Types.TINYINT:
+            case Types.SMALLINT:
+                return "SMALLINT";
+            case Types.INTEGER:
+                return "INTEGER";
+            case Types.BIGINT:
+                return "BIGINT";
+            case Types.REAL:
+                return "REAL";
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return "DOUBLE PRECISION";
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                return precision > 0 && precision <= 1000 ? "NUMERIC(" + precision + ", " + scale + ")" : "NUMERIC";
+            case Types.CHAR:
+            case Types.NCHAR:
+            case Types.VARCHAR:
+            case Types.NVARCHAR:
+                return precision > 0 && precision <= 10_485_760 ? "VARCHAR(" + precision + ")" : "TEXT";
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+            case Types.BLOB:
+                return "BYTEA";
+            case Types.DATE:
+                return "DATE";
+            case Types.TIME:
+                return "TIME";
+            case Types.TIME_WITH_TIMEZONE:
+                return "TIMETZ";
+            case Types.TIMESTAMP:
+                return "TIMESTAMP";
+            case Types.TIMESTAMP_WITH_TIMEZONE:
+                return "TIMESTAMPTZ";
+            default:
+                return "TEXT";
+        }
+    }
+
+    @Override
+    public List<DriverProperty> getPerformanceProperties() {
+        return List.of(
+            new DriverProperty("reWriteBatchedInserts", DriverProperty.Type.BOOLEAN, DriverProperty.Scope.CONNECTION,
+                "true", "Send batched INSERTs as multi-row INSERT statements"),
+            new DriverProperty("prepareThreshold", DriverProperty.Type.INTEGER, DriverProperty.Scope.CONNECTION,
+                "3", "Executions before a statement is prepared on the server"),
+            new DriverProperty("defaultRowFetchSize", DriverProperty.Type.INTEGER, DriverProperty.Scope.CONNECTION,
+                "1000", "Rows per round trip when reading from a cursor (0 reads all rows at once)"),
+            new DriverProperty("preparedStatementCacheQueries", DriverProperty.Type.INTEGER,
+                DriverProperty.Scope.CONNECTION, null, "Prepared statements cached per connection"),
+            new DriverProperty("tcpKeepAlive", DriverProperty.Type.BOOLEAN, DriverProperty.Scope.CONNECTION,
+                null, "Enable TCP keep-alive probes"));
+    }
+
+    @Override
+    public String getSessionPropertyStatement(String name, String value) {
+        return "SET " + quoteIdentifier(name) + " = " + DialectUtils.quoteStringLiteral(value);
+    }
+
+    @Override
+    public String getRangeHashQuery(String query, String keyColumn, List<String> columns, long start, long end,
+                                    long bucketWidth) {
+        // The first 64 bits of the MD5 of the row's text form, summed as numeric
+        return "SELECT floor((" + keyColumn + " - " + start + ") / " + bucketWidth + "), count(*),"
+            + " sum(('x' || substr(md5(ROW(" + String.join(", ", columns) + ")::text), 1, 16))::bit(64)::bigint)"
+            + " FROM (" + query + ") AS diff_source"
+            + " WHERE " + keyColumn + " >= " + start + " AND " + keyColumn + " < " + end
+            + " GROUP BY 1";
+    }
+
+    @Override
+    public List<String> getTableStatisticsQueries(String schema) {
+        if (schema == null || schema.isEmpty()) {
+            schema = "public";
+        }
+        // reltuples is -1 until the table is first vacuumed or analyzed
+        return List.of("SELECT c.relname, CASE WHEN c.reltuples < 0 THEN NULL ELSE c.reltuples::bigint END, " +
+               "pg_total_relation_size(c.oid), pg_relation_size(c.oid), pg_indexes_size(c.oid) " +
+               "FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace " +
+               "WHERE n.nspname = " + DialectUtils.quoteStringLiteral(schema) + " AND c.relkind IN ('r', 'p') " +
+               "ORDER BY c.relname");
+    }
+
+    @Override
+    public String getSampleQuery(String schema, String table, int rows, Long estimatedRows, String integerKey) {
+        String qualifiedTable = qualifyTable(schema, table);
+        if (estimatedRows == null || estimatedRows <= rows * SAMPLE_OVERSAMPLING) {
+            // Unknown or small: the first rows are as cheap as it gets
+            return addPagination("SELECT * FROM " + qualifiedTable, rows, 0);
+        }
+        // SYSTEM picks whole pages, so rows come in clumps; oversample to fill the limit
+        double percent = Math.min(100.0, 100.0 * rows * SAMPLE_OVERSAMPLING / estimatedRows);
+        return "SELECT * FROM " + qualifiedTable + " TABLESAMPLE SYSTEM ("
+            + String.format(Locale.ROOT, "%.6f", percent) + ") LIMIT " + rows;
+    }
+
+    private String qualifyTable(String schema, String table) {
+        return (schema == null || schema.isEmpty())
+            ? quoteIdentifier(table)
+            : quoteIdentifier(schema) + "." + quoteIdentifier(table);
+    }
+
     @Override
     public String getName() {
         return "PostgreSQL";
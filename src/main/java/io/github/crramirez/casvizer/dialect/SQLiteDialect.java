@@ -17,6 +17,9 @@
  */
 package io.github.crramirez.casvizer.dialect;
 
+import java.sql.Types;
+import java.util.List;
+
 /**
  * SQLite database dialect implementation.
  */
@@ -46,6 +49,17 @@ public class SQLiteDialect implements Dialect {
         return "EXPLAIN QUERY PLAN " + query;
     }
 
+    @Override
+    public String getStructuredExplainQuery(String query, boolean analyze) {
+        // SQLite has no runtime statistics per node; callers time the statement themselves
+        return "EXPLAIN QUERY PLAN " + query;
+    }
+
+    @Override
+    public PlanFormat getPlanFormat() {
+        return PlanFormat.SQLITE_QUERY_PLAN;
+    }
+
     @Override
     public String getListSchemasQuery() {
         // SQLite doesn't have multiple schemas
@@ -67,6 +81,121 @@ public class SQLiteDialect implements Dialect {
         return "PRAGMA table_info(" + quotedTable + ")";
     }
 
+    @Override
+    public boolean hasStrictColumnTypes() {
+        // Columns only carry a type affinity; any row may store a value of another type
+        return false;
+    }
+
+    @Override
+    public int getStreamingFetchSize() {
+        // Rows are always produced one step at a time; the fetch size is only a hint
+        return 1000;
+    }
+
+    @Override
+    public String getColumnTypeName(int sqlType, int precision, int scale) {
+        // SQLite only distinguishes type affinities
+        switch (sqlType) {
+            case Types.BIT:
+            case Types.BOOLEAN:
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+                return "INTEGER";
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return "REAL";
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                return "NUMERIC";
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+            case Types.BLOB:
+                return "BLOB";
+            default:
+                return "TEXT";
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * {@code journal_mode} and {@code synchronous} have no preset value: WAL mode is persisted in
+     * the database file and changes its durability for every other program using it, so it is only
+     * applied when set explicitly on the profile.
+     */
+    @Override
+    public List<DriverProperty> getPerformanceProperties() {
+        return List.of(
+            new DriverProperty("journal_mode", DriverProperty.Type.STRING, DriverProperty.Scope.SESSION,
+                null, "WAL lets readers run while a write is in progress; persisted in the database file"),
+            new DriverProperty("synchronous", DriverProperty.Type.STRING, DriverProperty.Scope.SESSION,
+                null, "NORMAL syncs to disk at checkpoints only; safe with WAL"),
+            new DriverProperty("cache_size", DriverProperty.Type.INTEGER, DriverProperty.Scope.SESSION,
+                "-65536", "Page cache size; negative values are in KiB"),
+            new DriverProperty("mmap_size", DriverProperty.Type.INTEGER, DriverProperty.Scope.SESSION,
+                "268435456", "Bytes of the database file read through memory mapping"),
+            new DriverProperty("temp_store", DriverProperty.Type.STRING, DriverProperty.Scope.SESSION,
+                "MEMORY", "Keep temporary tables and indexes in memory"),
+            new DriverProperty("query_only", DriverProperty.Type.BOOLEAN, DriverProperty.Scope.SESSION,
+                null, "Open read-only: reject any change to the database"));
+    }
+
+    @Override
+    public String getSessionPropertyStatement(String name, String value) {
+        // PRAGMA values are keywords or numbers; booleans are spelled ON/OFF
+        String pragmaValue = value.equals("true") ? "ON" : value.equals("false") ? "OFF" : value;
+        if (!name.matches("[A-Za-z0-9_]+") || !pragmaValue.matches("-?[A-Za-z0-9_]+")) {
+            throw new IllegalArgumentException("Invalid PRAGMA: " + name + " = " + value);
+        }
+        return "PRAGMA " + name + " = " + pragmaValue;
+    }
+
+    @Override
+    public String getRangeHashQuery(String query, String keyColumn, List<String> columns, long start, long end,
+                                    long bucketWidth) {
+        // SQLite has no built-in hash function
+        return null;
+    }
+
+    @Override
+    public List<String> getTableStatisticsQueries(String schema) {
+        // sqlite_stat1 only exists after ANALYZE; its first number per index is the row count.
+        // dbstat requires a build with SQLITE_ENABLE_DBSTAT_VTAB and reads every page.
+        String rows = "(SELECT MAX(CAST(substr(s.stat, 1, instr(s.stat || ' ', ' ') - 1) AS INTEGER)) " +
+                      "FROM sqlite_stat1 s WHERE s.tbl = m.name)";
+        String sizes = "WITH sizes AS (SELECT name, SUM(pgsize) AS bytes FROM dbstat GROUP BY name) ";
+        String dataBytes = "(SELECT bytes FROM sizes WHERE sizes.name = m.name)";
+        String indexBytes = "(SELECT SUM(sizes.bytes) FROM sizes JOIN sqlite_master i ON i.name = sizes.name " +
+                            "WHERE i.type = 'index' AND i.tbl_name = m.name)";
+        String withSizes = sizes + "SELECT name, row_estimate, data_bytes + COALESCE(index_bytes, 0), data_bytes, " +
+                           "index_bytes FROM (SELECT m.name AS name, %s AS row_estimate, " + dataBytes +
+                           " AS data_bytes, " + indexBytes + " AS index_bytes FROM sqlite_master m " +
+                           "WHERE m.type = 'table' AND m.name NOT LIKE 'sqlite_%%') ORDER BY name";
+        String withoutSizes = "SELECT m.name, %s, NULL, NULL, NULL FROM sqlite_master m " +
+                              "WHERE m.type = 'table' AND m.name NOT LIKE 'sqlite_%%' ORDER BY m.name";
+        return List.of(
+            String.format(withSizes, rows),
+            String.format(withoutSizes, rows),
+            String.format(withSizes, "NULL"),
+            String.format(withoutSizes, "NULL"));
+    }
+
+    @Override
+    public String getSampleQuery(String schema, String table, int rows, Long estimatedRows, String integerKey) {
+        // Read a run of rows from a random rowid. MIN and MAX are separate subqueries because
+        // SQLite only turns a lone MIN or MAX into a b-tree lookup
+        String quotedTable = quoteIdentifier(table);
+        return "SELECT * FROM " + quotedTable + " WHERE rowid >= (SELECT lo + abs(random() % max(1, hi - lo - "
+            + rows + " + 1)) FROM (SELECT (SELECT MIN(rowid) FROM " + quotedTable + ") AS lo, (SELECT MAX(rowid) FROM "
+            + quotedTable + ") AS hi)) "
+            + "ORDER BY rowid LIMIT " + rows;
+    }
+
     @Override
     public String getName() {
         return "SQLite";
@@ -0,0 +1,75 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.event;
+
+import io.github.crramirez.casvizer.model.DatabaseConnection;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Base of the Flight Recorder events emitted by Casvizer, with the connection profile,
+ * dialect and error of the operation.
+ * <p>
+ * Events are meant to stay enabled: services call {@code begin()} before the operation
+ * and only fill in the fields once {@code shouldCommit()} returns true, so nothing beyond
+ * the event allocation, which escape analysis usually removes, happens while no recording
+ * is running. The common fields are protected because Flight Recorder ignores private
+ * fields declared in a superclass of the event.
+ */
+public abstract class CasvizerEvent extends Event {
+
+    @Label("Connection Profile")
+    protected String profile;
+
+    @Label("Dialect")
+    protected String dialect;
+
+    @Label("Error")
+    protected String error;
+
+    public void setProfile(String profile) {
+        this.profile = profile;
+    }
+
+    public void setDialect(String dialect) {
+        this.dialect = dialect;
+    }
+
+    /**
+     * Set the profile and dialect from a connection.
+     *
+     * @param connection The connection the operation ran on, may be null
+     */
+    public void setConnection(DatabaseConnection connection) {
+        if (connection != null) {
+            this.profile = (connection.getProfile() != null) ? connection.getProfile().getName() : null;
+            this.dialect = connection.getDatabaseType();
+        }
+    }
+
+    /**
+     * Record that the operation failed.
+     *
+     * @param failure The exception it failed with, null if it succeeded
+     */
+    public void setError(Throwable failure) {
+        if (failure != null) {
+            this.error = (failure.getMessage() != null) ? failure.getMessage() : failure.getClass().getSimpleName();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for opening or closing a database connection.
+ */
+@Name("io.github.crramirez.casvizer.Connection")
+@Label("Connection")
+@Category({"Casvizer", "Database"})
+@Description("Database connection opened or closed")
+@StackTrace(false)
+public class ConnectionEvent extends CasvizerEvent {
+
+    @Label("Operation")
+    @Description("connect or disconnect")
+    private String operation;
+
+    @Label("Open Connections")
+    @Description("Connections open after the operation")
+    private int openConnections;
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public void setOpenConnections(int openConnections) {
+        this.openConnections = openConnections;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a result export to a file.
+ */
+@Name("io.github.crramirez.casvizer.Export")
+@Label("Export")
+@Category({"Casvizer", "Export"})
+@Description("Query result written to a file")
+@StackTrace(false)
+public class ExportEvent extends CasvizerEvent {
+
+    @Label("Format")
+    private String format;
+
+    @Label("File")
+    private String file;
+
+    @Label("Rows")
+    private long rows;
+
+    @Label("Columns")
+    private int columns;
+
+    @Label("Bytes")
+    @DataAmount
+    private long bytes;
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    public void setColumns(int columns) {
+        this.columns = columns;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a catalog lookup of the metadata service.
+ */
+@Name("io.github.crramirez.casvizer.Metadata")
+@Label("Metadata Query")
+@Category({"Casvizer", "Database"})
+@Description("Schema, table, column or statistics lookup")
+@StackTrace(false)
+public class MetadataEvent extends CasvizerEvent {
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Schema")
+    private String schema;
+
+    @Label("Table")
+    private String table;
+
+    @Label("Items")
+    @Description("Number of schemas, tables, columns or statistics returned")
+    private long items;
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public void setSchema(String schema) {
+        this.schema = schema;
+    }
+
+    public void setTable(String table) {
+        this.table = table;
+    }
+
+    public void setItems(long items) {
+        this.items = items;
+    }
+}
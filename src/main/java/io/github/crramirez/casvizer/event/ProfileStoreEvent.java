@@ -0,0 +1,60 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for reading or writing the connection profiles file, which
+ * includes decrypting or encrypting the stored passwords.
+ */
+@Name("io.github.crramirez.casvizer.ProfileStore")
+@Label("Profile Store")
+@Category({"Casvizer", "Persistence"})
+@Description("Connection profiles loaded from or saved to disk")
+@StackTrace(false)
+public class ProfileStoreEvent extends CasvizerEvent {
+
+    @Label("Operation")
+    @Description("load or save")
+    private String operation;
+
+    @Label("Profiles")
+    private int profiles;
+
+    @Label("Bytes")
+    @DataAmount
+    private long bytes;
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public void setProfiles(int profiles) {
+        this.profiles = profiles;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+}
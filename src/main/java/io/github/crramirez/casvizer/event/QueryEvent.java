@@ -0,0 +1,103 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for a statement executed through the query service.
+ * <p>
+ * The event's duration spans the whole call; the phase fields repeat the breakdown of
+ * {@link io.github.crramirez.casvizer.model.QueryTimings} for queries that return rows.
+ */
+@Name("io.github.crramirez.casvizer.Query")
+@Label("Query")
+@Category({"Casvizer", "Database"})
+@Description("SQL statement executed by Casvizer")
+@StackTrace(false)
+public class QueryEvent extends CasvizerEvent {
+
+    @Label("SQL Fingerprint")
+    @Description("Statement with constants replaced by placeholders")
+    private String fingerprint;
+
+    @Label("Operation")
+    @Description("query, update, batch, sample, explain or explain analyze")
+    private String operation;
+
+    @Label("Rows")
+    @Description("Rows returned, or rows affected by an update")
+    private long rows;
+
+    @Label("Bytes")
+    @DataAmount
+    private long bytes;
+
+    @Label("Cached")
+    private boolean cached;
+
+    @Label("Execute Time")
+    @Timespan
+    private long executeNanos;
+
+    @Label("Fetch Time")
+    @Timespan
+    private long fetchNanos;
+
+    @Label("Materialize Time")
+    @Timespan
+    private long materializeNanos;
+
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+
+    public void setCached(boolean cached) {
+        this.cached = cached;
+    }
+
+    public void setExecuteNanos(long executeNanos) {
+        this.executeNanos = executeNanos;
+    }
+
+    public void setFetchNanos(long fetchNanos) {
+        this.fetchNanos = fetchNanos;
+    }
+
+    public void setMaterializeNanos(long materializeNanos) {
+        this.materializeNanos = materializeNanos;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.model;
+
+/**
+ * Column-oriented storage for the values of a single result column.
+ * <p>
+ * Implementations are filled sequentially while a result set is fetched and are
+ * read-only afterwards. Besides value access they report an estimate of their heap
+ * footprint so that the memory saved by specialized encodings can be shown per column.
+ */
+public interface ColumnStorage {
+
+    /**
+     * Append a value to the end of the column.
+     *
+     * @param value The value to append (may be null)
+     */
+    void append(Object value);
+
+    /**
+     * Get the value stored at the given row.
+     *
+     * @param row The zero-based row index
+     * @return The value, or null for SQL NULL
+     */
+    Object get(int row);
+
+    /**
+     * Compare the values of two rows of this column. SQL NULL sorts before any value.
+     *
+     * @param rowA The first zero-based row index
+     * @param rowB The second zero-based row index
+     * @return Negative, zero or positive as the first value is less than, equal to
+     *         or greater than the second
+     */
+    int compare(int rowA, int rowB);
+
+    /**
+     * Get the number of values stored in this column.
+     *
+     * @return The number of rows
+     */
+    int size();
+
+    /**
+     * Release any bookkeeping only needed while the column is being filled.
+     * Called once after the last value has been appended.
+     */
+    void trimToSize();
+
+    /**
+     * Get a short name describing how the values are encoded (e.g. "dictionary" or "raw").
+     *
+     * @return The encoding name
+     */
+    String getEncoding();
+
+    /**
+     * Get the number of distinct non-null values, if the encoding tracks it.
+     *
+     * @return The distinct value count, or -1 if unknown
+     */
+    int getDistinctCount();
+
+    /**
+     * Estimate the heap used by this column in its current encoding.
+     *
+     * @return Estimated size in bytes
+     */
+    long getEstimatedBytes();
+
+    /**
+     * Estimate the heap the same values would use stored as one object per row.
+     *
+     * @return Estimated size in bytes without any encoding
+     */
+    long getEstimatedRawBytes();
+}
@@ -17,6 +17,9 @@
  */
 package io.github.crramirez.casvizer.model;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Represents a connection profile with database connection details.
  */
@@ -29,6 +32,8 @@ public class ConnectionProfile {
     private String username;
     private String password;
     private String jdbcUrl;
+    private boolean performancePresetsEnabled = true;
+    private Map<String, String> driverProperties = new LinkedHashMap<>();
 
     public ConnectionProfile() {
     }
@@ -106,6 +111,36 @@ public class ConnectionProfile {
         this.jdbcUrl = jdbcUrl;
     }
 
+    /**
+     * Check whether new connections start from the dialect's performance preset
+     * (see {@code Dialect.getPerformanceProperties()}).
+     *
+     * @return true if the preset is applied
+     */
+    public boolean isPerformancePresetsEnabled() {
+        return performancePresetsEnabled;
+    }
+
+    public void setPerformancePresetsEnabled(boolean performancePresetsEnabled) {
+        this.performancePresetsEnabled = performancePresetsEnabled;
+    }
+
+    /**
+     * Get the driver and session properties set on this profile, which override the preset.
+     *
+     * @return Property values by name
+     */
+    public Map<String, String> getDriverProperties() {
+        if (driverProperties == null) {
+            driverProperties = new LinkedHashMap<>();
+        }
+        return driverProperties;
+    }
+
+    public void setDriverProperties(Map<String, String> driverProperties) {
+        this.driverProperties = new LinkedHashMap<>(driverProperties);
+    }
+
     private String buildJdbcUrl() {
         if (databaseType == null || databaseType.isEmpty()) {
             throw new IllegalArgumentException("Database type must be specified");
@@ -17,9 +17,17 @@
  */
 package io.github.crramirez.casvizer.model;
 
+import io.github.crramirez.casvizer.dialect.Dialect;
+import io.github.crramirez.casvizer.dialect.DialectFactory;
+import io.github.crramirez.casvizer.dialect.DriverProperty;
+
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
 
 /**
  * Represents a database connection with its metadata.
@@ -28,22 +36,75 @@ public class DatabaseConnection {
     private final ConnectionProfile profile;
     private Connection connection;
     private boolean connected;
+    private List<DriverProperty.Setting> settings;
 
     public DatabaseConnection(ConnectionProfile profile) {
         this.profile = profile;
         this.connected = false;
     }
 
+    /**
+     * Open the connection with the profile's effective driver settings: the dialect's
+     * performance preset (unless disabled) overridden by the profile's own properties.
+     * Parameters in the JDBC URL take precedence over connection-scoped properties.
+     * A preset session property the database rejects does not fail the connection; it is
+     * reported by {@link #getSettings()} with its rejection instead.
+     *
+     * @throws SQLException if connecting or applying a session property set on the profile fails
+     * @throws IllegalArgumentException if a profile property has an invalid value
+     */
     public void connect() throws SQLException {
         String url = profile.getJdbcUrl();
         String username = profile.getUsername();
         String password = profile.getPassword();
 
+        Dialect dialect = DialectFactory.getDialect(getDatabaseType());
+        List<DriverProperty.Setting> resolved = DriverProperty.resolve(
+            dialect, profile.isPerformancePresetsEnabled(), profile.getDriverProperties());
+        Properties properties = new Properties();
+        for (DriverProperty.Setting setting : resolved) {
+            if (setting.getProperty().getScope() == DriverProperty.Scope.CONNECTION) {
+                properties.setProperty(setting.getProperty().getName(), setting.getValue());
+            }
+        }
         if (username != null && !username.isEmpty()) {
-            connection = DriverManager.getConnection(url, username, password);
-        } else {
-            connection = DriverManager.getConnection(url);
+            properties.setProperty("user", username);
+            if (password != null) {
+                properties.setProperty("password", password);
+            }
+        }
+        
+        Connection opened = DriverManager.getConnection(url, properties);
+        List<DriverProperty.Setting> applied = new ArrayList<>();
+        try (Statement stmt = opened.createStatement()) {
+            for (DriverProperty.Setting setting : resolved) {
+                if (setting.getProperty().getScope() != DriverProperty.Scope.SESSION) {
+                    applied.add(setting);
+                    continue;
+                }
+                try {
+                    stmt.execute(dialect.getSessionPropertyStatement(
+                        setting.getProperty().getName(), setting.getValue()));
+                    applied.add(setting);
+                } catch (SQLException | RuntimeException e) {
+                    // A value set on the profile is a requirement (such as query_only), a preset is only tuning
+                    if (setting.isFromProfile()) {
+                        throw e;
+                    }
+                    String errorMsg = (e.getMessage() != null) ? e.getMessage() : e.getClass().getSimpleName();
+                    applied.add(setting.rejected(errorMsg));
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            try {
+                opened.close();
+            } catch (SQLException closeException) {
+                e.addSuppressed(closeException);
+            }
+            throw e;
         }
+        connection = opened;
+        settings = applied;
         connected = true;
     }
 
@@ -65,6 +126,35 @@ public class DatabaseConnection {
         return profile;
     }
 
+    /**
+     * Get the driver and session settings, as applied by the last {@link #connect()}
+     * or, before connecting, as they would be applied.
+     *
+     * @return The effective settings, including preset settings the database rejected
+     */
+    public List<DriverProperty.Setting> getSettings() {
+        if (settings != null) {
+            return settings;
+        }
+        return DriverProperty.resolve(DialectFactory.getDialect(getDatabaseType()),
+            profile.isPerformancePresetsEnabled(), profile.getDriverProperties());
+    }
+
+    /**
+     * Get the preset settings the database rejected on the last {@link #connect()}.
+     *
+     * @return The rejected settings, empty if all were applied
+     */
+    public List<DriverProperty.Setting> getRejectedSettings() {
+        List<DriverProperty.Setting> rejected = new ArrayList<>();
+        for (DriverProperty.Setting setting : getSettings()) {
+            if (setting.getRejection() != null) {
+                rejected.add(setting);
+            }
+        }
+        return rejected;
+    }
+
     public boolean isConnected() {
         if (!connected || connection == null) {
             return false;
@@ -0,0 +1,140 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.model;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Column storage for long values kept in a primitive array, with SQL NULLs tracked in a bitmap.
+ * Values are only boxed when read through {@link #get(int)}.
+ */
+public class LongColumnStorage implements ColumnStorage {
+    private static final int VALUE_BYTES = 8;
+    private static final int BOXED_BYTES = 24;
+    private static final int REFERENCE_BYTES = 4;
+
+    private long[] values = new long[16];
+    private final BitSet nulls = new BitSet();
+    private int size;
+
+    @Override
+    public void append(Object value) {
+        if (value == null) {
+            appendNull();
+        } else {
+            appendLong(((Number) value).longValue());
+        }
+    }
+
+    /**
+     * Append a non-null value to the end of the column.
+     *
+     * @param value The value to append
+     */
+    public void appendLong(long value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size + (size >> 1));
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * Append a SQL NULL to the end of the column.
+     */
+    public void appendNull() {
+        nulls.set(size);
+        appendLong(0);
+    }
+
+    /**
+     * Get the primitive value stored at the given row.
+     *
+     * @param row The zero-based row index
+     * @return The value, or 0 if the row holds SQL NULL
+     */
+    public long getLong(int row) {
+        checkIndex(row);
+        return values[row];
+    }
+
+    /**
+     * Check whether the given row holds SQL NULL.
+     *
+     * @param row The zero-based row index
+     * @return true if the value is NULL
+     */
+    public boolean isNull(int row) {
+        checkIndex(row);
+        return nulls.get(row);
+    }
+
+    @Override
+    public Long get(int row) {
+        checkIndex(row);
+        return nulls.get(row) ? null : values[row];
+    }
+
+    @Override
+    public int compare(int rowA, int rowB) {
+        if (!nulls.isEmpty()) {
+            boolean nullA = nulls.get(rowA);
+            boolean nullB = nulls.get(rowB);
+            if (nullA || nullB) {
+                return Boolean.compare(!nullA, !nullB);
+            }
+        }
+        return Long.compare(values[rowA], values[rowB]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void trimToSize() {
+        values = Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public String getEncoding() {
+        return "long";
+    }
+
+    @Override
+    public int getDistinctCount() {
+        return -1;
+    }
+
+    @Override
+    public long getEstimatedBytes() {
+        return (long) values.length * VALUE_BYTES + nulls.size() / 8;
+    }
+
+    @Override
+    public long getEstimatedRawBytes() {
+        return (long) size * REFERENCE_BYTES + (long) (size - nulls.cardinality()) * BOXED_BYTES;
+    }
+
+    private void checkIndex(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of range for size " + size);
+        }
+    }
+}
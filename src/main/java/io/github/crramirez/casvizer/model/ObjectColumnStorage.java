@@ -0,0 +1,154 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.model;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+
+/**
+ * Column storage that keeps one object reference per row, exactly as returned by the driver.
+ */
+public class ObjectColumnStorage implements ColumnStorage {
+    private static final int REFERENCE_BYTES = 4;
+
+    private final ArrayList<Object> values;
+    private long valueBytes;
+
+    public ObjectColumnStorage() {
+        this.values = new ArrayList<>();
+    }
+
+    public ObjectColumnStorage(int initialCapacity) {
+        this.values = new ArrayList<>(initialCapacity);
+    }
+
+    @Override
+    public void append(Object value) {
+        values.add(value);
+        valueBytes += estimateValueBytes(value);
+    }
+
+    @Override
+    public Object get(int row) {
+        return values.get(row);
+    }
+
+    @Override
+    public int compare(int rowA, int rowB) {
+        return compareValues(values.get(rowA), values.get(rowB));
+    }
+
+    @Override
+    public int size() {
+        return values.size();
+    }
+
+    @Override
+    public void trimToSize() {
+        values.trimToSize();
+    }
+
+    @Override
+    public String getEncoding() {
+        return "object";
+    }
+
+    @Override
+    public int getDistinctCount() {
+        return -1;
+    }
+
+    @Override
+    public long getEstimatedBytes() {
+        return (long) values.size() * REFERENCE_BYTES + valueBytes;
+    }
+
+    @Override
+    public long getEstimatedRawBytes() {
+        return getEstimatedBytes();
+    }
+
+    /**
+     * Compare two column values. SQL NULL sorts first, numbers compare numerically,
+     * values of the same comparable class use their natural order and anything else
+     * is compared by its text form.
+     *
+     * @param a The first value (may be null)
+     * @param b The second value (may be null)
+     * @return Negative, zero or positive as the first value is less than, equal to
+     *         or greater than the second
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static int compareValues(Object a, Object b) {
+        if (a == b) {
+            return 0;
+        }
+        if (a == null || b == null) {
+            return a == null ? -1 : 1;
+        }
+        if (a instanceof Number numberA && b instanceof Number numberB && a.getClass() != b.getClass()) {
+            return toBigDecimal(numberA).compareTo(toBigDecimal(numberB));
+        }
+        if (a instanceof Comparable && a.getClass() == b.getClass()) {
+            return ((Comparable) a).compareTo(b);
+        }
+        return a.toString().compareTo(b.toString());
+    }
+
+    private static BigDecimal toBigDecimal(Number number) {
+        if (number instanceof BigDecimal decimal) {
+            return decimal;
+        }
+        if (number instanceof BigInteger integer) {
+            return new BigDecimal(integer);
+        }
+        if (number instanceof Double || number instanceof Float) {
+            double value = number.doubleValue();
+            // NaN and infinities have no decimal form; clamp them to the ends of the range
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                return BigDecimal.valueOf(value > 0 || Double.isNaN(value) ? Double.MAX_VALUE : -Double.MAX_VALUE);
+            }
+            return BigDecimal.valueOf(value);
+        }
+        return BigDecimal.valueOf(number.longValue());
+    }
+
+    /**
+     * Rough per-object heap estimate used for storage reporting. The numbers assume
+     * a 64-bit JVM with compressed object pointers.
+     */
+    static long estimateValueBytes(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String s) {
+            return StringColumnStorage.estimateStringBytes(s);
+        }
+        if (value instanceof byte[] bytes) {
+            return 16L + bytes.length;
+        }
+        if (value instanceof Long || value instanceof Double) {
+            return 24;
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return 16;
+        }
+        return 32;
+    }
+}
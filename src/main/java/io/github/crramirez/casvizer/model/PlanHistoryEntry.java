@@ -0,0 +1,150 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A recorded execution of a query: when and where it ran, how long it took and the shape
+ * of the plan the database chose for it.
+ */
+public class PlanHistoryEntry {
+    private String profileName;
+    private String databaseType;
+    private String query;
+    private long timestamp;
+    private double executionTimeMs;
+    private String planFingerprint;
+    private List<String> planShape = new ArrayList<>();
+    private QueryTimings timings;
+
+    public PlanHistoryEntry() {
+    }
+
+    public PlanHistoryEntry(String profileName, String databaseType, String query, long timestamp,
+                            double executionTimeMs, String planFingerprint, List<String> planShape) {
+        this.profileName = profileName;
+        this.databaseType = databaseType;
+        this.query = query;
+        this.timestamp = timestamp;
+        this.executionTimeMs = executionTimeMs;
+        this.planFingerprint = planFingerprint;
+        this.planShape = new ArrayList<>(planShape);
+    }
+
+    public String getProfileName() {
+        return profileName;
+    }
+
+    public void setProfileName(String profileName) {
+        this.profileName = profileName;
+    }
+
+    public String getDatabaseType() {
+        return databaseType;
+    }
+
+    public void setDatabaseType(String databaseType) {
+        this.databaseType = databaseType;
+    }
+
+    /**
+     * Get the normalized query text, which identifies repeated executions of a query.
+     *
+     * @return The normalized query
+     */
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    /**
+     * Get when the query was executed.
+     *
+     * @return Epoch milliseconds
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public double getExecutionTimeMs() {
+        return executionTimeMs;
+    }
+
+    public void setExecutionTimeMs(double executionTimeMs) {
+        this.executionTimeMs = executionTimeMs;
+    }
+
+    public String getPlanFingerprint() {
+        return planFingerprint;
+    }
+
+    public void setPlanFingerprint(String planFingerprint) {
+        this.planFingerprint = planFingerprint;
+    }
+
+    /**
+     * Get the plan shape as returned by {@link QueryPlan#getShape()}.
+     *
+     * @return The shape lines
+     */
+    public List<String> getPlanShape() {
+        return planShape;
+    }
+
+    public void setPlanShape(List<String> planShape) {
+        this.planShape = planShape;
+    }
+
+    /**
+     * Get the phase timings of the execution.
+     *
+     * @return The timings, or null if only the total time is known
+     */
+    public QueryTimings getTimings() {
+        return timings;
+    }
+
+    public void setTimings(QueryTimings timings) {
+        this.timings = timings;
+    }
+
+    /**
+     * Check whether another entry records the same query on the same connection.
+     *
+     * @param other The other entry
+     * @return true if profile, database type and query match
+     */
+    public boolean isSameQuery(PlanHistoryEntry other) {
+        return equalsOrBothNull(profileName, other.profileName)
+            && equalsOrBothNull(databaseType, other.databaseType)
+            && equalsOrBothNull(query, other.query);
+    }
+
+    private static boolean equalsOrBothNull(String a, String b) {
+        return (a == null) ? b == null : a.equals(b);
+    }
+}
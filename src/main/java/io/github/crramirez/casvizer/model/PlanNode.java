@@ -0,0 +1,181 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A node of a query execution plan.
+ * <p>
+ * Estimates come from the planner; actual values are only present when the plan was
+ * analyzed. Like the databases that report them, actual rows and time are averages per
+ * loop, so {@link #getTotalTimeMs()} multiplies by the number of loops. Times are
+ * inclusive of the children, and {@link #getSelfTimeMs()} subtracts them.
+ */
+public class PlanNode {
+    private final String operation;
+    private final String detail;
+    private final List<PlanNode> children = new ArrayList<>();
+    private Double estimatedRows;
+    private Double estimatedCost;
+    private Double actualRows;
+    private Double actualTimeMs;
+    private long loops;
+    private Long sharedHitBlocks;
+    private Long sharedReadBlocks;
+
+    public PlanNode(String operation, String detail) {
+        this.operation = operation;
+        this.detail = (detail != null) ? detail : "";
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * Get the object and conditions the operation works on, e.g. the table, index or
+     * join condition.
+     *
+     * @return The detail text, empty if none
+     */
+    public String getDetail() {
+        return detail;
+    }
+
+    public List<PlanNode> getChildren() {
+        return Collections.unmodifiableList(children);
+    }
+
+    public void addChild(PlanNode child) {
+        children.add(child);
+    }
+
+    /**
+     * Get the planner's row estimate per loop.
+     *
+     * @return Estimated rows, or null if the plan has no estimates
+     */
+    public Double getEstimatedRows() {
+        return estimatedRows;
+    }
+
+    public void setEstimatedRows(Double estimatedRows) {
+        this.estimatedRows = estimatedRows;
+    }
+
+    /**
+     * Get the planner's total cost, in the database's own cost units.
+     *
+     * @return Estimated cost, or null if not reported
+     */
+    public Double getEstimatedCost() {
+        return estimatedCost;
+    }
+
+    public void setEstimatedCost(Double estimatedCost) {
+        this.estimatedCost = estimatedCost;
+    }
+
+    /**
+     * Record the runtime statistics of an analyzed plan.
+     *
+     * @param rows Actual rows per loop
+     * @param timeMs Inclusive time per loop in milliseconds
+     * @param loops Number of times the node was executed, 0 if never
+     */
+    public void setActual(double rows, double timeMs, long loops) {
+        this.actualRows = rows;
+        this.actualTimeMs = timeMs;
+        this.loops = loops;
+    }
+
+    public boolean hasActual() {
+        return actualRows != null;
+    }
+
+    /**
+     * Get the actual rows per loop.
+     *
+     * @return Actual rows, or null if the plan was not analyzed
+     */
+    public Double getActualRows() {
+        return actualRows;
+    }
+
+    public long getLoops() {
+        return loops;
+    }
+
+    /**
+     * Get the total inclusive time of the node over all its loops.
+     *
+     * @return Milliseconds, 0 if the plan was not analyzed
+     */
+    public double getTotalTimeMs() {
+        return (actualTimeMs != null) ? actualTimeMs * loops : 0;
+    }
+
+    /**
+     * Get the time spent in this node itself, excluding its children.
+     *
+     * @return Milliseconds, 0 if the plan was not analyzed
+     */
+    public double getSelfTimeMs() {
+        double childTime = 0;
+        for (PlanNode child : children) {
+            childTime += child.getTotalTimeMs();
+        }
+        return Math.max(0, getTotalTimeMs() - childTime);
+    }
+
+    public Long getSharedHitBlocks() {
+        return sharedHitBlocks;
+    }
+
+    public Long getSharedReadBlocks() {
+        return sharedReadBlocks;
+    }
+
+    public void setBuffers(Long sharedHitBlocks, Long sharedReadBlocks) {
+        this.sharedHitBlocks = sharedHitBlocks;
+        this.sharedReadBlocks = sharedReadBlocks;
+    }
+
+    /**
+     * Get how far the row estimate is off from the actual rows, as a ratio of at least 1
+     * in either direction. Counts below one row are treated as one row.
+     *
+     * @return The misestimate factor, 1 if estimate or actual rows are unknown
+     */
+    public double getMisestimateFactor() {
+        if (estimatedRows == null || actualRows == null || loops == 0) {
+            return 1;
+        }
+        double estimated = Math.max(estimatedRows, 1);
+        double actual = Math.max(actualRows, 1);
+        return Math.max(estimated / actual, actual / estimated);
+    }
+
+    @Override
+    public String toString() {
+        return detail.isEmpty() ? operation : operation + " " + detail;
+    }
+}
@@ -0,0 +1,317 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.model;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A parsed query execution plan.
+ * <p>
+ * Besides the node tree, the plan points out where to look first: the hotspots, i.e. the
+ * nodes with the largest share of self time, and the nodes whose row estimate is off by
+ * at least {@link #MISESTIMATE_FACTOR}, which usually explains a bad join order or
+ * access path.
+ */
+public class QueryPlan {
+
+    /**
+     * Maximum number of nodes reported as hotspots.
+     */
+    public static final int MAX_HOTSPOTS = 3;
+
+    /**
+     * Minimum share of the total time a node must take by itself to be a hotspot.
+     */
+    public static final double HOTSPOT_MIN_SHARE = 0.10;
+
+    /**
+     * Ratio between estimated and actual rows from which a node counts as misestimated.
+     */
+    public static final double MISESTIMATE_FACTOR = 10;
+
+    private final PlanNode root;
+    private final boolean analyzed;
+    private final Double planningTimeMs;
+    private final Double executionTimeMs;
+    private final String rawOutput;
+
+    public QueryPlan(PlanNode root, boolean analyzed, Double planningTimeMs, Double executionTimeMs,
+                     String rawOutput) {
+        this.root = root;
+        this.analyzed = analyzed;
+        this.planningTimeMs = planningTimeMs;
+        this.executionTimeMs = executionTimeMs;
+        this.rawOutput = rawOutput;
+    }
+
+    public PlanNode getRoot() {
+        return root;
+    }
+
+    /**
+     * Check whether the statement was executed to collect actual rows and times.
+     *
+     * @return true for an EXPLAIN ANALYZE plan
+     */
+    public boolean isAnalyzed() {
+        return analyzed;
+    }
+
+    /**
+     * Get the planning time reported by the database.
+     *
+     * @return Milliseconds, or null if not reported
+     */
+    public Double getPlanningTimeMs() {
+        return planningTimeMs;
+    }
+
+    /**
+     * Get the execution time reported by the database, or measured for databases that do
+     * not report one.
+     *
+     * @return Milliseconds, or null if the plan was not analyzed
+     */
+    public Double getExecutionTimeMs() {
+        return executionTimeMs;
+    }
+
+    /**
+     * Get the EXPLAIN output the plan was parsed from.
+     *
+     * @return The raw plan text
+     */
+    public String getRawOutput() {
+        return rawOutput;
+    }
+
+    /**
+     * Get all nodes in depth-first order, parents before their children.
+     *
+     * @return The plan nodes
+     */
+    public List<PlanNode> getNodes() {
+        List<PlanNode> nodes = new ArrayList<>();
+        collect(root, nodes);
+        return nodes;
+    }
+
+    /**
+     * Get the shape of the plan: one line per node with its operation and detail, indented
+     * by depth, without estimates or runtime statistics. Two runs with the same shape used
+     * the same plan.
+     *
+     * @return The shape lines in depth-first order
+     */
+    public List<String> getShape() {
+        List<String> shape = new ArrayList<>();
+        addShape(root, 0, shape);
+        return shape;
+    }
+
+    /**
+     * Get a short hash of {@link #getShape()} to compare plans cheaply.
+     *
+     * @return 16 hexadecimal digits
+     */
+    public String getShapeFingerprint() {
+        return fingerprint(getShape());
+    }
+
+    /**
+     * Hash plan shape lines as returned by {@link #getShape()}.
+     *
+     * @param shape The shape lines
+     * @return 16 hexadecimal digits
+     */
+    public static String fingerprint(List<String> shape) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String line : shape) {
+                digest.update(line.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            return HexFormat.of().formatHex(digest.digest(), 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Get the nodes that take the most time by themselves, most expensive first.
+     *
+     * @return Up to {@link #MAX_HOTSPOTS} nodes, empty if the plan was not analyzed
+     */
+    public List<PlanNode> getHotspots() {
+        double total = getTotalTimeMs();
+        if (!analyzed || total <= 0) {
+            return List.of();
+        }
+        return getNodes().stream()
+            .filter(node -> node.getSelfTimeMs() > 0 && node.getSelfTimeMs() >= total * HOTSPOT_MIN_SHARE)
+            .sorted(Comparator.comparingDouble(PlanNode::getSelfTimeMs).reversed())
+            .limit(MAX_HOTSPOTS)
+            .toList();
+    }
+
+    /**
+     * Get the nodes whose row estimate is off by at least {@link #MISESTIMATE_FACTOR}.
+     *
+     * @return The misestimated nodes in plan order
+     */
+    public List<PlanNode> getMisestimates() {
+        return getNodes().stream()
+            .filter(node -> node.getMisestimateFactor() >= MISESTIMATE_FACTOR)
+            .toList();
+    }
+
+    /**
+     * Get the time the self-time shares are relative to: the execution time when known,
+     * otherwise the inclusive time of the root node.
+     *
+     * @return Milliseconds
+     */
+    public double getTotalTimeMs() {
+        double rootTime = root.getTotalTimeMs();
+        return (executionTimeMs != null) ? Math.max(executionTimeMs, rootTime) : rootTime;
+    }
+
+    /**
+     * Render the plan as a table with one row per node, indented by depth, with
+     * estimates, runtime statistics and HOT / MISESTIMATE flags.
+     *
+     * @return The plan as a query result
+     */
+    public QueryResult toQueryResult() {
+        List<String> columnNames = Arrays.asList("Node", "Cost", "Est. Rows", "Rows", "Loops",
+            "Total ms", "Self ms", "Self %", "Buffers", "Flags");
+        List<PlanNode> hotspots = getHotspots();
+        double total = getTotalTimeMs();
+        List<List<Object>> rows = new ArrayList<>();
+        addRows(root, 0, hotspots, total, rows);
+        long elapsed = (executionTimeMs != null) ? Math.round(executionTimeMs) : 0;
+        return new QueryResult(columnNames, rows, elapsed);
+    }
+
+    private void addRows(PlanNode node, int depth, List<PlanNode> hotspots, double total, List<List<Object>> rows) {
+        List<Object> row = new ArrayList<>();
+        row.add("  ".repeat(depth) + (depth > 0 ? "-> " : "") + node);
+        row.add(node.getEstimatedCost() != null ? round(node.getEstimatedCost()) : null);
+        row.add(node.getEstimatedRows() != null ? Math.round(node.getEstimatedRows()) : null);
+        if (node.hasActual()) {
+            row.add(Math.round(node.getActualRows()));
+            row.add(node.getLoops());
+            row.add(round(node.getTotalTimeMs()));
+            row.add(round(node.getSelfTimeMs()));
+            row.add(total > 0 ? round(100.0 * node.getSelfTimeMs() / total) : null);
+        } else {
+            row.add(null);
+            row.add(null);
+            row.add(null);
+            row.add(null);
+            row.add(null);
+        }
+        row.add(formatBuffers(node));
+        row.add(formatFlags(node, hotspots));
+        rows.add(row);
+        for (PlanNode child : node.getChildren()) {
+            addRows(child, depth + 1, hotspots, total, rows);
+        }
+    }
+
+    private static String formatBuffers(PlanNode node) {
+        if (node.getSharedHitBlocks() == null && node.getSharedReadBlocks() == null) {
+            return null;
+        }
+        long hit = (node.getSharedHitBlocks() != null) ? node.getSharedHitBlocks() : 0;
+        long read = (node.getSharedReadBlocks() != null) ? node.getSharedReadBlocks() : 0;
+        return "hit=" + hit + " read=" + read;
+    }
+
+    private static String formatFlags(PlanNode node, List<PlanNode> hotspots) {
+        List<String> flags = new ArrayList<>();
+        int hotspot = hotspots.indexOf(node);
+        if (hotspot >= 0) {
+            flags.add("HOT #" + (hotspot + 1));
+        }
+        if (node.getLoops() == 0 && node.hasActual()) {
+            flags.add("NEVER EXECUTED");
+        }
+        double factor = node.getMisestimateFactor();
+        if (factor >= MISESTIMATE_FACTOR) {
+            String direction = (node.getActualRows() > node.getEstimatedRows()) ? "under" : "over";
+            flags.add(String.format(Locale.ROOT, "MISESTIMATE x%.0f %s", factor, direction));
+        }
+        return flags.isEmpty() ? null : String.join(", ", flags);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    private static void addShape(PlanNode node, int depth, List<String> shape) {
+        shape.add("  ".repeat(depth) + node);
+        for (PlanNode child : node.getChildren()) {
+            addShape(child, depth + 1, shape);
+        }
+    }
+
+    private static void collect(PlanNode node, List<PlanNode> nodes) {
+        nodes.add(node);
+        for (PlanNode child : node.getChildren()) {
+            collect(child, nodes);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(analyzed ? "Analyzed plan" : "Estimated plan");
+        if (planningTimeMs != null) {
+            sb.append(String.format(Locale.ROOT, ", planning %.3f ms", planningTimeMs));
+        }
+        if (executionTimeMs != null) {
+            sb.append(String.format(Locale.ROOT, ", execution %.3f ms", executionTimeMs));
+        }
+        List<PlanNode> hotspots = getHotspots();
+        if (!hotspots.isEmpty()) {
+            double total = getTotalTimeMs();
+            sb.append("; hotspots: ");
+            for (int i = 0; i < hotspots.size(); i++) {
+                PlanNode node = hotspots.get(i);
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append(String.format(Locale.ROOT, "%s (%.0f%%)", node.getOperation(),
+                    100.0 * node.getSelfTimeMs() / total));
+            }
+        }
+        int misestimates = getMisestimates().size();
+        if (misestimates > 0) {
+            sb.append("; ").append(misestimates).append(misestimates == 1 ? " misestimate" : " misestimates");
+        }
+        return sb.toString();
+    }
+}
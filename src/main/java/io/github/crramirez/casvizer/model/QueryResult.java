@@ -17,40 +17,169 @@
  */
 package io.github.crramirez.casvizer.model;
 
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * Represents the result of a database query execution.
  * <p>
- * <strong>Immutability Note:</strong> This class stores references to mutable lists.
- * Callers must not modify the provided lists after construction to maintain consistency
+ * Values are held column by column in {@link ColumnStorage} instances, which lets repeated
+ * strings be dictionary encoded. {@link #getRows()} exposes the same data as a read-only
+ * row-oriented view, so callers that iterate rows do not need to know about the storage.
+ * <p>
+ * A result may also be a sorted or filtered view of another result: it then shares the
+ * column storage and only holds an index of storage rows in display order. Use
+ * {@link #getStorageRow(int)} to map a row of the view to a row of {@link #getColumn(int)}.
+ * <p>
+ * <strong>Immutability Note:</strong> This class stores references to the provided column
+ * storages. Callers must not append to them after construction to maintain consistency
  * between the stored data and the rowCount field.
  */
 public class QueryResult {
     private final List<String> columnNames;
-    private final List<List<Object>> rows;
+    private final List<ColumnStorage> columns;
     private final long executionTimeMs;
     private final int rowCount;
+    private final List<List<Object>> rows;
+    private final boolean cached;
+    private final int[] rowIndex;
+    private final QueryTimings timings;
 
     public QueryResult(List<String> columnNames, List<List<Object>> rows, long executionTimeMs) {
+        this(columnNames, toColumns(rows, columnNames.size()), rows.size(), executionTimeMs);
+    }
+
+    public QueryResult(List<String> columnNames, List<ColumnStorage> columns, int rowCount, long executionTimeMs) {
+        this(columnNames, columns, rowCount, executionTimeMs, false, null, null);
+    }
+
+    public QueryResult(List<String> columnNames, List<ColumnStorage> columns, int rowCount, QueryTimings timings) {
+        this(columnNames, columns, rowCount, timings.getTotalNanos() / 1_000_000, false, null, timings);
+    }
+
+    private QueryResult(List<String> columnNames, List<ColumnStorage> columns, int rowCount, long executionTimeMs,
+                        boolean cached, int[] rowIndex, QueryTimings timings) {
+        if (columnNames.size() != columns.size()) {
+            throw new IllegalArgumentException("Expected " + columnNames.size() + " columns but got " + columns.size());
+        }
         this.columnNames = columnNames;
-        this.rows = rows;
+        this.columns = columns;
         this.executionTimeMs = executionTimeMs;
-        this.rowCount = rows.size();
+        this.rowCount = rowCount;
+        this.rows = new RowListView();
+        this.cached = cached;
+        this.rowIndex = rowIndex;
+        this.timings = timings;
     }
 
     public List<String> getColumnNames() {
         return columnNames;
     }
 
+    /**
+     * Get a read-only, row-oriented view of the result values.
+     *
+     * @return List of rows, each a list of column values
+     */
     public List<List<Object>> getRows() {
         return rows;
     }
 
+    /**
+     * Get a single cell value without materializing a row view.
+     *
+     * @param row The zero-based row index
+     * @param column The zero-based column index
+     * @return The value, or null for SQL NULL
+     */
+    public Object getValue(int row, int column) {
+        return columns.get(column).get(getStorageRow(row));
+    }
+
+    /**
+     * Map a row of this result to the row of the column storage holding its values.
+     *
+     * @param row The zero-based row index in this result
+     * @return The zero-based row index in the column storage
+     */
+    public int getStorageRow(int row) {
+        if (rowIndex == null) {
+            return row;
+        }
+        return rowIndex[row];
+    }
+
+    /**
+     * Create a view of this result showing the given storage rows in the given order,
+     * without copying any values.
+     *
+     * @param storageRows Storage row indexes, as returned by {@link #getStorageRow(int)}
+     * @return The reordered result
+     */
+    public QueryResult withRowOrder(int[] storageRows) {
+        return new QueryResult(columnNames, columns, storageRows.length, executionTimeMs, cached, storageRows,
+            timings);
+    }
+
+    /**
+     * Get the result this view was derived from, with all rows in storage order.
+     *
+     * @return The unsorted, unfiltered result
+     */
+    public QueryResult withoutRowOrder() {
+        if (rowIndex == null) {
+            return this;
+        }
+        return new QueryResult(columnNames, columns, columns.isEmpty() ? 0 : columns.get(0).size(),
+            executionTimeMs, cached, null, timings);
+    }
+
+    /**
+     * Get the storage backing a column. Its rows are in storage order, see
+     * {@link #getStorageRow(int)}.
+     *
+     * @param column The zero-based column index
+     * @return The column storage
+     */
+    public ColumnStorage getColumn(int column) {
+        return columns.get(column);
+    }
+
     public long getExecutionTimeMs() {
         return executionTimeMs;
     }
 
+    /**
+     * Check whether this result was served from a result cache instead of the database.
+     * The execution time then refers to the original execution.
+     *
+     * @return true if the data came from cache
+     */
+    public boolean isCached() {
+        return cached;
+    }
+
+    /**
+     * Create a copy of this result, sharing its column storage, flagged as a cache hit.
+     *
+     * @return The flagged result
+     */
+    public QueryResult asCacheHit() {
+        return new QueryResult(columnNames, columns, rowCount, executionTimeMs, true, rowIndex, timings);
+    }
+
+    /**
+     * Get the phase timings of the execution that produced this result. Like the execution
+     * time, they refer to the original execution for cache hits and derived views.
+     *
+     * @return The timings, or null if the result was not produced by a timed execution
+     */
+    public QueryTimings getTimings() {
+        return timings;
+    }
+
     public int getRowCount() {
         return rowCount;
     }
@@ -58,4 +187,63 @@ public class QueryResult {
     public int getColumnCount() {
         return columnNames.size();
     }
+
+    /**
+     * Estimate the heap used by the stored values across all columns.
+     *
+     * @return Estimated size in bytes
+     */
+    public long getEstimatedBytes() {
+        long total = 0;
+        for (ColumnStorage column : columns) {
+            total += column.getEstimatedBytes();
+        }
+        return total;
+    }
+
+    private static List<ColumnStorage> toColumns(List<List<Object>> rows, int columnCount) {
+        List<ColumnStorage> columns = new ArrayList<>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            columns.add(new ObjectColumnStorage(rows.size()));
+        }
+        for (List<Object> row : rows) {
+            for (int i = 0; i < columnCount; i++) {
+                columns.get(i).append(i < row.size() ? row.get(i) : null);
+            }
+        }
+        return Collections.unmodifiableList(columns);
+    }
+
+    private class RowListView extends AbstractList<List<Object>> {
+        @Override
+        public List<Object> get(int index) {
+            if (index < 0 || index >= rowCount) {
+                throw new IndexOutOfBoundsException("Row " + index + " out of range for size " + rowCount);
+            }
+            return new RowView(index);
+        }
+
+        @Override
+        public int size() {
+            return rowCount;
+        }
+    }
+
+    private class RowView extends AbstractList<Object> {
+        private final int storageRow;
+
+        RowView(int row) {
+            this.storageRow = getStorageRow(row);
+        }
+
+        @Override
+        public Object get(int index) {
+            return columns.get(index).get(storageRow);
+        }
+
+        @Override
+        public int size() {
+            return columns.size();
+        }
+    }
 }
@@ -0,0 +1,179 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.model;
+
+import java.util.Locale;
+
+/**
+ * Where the time of a query execution went, measured with {@link System#nanoTime()}.
+ * <p>
+ * The phases follow the life of a query: obtaining the JDBC connection, creating the
+ * statement, executing it until the first row is available, fetching the remaining rows
+ * from the driver, materializing the values into column storage and rendering them in
+ * the UI. Drivers that read the whole result before returning from
+ * {@code executeQuery} (such as PostgreSQL without a fetch size) report the transfer as
+ * part of the execution phase.
+ */
+public class QueryTimings {
+    private final long connectionNanos;
+    private final long prepareNanos;
+    private final long executeNanos;
+    private final long fetchNanos;
+    private final long materializeNanos;
+    private final long renderNanos;
+    private final long totalNanos;
+    private final long rows;
+    private final long approximateBytes;
+
+    public QueryTimings(long connectionNanos, long prepareNanos, long executeNanos, long fetchNanos,
+                        long materializeNanos, long renderNanos, long totalNanos, long rows, long approximateBytes) {
+        this.connectionNanos = connectionNanos;
+        this.prepareNanos = prepareNanos;
+        this.executeNanos = executeNanos;
+        this.fetchNanos = fetchNanos;
+        this.materializeNanos = materializeNanos;
+        this.renderNanos = renderNanos;
+        this.totalNanos = totalNanos;
+        this.rows = rows;
+        this.approximateBytes = approximateBytes;
+    }
+
+    /**
+     * Get the time spent obtaining the JDBC connection.
+     *
+     * @return Nanoseconds
+     */
+    public long getConnectionNanos() {
+        return connectionNanos;
+    }
+
+    /**
+     * Get the time spent creating the statement.
+     *
+     * @return Nanoseconds
+     */
+    public long getPrepareNanos() {
+        return prepareNanos;
+    }
+
+    /**
+     * Get the time from sending the statement until the first row was available.
+     *
+     * @return Nanoseconds
+     */
+    public long getExecuteNanos() {
+        return executeNanos;
+    }
+
+    /**
+     * Get the time spent in the driver fetching the rows after the first.
+     *
+     * @return Nanoseconds
+     */
+    public long getFetchNanos() {
+        return fetchNanos;
+    }
+
+    /**
+     * Get the time spent converting the fetched values into column storage.
+     *
+     * @return Nanoseconds
+     */
+    public long getMaterializeNanos() {
+        return materializeNanos;
+    }
+
+    /**
+     * Get the time spent rendering the result in the UI.
+     *
+     * @return Nanoseconds, 0 if the result was not rendered
+     */
+    public long getRenderNanos() {
+        return renderNanos;
+    }
+
+    /**
+     * Get the elapsed time of the execution, from the start of the query until the result
+     * was complete, not including rendering.
+     *
+     * @return Nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Get an estimate of the size of the values received, based on a sample of the rows:
+     * the length of text and binary values and the width of numbers.
+     *
+     * @return Approximate bytes
+     */
+    public long getApproximateBytes() {
+        return approximateBytes;
+    }
+
+    /**
+     * Create a copy of these timings with the rendering time set.
+     *
+     * @param renderNanos The time spent rendering the result
+     * @return The updated timings
+     */
+    public QueryTimings withRenderNanos(long renderNanos) {
+        return new QueryTimings(connectionNanos, prepareNanos, executeNanos, fetchNanos, materializeNanos,
+            renderNanos, totalNanos, rows, approximateBytes);
+    }
+
+    /**
+     * Format the phases compactly for a status line.
+     *
+     * @return e.g. "conn 0.0 | prep 0.1 | exec 12.3 | fetch 4.5 | build 2.1 | render 1.0 ms, ~64 KB"
+     */
+    public String toStatusString() {
+        return String.format(Locale.ROOT, "conn %.1f | prep %.1f | exec %.1f | fetch %.1f | build %.1f | render %.1f ms, ~%s",
+            toMillis(connectionNanos), toMillis(prepareNanos), toMillis(executeNanos), toMillis(fetchNanos),
+            toMillis(materializeNanos), toMillis(renderNanos), formatBytes(approximateBytes));
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format(Locale.ROOT, "%.1f KB", bytes / 1024.0);
+        }
+        return String.format(Locale.ROOT, "%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+            "connection %.3f ms, prepare %.3f ms, execute %.3f ms, fetch %.3f ms, materialize %.3f ms, "
+                + "render %.3f ms, total %.3f ms; %,d rows, ~%s",
+            toMillis(connectionNanos), toMillis(prepareNanos), toMillis(executeNanos), toMillis(fetchNanos),
+            toMillis(materializeNanos), toMillis(renderNanos), toMillis(totalNanos), rows,
+            formatBytes(approximateBytes));
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column storage for character data with adaptive dictionary encoding.
+ * <p>
+ * Values start out dictionary encoded: every distinct string is stored once and each row
+ * holds an {@code int} code into the dictionary. Enum-like columns (status codes, countries,
+ * flags) therefore keep a single {@code String} instance per distinct value instead of one
+ * per row. If the column turns out to have high cardinality, the storage falls back to one
+ * reference per row, so the dictionary never costs more than it saves.
+ */
+public class StringColumnStorage implements ColumnStorage {
+
+    /**
+     * Default upper bound on the number of distinct values kept in the dictionary.
+     */
+    public static final int DEFAULT_MAX_DICTIONARY_SIZE = 65_536;
+
+    /**
+     * Number of rows to observe before the distinct ratio is taken into account.
+     */
+    private static final int MIN_ROWS_BEFORE_RATIO_CHECK = 1024;
+
+    /**
+     * Fall back to raw storage once more than this fraction of the rows are distinct.
+     */
+    private static final double MAX_DISTINCT_RATIO = 0.5;
+
+    private static final int NULL_CODE = -1;
+    private static final int CODE_BYTES = 4;
+    private static final int REFERENCE_BYTES = 4;
+
+    private final int maxDictionarySize;
+    private Map<String, Integer> codesByValue = new HashMap<>();
+    private ArrayList<String> dictionary = new ArrayList<>();
+    private int[] codes = new int[16];
+    private String[] raw;
+    private int size;
+    private long dictionaryBytes;
+    private long rawValueBytes;
+    private int[] sortRanks;
+
+    public StringColumnStorage() {
+        this(DEFAULT_MAX_DICTIONARY_SIZE);
+    }
+
+    public StringColumnStorage(int maxDictionarySize) {
+        if (maxDictionarySize < 0) {
+            throw new IllegalArgumentException("Maximum dictionary size must be a non-negative integer");
+        }
+        this.maxDictionarySize = maxDictionarySize;
+    }
+
+    @Override
+    public void append(Object value) {
+        appendString(value != null ? value.toString() : null);
+    }
+
+    /**
+     * Append a string value to the end of the column.
+     *
+     * @param value The value to append (may be null)
+     */
+    public void appendString(String value) {
+        if (value != null) {
+            rawValueBytes += estimateStringBytes(value);
+        }
+        if (raw != null) {
+            appendRaw(value);
+            return;
+        }
+        if (value == null) {
+            appendCode(NULL_CODE);
+            return;
+        }
+        Integer code = codesByValue.get(value);
+        if (code == null) {
+            if (shouldFallBack()) {
+                fallBackToRaw();
+                appendRaw(value);
+                return;
+            }
+            code = dictionary.size();
+            dictionary.add(value);
+            codesByValue.put(value, code);
+            dictionaryBytes += estimateStringBytes(value);
+        }
+        appendCode(code);
+    }
+
+    @Override
+    public String get(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of range for size " + size);
+        }
+        if (raw != null) {
+            return raw[row];
+        }
+        int code = codes[row];
+        return code == NULL_CODE ? null : dictionary.get(code);
+    }
+
+    @Override
+    public int compare(int rowA, int rowB) {
+        if (raw != null) {
+            String a = raw[rowA];
+            String b = raw[rowB];
+            if (a == null || b == null) {
+                return a == b ? 0 : (a == null ? -1 : 1);
+            }
+            return a.compareTo(b);
+        }
+        int codeA = codes[rowA];
+        int codeB = codes[rowB];
+        if (codeA == NULL_CODE || codeB == NULL_CODE) {
+            return Integer.compare(codeA, codeB);
+        }
+        int[] ranks = sortRanks;
+        if (ranks == null) {
+            // Only reached if compare is called before trimToSize
+            ranks = computeSortRanks();
+        }
+        return Integer.compare(ranks[codeA], ranks[codeB]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void trimToSize() {
+        // The lookup map is only needed to assign codes while appending
+        codesByValue = null;
+        if (raw != null) {
+            raw = Arrays.copyOf(raw, size);
+        } else {
+            codes = Arrays.copyOf(codes, size);
+            dictionary.trimToSize();
+            sortRanks = computeSortRanks();
+        }
+    }
+
+    /**
+     * Get the dictionary code of a row. Only valid while {@link #isDictionaryEncoded()}.
+     *
+     * @param row The zero-based row index
+     * @return The code of the row's value, or -1 for SQL NULL
+     */
+    public int getCode(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of range for size " + size);
+        }
+        return codes[row];
+    }
+
+    /**
+     * Get the dictionary entries in code order. Only valid while {@link #isDictionaryEncoded()}.
+     *
+     * @return The distinct values; index {@code i} holds the value for code {@code i}
+     */
+    public List<String> getDictionary() {
+        return Collections.unmodifiableList(dictionary);
+    }
+
+    /**
+     * Check whether the column is still dictionary encoded.
+     *
+     * @return true if values are stored as dictionary codes
+     */
+    public boolean isDictionaryEncoded() {
+        return raw == null;
+    }
+
+    @Override
+    public String getEncoding() {
+        return isDictionaryEncoded() ? "dictionary" : "raw";
+    }
+
+    @Override
+    public int getDistinctCount() {
+        return isDictionaryEncoded() ? dictionary.size() : -1;
+    }
+
+    @Override
+    public long getEstimatedBytes() {
+        if (raw != null) {
+            return (long) size * REFERENCE_BYTES + rawValueBytes;
+        }
+        long rankBytes = sortRanks != null ? (long) sortRanks.length * CODE_BYTES : 0;
+        return (long) size * CODE_BYTES + (long) dictionary.size() * REFERENCE_BYTES + dictionaryBytes + rankBytes;
+    }
+
+    @Override
+    public long getEstimatedRawBytes() {
+        return (long) size * REFERENCE_BYTES + rawValueBytes;
+    }
+
+    /**
+     * Rough heap estimate for a string on a 64-bit JVM with compact strings:
+     * the {@code String} object itself plus its backing byte array.
+     */
+    static long estimateStringBytes(String value) {
+        return 24L + 16L + value.length();
+    }
+
+    /**
+     * Rank every dictionary entry by its sort order, so comparing two dictionary encoded
+     * rows is a comparison of two ints instead of two strings. Computed once the column
+     * is complete, before it is shared with other threads.
+     */
+    private int[] computeSortRanks() {
+        Integer[] order = new Integer[dictionary.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> dictionary.get(a).compareTo(dictionary.get(b)));
+        int[] ranks = new int[order.length];
+        for (int rank = 0; rank < order.length; rank++) {
+            ranks[order[rank]] = rank;
+        }
+        return ranks;
+    }
+
+    private boolean shouldFallBack() {
+        int distinct = dictionary.size();
+        if (distinct >= maxDictionarySize) {
+            return true;
+        }
+        return size >= MIN_ROWS_BEFORE_RATIO_CHECK && distinct > size * MAX_DISTINCT_RATIO;
+    }
+
+    private void fallBackToRaw() {
+        String[] values = new String[Math.max(codes.length, 16)];
+        for (int i = 0; i < size; i++) {
+            int code = codes[i];
+            values[i] = code == NULL_CODE ? null : dictionary.get(code);
+        }
+        raw = values;
+        codes = null;
+        codesByValue = null;
+        dictionary = null;
+        dictionaryBytes = 0;
+    }
+
+    private void appendCode(int code) {
+        if (size == codes.length) {
+            codes = Arrays.copyOf(codes, size + (size >> 1));
+        }
+        codes[size++] = code;
+    }
+
+    private void appendRaw(String value) {
+        if (size == raw.length) {
+            raw = Arrays.copyOf(raw, size + (size >> 1));
+        }
+        raw[size++] = value;
+    }
+}
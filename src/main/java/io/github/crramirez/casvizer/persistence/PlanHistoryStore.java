@@ -0,0 +1,144 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.persistence;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import io.github.crramirez.casvizer.model.PlanHistoryEntry;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores the plan history in JSON format, oldest entry first.
+ * <p>
+ * The file is read once and then kept in memory; every change replaces it atomically. Only the most
+ * recent {@link #DEFAULT_MAX_ENTRIES} entries are kept.
+ */
+public class PlanHistoryStore {
+
+    public static final int DEFAULT_MAX_ENTRIES = 2000;
+
+    private final File historyFile;
+    private final Gson gson;
+    private final int maxEntries;
+    private List<PlanHistoryEntry> entries;
+
+    public PlanHistoryStore(String historyPath) {
+        this(historyPath, DEFAULT_MAX_ENTRIES);
+    }
+
+    public PlanHistoryStore(String historyPath, int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Maximum number of entries must be a positive integer");
+        }
+        this.historyFile = new File(historyPath);
+        this.gson = new GsonBuilder().disableHtmlEscaping().create();
+        this.maxEntries = maxEntries;
+        
+        // Ensure parent directory exists
+        File parentDir = historyFile.getParentFile();
+        if (parentDir != null && !parentDir.isDirectory() && !parentDir.mkdirs() && !parentDir.isDirectory()) {
+            throw new IllegalStateException("Failed to create history directory: " + parentDir.getAbsolutePath());
+        }
+    }
+
+    /**
+     * Get all entries, oldest first.
+     *
+     * @return A copy of the stored entries
+     * @throws IOException if the history cannot be read
+     */
+    public synchronized List<PlanHistoryEntry> loadEntries() throws IOException {
+        return new ArrayList<>(entries());
+    }
+
+    /**
+     * Append an entry, dropping the oldest entries beyond the limit.
+     *
+     * @param entry The entry to add
+     * @throws IOException if the history cannot be written
+     */
+    public synchronized void addEntry(PlanHistoryEntry entry) throws IOException {
+        List<PlanHistoryEntry> current = entries();
+        current.add(entry);
+        if (current.size() > maxEntries) {
+            current.subList(0, current.size() - maxEntries).clear();
+        }
+        save();
+    }
+
+    /**
+     * Remove all entries.
+     *
+     * @throws IOException if the history cannot be written
+     */
+    public synchronized void clear() throws IOException {
+        entries = new ArrayList<>();
+        save();
+    }
+
+    private List<PlanHistoryEntry> entries() throws IOException {
+        if (entries != null) {
+            return entries;
+        }
+        List<PlanHistoryEntry> loaded = new ArrayList<>();
+        if (historyFile.exists()) {
+            try (FileReader reader = new FileReader(historyFile)) {
+                Type listType = new TypeToken<List<PlanHistoryEntry>>() {}.getType();
+                List<PlanHistoryEntry> stored = gson.fromJson(reader, listType);
+                if (stored != null) {
+                    loaded.addAll(stored);
+                }
+            } catch (JsonParseException e) {
+                // Keep the file untouched so it is not overwritten by a partial history
+                throw new IOException("Invalid plan history file " + historyFile + ": " + e.getMessage(), e);
+            }
+        }
+        entries = loaded;
+        return entries;
+    }
+
+    /**
+     * Write the history to a temporary file next to it and move that into place, so a crash
+     * or full disk during the write cannot leave a truncated history behind.
+     */
+    private void save() throws IOException {
+        Path target = historyFile.toPath().toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), historyFile.getName(), ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                gson.toJson(entries, writer);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -20,6 +20,7 @@ package io.github.crramirez.casvizer.persistence;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
+import io.github.crramirez.casvizer.event.ProfileStoreEvent;
 import io.github.crramirez.casvizer.model.ConnectionProfile;
 
 import java.io.File;
@@ -70,6 +71,22 @@ public class ProfileStore {
      * @throws IOException if an error occurs while reading profiles
      */
     public List<ConnectionProfile> loadProfiles() throws IOException {
+        ProfileStoreEvent event = new ProfileStoreEvent();
+        event.begin();
+        List<ConnectionProfile> profiles = null;
+        Throwable failure = null;
+        try {
+            profiles = readProfiles();
+            return profiles;
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            commitEvent(event, "load", profiles != null ? profiles.size() : 0, failure);
+        }
+    }
+
+    private List<ConnectionProfile> readProfiles() throws IOException {
         if (!profilesFile.exists()) {
             return new ArrayList<>();
         }
@@ -95,6 +112,20 @@ public class ProfileStore {
     }
 
     public void saveProfiles(List<ConnectionProfile> profiles) throws IOException {
+        ProfileStoreEvent event = new ProfileStoreEvent();
+        event.begin();
+        Throwable failure = null;
+        try {
+            writeProfiles(profiles);
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            commitEvent(event, "save", profiles.size(), failure);
+        }
+    }
+
+    private void writeProfiles(List<ConnectionProfile> profiles) throws IOException {
         // Create a copy with encrypted passwords
         List<ConnectionProfile> encryptedProfiles = new ArrayList<>();
         for (ConnectionProfile profile : profiles) {
@@ -110,6 +141,21 @@ public class ProfileStore {
         }
     }
 
+    /**
+     * Emit a profile store event if a recording wants it.
+     */
+    private void commitEvent(ProfileStoreEvent event, String operation, int profiles, Throwable failure) {
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.setOperation(operation);
+        event.setProfiles(profiles);
+        event.setBytes(profilesFile.length());
+        event.setError(failure);
+        event.commit();
+    }
+
     /**
      * Adds a connection profile. If a profile with the same name already exists,
      * it will be silently replaced with the new profile.
@@ -144,6 +190,8 @@ public class ProfileStore {
         copy.setUsername(source.getUsername());
         copy.setPassword(source.getPassword());
         copy.setJdbcUrl(source.getJdbcUrl());
+        copy.setPerformancePresetsEnabled(source.isPerformancePresetsEnabled());
+        copy.setDriverProperties(source.getDriverProperties());
         return copy;
     }
 }
@@ -0,0 +1,88 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.persistence;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import io.github.crramirez.casvizer.model.AppSettings;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Stores the application settings in JSON format.
+ */
+public class SettingsStore {
+    private final File settingsFile;
+    private final Gson gson;
+
+    public SettingsStore(String settingsPath) {
+        this.settingsFile = new File(settingsPath);
+        this.gson = new GsonBuilder().setPrettyPrinting().create();
+        
+        // Ensure parent directory exists
+        File parentDir = settingsFile.getParentFile();
+        if (parentDir != null && !parentDir.isDirectory() && !parentDir.mkdirs() && !parentDir.isDirectory()) {
+            throw new IllegalStateException("Failed to create settings directory: " + parentDir.getAbsolutePath());
+        }
+    }
+
+    /**
+     * Load the settings.
+     *
+     * @return The stored settings, or the defaults if none were saved yet
+     * @throws IOException if the settings file cannot be read or is invalid
+     */
+    public AppSettings load() throws IOException {
+        if (!settingsFile.exists()) {
+            return new AppSettings();
+        }
+        try (Reader reader = Files.newBufferedReader(settingsFile.toPath(), StandardCharsets.UTF_8)) {
+            AppSettings settings = gson.fromJson(reader, AppSettings.class);
+            return (settings != null) ? settings : new AppSettings();
+        } catch (JsonParseException e) {
+            throw new IOException("Invalid settings file " + settingsFile + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Save the settings, replacing the file atomically.
+     *
+     * @param settings The settings to save
+     * @throws IOException if the settings cannot be written
+     */
+    public void save(AppSettings settings) throws IOException {
+        Path target = settingsFile.toPath().toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), settingsFile.getName(), ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                gson.toJson(settings, writer);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.persistence;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * Text log of statements slower than a threshold, with their elapsed time, row count and
+ * EXPLAIN output.
+ * <p>
+ * The file is rotated once it reaches its size limit: {@code slow-queries.log} becomes
+ * {@code slow-queries.log.1}, older files shift up by one and the oldest is deleted, so
+ * the log never takes more than {@code (maxFiles + 1) * maxBytes} on disk. Entries look
+ * like MySQL's slow query log, with {@code #} header lines followed by the statement.
+ */
+public class SlowQueryLog {
+
+    public static final long DEFAULT_MAX_BYTES = 10L * 1024 * 1024;
+    public static final int DEFAULT_MAX_FILES = 5;
+
+    private final File logFile;
+    private final long maxBytes;
+    private final int maxFiles;
+    private volatile long thresholdMs;
+    private volatile String lastError;
+
+    public SlowQueryLog(String logPath, long thresholdMs) {
+        this(logPath, thresholdMs, DEFAULT_MAX_BYTES, DEFAULT_MAX_FILES);
+    }
+
+    public SlowQueryLog(String logPath, long thresholdMs, long maxBytes, int maxFiles) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Maximum log size must be a positive number of bytes");
+        }
+        if (maxFiles < 0) {
+            throw new IllegalArgumentException("Number of rotated files cannot be negative");
+        }
+        this.logFile = new File(logPath);
+        this.maxBytes = maxBytes;
+        this.maxFiles = maxFiles;
+        setThresholdMs(thresholdMs);
+    }
+
+    public long getThresholdMs() {
+        return thresholdMs;
+    }
+
+    public void setThresholdMs(long thresholdMs) {
+        if (thresholdMs < 0) {
+            throw new IllegalArgumentException("Slow query threshold cannot be negative");
+        }
+        this.thresholdMs = thresholdMs;
+    }
+
+    /**
+     * Check whether a statement is slow enough to be logged.
+     *
+     * @param elapsedNanos Time the statement took
+     * @return true if it reached the threshold
+     */
+    public boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= thresholdMs * 1_000_000;
+    }
+
+    public String getPath() {
+        return logFile.getAbsolutePath();
+    }
+
+    /**
+     * Append a slow statement, rotating the log first if it is full.
+     *
+     * @param profileName The connection profile the statement ran on
+     * @param databaseType The database type of the connection
+     * @param fingerprint The statement fingerprint
+     * @param sql The statement as executed
+     * @param elapsedNanos Time the statement took
+     * @param rows Rows returned or affected
+     * @param plan EXPLAIN output, or a note saying why it is missing
+     * @throws IOException if the log cannot be written
+     */
+    public synchronized void write(String profileName, String databaseType, String fingerprint, String sql,
+                                   long elapsedNanos, long rows, String plan) throws IOException {
+        try {
+            append(profileName, databaseType, fingerprint, sql, elapsedNanos, rows, plan);
+            lastError = null;
+        } catch (IOException e) {
+            lastError = (e.getMessage() != null) ? e.getMessage() : e.getClass().getSimpleName();
+            throw e;
+        }
+    }
+
+    /**
+     * Get the error of the last write, which callers that log in the background may
+     * ignore.
+     *
+     * @return The error message, or null if the last write succeeded
+     */
+    public String getLastError() {
+        return lastError;
+    }
+
+    private void append(String profileName, String databaseType, String fingerprint, String sql,
+                        long elapsedNanos, long rows, String plan) throws IOException {
+        if (logFile.length() >= maxBytes) {
+            rotate();
+        }
+        try (PrintWriter writer = new PrintWriter(new FileWriter(logFile, true))) {
+            writer.println("# Time: " + Instant.now());
+            writer.println(String.format(Locale.ROOT, "# Profile: %s (%s)  Elapsed: %.3f ms  Rows: %d",
+                profileName, databaseType, elapsedNanos / 1_000_000.0, rows));
+            writer.println("# Fingerprint: " + fingerprint);
+            writer.println("# Plan:");
+            for (String line : plan.split("\\R")) {
+                writer.println("#   " + line);
+            }
+            String statement = sql.strip();
+            writer.println(statement.endsWith(";") ? statement : statement + ";");
+            writer.println();
+            if (writer.checkError()) {
+                throw new IOException("Failed to write slow query log: " + logFile.getAbsolutePath());
+            }
+        }
+    }
+
+    private void rotate() throws IOException {
+        String path = logFile.getPath();
+        if (maxFiles == 0) {
+            Files.deleteIfExists(logFile.toPath());
+            return;
+        }
+        Files.deleteIfExists(new File(path + "." + maxFiles).toPath());
+        for (int i = maxFiles - 1; i >= 1; i--) {
+            File older = new File(path + "." + i);
+            if (older.exists()) {
+                Files.move(older.toPath(), new File(path + "." + (i + 1)).toPath(),
+                    StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(logFile.toPath(), new File(path + ".1").toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,858 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.service;
+
+import io.github.crramirez.casvizer.model.ColumnStorage;
+import io.github.crramirez.casvizer.model.DoubleColumnStorage;
+import io.github.crramirez.casvizer.model.IntColumnStorage;
+import io.github.crramirez.casvizer.model.LongColumnStorage;
+import io.github.crramirez.casvizer.model.ObjectColumnStorage;
+import io.github.crramirez.casvizer.model.QueryResult;
+import io.github.crramirez.casvizer.model.StringColumnStorage;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Group-by and pivot aggregation over a query result, without another round trip to the database.
+ * <p>
+ * Rows are split into chunks that are aggregated in parallel into open-addressing hash tables
+ * keyed by primitive longs: dictionary codes for encoded string columns, the raw value for
+ * integer and floating point columns, and an interned id for anything else. Partial tables are
+ * merged pairwise as the fork/join tasks complete, so the extra memory is proportional to the
+ * number of groups times the parallelism rather than to the number of rows.
+ */
+public class AggregationService {
+
+    /**
+     * Smallest number of rows aggregated by a single task.
+     */
+    private static final int MIN_CHUNK_ROWS = 65_536;
+
+    /**
+     * Maximum number of distinct pivot values turned into columns.
+     */
+    public static final int MAX_PIVOT_COLUMNS = 200;
+
+    private final ResultViewService resultViewService = new ResultViewService();
+
+    /**
+     * Group a result by one or two columns and compute aggregates per group.
+     *
+     * @param result The result (or result view) to aggregate
+     * @param groupColumns Indexes of the grouping columns; one or two
+     * @param aggregates The aggregates to compute for each group
+     * @return One row per group, ordered by the grouping columns
+     * @throws IllegalArgumentException if the arguments are invalid or an aggregate needs a numeric column
+     * @throws ArithmeticException if an integer sum overflows
+     * @throws IOException if sorting a very large number of groups spills to disk and fails
+     */
+    public QueryResult groupBy(QueryResult result, List<Integer> groupColumns, List<Aggregate> aggregates)
+            throws IOException {
+        long startTime = System.currentTimeMillis();
+        
+        if (groupColumns.isEmpty() || groupColumns.size() > 2) {
+            throw new IllegalArgumentException("Group by requires one or two columns");
+        }
+        if (aggregates.isEmpty()) {
+            throw new IllegalArgumentException("At least one aggregate is required");
+        }
+        
+        KeyColumn[] keyColumns = new KeyColumn[groupColumns.size()];
+        for (int i = 0; i < keyColumns.length; i++) {
+            keyColumns[i] = KeyColumn.forStorage(result.getColumn(groupColumns.get(i)));
+        }
+        List<ColumnStorage> aggregateInputs = new ArrayList<>();
+        for (Aggregate aggregate : aggregates) {
+            aggregateInputs.add(aggregate.getColumn() >= 0 ? result.getColumn(aggregate.getColumn()) : null);
+        }
+        
+        int rowCount = result.getRowCount();
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        int chunkRows = Math.max(MIN_CHUNK_ROWS, rowCount / (parallelism * 4));
+        GroupTable groups = ForkJoinPool.commonPool().invoke(
+            new PartialAggregation(result, keyColumns, aggregates, aggregateInputs, 0, rowCount, chunkRows));
+        
+        List<String> columnNames = new ArrayList<>();
+        for (int column : groupColumns) {
+            columnNames.add(result.getColumnNames().get(column));
+        }
+        for (Aggregate aggregate : aggregates) {
+            columnNames.add(aggregate.getLabel(result.getColumnNames()));
+        }
+        
+        List<ColumnStorage> columns = new ArrayList<>();
+        for (int k = 0; k < keyColumns.length; k++) {
+            ObjectColumnStorage column = new ObjectColumnStorage(groups.groupCount);
+            for (int group = 0; group < groups.groupCount; group++) {
+                column.append(groups.isNullKey(group, k) ? null : keyColumns[k].value(groups.key(group, k)));
+            }
+            columns.add(column);
+        }
+        for (Accumulator accumulator : groups.accumulators) {
+            ColumnStorage column = accumulator instanceof CountAccumulator
+                ? new LongColumnStorage() : new ObjectColumnStorage(groups.groupCount);
+            for (int group = 0; group < groups.groupCount; group++) {
+                column.append(accumulator.result(group));
+            }
+            column.trimToSize();
+            columns.add(column);
+        }
+        
+        QueryResult grouped = new QueryResult(columnNames, columns, groups.groupCount,
+            System.currentTimeMillis() - startTime);
+        List<ResultViewService.SortKey> order = new ArrayList<>();
+        for (int k = 0; k < keyColumns.length; k++) {
+            order.add(new ResultViewService.SortKey(k, true));
+        }
+        return resultViewService.sort(grouped, order);
+    }
+
+    /**
+     * Pivot a result: one output row per distinct value of {@code rowColumn} and one output
+     * column per distinct value of {@code pivotColumn}, each cell holding the aggregate.
+     *
+     * @param result The result (or result view) to pivot
+     * @param rowColumn Index of the column whose values become rows
+     * @param pivotColumn Index of the column whose values become columns
+     * @param aggregate The aggregate shown in each cell
+     * @return The pivoted result
+     * @throws IllegalArgumentException if the pivot column has more than {@link #MAX_PIVOT_COLUMNS} values
+     * @throws IOException if sorting the groups spills to disk and fails
+     */
+    public QueryResult pivot(QueryResult result, int rowColumn, int pivotColumn, Aggregate aggregate)
+            throws IOException {
+        long startTime = System.currentTimeMillis();
+        
+        QueryResult grouped = groupBy(result, List.of(rowColumn, pivotColumn), List.of(aggregate));
+        
+        List<Object> pivotValues = new ArrayList<>();
+        Map<Object, Integer> pivotIndex = new HashMap<>();
+        for (int row = 0; row < grouped.getRowCount(); row++) {
+            Object value = grouped.getValue(row, 1);
+            if (!pivotIndex.containsKey(value)) {
+                pivotIndex.put(value, -1);
+                pivotValues.add(value);
+            }
+        }
+        if (pivotValues.size() > MAX_PIVOT_COLUMNS) {
+            throw new IllegalArgumentException("Pivot column has " + pivotValues.size()
+                + " distinct values; at most " + MAX_PIVOT_COLUMNS + " are supported");
+        }
+        pivotValues.sort(ObjectColumnStorage::compareValues);
+        
+        List<String> columnNames = new ArrayList<>();
+        columnNames.add(result.getColumnNames().get(rowColumn));
+        for (int i = 0; i < pivotValues.size(); i++) {
+            Object value = pivotValues.get(i);
+            pivotIndex.put(value, i + 1);
+            columnNames.add(value != null ? value.toString() : "NULL");
+        }
+        
+        // Grouped rows are ordered by the row column, so each output row is a consecutive run
+        Object emptyCell = aggregate.getFunction() == Aggregate.Function.COUNT ? 0L : null;
+        List<List<Object>> rows = new ArrayList<>();
+        Object[] current = null;
+        for (int row = 0; row < grouped.getRowCount(); row++) {
+            Object rowValue = grouped.getValue(row, 0);
+            if (current == null || ObjectColumnStorage.compareValues(current[0], rowValue) != 0) {
+                if (current != null) {
+                    rows.add(Arrays.asList(current));
+                }
+                current = new Object[columnNames.size()];
+                Arrays.fill(current, emptyCell);
+                current[0] = rowValue;
+            }
+            current[pivotIndex.get(grouped.getValue(row, 1))] = grouped.getValue(row, 2);
+        }
+        if (current != null) {
+            rows.add(Arrays.asList(current));
+        }
+        
+        return new QueryResult(columnNames, rows, System.currentTimeMillis() - startTime);
+    }
+
+    private static boolean isNull(ColumnStorage storage, int row) {
+        if (storage instanceof LongColumnStorage longs) {
+            return longs.isNull(row);
+        } else if (storage instanceof IntColumnStorage ints) {
+            return ints.isNull(row);
+        } else if (storage instanceof DoubleColumnStorage doubles) {
+            return doubles.isNull(row);
+        }
+        return storage.get(row) == null;
+    }
+
+    private static final class PartialAggregation extends RecursiveTask<GroupTable> {
+        private final QueryResult result;
+        private final KeyColumn[] keyColumns;
+        private final List<Aggregate> aggregates;
+        private final List<ColumnStorage> aggregateInputs;
+        private final int from;
+        private final int to;
+        private final int chunkRows;
+
+        PartialAggregation(QueryResult result, KeyColumn[] keyColumns, List<Aggregate> aggregates,
+                           List<ColumnStorage> aggregateInputs, int from, int to, int chunkRows) {
+            this.result = result;
+            this.keyColumns = keyColumns;
+            this.aggregates = aggregates;
+            this.aggregateInputs = aggregateInputs;
+            this.from = from;
+            this.to = to;
+            this.chunkRows = chunkRows;
+        }
+
+        @Override
+        protected GroupTable compute() {
+            if (to - from <= chunkRows) {
+                Accumulator[] accumulators = new Accumulator[aggregates.size()];
+                for (int i = 0; i < accumulators.length; i++) {
+                    accumulators[i] = Accumulator.create(aggregates.get(i).getFunction(), aggregateInputs.get(i));
+                }
+                GroupTable table = new GroupTable(keyColumns, accumulators);
+                for (int row = from; row < to; row++) {
+                    table.add(result.getStorageRow(row));
+                }
+                return table;
+            }
+            int middle = (from + to) >>> 1;
+            PartialAggregation left = new PartialAggregation(
+                result, keyColumns, aggregates, aggregateInputs, from, middle, chunkRows);
+            PartialAggregation right = new PartialAggregation(
+                result, keyColumns, aggregates, aggregateInputs, middle, to, chunkRows);
+            left.fork();
+            GroupTable rightTable = right.compute();
+            GroupTable leftTable = left.join();
+            if (leftTable.groupCount >= rightTable.groupCount) {
+                leftTable.mergeFrom(rightTable);
+                return leftTable;
+            }
+            rightTable.mergeFrom(leftTable);
+            return rightTable;
+        }
+    }
+
+    /**
+     * Open-addressing hash table from one or two primitive keys to a dense group id.
+     * Aggregate state lives in the accumulators, indexed by group id.
+     */
+    private static final class GroupTable {
+        private final KeyColumn[] keyColumns;
+        private final Accumulator[] accumulators;
+        private final int keyCount;
+        private int[] slots = new int[64];
+        private long[] keys;
+        private byte[] nullMasks;
+        private int groupCount;
+
+        GroupTable(KeyColumn[] keyColumns, Accumulator[] accumulators) {
+            this.keyColumns = keyColumns;
+            this.accumulators = accumulators;
+            this.keyCount = keyColumns.length;
+            this.keys = new long[16 * keyCount];
+            this.nullMasks = new byte[16];
+        }
+
+        void add(int storageRow) {
+            long key0 = 0;
+            long key1 = 0;
+            byte nullMask = 0;
+            if (keyColumns[0].isNull(storageRow)) {
+                nullMask = 1;
+            } else {
+                key0 = keyColumns[0].key(storageRow);
+            }
+            if (keyCount > 1) {
+                if (keyColumns[1].isNull(storageRow)) {
+                    nullMask |= 2;
+                } else {
+                    key1 = keyColumns[1].key(storageRow);
+                }
+            }
+            int group = findOrInsert(key0, key1, nullMask);
+            for (Accumulator accumulator : accumulators) {
+                accumulator.add(group, storageRow);
+            }
+        }
+
+        void mergeFrom(GroupTable other) {
+            for (int otherGroup = 0; otherGroup < other.groupCount; otherGroup++) {
+                int group = findOrInsert(other.key(otherGroup, 0),
+                    keyCount > 1 ? other.key(otherGroup, 1) : 0, other.nullMasks[otherGroup]);
+                for (int i = 0; i < accumulators.length; i++) {
+                    accumulators[i].merge(group, other.accumulators[i], otherGroup);
+                }
+            }
+        }
+
+        long key(int group, int keyIndex) {
+            return keys[group * keyCount + keyIndex];
+        }
+
+        boolean isNullKey(int group, int keyIndex) {
+            return (nullMasks[group] & (1 << keyIndex)) != 0;
+        }
+
+        private int findOrInsert(long key0, long key1, byte nullMask) {
+            int mask = slots.length - 1;
+            int slot = hash(key0, key1, nullMask) & mask;
+            while (true) {
+                int entry = slots[slot];
+                if (entry == 0) {
+                    break;
+                }
+                int group = entry - 1;
+                if (nullMasks[group] == nullMask && keys[group * keyCount] == key0
+                        && (keyCount == 1 || keys[group * keyCount + 1] == key1)) {
+                    return group;
+                }
+                slot = (slot + 1) & mask;
+            }
+            
+            int group = groupCount++;
+            if (group == nullMasks.length) {
+                int capacity = nullMasks.length * 2;
+                nullMasks = Arrays.copyOf(nullMasks, capacity);
+                keys = Arrays.copyOf(keys, capacity * keyCount);
+            }
+            nullMasks[group] = nullMask;
+            keys[group * keyCount] = key0;
+            if (keyCount > 1) {
+                keys[group * keyCount + 1] = key1;
+            }
+            for (Accumulator accumulator : accumulators) {
+                accumulator.ensureCapacity(groupCount);
+            }
+            slots[slot] = group + 1;
+            if (groupCount * 2 > slots.length) {
+                rehash();
+            }
+            return group;
+        }
+
+        private void rehash() {
+            int[] newSlots = new int[slots.length * 2];
+            int mask = newSlots.length - 1;
+            for (int group = 0; group < groupCount; group++) {
+                int slot = hash(keys[group * keyCount], keyCount > 1 ? keys[group * keyCount + 1] : 0,
+                    nullMasks[group]) & mask;
+                while (newSlots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                newSlots[slot] = group + 1;
+            }
+            slots = newSlots;
+        }
+
+        private static int hash(long key0, long key1, byte nullMask) {
+            long h = key0 * 0x9E3779B97F4A7C15L + key1;
+            h = (h ^ nullMask ^ (h >>> 32)) * 0xD6E8FEB86659FD93L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+
+    /**
+     * Maps the non-null values of a grouping column to primitive keys and back.
+     */
+    private abstract static class KeyColumn {
+
+        abstract boolean isNull(int row);
+
+        abstract long key(int row);
+
+        abstract Object value(long key);
+
+        static KeyColumn forStorage(ColumnStorage storage) {
+            if (storage instanceof StringColumnStorage strings && strings.isDictionaryEncoded()) {
+                List<String> dictionary = strings.getDictionary();
+                return new KeyColumn() {
+                    boolean isNull(int row) {
+                        return strings.getCode(row) < 0;
+                    }
+
+                    long key(int row) {
+                        return strings.getCode(row);
+                    }
+
+                    Object value(long key) {
+                        return dictionary.get((int) key);
+                    }
+                };
+            } else if (storage instanceof LongColumnStorage longs) {
+                return new KeyColumn() {
+                    boolean isNull(int row) {
+                        return longs.isNull(row);
+                    }
+
+                    long key(int row) {
+                        return longs.getLong(row);
+                    }
+
+                    Object value(long key) {
+                        return key;
+                    }
+                };
+            } else if (storage instanceof IntColumnStorage ints) {
+                return new KeyColumn() {
+                    boolean isNull(int row) {
+                        return ints.isNull(row);
+                    }
+
+                    long key(int row) {
+                        return ints.getInt(row);
+                    }
+
+                    Object value(long key) {
+                        return (int) key;
+                    }
+                };
+            } else if (storage instanceof DoubleColumnStorage doubles) {
+                return new KeyColumn() {
+                    boolean isNull(int row) {
+                        return doubles.isNull(row);
+                    }
+
+                    long key(int row) {
+                        // Adding 0.0 folds -0.0 into 0.0; doubleToLongBits canonicalizes NaN
+                        return Double.doubleToLongBits(doubles.getDouble(row) + 0.0);
+                    }
+
+                    Object value(long key) {
+                        return Double.longBitsToDouble(key);
+                    }
+                };
+            }
+            return new InternedKeyColumn(storage);
+        }
+    }
+
+    /**
+     * Assigns ids to the distinct values of a column without a primitive representation.
+     * Shared by all tasks, so the same value gets the same key in every partial table.
+     */
+    private static final class InternedKeyColumn extends KeyColumn {
+        private final ColumnStorage storage;
+        private final Map<Object, Integer> ids = new ConcurrentHashMap<>();
+        private final List<Object> values = Collections.synchronizedList(new ArrayList<>());
+
+        InternedKeyColumn(ColumnStorage storage) {
+            this.storage = storage;
+        }
+
+        @Override
+        boolean isNull(int row) {
+            return storage.get(row) == null;
+        }
+
+        @Override
+        long key(int row) {
+            Object value = storage.get(row);
+            // Arrays have identity equality; compare binary values by content instead
+            Object lookup = value instanceof byte[] bytes ? ByteBuffer.wrap(bytes) : value;
+            return ids.computeIfAbsent(lookup, k -> {
+                synchronized (values) {
+                    values.add(value);
+                    return values.size() - 1;
+                }
+            });
+        }
+
+        @Override
+        Object value(long key) {
+            return values.get((int) key);
+        }
+    }
+
+    /**
+     * Per-group state of one aggregate, stored in arrays indexed by group id.
+     */
+    private abstract static class Accumulator {
+
+        abstract void ensureCapacity(int groups);
+
+        abstract void add(int group, int row);
+
+        abstract void merge(int group, Accumulator other, int otherGroup);
+
+        abstract Object result(int group);
+
+        static Accumulator create(Aggregate.Function function, ColumnStorage input) {
+            switch (function) {
+                case COUNT:
+                    return new CountAccumulator(input);
+                case SUM:
+                case AVG:
+                    boolean average = function == Aggregate.Function.AVG;
+                    if (input instanceof LongColumnStorage || input instanceof IntColumnStorage) {
+                        return new LongSumAccumulator(input, average);
+                    } else if (input instanceof DoubleColumnStorage doubles) {
+                        return new DoubleSumAccumulator(doubles, average);
+                    }
+                    return new DecimalSumAccumulator(input, average);
+                case MIN:
+                case MAX:
+                    return new ExtremeAccumulator(input, function == Aggregate.Function.MAX);
+                default:
+                    throw new IllegalArgumentException("Unsupported aggregate: " + function);
+            }
+        }
+    }
+
+    private static final class CountAccumulator extends Accumulator {
+        private final ColumnStorage input;
+        private long[] counts = new long[16];
+
+        CountAccumulator(ColumnStorage input) {
+            this.input = input;
+        }
+
+        @Override
+        void ensureCapacity(int groups) {
+            if (groups > counts.length) {
+                counts = Arrays.copyOf(counts, counts.length * 2);
+            }
+        }
+
+        @Override
+        void add(int group, int row) {
+            if (input == null || !isNull(input, row)) {
+                counts[group]++;
+            }
+        }
+
+        @Override
+        void merge(int group, Accumulator other, int otherGroup) {
+            counts[group] += ((CountAccumulator) other).counts[otherGroup];
+        }
+
+        @Override
+        Object result(int group) {
+            return counts[group];
+        }
+    }
+
+    private static final class LongSumAccumulator extends Accumulator {
+        private final LongColumnStorage longs;
+        private final IntColumnStorage ints;
+        private final boolean average;
+        private long[] sums = new long[16];
+        private long[] counts = new long[16];
+
+        LongSumAccumulator(ColumnStorage input, boolean average) {
+            this.longs = input instanceof LongColumnStorage l ? l : null;
+            this.ints = input instanceof IntColumnStorage i ? i : null;
+            this.average = average;
+        }
+
+        @Override
+        void ensureCapacity(int groups) {
+            if (groups > sums.length) {
+                int length = sums.length * 2;
+                sums = Arrays.copyOf(sums, length);
+                counts = Arrays.copyOf(counts, length);
+            }
+        }
+
+        @Override
+        void add(int group, int row) {
+            if (longs != null) {
+                if (!longs.isNull(row)) {
+                    sums[group] = Math.addExact(sums[group], longs.getLong(row));
+                    counts[group]++;
+                }
+            } else if (!ints.isNull(row)) {
+                sums[group] = Math.addExact(sums[group], ints.getInt(row));
+                counts[group]++;
+            }
+        }
+
+        @Override
+        void merge(int group, Accumulator other, int otherGroup) {
+            LongSumAccumulator o = (LongSumAccumulator) other;
+            sums[group] = Math.addExact(sums[group], o.sums[otherGroup]);
+            counts[group] += o.counts[otherGroup];
+        }
+
+        @Override
+        Object result(int group) {
+            if (counts[group] == 0) {
+                return null;
+            }
+            if (average) {
+                return (double) sums[group] / counts[group];
+            }
+            return sums[group];
+        }
+    }
+
+    private static final class DoubleSumAccumulator extends Accumulator {
+        private final DoubleColumnStorage input;
+        private final boolean average;
+        private double[] sums = new double[16];
+        private long[] counts = new long[16];
+
+        DoubleSumAccumulator(DoubleColumnStorage input, boolean average) {
+            this.input = input;
+            this.average = average;
+        }
+
+        @Override
+        void ensureCapacity(int groups) {
+            if (groups > sums.length) {
+                int length = sums.length * 2;
+                sums = Arrays.copyOf(sums, length);
+                counts = Arrays.copyOf(counts, length);
+            }
+        }
+
+        @Override
+        void add(int group, int row) {
+            if (!input.isNull(row)) {
+                sums[group] += input.getDouble(row);
+                counts[group]++;
+            }
+        }
+
+        @Override
+        void merge(int group, Accumulator other, int otherGroup) {
+            DoubleSumAccumulator o = (DoubleSumAccumulator) other;
+            sums[group] += o.sums[otherGroup];
+            counts[group] += o.counts[otherGroup];
+        }
+
+        @Override
+        Object result(int group) {
+            if (counts[group] == 0) {
+                return null;
+            }
+            return average ? sums[group] / counts[group] : sums[group];
+        }
+    }
+
+    /**
+     * Exact sums over generic columns, such as NUMERIC values read as {@link BigDecimal}.
+     */
+    private static final class DecimalSumAccumulator extends Accumulator {
+        private final ColumnStorage input;
+        private final boolean average;
+        private BigDecimal[] sums = new BigDecimal[16];
+        private long[] counts = new long[16];
+
+        DecimalSumAccumulator(ColumnStorage input, boolean average) {
+            this.input = input;
+            this.average = average;
+        }
+
+        @Override
+        void ensureCapacity(int groups) {
+            if (groups > sums.length) {
+                int length = sums.length * 2;
+                sums = Arrays.copyOf(sums, length);
+                counts = Arrays.copyOf(counts, length);
+            }
+        }
+
+        @Override
+        void add(int group, int row) {
+            Object value = input.get(row);
+            if (value == null) {
+                return;
+            }
+            BigDecimal decimal;
+            if (value instanceof BigDecimal d) {
+                decimal = d;
+            } else if (value instanceof Number n) {
+                decimal = new BigDecimal(n.toString());
+            } else {
+                throw new IllegalArgumentException("Cannot sum non-numeric value: " + value);
+            }
+            sums[group] = sums[group] == null ? decimal : sums[group].add(decimal);
+            counts[group]++;
+        }
+
+        @Override
+        void merge(int group, Accumulator other, int otherGroup) {
+            DecimalSumAccumulator o = (DecimalSumAccumulator) other;
+            BigDecimal otherSum = o.sums[otherGroup];
+            if (otherSum != null) {
+                sums[group] = sums[group] == null ? otherSum : sums[group].add(otherSum);
+            }
+            counts[group] += o.counts[otherGroup];
+        }
+
+        @Override
+        Object result(int group) {
+            if (counts[group] == 0) {
+                return null;
+            }
+            return average ? sums[group].divide(BigDecimal.valueOf(counts[group]), MathContext.DECIMAL64) : sums[group];
+        }
+    }
+
+    private static final class ExtremeAccumulator extends Accumulator {
+        private final ColumnStorage input;
+        private final boolean max;
+        private Object[] values = new Object[16];
+
+        ExtremeAccumulator(ColumnStorage input, boolean max) {
+            this.input = input;
+            this.max = max;
+        }
+
+        @Override
+        void ensureCapacity(int groups) {
+            if (groups > values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+        }
+
+        @Override
+        void add(int group, int row) {
+            Object current = values[group];
+            if (current == null) {
+                values[group] = input.get(row);
+            } else if (!isNull(input, row)) {
+                Object value = input.get(row);
+                int cmp = ObjectColumnStorage.compareValues(value, current);
+                if (max ? cmp > 0 : cmp < 0) {
+                    values[group] = value;
+                }
+            }
+        }
+
+        @Override
+        void merge(int group, Accumulator other, int otherGroup) {
+            Object value = ((ExtremeAccumulator) other).values[otherGroup];
+            Object current = values[group];
+            if (current == null) {
+                values[group] = value;
+            } else if (value != null) {
+                int cmp = ObjectColumnStorage.compareValues(value, current);
+                if (max ? cmp > 0 : cmp < 0) {
+                    values[group] = value;
+                }
+            }
+        }
+
+        @Override
+        Object result(int group) {
+            return values[group];
+        }
+    }
+
+    /**
+     * An aggregate function applied to a column, or {@code COUNT(*)}.
+     */
+    public static class Aggregate {
+        private static final Pattern CALL = Pattern.compile("(\\w+)\\s*\\(\\s*(.*?)\\s*\\)");
+
+        /**
+         * Supported aggregate functions.
+         */
+        public enum Function {
+            COUNT, SUM, AVG, MIN, MAX
+        }
+
+        private final Function function;
+        private final int column;
+
+        /**
+         * @param function The aggregate function
+         * @param column The zero-based input column, or -1 for {@code COUNT(*)}
+         */
+        public Aggregate(Function function, int column) {
+            if (column < 0 && function != Function.COUNT) {
+                throw new IllegalArgumentException(function + " requires a column");
+            }
+            this.function = function;
+            this.column = column;
+        }
+
+        public Function getFunction() {
+            return function;
+        }
+
+        public int getColumn() {
+            return column;
+        }
+
+        /**
+         * Get the output column name, e.g. {@code sum(amount)}.
+         *
+         * @param columnNames The column names of the input result
+         * @return The label of the aggregate column
+         */
+        public String getLabel(List<String> columnNames) {
+            String argument = column >= 0 ? columnNames.get(column) : "*";
+            return function.name().toLowerCase(Locale.ROOT) + "(" + argument + ")";
+        }
+
+        /**
+         * Parse a comma separated aggregate list such as {@code "count(*), sum(amount)"}.
+         * A bare {@code count} is accepted as {@code count(*)}.
+         *
+         * @param spec The aggregate list
+         * @param columnNames The column names of the input result
+         * @return The parsed aggregates
+         * @throws IllegalArgumentException if a function or column is unknown
+         */
+        public static List<Aggregate> parse(String spec, List<String> columnNames) {
+            List<Aggregate> aggregates = new ArrayList<>();
+            for (String part : spec.split(",")) {
+                String trimmed = part.trim();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                if (trimmed.equalsIgnoreCase("count")) {
+                    aggregates.add(new Aggregate(Function.COUNT, -1));
+                    continue;
+                }
+                Matcher matcher = CALL.matcher(trimmed);
+                if (!matcher.matches()) {
+                    throw new IllegalArgumentException("Invalid aggregate: " + trimmed);
+                }
+                Function function;
+                try {
+                    function = Function.valueOf(matcher.group(1).toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unknown aggregate function: " + matcher.group(1));
+                }
+                String argument = matcher.group(2);
+                int column = argument.equals("*") && function == Function.COUNT
+                    ? -1 : ResultViewService.columnIndex(columnNames, argument);
+                aggregates.add(new Aggregate(function, column));
+            }
+            return aggregates;
+        }
+    }
+}
@@ -0,0 +1,469 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.service;
+
+import io.github.crramirez.casvizer.model.DatabaseConnection;
+import io.github.crramirez.casvizer.model.QueryResult;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Profiles the columns of a table or query in a single streaming pass.
+ * <p>
+ * For each column it counts nulls, tracks the minimum and maximum, estimates the number of
+ * distinct values with a {@link HyperLogLog}, finds frequent values with
+ * {@link HeavyHitters} and estimates quantiles of numeric values with a
+ * {@link QuantileDigest}. Memory use per column is constant, so results of any size can be
+ * profiled. Rows are read in chunks; while one chunk is being read, the sketches of each
+ * column are updated from the previous chunk in parallel.
+ */
+public class ColumnProfiler {
+
+    public static final int DEFAULT_TOP_VALUES = 5;
+
+    private static final int CHUNK_ROWS = 4096;
+
+    private static final int HEAVY_HITTER_CAPACITY = 256;
+
+    private static final double DIGEST_COMPRESSION = 100;
+
+    private static final long PROGRESS_INTERVAL_NANOS = 500_000_000L;
+
+    private static final double[] QUANTILES = {0.25, 0.5, 0.75, 0.95};
+
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private volatile StreamingQuery activeQuery;
+
+    /**
+     * Profile every column of a query result.
+     *
+     * @param connection The connection to run the query on
+     * @param query The query to profile, e.g. {@code SELECT * FROM orders}
+     * @param listener Receives the number of rows read about twice a second; may be null
+     * @return One profile per column
+     * @throws SQLException if the query fails
+     */
+    public ProfileResult profile(DatabaseConnection connection, String query, ProgressListener listener)
+            throws SQLException {
+        cancelled.set(false);
+        long startTime = System.currentTimeMillis();
+        
+        try (StreamingQuery streamingQuery = new StreamingQuery(connection, query)) {
+            activeQuery = streamingQuery;
+            ResultSet rs = streamingQuery.getResultSet();
+            ResultSetMetaData metaData = rs.getMetaData();
+            int columnCount = metaData.getColumnCount();
+            ColumnSketch[] sketches = new ColumnSketch[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                sketches[i] = new ColumnSketch(metaData.getColumnLabel(i + 1), metaData.getColumnTypeName(i + 1));
+            }
+            
+            // Two column-major buffers: one is read into while the other is being profiled
+            Object[][][] chunks = {new Object[columnCount][CHUNK_ROWS], new Object[columnCount][CHUNK_ROWS]};
+            List<ForkJoinTask<?>> pending = List.of();
+            long rows = 0;
+            long lastProgress = System.nanoTime();
+            
+            try {
+                for (int chunk = 0; ; chunk++) {
+                    Object[][] columns = chunks[chunk % 2];
+                    int filled = 0;
+                    while (filled < CHUNK_ROWS && !cancelled.get() && rs.next()) {
+                        for (int i = 0; i < columnCount; i++) {
+                            columns[i][filled] = rs.getObject(i + 1);
+                        }
+                        filled++;
+                    }
+                    joinAll(pending);
+                    if (filled == 0) {
+                        break;
+                    }
+                    rows += filled;
+                    pending = submit(sketches, columns, filled);
+                    
+                    long now = System.nanoTime();
+                    if (listener != null && now - lastProgress >= PROGRESS_INTERVAL_NANOS) {
+                        lastProgress = now;
+                        listener.onProgress(rows);
+                    }
+                }
+            } catch (SQLException e) {
+                // A cancelled query fails on the server; report the rows profiled so far
+                joinAll(pending);
+                if (!cancelled.get()) {
+                    throw e;
+                }
+            }
+            
+            List<ColumnProfile> profiles = new ArrayList<>(columnCount);
+            for (ColumnSketch sketch : sketches) {
+                profiles.add(sketch.toProfile(rows));
+            }
+            return new ProfileResult(profiles, rows, System.currentTimeMillis() - startTime, cancelled.get());
+        } finally {
+            activeQuery = null;
+        }
+    }
+
+    /**
+     * Stop the running profile; the result covers the rows read so far.
+     */
+    public void cancel() {
+        cancelled.set(true);
+        StreamingQuery query = activeQuery;
+        if (query != null) {
+            try {
+                query.cancel();
+            } catch (SQLException e) {
+                // The query may have completed in the meantime
+            }
+        }
+    }
+
+    private static List<ForkJoinTask<?>> submit(ColumnSketch[] sketches, Object[][] columns, int rows) {
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(sketches.length);
+        for (int i = 0; i < sketches.length; i++) {
+            ColumnSketch sketch = sketches[i];
+            Object[] values = columns[i];
+            tasks.add(ForkJoinPool.commonPool().submit(() -> sketch.update(values, rows)));
+        }
+        return tasks;
+    }
+
+    private static void joinAll(List<ForkJoinTask<?>> tasks) {
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+    }
+
+    /**
+     * Compare two values of the same column; numbers compare by value whatever their type.
+     *
+     * @return The comparison, or null if the values cannot be ordered
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Integer compareValues(Object a, Object b) {
+        if (a instanceof Number x && b instanceof Number y) {
+            if (isIntegral(x) && isIntegral(y)) {
+                return Long.compare(x.longValue(), y.longValue());
+            } else if (x instanceof BigDecimal || y instanceof BigDecimal
+                    || x instanceof BigInteger || y instanceof BigInteger) {
+                return new BigDecimal(x.toString()).compareTo(new BigDecimal(y.toString()));
+            }
+            return Double.compare(x.doubleValue(), y.doubleValue());
+        }
+        if (a instanceof Comparable comparable && a.getClass() == b.getClass()) {
+            return comparable.compareTo(b);
+        }
+        if (a instanceof byte[] || b instanceof byte[]) {
+            return null;
+        }
+        return a.toString().compareTo(b.toString());
+    }
+
+    private static boolean isIntegral(Number value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
+    /**
+     * Sketches of one column. Only touched by one task at a time.
+     */
+    private static final class ColumnSketch {
+        private final String name;
+        private final String typeName;
+        private final HyperLogLog distinct = new HyperLogLog();
+        private final HeavyHitters frequent = new HeavyHitters(HEAVY_HITTER_CAPACITY);
+        private final QuantileDigest digest = new QuantileDigest(DIGEST_COMPRESSION);
+        private long nulls;
+        private long nonNumeric;
+        private Object min;
+        private Object max;
+        private boolean unordered;
+
+        ColumnSketch(String name, String typeName) {
+            this.name = name;
+            this.typeName = typeName;
+        }
+
+        void update(Object[] values, int rows) {
+            for (int row = 0; row < rows; row++) {
+                Object value = values[row];
+                values[row] = null;
+                if (value == null) {
+                    nulls++;
+                    continue;
+                }
+                distinct.add(value);
+                frequent.add(value);
+                if (value instanceof Number number) {
+                    digest.add(number.doubleValue());
+                } else {
+                    nonNumeric++;
+                }
+                if (!unordered) {
+                    updateRange(value);
+                }
+            }
+        }
+
+        private void updateRange(Object value) {
+            if (min == null) {
+                min = value;
+                max = value;
+                return;
+            }
+            Integer belowMin = compareValues(value, min);
+            Integer aboveMax = compareValues(value, max);
+            if (belowMin == null || aboveMax == null) {
+                unordered = true;
+                min = null;
+                max = null;
+                return;
+            }
+            if (belowMin < 0) {
+                min = value;
+            }
+            if (aboveMax > 0) {
+                max = value;
+            }
+        }
+
+        ColumnProfile toProfile(long rows) {
+            long nonNull = rows - nulls;
+            // The frequency counters hold every value exactly until they overflow
+            long distinctCount = frequent.isExact() ? frequent.size() : Math.min(distinct.estimate(), nonNull);
+            double[] quantiles = null;
+            if (nonNumeric == 0 && digest.size() > 0) {
+                quantiles = new double[QUANTILES.length];
+                for (int i = 0; i < QUANTILES.length; i++) {
+                    quantiles[i] = digest.quantile(QUANTILES[i]);
+                }
+            }
+            List<ValueCount> topValues = new ArrayList<>();
+            for (Map.Entry<Object, Long> entry : frequent.top(DEFAULT_TOP_VALUES)) {
+                topValues.add(new ValueCount(entry.getKey(), entry.getValue()));
+            }
+            return new ColumnProfile(name, typeName, rows, nulls, distinctCount, frequent.isExact(), min, max,
+                quantiles, topValues);
+        }
+    }
+
+    /**
+     * Receives progress while a profile runs.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(long rowsRead);
+    }
+
+    /**
+     * A frequent value and how often it occurs (a lower bound unless the column's
+     * distinct count is exact).
+     */
+    public static class ValueCount {
+        private final Object value;
+        private final long count;
+
+        public ValueCount(Object value, long count) {
+            this.value = value;
+            this.count = count;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public String toString() {
+            return value + " (" + count + ")";
+        }
+    }
+
+    /**
+     * Profile of a single column.
+     */
+    public static class ColumnProfile {
+        private final String name;
+        private final String typeName;
+        private final long rows;
+        private final long nulls;
+        private final long distinct;
+        private final boolean distinctExact;
+        private final Object min;
+        private final Object max;
+        private final double[] quantiles;
+        private final List<ValueCount> topValues;
+
+        public ColumnProfile(String name, String typeName, long rows, long nulls, long distinct,
+                             boolean distinctExact, Object min, Object max, double[] quantiles,
+                             List<ValueCount> topValues) {
+            this.name = name;
+            this.typeName = typeName;
+            this.rows = rows;
+            this.nulls = nulls;
+            this.distinct = distinct;
+            this.distinctExact = distinctExact;
+            this.min = min;
+            this.max = max;
+            this.quantiles = quantiles;
+            this.topValues = topValues;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getTypeName() {
+            return typeName;
+        }
+
+        public long getNulls() {
+            return nulls;
+        }
+
+        public double getNullFraction() {
+            return rows > 0 ? (double) nulls / rows : 0;
+        }
+
+        /**
+         * Get the number of distinct non-null values, estimated within about 1% unless
+         * {@link #isDistinctExact()}.
+         */
+        public long getDistinct() {
+            return distinct;
+        }
+
+        public boolean isDistinctExact() {
+            return distinctExact;
+        }
+
+        /**
+         * Get the smallest value, or null if the column is empty or its values cannot be ordered.
+         */
+        public Object getMin() {
+            return min;
+        }
+
+        public Object getMax() {
+            return max;
+        }
+
+        /**
+         * Get the estimated 25th, 50th, 75th and 95th percentiles.
+         *
+         * @return The percentiles, or null if the column has non-numeric values
+         */
+        public double[] getQuantiles() {
+            return quantiles;
+        }
+
+        public List<ValueCount> getTopValues() {
+            return topValues;
+        }
+    }
+
+    /**
+     * Profiles of all columns of a result.
+     */
+    public static class ProfileResult {
+        private final List<ColumnProfile> columns;
+        private final long rowCount;
+        private final long elapsedMs;
+        private final boolean cancelled;
+
+        public ProfileResult(List<ColumnProfile> columns, long rowCount, long elapsedMs, boolean cancelled) {
+            this.columns = columns;
+            this.rowCount = rowCount;
+            this.elapsedMs = elapsedMs;
+            this.cancelled = cancelled;
+        }
+
+        public List<ColumnProfile> getColumns() {
+            return columns;
+        }
+
+        public long getRowCount() {
+            return rowCount;
+        }
+
+        public long getElapsedMs() {
+            return elapsedMs;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Convert the profiles to a result with one row per column, for display and export.
+         *
+         * @return The profile report
+         */
+        public QueryResult toQueryResult() {
+            List<String> columnNames = List.of("Column", "Type", "Nulls", "Null %", "Distinct", "Min", "Max",
+                "P25", "Median", "P75", "P95", "Top Values");
+            List<List<Object>> rows = new ArrayList<>(columns.size());
+            for (ColumnProfile column : columns) {
+                List<Object> row = new ArrayList<>(columnNames.size());
+                row.add(column.getName());
+                row.add(column.getTypeName());
+                row.add(column.getNulls());
+                row.add(String.format("%.1f", column.getNullFraction() * 100));
+                row.add((column.isDistinctExact() ? "" : "~") + column.getDistinct());
+                row.add(column.getMin());
+                row.add(column.getMax());
+                double[] quantiles = column.getQuantiles();
+                for (int i = 0; i < QUANTILES.length; i++) {
+                    row.add(quantiles != null ? formatNumber(quantiles[i]) : null);
+                }
+                StringBuilder top = new StringBuilder();
+                for (ValueCount valueCount : column.getTopValues()) {
+                    if (top.length() > 0) {
+                        top.append(", ");
+                    }
+                    top.append(valueCount);
+                }
+                row.add(top.toString());
+                rows.add(row);
+            }
+            return new QueryResult(columnNames, rows, elapsedMs);
+        }
+
+        private static String formatNumber(double value) {
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                return String.valueOf(value);
+            }
+            return new BigDecimal(value).round(new MathContext(6)).stripTrailingZeros().toPlainString();
+        }
+    }
+}
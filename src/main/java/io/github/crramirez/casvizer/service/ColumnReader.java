@@ -0,0 +1,238 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.service;
+
+import io.github.crramirez.casvizer.model.ColumnStorage;
+import io.github.crramirez.casvizer.model.DoubleColumnStorage;
+import io.github.crramirez.casvizer.model.IntColumnStorage;
+import io.github.crramirez.casvizer.model.LongColumnStorage;
+import io.github.crramirez.casvizer.model.ObjectColumnStorage;
+import io.github.crramirez.casvizer.model.StringColumnStorage;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Reads one result set column into its column storage.
+ * <p>
+ * A reader is chosen once per column from the {@link ResultSetMetaData} and then called for
+ * every row, so the per-cell work is a single typed getter without type dispatch. Numeric
+ * readers use the primitive getters plus {@code wasNull()} and write into primitive
+ * storage, avoiding the wrapper objects {@code getObject} would allocate.
+ */
+abstract class ColumnReader {
+    protected final int index;
+
+    ColumnReader(int index) {
+        this.index = index;
+    }
+
+    /**
+     * Read the value of this column from the current row and append it to the storage.
+     */
+    abstract void read(ResultSet rs) throws SQLException;
+
+    /**
+     * Get the storage this reader appends to.
+     */
+    abstract ColumnStorage getStorage();
+
+    /**
+     * Create one reader per column of a result set.
+     *
+     * @param metaData The result set metadata
+     * @param typed Whether type-specialized readers may be used; when false, only
+     *              character columns get a dedicated reader and all others use getObject
+     * @return Array of readers in column order
+     * @throws SQLException if the metadata cannot be read
+     */
+    static ColumnReader[] forMetaData(ResultSetMetaData metaData, boolean typed) throws SQLException {
+        int columnCount = metaData.getColumnCount();
+        ColumnReader[] readers = new ColumnReader[columnCount];
+        for (int i = 1; i <= columnCount; i++) {
+            readers[i - 1] = forColumn(metaData, i, typed);
+        }
+        return readers;
+    }
+
+    private static ColumnReader forColumn(ResultSetMetaData metaData, int index, boolean typed) throws SQLException {
+        int sqlType = metaData.getColumnType(index);
+        if (isCharacterType(sqlType)) {
+            return new StringReader(index);
+        }
+        if (!typed) {
+            return new ObjectReader(index);
+        }
+        // Follow the class getObject would return so values keep their Java type
+        String className = metaData.getColumnClassName(index);
+        if (className == null) {
+            return new ObjectReader(index);
+        }
+        switch (className) {
+            case "java.lang.Integer":
+                return new IntReader(index);
+            case "java.lang.Long":
+                return new LongReader(index);
+            case "java.lang.Double":
+                return new DoubleReader(index);
+            case "[B":
+                return new BytesReader(index);
+            default:
+                return new ObjectReader(index);
+        }
+    }
+
+    private static boolean isCharacterType(int sqlType) {
+        switch (sqlType) {
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.NCHAR:
+            case Types.NVARCHAR:
+            case Types.LONGNVARCHAR:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static final class LongReader extends ColumnReader {
+        private final LongColumnStorage storage = new LongColumnStorage();
+
+        LongReader(int index) {
+            super(index);
+        }
+
+        @Override
+        void read(ResultSet rs) throws SQLException {
+            long value = rs.getLong(index);
+            if (rs.wasNull()) {
+                storage.appendNull();
+            } else {
+                storage.appendLong(value);
+            }
+        }
+
+        @Override
+        ColumnStorage getStorage() {
+            return storage;
+        }
+    }
+
+    private static final class IntReader extends ColumnReader {
+        private final IntColumnStorage storage = new IntColumnStorage();
+
+        IntReader(int index) {
+            super(index);
+        }
+
+        @Override
+        void read(ResultSet rs) throws SQLException {
+            int value = rs.getInt(index);
+            if (rs.wasNull()) {
+                storage.appendNull();
+            } else {
+                storage.appendInt(value);
+            }
+        }
+
+        @Override
+        ColumnStorage getStorage() {
+            return storage;
+        }
+    }
+
+    private static final class DoubleReader extends ColumnReader {
+        private final DoubleColumnStorage storage = new DoubleColumnStorage();
+
+        DoubleReader(int index) {
+            super(index);
+        }
+
+        @Override
+        void read(ResultSet rs) throws SQLException {
+            double value = rs.getDouble(index);
+            if (rs.wasNull()) {
+                storage.appendNull();
+            } else {
+                storage.appendDouble(value);
+            }
+        }
+
+        @Override
+        ColumnStorage getStorage() {
+            return storage;
+        }
+    }
+
+    private static final class BytesReader extends ColumnReader {
+        private final ObjectColumnStorage storage = new ObjectColumnStorage();
+
+        BytesReader(int index) {
+            super(index);
+        }
+
+        @Override
+        void read(ResultSet rs) throws SQLException {
+            storage.append(rs.getBytes(index));
+        }
+
+        @Override
+        ColumnStorage getStorage() {
+            return storage;
+        }
+    }
+
+    private static final class StringReader extends ColumnReader {
+        private final StringColumnStorage storage = new StringColumnStorage();
+
+        StringReader(int index) {
+            super(index);
+        }
+
+        @Override
+        void read(ResultSet rs) throws SQLException {
+            storage.appendString(rs.getString(index));
+        }
+
+        @Override
+        ColumnStorage getStorage() {
+            return storage;
+        }
+    }
+
+    private static final class ObjectReader extends ColumnReader {
+        private final ObjectColumnStorage storage = new ObjectColumnStorage();
+
+        ObjectReader(int index) {
+            super(index);
+        }
+
+        @Override
+        void read(ResultSet rs) throws SQLException {
+            storage.append(rs.getObject(index));
+        }
+
+        @Override
+        ColumnStorage getStorage() {
+            return storage;
+        }
+    }
+}
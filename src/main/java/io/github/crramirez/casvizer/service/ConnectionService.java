@@ -17,8 +17,11 @@
  */
 package io.github.crramirez.casvizer.service;
 
+import io.github.crramirez.casvizer.dialect.DriverProperty;
+import io.github.crramirez.casvizer.event.ConnectionEvent;
 import io.github.crramirez.casvizer.model.ConnectionProfile;
 import io.github.crramirez.casvizer.model.DatabaseConnection;
+import io.github.crramirez.casvizer.model.QueryResult;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -36,22 +39,72 @@ import java.util.Map;
 public class ConnectionService {
     private final Map<String, DatabaseConnection> connections = new HashMap<>();
     private DatabaseConnection activeConnection;
+    private MetricsRegistry metrics;
+
+    /**
+     * Sets the registry that receives connect and disconnect latencies and the number of
+     * open connections.
+     *
+     * @param metrics The registry to update, or null to record no metrics
+     */
+    public void setMetrics(MetricsRegistry metrics) {
+        this.metrics = metrics;
+        if (metrics != null) {
+            metrics.gauge("connections.open", this::getConnectionCount);
+        }
+    }
+
+    /**
+     * Get the number of open connections. Not synchronized, so it can be read while a
+     * connection is being opened; the count may then be momentarily stale.
+     *
+     * @return The number of open connections
+     */
+    public int getConnectionCount() {
+        return connections.size();
+    }
 
     public synchronized DatabaseConnection connect(ConnectionProfile profile) throws SQLException {
+        long startNanos = System.nanoTime();
+        ConnectionEvent event = new ConnectionEvent();
+        event.begin();
         DatabaseConnection connection = new DatabaseConnection(profile);
-        connection.connect();
-        connections.put(profile.getName(), connection);
-        activeConnection = connection;
+        Throwable failure = null;
+        try {
+            connection.connect();
+        } catch (SQLException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            if (failure == null) {
+                connections.put(profile.getName(), connection);
+                activeConnection = connection;
+            }
+            recordOperation(event, "connect", connection, startNanos, failure);
+        }
         return connection;
     }
 
     public synchronized void disconnect(String profileName) throws SQLException {
         DatabaseConnection connection = connections.get(profileName);
         if (connection != null) {
-            connection.disconnect();
-            connections.remove(profileName);
-            if (activeConnection == connection) {
-                activeConnection = null;
+            long startNanos = System.nanoTime();
+            ConnectionEvent event = new ConnectionEvent();
+            event.begin();
+            Throwable failure = null;
+            try {
+                connection.disconnect();
+            } catch (SQLException | RuntimeException e) {
+                failure = e;
+                throw e;
+            } finally {
+                if (failure == null) {
+                    connections.remove(profileName);
+                    if (activeConnection == connection) {
+                        activeConnection = null;
+                    }
+                }
+                recordOperation(event, "disconnect", connection, startNanos, failure);
             }
         }
     }
@@ -62,15 +115,22 @@ public class ConnectionService {
         SQLException firstException = null;
 
         for (DatabaseConnection connection : snapshot) {
+            long startNanos = System.nanoTime();
+            ConnectionEvent event = new ConnectionEvent();
+            event.begin();
+            Throwable failure = null;
             try {
                 connection.disconnect();
             } catch (SQLException e) {
+                failure = e;
                 if (firstException == null) {
                     firstException = e;
                 } else {
                     firstException.addSuppressed(e);
                 }
             }
+            connections.remove(connection.getProfile().getName());
+            recordOperation(event, "disconnect", connection, startNanos, failure);
         }
 
         connections.clear();
@@ -81,6 +141,34 @@ public class ConnectionService {
         }
     }
 
+    /**
+     * Record a connect or disconnect in the metrics registry, if one is set, and emit its
+     * connection event if a recording wants it.
+     */
+    private void recordOperation(ConnectionEvent event, String operation, DatabaseConnection connection,
+                                 long startNanos, Throwable failure) {
+        MetricsRegistry registry = metrics;
+        if (registry != null) {
+            LatencyHistogram histogram = registry.histogram(
+                MetricsRegistry.name("connection." + operation, connection.getProfile().getName()), null);
+            if (failure != null) {
+                histogram.recordError();
+            } else {
+                histogram.record(System.nanoTime() - startNanos, 0);
+            }
+        }
+        
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.setOperation(operation);
+        event.setConnection(connection);
+        event.setOpenConnections(connections.size());
+        event.setError(failure);
+        event.commit();
+    }
+
     public DatabaseConnection getActiveConnection() {
         return activeConnection;
     }
@@ -99,4 +187,26 @@ public class ConnectionService {
     public boolean hasActiveConnection() {
         return activeConnection != null && activeConnection.isConnected();
     }
+
+    /**
+     * Describe the driver and session settings in effect on a connection.
+     *
+     * @param connection The connection to describe
+     * @return One row per setting, with its value, origin and how it is applied
+     */
+    public QueryResult getSettingsReport(DatabaseConnection connection) {
+        List<String> columnNames = List.of("Property", "Value", "Source", "Applied As", "Description");
+        List<List<Object>> rows = new ArrayList<>();
+        for (DriverProperty.Setting setting : connection.getSettings()) {
+            DriverProperty property = setting.getProperty();
+            rows.add(List.of(
+                property.getName(),
+                setting.getValue(),
+                setting.isFromProfile() ? "profile" : "preset",
+                setting.getRejection() != null ? "rejected: " + setting.getRejection()
+                    : property.getScope() == DriverProperty.Scope.SESSION ? "session" : "driver",
+                property.getDescription()));
+        }
+        return new QueryResult(columnNames, rows, 0);
+    }
 }
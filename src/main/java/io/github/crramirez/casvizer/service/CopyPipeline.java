@@ -0,0 +1,397 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.service;
+
+import io.github.crramirez.casvizer.model.DatabaseConnection;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Copies the result of a query on one connection into a new table on another.
+ * <p>
+ * Rows are streamed from a server-side cursor on the calling thread and handed in chunks
+ * through a bounded queue to a writer thread, which inserts them with batched prepared
+ * statements. Fetching and writing therefore overlap, while the queue bounds the memory
+ * in flight to {@code queueCapacity} chunks. The time each side spends waiting on the
+ * other is recorded: a reader blocked on a full queue means the target is the bottleneck,
+ * a writer waiting on an empty queue means the source is.
+ * <p>
+ * Each batch is committed on the target as it is written, so a failed or cancelled copy
+ * leaves the rows written so far in the target table.
+ */
+public class CopyPipeline {
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 8;
+
+    private static final long PROGRESS_INTERVAL_NANOS = 500_000_000L;
+
+    private static final long POLL_INTERVAL_MS = 100;
+
+    /**
+     * Marks the end of the row stream in the queue.
+     */
+    private static final Object[][] END_OF_ROWS = new Object[0][];
+
+    private final int batchSize;
+    private final int queueCapacity;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private volatile StreamingQuery activeQuery;
+
+    public CopyPipeline() {
+        this(TableWriter.DEFAULT_BATCH_SIZE, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @param batchSize Rows per queued chunk and per insert batch
+     * @param queueCapacity Chunks that may wait between reader and writer
+     */
+    public CopyPipeline(int batchSize, int queueCapacity) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be a positive integer");
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be a positive integer");
+        }
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Copy a query result into a table, creating the table with column types mapped
+     * through the target dialect.
+     *
+     * @param source The connection to read from
+     * @param query The query whose rows to copy, e.g. {@code SELECT * FROM orders}
+     * @param target The connection to write to; must not be the source connection
+     * @param tableName The table to create on the target
+     * @param replace Whether to drop an existing table of the same name first
+     * @param listener Receives progress snapshots about twice a second; may be null
+     * @return Row counts, throughput and backpressure statistics
+     * @throws SQLException if reading, creating the table or writing fails
+     */
+    public CopyResult copy(DatabaseConnection source, String query, DatabaseConnection target, String tableName,
+                           boolean replace, ProgressListener listener) throws SQLException {
+        if (source == target || source.getConnection() == target.getConnection()) {
+            throw new IllegalArgumentException("Source and target must be different connections");
+        }
+        if (tableName == null || tableName.isBlank()) {
+            throw new IllegalArgumentException("Table name must be non-null and non-empty");
+        }
+        cancelled.set(false);
+        Stats stats = new Stats();
+        
+        try (StreamingQuery streamingQuery = new StreamingQuery(source, query)) {
+            activeQuery = streamingQuery;
+            ResultSet rs = streamingQuery.getResultSet();
+            List<TableWriter.Column> columns = TableWriter.Column.fromMetaData(rs.getMetaData());
+            stats.columnCount = columns.size();
+            
+            try (TableWriter writer = new TableWriter(target, tableName, columns, batchSize)) {
+                writer.createTable(replace);
+                BlockingQueue<Object[][]> queue = new ArrayBlockingQueue<>(queueCapacity);
+                AtomicReference<Exception> writeFailure = new AtomicReference<>();
+                Thread writerThread = new Thread(() -> drain(queue, writer, stats, writeFailure), "casvizer-copy-writer");
+                writerThread.setDaemon(true);
+                writerThread.start();
+                
+                try {
+                    produce(rs, columns.size(), queue, stats, writeFailure, listener);
+                } finally {
+                    // Let the writer finish; it stops early on its own if the copy failed
+                    try {
+                        writerThread.join();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        cancelled.set(true);
+                    }
+                }
+                
+                Exception failure = writeFailure.get();
+                if (failure instanceof SQLException sqlException) {
+                    throw sqlException;
+                } else if (failure != null) {
+                    throw new SQLException("Writing to " + tableName + " failed: " + failure.getMessage(), failure);
+                }
+                stats.writeNanos = writer.getWriteNanos();
+            }
+        } finally {
+            activeQuery = null;
+        }
+        
+        CopyResult result = stats.snapshot(true, cancelled.get(), queueCapacity);
+        if (listener != null) {
+            listener.onProgress(result);
+        }
+        return result;
+    }
+
+    /**
+     * Stop the running copy; rows already committed on the target are kept.
+     */
+    public void cancel() {
+        cancelled.set(true);
+        StreamingQuery query = activeQuery;
+        if (query != null) {
+            try {
+                query.cancel();
+            } catch (SQLException e) {
+                // The query may have completed in the meantime
+            }
+        }
+    }
+
+    private void produce(ResultSet rs, int columnCount, BlockingQueue<Object[][]> queue, Stats stats,
+                         AtomicReference<Exception> writeFailure, ProgressListener listener) throws SQLException {
+        long lastProgress = System.nanoTime();
+        Object[][] chunk = new Object[batchSize][];
+        int chunkRows = 0;
+        
+        try {
+            while (!cancelled.get() && writeFailure.get() == null) {
+                long readStart = System.nanoTime();
+                if (!rs.next()) {
+                    stats.readNanos += System.nanoTime() - readStart;
+                    break;
+                }
+                Object[] row = new Object[columnCount];
+                for (int i = 0; i < columnCount; i++) {
+                    row[i] = rs.getObject(i + 1);
+                }
+                stats.readNanos += System.nanoTime() - readStart;
+                stats.rowsRead.incrementAndGet();
+                
+                chunk[chunkRows++] = row;
+                if (chunkRows == batchSize) {
+                    enqueue(queue, chunk, stats, writeFailure);
+                    chunk = new Object[batchSize][];
+                    chunkRows = 0;
+                }
+                
+                long now = System.nanoTime();
+                if (listener != null && now - lastProgress >= PROGRESS_INTERVAL_NANOS) {
+                    lastProgress = now;
+                    listener.onProgress(stats.snapshot(false, false, queueCapacity));
+                }
+            }
+            if (chunkRows > 0 && !cancelled.get()) {
+                Object[][] last = new Object[chunkRows][];
+                System.arraycopy(chunk, 0, last, 0, chunkRows);
+                enqueue(queue, last, stats, writeFailure);
+            }
+        } catch (SQLException e) {
+            // A cancelled query fails on the server; report the cancellation instead
+            if (!cancelled.get()) {
+                throw e;
+            }
+        } finally {
+            enqueue(queue, END_OF_ROWS, stats, writeFailure);
+        }
+    }
+
+    /**
+     * Hand a chunk to the writer, waiting while the queue is full. Gives up if the writer
+     * has failed, since it no longer takes chunks off the queue.
+     */
+    private void enqueue(BlockingQueue<Object[][]> queue, Object[][] chunk, Stats stats,
+                         AtomicReference<Exception> writeFailure) {
+        long start = System.nanoTime();
+        try {
+            while (writeFailure.get() == null) {
+                if (queue.offer(chunk, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+                    stats.maxQueueDepth = Math.max(stats.maxQueueDepth, queue.size());
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelled.set(true);
+        } finally {
+            stats.readerBlockedNanos += System.nanoTime() - start;
+        }
+    }
+
+    private void drain(BlockingQueue<Object[][]> queue, TableWriter writer, Stats stats,
+                       AtomicReference<Exception> writeFailure) {
+        try {
+            while (true) {
+                long waitStart = System.nanoTime();
+                Object[][] chunk = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                stats.writerIdleNanos.addAndGet(System.nanoTime() - waitStart);
+                if (chunk == END_OF_ROWS) {
+                    break;
+                }
+                if (chunk == null) {
+                    continue;
+                }
+                for (Object[] row : chunk) {
+                    writer.write(row);
+                }
+                writer.flush();
+                stats.rowsWritten.addAndGet(chunk.length);
+            }
+        } catch (Exception e) {
+            writeFailure.set(e);
+        }
+    }
+
+    /**
+     * Counters shared by the reader and the writer. Fields without atomics are only
+     * written by the reader thread.
+     */
+    private static final class Stats {
+        private final long startNanos = System.nanoTime();
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong rowsWritten = new AtomicLong();
+        private final AtomicLong writerIdleNanos = new AtomicLong();
+        private volatile long readNanos;
+        private volatile long readerBlockedNanos;
+        private volatile int maxQueueDepth;
+        private volatile long writeNanos;
+        private int columnCount;
+
+        CopyResult snapshot(boolean finished, boolean cancelled, int queueCapacity) {
+            return new CopyResult(columnCount, rowsRead.get(), rowsWritten.get(), System.nanoTime() - startNanos,
+                readNanos, writeNanos, readerBlockedNanos, writerIdleNanos.get(), maxQueueDepth, queueCapacity,
+                finished, cancelled);
+        }
+    }
+
+    /**
+     * Receives progress while a copy runs.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(CopyResult progress);
+    }
+
+    /**
+     * Progress or final outcome of a copy.
+     */
+    public static class CopyResult {
+        private final int columnCount;
+        private final long rowsRead;
+        private final long rowsWritten;
+        private final long elapsedNanos;
+        private final long readNanos;
+        private final long writeNanos;
+        private final long readerBlockedNanos;
+        private final long writerIdleNanos;
+        private final int maxQueueDepth;
+        private final int queueCapacity;
+        private final boolean finished;
+        private final boolean cancelled;
+
+        public CopyResult(int columnCount, long rowsRead, long rowsWritten, long elapsedNanos, long readNanos,
+                          long writeNanos, long readerBlockedNanos, long writerIdleNanos, int maxQueueDepth,
+                          int queueCapacity, boolean finished, boolean cancelled) {
+            this.columnCount = columnCount;
+            this.rowsRead = rowsRead;
+            this.rowsWritten = rowsWritten;
+            this.elapsedNanos = elapsedNanos;
+            this.readNanos = readNanos;
+            this.writeNanos = writeNanos;
+            this.readerBlockedNanos = readerBlockedNanos;
+            this.writerIdleNanos = writerIdleNanos;
+            this.maxQueueDepth = maxQueueDepth;
+            this.queueCapacity = queueCapacity;
+            this.finished = finished;
+            this.cancelled = cancelled;
+        }
+
+        public int getColumnCount() {
+            return columnCount;
+        }
+
+        public long getRowsRead() {
+            return rowsRead;
+        }
+
+        public long getRowsWritten() {
+            return rowsWritten;
+        }
+
+        public long getElapsedMs() {
+            return elapsedNanos / 1_000_000;
+        }
+
+        public double getRowsPerSecond() {
+            return elapsedNanos > 0 ? rowsWritten * 1e9 / elapsedNanos : 0;
+        }
+
+        /**
+         * Get the time spent fetching rows from the source.
+         */
+        public long getReadMs() {
+            return readNanos / 1_000_000;
+        }
+
+        /**
+         * Get the time spent sending batches to the target and committing them; only
+         * known once the copy has finished.
+         */
+        public long getWriteMs() {
+            return writeNanos / 1_000_000;
+        }
+
+        /**
+         * Get the time the reader waited on a full queue (backpressure from the target).
+         */
+        public long getReaderBlockedMs() {
+            return readerBlockedNanos / 1_000_000;
+        }
+
+        /**
+         * Get the time the writer waited on an empty queue (the source was slower).
+         */
+        public long getWriterIdleMs() {
+            return writerIdleNanos / 1_000_000;
+        }
+
+        public int getMaxQueueDepth() {
+            return maxQueueDepth;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public boolean isFinished() {
+            return finished;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d rows read, %d written, %.0f rows/s, %dms; reader blocked %dms, "
+                    + "writer idle %dms, queue peak %d/%d",
+                rowsRead, rowsWritten, getRowsPerSecond(), getElapsedMs(), getReaderBlockedMs(),
+                getWriterIdleMs(), maxQueueDepth, queueCapacity);
+        }
+    }
+}
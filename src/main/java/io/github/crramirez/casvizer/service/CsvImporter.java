@@ -0,0 +1,359 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.service;
+
+import io.github.crramirez.casvizer.model.DatabaseConnection;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Loads a CSV file with a header row into a table with batched prepared inserts.
+ * <p>
+ * When appending, the header names are matched case-insensitively to the columns of the
+ * existing table and each value is converted to its column's type. When creating the
+ * table, column types are inferred from the first {@value #INFERENCE_ROWS} rows: integer,
+ * decimal, ISO date and ISO timestamp columns get those types, anything else becomes
+ * text. Empty fields are loaded as nulls. Batches are committed as they are written, so
+ * a failed import leaves the rows of the earlier batches in the table.
+ */
+public class CsvImporter {
+
+    public static final int INFERENCE_ROWS = 1000;
+
+    private final MetadataService metadataService;
+
+    /**
+     * How the target table is prepared.
+     */
+    public enum Mode {
+        /** Insert into an existing table */
+        APPEND,
+        /** Create the table, failing if it exists */
+        CREATE,
+        /** Drop the table if it exists and create it */
+        REPLACE
+    }
+
+    public CsvImporter(MetadataService metadataService) {
+        this.metadataService = metadataService;
+    }
+
+    /**
+     * Import a CSV file into a table.
+     *
+     * @param target The connection to load into
+     * @param file The CSV file, UTF-8, with a header row
+     * @param schema The schema name (null for default)
+     * @param table The table name
+     * @param mode Whether to append to the table or create it
+     * @param batchSize Rows per insert batch and per commit
+     * @return Rows loaded and elapsed time
+     * @throws IOException if the file cannot be read or a value does not fit its column
+     * @throws SQLException if the table cannot be created or written
+     */
+    public ImportResult importCsv(DatabaseConnection target, Path file, String schema, String table, Mode mode,
+                                  int batchSize) throws IOException, SQLException {
+        long startNanos = System.nanoTime();
+        try (CsvReader reader = new CsvReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            List<String> header = reader.next();
+            if (header == null || (header.size() == 1 && header.get(0).isBlank())) {
+                throw new IOException("The CSV file is empty: " + file);
+            }
+            
+            List<List<String>> buffered = new ArrayList<>();
+            List<Integer> bufferedLines = new ArrayList<>();
+            List<TableWriter.Column> columns;
+            if (mode == Mode.APPEND) {
+                columns = matchColumns(target, schema, table, header);
+            } else {
+                List<String> record;
+                while (buffered.size() < INFERENCE_ROWS && (record = reader.next()) != null) {
+                    buffered.add(record);
+                    bufferedLines.add(reader.getRecordLine());
+                }
+                columns = inferColumns(header, buffered);
+            }
+            
+            long rows = 0;
+            try (TableWriter writer = new TableWriter(target, schema, table, columns, batchSize)) {
+                if (mode != Mode.APPEND) {
+                    writer.createTable(mode == Mode.REPLACE);
+                }
+                Object[] values = new Object[columns.size()];
+                int bufferedIndex = 0;
+                while (true) {
+                    List<String> record;
+                    int line;
+                    if (bufferedIndex < buffered.size()) {
+                        record = buffered.get(bufferedIndex);
+                        line = bufferedLines.get(bufferedIndex++);
+                    } else {
+                        record = reader.next();
+                        line = reader.getRecordLine();
+                    }
+                    if (record == null) {
+                        break;
+                    }
+                    if (record.size() == 1 && record.get(0).isEmpty()) {
+                        continue;
+                    }
+                    if (record.size() != columns.size()) {
+                        throw new IOException(String.format("Line %d: expected %d fields but found %d", line,
+                            columns.size(), record.size()));
+                    }
+                    for (int i = 0; i < values.length; i++) {
+                        try {
+                            values[i] = convert(record.get(i), columns.get(i).getSqlType());
+                        } catch (IllegalArgumentException | DateTimeException e) {
+                            throw new IOException(String.format("Line %d: invalid value for %s: %s", line,
+                                columns.get(i).getName(), record.get(i)));
+                        }
+                    }
+                    writer.write(values);
+                    rows++;
+                }
+                writer.flush();
+            }
+            return new ImportResult(table, rows, mode != Mode.APPEND, System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Match the header to the columns of an existing table.
+     */
+    private List<TableWriter.Column> matchColumns(DatabaseConnection target, String schema, String table,
+                                                  List<String> header) throws SQLException {
+        Map<String, MetadataService.ColumnDefinition> definitions = new HashMap<>();
+        for (MetadataService.ColumnDefinition definition
+                : metadataService.getColumnDefinitions(target, schema, table)) {
+            definitions.put(definition.getName().toLowerCase(Locale.ROOT), definition);
+        }
+        if (definitions.isEmpty()) {
+            throw new IllegalArgumentException("Table not found: " + table);
+        }
+        List<TableWriter.Column> columns = new ArrayList<>();
+        for (String name : header) {
+            MetadataService.ColumnDefinition definition = definitions.get(name.trim().toLowerCase(Locale.ROOT));
+            if (definition == null) {
+                throw new IllegalArgumentException("Table " + table + " has no column " + name.trim());
+            }
+            columns.add(new TableWriter.Column(definition.getName(), definition.getSqlType(), definition.getSize(),
+                definition.getScale()));
+        }
+        return columns;
+    }
+
+    /**
+     * Choose the narrowest type that fits every non-empty value of each column.
+     */
+    static List<TableWriter.Column> inferColumns(List<String> header, List<List<String>> records) {
+        List<TableWriter.Column> columns = new ArrayList<>();
+        for (int i = 0; i < header.size(); i++) {
+            // NULL until a value is seen
+            int sqlType = Types.NULL;
+            int maxLength = 1;
+            int maxIntegerDigits = 1;
+            int maxScale = 0;
+            for (List<String> record : records) {
+                String value = (i < record.size()) ? record.get(i).trim() : "";
+                if (value.isEmpty()) {
+                    continue;
+                }
+                maxLength = Math.max(maxLength, value.length());
+                sqlType = widen(sqlType, value);
+                if (sqlType == Types.BIGINT || sqlType == Types.DECIMAL) {
+                    BigDecimal decimal = new BigDecimal(value);
+                    maxScale = Math.max(maxScale, Math.max(0, decimal.scale()));
+                    maxIntegerDigits = Math.max(maxIntegerDigits, decimal.precision() - decimal.scale());
+                }
+            }
+            String name = header.get(i).trim();
+            switch (sqlType) {
+                case Types.BIGINT:
+                case Types.DATE:
+                case Types.TIMESTAMP:
+                    columns.add(new TableWriter.Column(name, sqlType, 0, 0));
+                    break;
+                case Types.DECIMAL:
+                    columns.add(new TableWriter.Column(name, sqlType, Math.min(38, maxIntegerDigits + maxScale),
+                        maxScale));
+                    break;
+                default:
+                    // Leave room for longer values after the sampled rows
+                    columns.add(new TableWriter.Column(name, Types.VARCHAR, Math.max(255, maxLength * 2), 0));
+                    break;
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Widen a column type so it also fits a value: numbers go from BIGINT to DECIMAL,
+     * dates from DATE to TIMESTAMP, and anything else, or a mix, to VARCHAR.
+     */
+    private static int widen(int sqlType, String value) {
+        boolean numericSoFar = sqlType == Types.NULL || sqlType == Types.BIGINT || sqlType == Types.DECIMAL;
+        boolean temporalSoFar = sqlType == Types.NULL || sqlType == Types.DATE || sqlType == Types.TIMESTAMP;
+        if (numericSoFar && sqlType != Types.DECIMAL && value.matches("[+-]?\\d{1,18}")) {
+            return Types.BIGINT;
+        }
+        if (numericSoFar && value.matches("[+-]?\\d*\\.?\\d+") && value.length() <= 38) {
+            return Types.DECIMAL;
+        }
+        if (temporalSoFar && sqlType != Types.TIMESTAMP) {
+            try {
+                LocalDate.parse(value);
+                return Types.DATE;
+            } catch (DateTimeException e) {
+                // Not a date, try a timestamp
+            }
+        }
+        if (temporalSoFar) {
+            try {
+                parseTimestamp(value);
+                return Types.TIMESTAMP;
+            } catch (DateTimeException e) {
+                // Not a timestamp either
+            }
+        }
+        return Types.VARCHAR;
+    }
+
+    private static LocalDateTime parseTimestamp(String text) {
+        if (text.length() == 10) {
+            return LocalDate.parse(text).atStartOfDay();
+        }
+        return LocalDateTime.parse((text.length() > 10 && text.charAt(10) == ' ')
+            ? text.substring(0, 10) + "T" + text.substring(11) : text);
+    }
+
+    /**
+     * Convert a CSV field to a value of a column type.
+     *
+     * @param text The field
+     * @param sqlType The column type, a {@link java.sql.Types} constant
+     * @return The value, null for an empty field
+     * @throws IllegalArgumentException if the field is not a value of the type
+     * @throws DateTimeException if the field is not a date or time
+     */
+    static Object convert(String text, int sqlType) {
+        if (text.isEmpty()) {
+            return null;
+        }
+        switch (sqlType) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+                return Integer.valueOf(text.trim());
+            case Types.BIGINT:
+                return Long.valueOf(text.trim());
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+                return new BigDecimal(text.trim());
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return Double.valueOf(text.trim());
+            case Types.BIT:
+            case Types.BOOLEAN:
+                switch (text.trim().toLowerCase(Locale.ROOT)) {
+                    case "true":
+                    case "t":
+                    case "yes":
+                    case "1":
+                        return Boolean.TRUE;
+                    case "false":
+                    case "f":
+                    case "no":
+                    case "0":
+                        return Boolean.FALSE;
+                    default:
+                        throw new IllegalArgumentException("Not a boolean: " + text);
+                }
+            case Types.DATE:
+                return Date.valueOf(LocalDate.parse(text.trim()));
+            case Types.TIMESTAMP:
+                return Timestamp.valueOf(parseTimestamp(text.trim()));
+            case Types.TIME:
+                return Time.valueOf(LocalTime.parse(text.trim()));
+            default:
+                return text;
+        }
+    }
+
+    /**
+     * Outcome of an import.
+     */
+    public static class ImportResult {
+        private final String table;
+        private final long rows;
+        private final boolean created;
+        private final long elapsedNanos;
+
+        public ImportResult(String table, long rows, boolean created, long elapsedNanos) {
+            this.table = table;
+            this.rows = rows;
+            this.created = created;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public String getTable() {
+            return table;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public boolean isCreated() {
+            return created;
+        }
+
+        public long getElapsedMs() {
+            return elapsedNanos / 1_000_000;
+        }
+
+        public double getRowsPerSecond() {
+            return (elapsedNanos > 0) ? rows * 1_000_000_000.0 / elapsedNanos : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d rows loaded into %s%s in %,d ms (%,.0f rows/s)", rows,
+                created ? "new table " : "", table, getElapsedMs(), getRowsPerSecond());
+        }
+    }
+}
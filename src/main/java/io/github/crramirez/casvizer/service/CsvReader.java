@@ -0,0 +1,105 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads CSV records as written by {@link ExportService#exportToCSV} and most tools
+ * (RFC 4180): fields separated by commas, optionally quoted with doubled quotes inside,
+ * quoted fields may span lines. Records are read one at a time.
+ */
+class CsvReader implements Closeable {
+    private final Reader reader;
+    private int line = 1;
+    private int recordLine;
+
+    /**
+     * @param reader The CSV text; buffered by the caller
+     */
+    CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Read the next record.
+     *
+     * @return The fields of the record, or null at the end of the input
+     * @throws IOException if reading fails
+     */
+    List<String> next() throws IOException {
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int c = reader.read();
+        if (c < 0) {
+            return null;
+        }
+        while (c >= 0) {
+            if (quoted) {
+                if (c == '"') {
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                line++;
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Get the line the last record read starts on, from 1.
+     *
+     * @return The line number
+     */
+    int getRecordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
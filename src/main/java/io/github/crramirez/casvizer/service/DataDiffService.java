@@ -0,0 +1,735 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.service;
+
+import io.github.crramirez.casvizer.dialect.Dialect;
+import io.github.crramirez.casvizer.dialect.DialectFactory;
+import io.github.crramirez.casvizer.model.DatabaseConnection;
+import io.github.crramirez.casvizer.model.QueryResult;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Compares the rows of two queries, on the same or different connections, matched by an
+ * integer key column.
+ * <p>
+ * When both sides are databases of the same type with a hash function, the key range is
+ * split into buckets and each side reports a row count and an order-independent hash sum
+ * per bucket. Only buckets whose summaries differ are split further, until they are small
+ * enough to compare row by row. Ranges where most buckets differ are compared row by row
+ * straight away, since narrowing them would not save any transfer. Otherwise, e.g. between
+ * a PostgreSQL source and a SQLite copy, the whole key range is compared row by row.
+ * <p>
+ * Row-by-row comparison merges both sides in key order, reading pages of
+ * {@value #PAGE_ROWS} rows with keyset pagination, so memory use does not depend on the
+ * table size. Values are compared by meaning rather than by type, e.g. {@code 1} equals
+ * {@code 1.0} and {@code true} equals {@code 1}. Both sides are queried in parallel
+ * unless they share a connection.
+ */
+public class DataDiffService {
+
+    public static final int DEFAULT_MAX_REPORTED_DIFFERENCES = 10_000;
+
+    /**
+     * Buckets a mismatching range is split into at each level.
+     */
+    private static final int FANOUT = 64;
+
+    /**
+     * Ranges with at most this many rows on either side are compared row by row.
+     */
+    private static final int LEAF_ROWS = 2_000;
+
+    private static final int PAGE_ROWS = 1_000;
+
+    /**
+     * Ranges with at least this many non-empty buckets are compared row by row when more
+     * than half of them differ.
+     */
+    private static final int DENSE_MIN_BUCKETS = 4;
+
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    /**
+     * Compare two queries. Rows only returned by the target query are reported as added,
+     * rows only returned by the source query as removed.
+     *
+     * @param source The connection of the reference query
+     * @param sourceQuery The reference query, e.g. {@code SELECT * FROM orders}
+     * @param target The connection of the query to check
+     * @param targetQuery The query to check; must return the same columns in the same order
+     * @param keyColumn A column holding unique, non-null integer values on both sides
+     * @param maxReported The most differences to list; all are counted
+     * @return The differences found and the work done to find them
+     * @throws SQLException if a query fails
+     */
+    public DiffResult diff(DatabaseConnection source, String sourceQuery, DatabaseConnection target,
+                           String targetQuery, String keyColumn, int maxReported) throws SQLException {
+        if (keyColumn == null || keyColumn.isBlank()) {
+            throw new IllegalArgumentException("Key column must be non-null and non-empty");
+        }
+        if (maxReported < 0) {
+            throw new IllegalArgumentException("Max reported differences must be a non-negative integer");
+        }
+        cancelled.set(false);
+        
+        try (DiffRun run = new DiffRun(new Side(source, sourceQuery, keyColumn),
+                new Side(target, targetQuery, keyColumn), maxReported)) {
+            return run.execute();
+        }
+    }
+
+    /**
+     * Stop the running comparison; the result reports the differences found so far.
+     */
+    public void cancel() {
+        cancelled.set(true);
+    }
+
+    /**
+     * Compare two values by meaning, so that values of different Java types read from
+     * different databases compare equal when they represent the same value.
+     */
+    static boolean sameValue(Object a, Object b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        if (a instanceof Boolean x && b instanceof Number) {
+            return sameValue(x ? 1 : 0, b);
+        }
+        if (b instanceof Boolean y && a instanceof Number) {
+            return sameValue(a, y ? 1 : 0);
+        }
+        if (a instanceof Number x && b instanceof Number y) {
+            if (x instanceof Double || x instanceof Float || y instanceof Double || y instanceof Float) {
+                return Double.compare(x.doubleValue(), y.doubleValue()) == 0;
+            }
+            return new BigDecimal(x.toString()).compareTo(new BigDecimal(y.toString())) == 0;
+        }
+        if (a instanceof byte[] x && b instanceof byte[] y) {
+            return Arrays.equals(x, y);
+        }
+        if (a.getClass() == b.getClass()) {
+            return a.equals(b);
+        }
+        return a.toString().equals(b.toString());
+    }
+
+    /**
+     * State of one comparison.
+     */
+    private final class DiffRun implements AutoCloseable {
+        private final Side left;
+        private final Side right;
+        private final int maxReported;
+        private final ExecutorService executor;
+        private final List<Difference> differences = new ArrayList<>();
+        private final List<String> columnNames;
+        private long added;
+        private long removed;
+        private long changed;
+        private int hashQueries;
+        private long rowsFetched;
+
+        DiffRun(Side left, Side right, int maxReported) {
+            if (left.columnNames.size() != right.columnNames.size()) {
+                throw new IllegalArgumentException(String.format(
+                    "Queries return different numbers of columns (%d and %d)",
+                    left.columnNames.size(), right.columnNames.size()));
+            }
+            this.left = left;
+            this.right = right;
+            this.maxReported = maxReported;
+            this.columnNames = left.columnNames;
+            // A JDBC connection cannot run two statements at once
+            this.executor = left.connection.getConnection() == right.connection.getConnection()
+                ? null
+                : Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "casvizer-diff");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        }
+
+        DiffResult execute() throws SQLException {
+            long startTime = System.currentTimeMillis();
+            List<long[]> bounds = onBothSides(Side::bounds);
+            long[] leftBounds = bounds.get(0);
+            long[] rightBounds = bounds.get(1);
+            boolean serverHashing = left.supportsRangeHash(right);
+            
+            if (leftBounds[2] > 0 || rightBounds[2] > 0) {
+                long start = Math.min(leftBounds[2] > 0 ? leftBounds[0] : Long.MAX_VALUE,
+                    rightBounds[2] > 0 ? rightBounds[0] : Long.MAX_VALUE);
+                long last = Math.max(leftBounds[2] > 0 ? leftBounds[1] : Long.MIN_VALUE,
+                    rightBounds[2] > 0 ? rightBounds[1] : Long.MIN_VALUE);
+                if (last == Long.MAX_VALUE) {
+                    throw new IllegalArgumentException("Key values must be less than " + Long.MAX_VALUE);
+                }
+                Range all = new Range(start, last + 1, !serverHashing);
+                if (all.width() < 0) {
+                    throw new IllegalArgumentException("Key range is too wide to split: " + start + " to " + last);
+                }
+                compare(all);
+            }
+            
+            long elapsed = System.currentTimeMillis() - startTime;
+            return new DiffResult(columnNames, differences, added, removed, changed, leftBounds[2], rightBounds[2],
+                serverHashing, hashQueries, rowsFetched, elapsed, cancelled.get());
+        }
+
+        /**
+         * Narrow a range down to its differing parts, visiting ranges in key order so
+         * differences are reported sorted by key.
+         */
+        private void compare(Range all) throws SQLException {
+            Deque<Range> pending = new ArrayDeque<>();
+            pending.push(all);
+            while (!pending.isEmpty() && !cancelled.get()) {
+                Range range = pending.pop();
+                if (range.leaf) {
+                    mergeDiff(range);
+                    continue;
+                }
+                
+                long bucketWidth = Math.max(1, (range.width() + FANOUT - 1) / FANOUT);
+                List<Map<Long, BucketSummary>> summaries = onBothSides(side -> side.summarize(range, bucketWidth));
+                hashQueries += 2;
+                Map<Long, BucketSummary> leftBuckets = summaries.get(0);
+                Map<Long, BucketSummary> rightBuckets = summaries.get(1);
+                TreeSet<Long> buckets = new TreeSet<>(leftBuckets.keySet());
+                buckets.addAll(rightBuckets.keySet());
+                
+                List<Range> mismatched = new ArrayList<>();
+                for (long bucket : buckets) {
+                    BucketSummary leftSummary = leftBuckets.get(bucket);
+                    BucketSummary rightSummary = rightBuckets.get(bucket);
+                    if (leftSummary != null && leftSummary.matches(rightSummary)) {
+                        continue;
+                    }
+                    long rows = Math.max(leftSummary != null ? leftSummary.rows : 0,
+                        rightSummary != null ? rightSummary.rows : 0);
+                    long start = range.start + bucket * bucketWidth;
+                    long end = Math.min(start + bucketWidth, range.end);
+                    mismatched.add(new Range(start, end, rows <= LEAF_ROWS || bucketWidth == 1));
+                }
+                
+                if (buckets.size() >= DENSE_MIN_BUCKETS && mismatched.size() * 2 > buckets.size()) {
+                    pending.push(new Range(range.start, range.end, true));
+                } else {
+                    for (int i = mismatched.size() - 1; i >= 0; i--) {
+                        pending.push(mismatched.get(i));
+                    }
+                }
+            }
+        }
+
+        /**
+         * Compare a key range row by row, merging both sides in key order.
+         */
+        private void mergeDiff(Range range) throws SQLException {
+            RangeCursor leftCursor = new RangeCursor(left, range);
+            RangeCursor rightCursor = new RangeCursor(right, range);
+            
+            while (!cancelled.get()) {
+                if (leftCursor.needsFetch() && rightCursor.needsFetch()) {
+                    onBothSides(side -> side == left ? leftCursor.fetch() : rightCursor.fetch());
+                }
+                Object[] leftRow = leftCursor.peek();
+                Object[] rightRow = rightCursor.peek();
+                if (leftRow == null && rightRow == null) {
+                    break;
+                }
+                
+                long leftKey = leftRow != null ? left.key(leftRow) : Long.MAX_VALUE;
+                long rightKey = rightRow != null ? right.key(rightRow) : Long.MAX_VALUE;
+                if (rightRow == null || (leftRow != null && leftKey < rightKey)) {
+                    removed++;
+                    report(new Difference(leftKey, Difference.Kind.REMOVED, List.of()));
+                    leftCursor.poll();
+                } else if (leftRow == null || rightKey < leftKey) {
+                    added++;
+                    report(new Difference(rightKey, Difference.Kind.ADDED, List.of()));
+                    rightCursor.poll();
+                } else {
+                    List<String> changedColumns = new ArrayList<>();
+                    for (int i = 0; i < leftRow.length; i++) {
+                        if (!sameValue(leftRow[i], rightRow[i])) {
+                            changedColumns.add(columnNames.get(i));
+                        }
+                    }
+                    if (!changedColumns.isEmpty()) {
+                        changed++;
+                        report(new Difference(leftKey, Difference.Kind.CHANGED, changedColumns));
+                    }
+                    leftCursor.poll();
+                    rightCursor.poll();
+                }
+            }
+            rowsFetched += leftCursor.fetched + rightCursor.fetched;
+        }
+
+        private void report(Difference difference) {
+            if (differences.size() < maxReported) {
+                differences.add(difference);
+            }
+        }
+
+        /**
+         * Run a task for both sides, in parallel when they use different connections.
+         *
+         * @return The source side's value followed by the target side's
+         */
+        private <T> List<T> onBothSides(SideTask<T> task) throws SQLException {
+            if (executor == null) {
+                return Arrays.asList(task.run(left), task.run(right));
+            }
+            Future<T> rightFuture = executor.submit(() -> task.run(right));
+            T leftValue;
+            try {
+                leftValue = task.run(left);
+            } catch (SQLException | RuntimeException e) {
+                // Do not let the other side run a statement after we return
+                rightFuture.cancel(false);
+                awaitQuietly(rightFuture);
+                throw e;
+            }
+            try {
+                return Arrays.asList(leftValue, rightFuture.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelled.set(true);
+                throw new SQLException("Interrupted while comparing", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException sqlException) {
+                    throw sqlException;
+                } else if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new SQLException(cause);
+            }
+        }
+
+        private void awaitQuietly(Future<?> future) {
+            try {
+                future.get();
+            } catch (Exception e) {
+                // Already failing; the first error is the one reported
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+            try {
+                left.close();
+            } finally {
+                right.close();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface SideTask<T> {
+        T run(Side side) throws SQLException;
+    }
+
+    /**
+     * One of the two queries being compared.
+     */
+    private static final class Side {
+        private final DatabaseConnection connection;
+        private final Dialect dialect;
+        private final String query;
+        private final List<String> columnNames = new ArrayList<>();
+        private final List<String> quotedColumns = new ArrayList<>();
+        private final int keyIndex;
+        private final String quotedKey;
+        private PreparedStatement pageStatement;
+
+        Side(DatabaseConnection connection, String query, String keyColumn) throws SQLException {
+            this.connection = connection;
+            this.dialect = DialectFactory.getDialect(connection.getDatabaseType());
+            this.query = SqlUtils.normalize(query);
+            
+            try (Statement stmt = connection.getConnection().createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT * FROM (" + this.query + ") AS diff_source WHERE 1 = 0")) {
+                ResultSetMetaData metaData = rs.getMetaData();
+                for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                    columnNames.add(metaData.getColumnLabel(i));
+                    quotedColumns.add(dialect.quoteIdentifier(metaData.getColumnLabel(i)));
+                }
+            }
+            this.keyIndex = ResultViewService.columnIndex(columnNames, keyColumn);
+            this.quotedKey = quotedColumns.get(keyIndex);
+        }
+
+        /**
+         * Server-side hashes are only comparable when both sides render values the same way.
+         */
+        boolean supportsRangeHash(Side other) {
+            return connection.getDatabaseType().equalsIgnoreCase(other.connection.getDatabaseType())
+                && dialect.getRangeHashQuery(query, quotedKey, quotedColumns, 0, 1, 1) != null;
+        }
+
+        /**
+         * @return The smallest key, the largest key and the row count
+         */
+        long[] bounds() throws SQLException {
+            String sql = "SELECT MIN(" + quotedKey + "), MAX(" + quotedKey + "), COUNT(*) FROM ("
+                + query + ") AS diff_source";
+            try (Statement stmt = connection.getConnection().createStatement();
+                 ResultSet rs = stmt.executeQuery(sql)) {
+                rs.next();
+                long rows = rs.getLong(3);
+                if (rows == 0) {
+                    return new long[] {0, 0, 0};
+                }
+                return new long[] {toKey(rs.getObject(1)), toKey(rs.getObject(2)), rows};
+            }
+        }
+
+        Map<Long, BucketSummary> summarize(Range range, long bucketWidth) throws SQLException {
+            Map<Long, BucketSummary> buckets = new HashMap<>();
+            String sql = dialect.getRangeHashQuery(query, quotedKey, quotedColumns, range.start, range.end, bucketWidth);
+            try (Statement stmt = connection.getConnection().createStatement();
+                 ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    buckets.put(rs.getLong(1), new BucketSummary(rs.getLong(2), rs.getBigDecimal(3)));
+                }
+            }
+            return buckets;
+        }
+
+        /**
+         * Read the next page of rows in key order, starting at a key.
+         */
+        List<Object[]> page(long from, long end) throws SQLException {
+            if (pageStatement == null) {
+                String sql = "SELECT * FROM (" + query + ") AS diff_source WHERE " + quotedKey + " >= ? AND "
+                    + quotedKey + " < ? ORDER BY " + quotedKey;
+                pageStatement = connection.getConnection().prepareStatement(dialect.addPagination(sql, PAGE_ROWS, 0));
+            }
+            pageStatement.setLong(1, from);
+            pageStatement.setLong(2, end);
+            List<Object[]> rows = new ArrayList<>(PAGE_ROWS);
+            try (ResultSet rs = pageStatement.executeQuery()) {
+                int columnCount = columnNames.size();
+                while (rs.next()) {
+                    Object[] row = new Object[columnCount];
+                    for (int i = 0; i < columnCount; i++) {
+                        row[i] = rs.getObject(i + 1);
+                    }
+                    rows.add(row);
+                }
+            }
+            return rows;
+        }
+
+        long key(Object[] row) {
+            return toKey(row[keyIndex]);
+        }
+
+        private long toKey(Object value) {
+            try {
+                if (value instanceof Long || value instanceof Integer || value instanceof Short
+                        || value instanceof Byte) {
+                    return ((Number) value).longValue();
+                } else if (value instanceof BigInteger bigInteger) {
+                    return bigInteger.longValueExact();
+                } else if (value instanceof BigDecimal decimal) {
+                    return decimal.longValueExact();
+                }
+            } catch (ArithmeticException e) {
+                // Reported below
+            }
+            throw new IllegalArgumentException("Key column " + columnNames.get(keyIndex)
+                + " must hold non-null integer values, found: " + value);
+        }
+
+        void close() throws SQLException {
+            if (pageStatement != null) {
+                pageStatement.close();
+            }
+        }
+    }
+
+    /**
+     * Pages through the rows of one side within a key range.
+     */
+    private static final class RangeCursor {
+        private final Side side;
+        private final Range range;
+        private final ArrayDeque<Object[]> buffer = new ArrayDeque<>();
+        private long nextKey;
+        private long lastKey;
+        private boolean exhausted;
+        private long fetched;
+
+        RangeCursor(Side side, Range range) {
+            this.side = side;
+            this.range = range;
+            this.nextKey = range.start;
+            this.lastKey = range.start - 1;
+        }
+
+        boolean needsFetch() {
+            return buffer.isEmpty() && !exhausted;
+        }
+
+        Object[] peek() throws SQLException {
+            if (needsFetch()) {
+                fetch();
+            }
+            return buffer.peekFirst();
+        }
+
+        void poll() {
+            buffer.pollFirst();
+        }
+
+        Void fetch() throws SQLException {
+            List<Object[]> rows = side.page(nextKey, range.end);
+            for (Object[] row : rows) {
+                long key = side.key(row);
+                if (key <= lastKey && fetched > 0) {
+                    throw new IllegalArgumentException("Key column " + side.columnNames.get(side.keyIndex)
+                        + " is not unique: " + key);
+                }
+                lastKey = key;
+                fetched++;
+                buffer.addLast(row);
+            }
+            exhausted = rows.size() < PAGE_ROWS || lastKey + 1 >= range.end;
+            nextKey = lastKey + 1;
+            return null;
+        }
+    }
+
+    /**
+     * A half-open key range; leaf ranges are compared row by row.
+     */
+    private static final class Range {
+        private final long start;
+        private final long end;
+        private final boolean leaf;
+
+        Range(long start, long end, boolean leaf) {
+            this.start = start;
+            this.end = end;
+            this.leaf = leaf;
+        }
+
+        long width() {
+            return end - start;
+        }
+    }
+
+    private static final class BucketSummary {
+        private final long rows;
+        private final BigDecimal hash;
+
+        BucketSummary(long rows, BigDecimal hash) {
+            this.rows = rows;
+            this.hash = hash;
+        }
+
+        boolean matches(BucketSummary other) {
+            return other != null && rows == other.rows
+                && (hash == null ? other.hash == null : other.hash != null && hash.compareTo(other.hash) == 0);
+        }
+    }
+
+    /**
+     * A key whose row is missing on one side or differs between the sides.
+     */
+    public static class Difference {
+
+        public enum Kind {
+            ADDED,
+            REMOVED,
+            CHANGED
+        }
+
+        private final long key;
+        private final Kind kind;
+        private final List<String> changedColumns;
+
+        public Difference(long key, Kind kind, List<String> changedColumns) {
+            this.key = key;
+            this.kind = kind;
+            this.changedColumns = changedColumns;
+        }
+
+        public long getKey() {
+            return key;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        /**
+         * Get the columns whose values differ; empty unless the kind is {@link Kind#CHANGED}.
+         */
+        public List<String> getChangedColumns() {
+            return changedColumns;
+        }
+    }
+
+    /**
+     * Outcome of a comparison.
+     */
+    public static class DiffResult {
+        private final List<String> columnNames;
+        private final List<Difference> differences;
+        private final long added;
+        private final long removed;
+        private final long changed;
+        private final long sourceRows;
+        private final long targetRows;
+        private final boolean serverHashing;
+        private final int hashQueries;
+        private final long rowsFetched;
+        private final long elapsedMs;
+        private final boolean cancelled;
+
+        public DiffResult(List<String> columnNames, List<Difference> differences, long added, long removed,
+                          long changed, long sourceRows, long targetRows, boolean serverHashing, int hashQueries,
+                          long rowsFetched, long elapsedMs, boolean cancelled) {
+            this.columnNames = columnNames;
+            this.differences = differences;
+            this.added = added;
+            this.removed = removed;
+            this.changed = changed;
+            this.sourceRows = sourceRows;
+            this.targetRows = targetRows;
+            this.serverHashing = serverHashing;
+            this.hashQueries = hashQueries;
+            this.rowsFetched = rowsFetched;
+            this.elapsedMs = elapsedMs;
+            this.cancelled = cancelled;
+        }
+
+        public List<String> getColumnNames() {
+            return columnNames;
+        }
+
+        /**
+         * Get the differences in key order, up to the requested maximum.
+         */
+        public List<Difference> getDifferences() {
+            return differences;
+        }
+
+        public long getAdded() {
+            return added;
+        }
+
+        public long getRemoved() {
+            return removed;
+        }
+
+        public long getChanged() {
+            return changed;
+        }
+
+        public long getDifferenceCount() {
+            return added + removed + changed;
+        }
+
+        public long getSourceRows() {
+            return sourceRows;
+        }
+
+        public long getTargetRows() {
+            return targetRows;
+        }
+
+        /**
+         * Check whether ranges were narrowed with server-side hashes, or all rows were
+         * compared on the client.
+         */
+        public boolean isServerHashing() {
+            return serverHashing;
+        }
+
+        public int getHashQueries() {
+            return hashQueries;
+        }
+
+        /**
+         * Get the number of rows transferred from both sides for row-by-row comparison.
+         */
+        public long getRowsFetched() {
+            return rowsFetched;
+        }
+
+        public long getElapsedMs() {
+            return elapsedMs;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Convert the listed differences to a result that can be displayed.
+         *
+         * @return A result with the key, the kind of difference and the changed columns
+         */
+        public QueryResult toQueryResult() {
+            List<List<Object>> rows = new ArrayList<>(differences.size());
+            for (Difference difference : differences) {
+                rows.add(List.of(difference.getKey(), difference.getKind().name().toLowerCase(Locale.ROOT),
+                    String.join(", ", difference.getChangedColumns())));
+            }
+            return new QueryResult(List.of("Key", "Difference", "Columns"), rows, elapsedMs);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d added, %d removed, %d changed (%d vs %d rows); %s, %d rows fetched, %dms",
+                added, removed, changed, sourceRows, targetRows,
+                serverHashing ? hashQueries + " hash queries" : "no server hashing", rowsFetched, elapsedMs);
+        }
+    }
+}
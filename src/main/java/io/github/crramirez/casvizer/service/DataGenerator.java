@@ -0,0 +1,899 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.service;
+
+import io.github.crramirez.casvizer.dialect.Dialect;
+import io.github.crramirez.casvizer.dialect.DialectFactory;
+import io.github.crramirez.casvizer.model.DatabaseConnection;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills a table with synthetic rows for load and regression testing.
+ * <p>
+ * Rows are split in contiguous ranges between parallel workers, each with its own
+ * connection, random generator and {@link TableWriter}, so they insert with batched
+ * prepared statements without sharing anything. SQLite allows a single writer, so it
+ * always uses one worker on the given connection. Values are drawn per column from a
+ * uniform or Zipf distribution, or a sequence for keys, with a null rate and, for text,
+ * a number of distinct values. The same seed and worker count produce the same rows.
+ */
+public class DataGenerator {
+
+    public static final double DEFAULT_NULL_RATE = 0.1;
+    public static final int DEFAULT_CARDINALITY = 1000;
+
+    private volatile boolean cancelled;
+    private final AtomicLong rowsWritten = new AtomicLong();
+
+    /**
+     * Describe an existing table as column specs with default distributions: the integer
+     * primary key continues after its current maximum, nullable columns get
+     * {@link #DEFAULT_NULL_RATE} nulls, and auto-increment columns and columns of types
+     * that cannot be generated (JSON, enums, arrays, ...) are left to the database.
+     *
+     * @param metadataService The metadata service to read the table with
+     * @param connection The connection the table is on
+     * @param schema The schema name (null for default)
+     * @param table The table name
+     * @return The column specs, in table order
+     * @throws SQLException if the table cannot be described
+     * @throws IllegalArgumentException if a NOT NULL column without default cannot be generated
+     */
+    public static List<ColumnSpec> describeTable(MetadataService metadataService, DatabaseConnection connection,
+                                                 String schema, String table) throws SQLException {
+        List<MetadataService.ColumnDefinition> definitions =
+            metadataService.getColumnDefinitions(connection, schema, table);
+        if (definitions.isEmpty()) {
+            throw new IllegalArgumentException("Table not found or has no columns: " + table);
+        }
+        String integerKey = metadataService.getIntegerPrimaryKey(connection, schema, table);
+        
+        List<ColumnSpec> columns = new ArrayList<>();
+        for (MetadataService.ColumnDefinition definition : definitions) {
+            if (definition.isAutoIncrement()) {
+                continue;
+            }
+            int sqlType = ColumnSpec.generatedType(definition.getSqlType(), definition.getTypeName());
+            if (sqlType == Types.NULL) {
+                if (definition.isNullable() || definition.getDefaultValue() != null) {
+                    continue;
+                }
+                throw new IllegalArgumentException(String.format("Cannot generate values for column %s of type %s",
+                    definition.getName(), definition.getTypeName()));
+            }
+            ColumnSpec column = new ColumnSpec(definition.getName(), sqlType, definition.getSize(),
+                definition.getScale(), definition.isNullable());
+            if (definition.getName().equals(integerKey)) {
+                column.setDistribution(Distribution.SEQUENCE);
+                column.setRange(maxValue(connection, schema, table, integerKey) + 1, Long.MAX_VALUE);
+            } else if (definition.isNullable()) {
+                column.setNullRate(DEFAULT_NULL_RATE);
+            }
+            columns.add(column);
+        }
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("Table has no columns that can be generated: " + table);
+        }
+        return columns;
+    }
+
+    private static long maxValue(DatabaseConnection connection, String schema, String table, String column)
+            throws SQLException {
+        Dialect dialect = DialectFactory.getDialect(connection.getDatabaseType());
+        String qualifiedTable = (schema == null || schema.isEmpty())
+            ? dialect.quoteIdentifier(table)
+            : dialect.quoteIdentifier(schema) + "." + dialect.quoteIdentifier(table);
+        try (Statement stmt = connection.getConnection().createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MAX(" + dialect.quoteIdentifier(column) + ") FROM "
+                 + qualifiedTable)) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    /**
+     * Create a table for the given column specs, with types mapped through the dialect.
+     *
+     * @param connection The connection to create the table on
+     * @param schema The schema name (null for default)
+     * @param table The table name
+     * @param columns The column specs
+     * @param replace Whether to drop an existing table of the same name first
+     * @throws SQLException if the table cannot be created
+     */
+    public static void createTable(DatabaseConnection connection, String schema, String table,
+                                   List<ColumnSpec> columns, boolean replace) throws SQLException {
+        try (TableWriter writer = new TableWriter(connection, schema, table, toWriterColumns(columns), 1)) {
+            writer.createTable(replace);
+        }
+    }
+
+    /**
+     * Insert synthetic rows into a table. Workers other than the first open their own
+     * connection from the target's profile and close it when done. If a worker fails,
+     * the others stop; rows already committed stay in the table.
+     *
+     * @param target The connection to the database holding the table
+     * @param schema The schema name (null for default)
+     * @param table The table name
+     * @param columns The columns to fill, in insert order
+     * @param options Number of rows, workers, batch size and seed
+     * @return Rows written and elapsed time
+     * @throws SQLException if a worker fails to connect or insert
+     */
+    public GenerateResult generate(DatabaseConnection target, String schema, String table, List<ColumnSpec> columns,
+                                   GenerateOptions options) throws SQLException {
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("At least one column is required");
+        }
+        cancelled = false;
+        rowsWritten.set(0);
+        for (ColumnSpec column : columns) {
+            column.prepare();
+        }
+        int workers = target.getDatabaseType().equalsIgnoreCase("sqlite")
+            ? 1 : (int) Math.max(1, Math.min(options.getWorkers(), options.getRows()));
+        long startTime = System.nanoTime();
+        
+        SplittableRandom seedRandom = new SplittableRandom(options.getSeed());
+        List<GeneratorTask> tasks = new ArrayList<>();
+        long rowsPerWorker = options.getRows() / workers;
+        for (int i = 0; i < workers; i++) {
+            long start = i * rowsPerWorker;
+            long end = (i == workers - 1) ? options.getRows() : start + rowsPerWorker;
+            tasks.add(new GeneratorTask(target, i == 0, schema, table, columns, start, end, options.getBatchSize(),
+                seedRandom.split()));
+        }
+        
+        if (workers == 1) {
+            tasks.get(0).run();
+        } else {
+            AtomicInteger threadNumber = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+                Thread thread = new Thread(runnable, "casvizer-data-generator-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                List<Future<Void>> futures = new ArrayList<>();
+                for (GeneratorTask task : tasks) {
+                    futures.add(executor.submit(() -> {
+                        try {
+                            task.run();
+                        } catch (SQLException | RuntimeException e) {
+                            // Stop the other workers, their rows are not wanted anymore
+                            cancelled = true;
+                            throw e;
+                        }
+                        return null;
+                    }));
+                }
+                awaitAll(futures);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+        return new GenerateResult(rowsWritten.get(), workers, System.nanoTime() - startTime, cancelled);
+    }
+
+    private static void awaitAll(List<Future<Void>> futures) throws SQLException {
+        SQLException firstException = null;
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while generating data", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                SQLException exception = (cause instanceof SQLException sqlException)
+                    ? sqlException : new SQLException(cause.getMessage(), cause);
+                if (firstException == null) {
+                    firstException = exception;
+                } else {
+                    firstException.addSuppressed(exception);
+                }
+            }
+        }
+        if (firstException != null) {
+            throw firstException;
+        }
+    }
+
+    private static List<TableWriter.Column> toWriterColumns(List<ColumnSpec> columns) {
+        List<TableWriter.Column> writerColumns = new ArrayList<>();
+        for (ColumnSpec column : columns) {
+            writerColumns.add(new TableWriter.Column(column.getName(), column.getSqlType(), column.getSize(),
+                column.getScale()));
+        }
+        return writerColumns;
+    }
+
+    /**
+     * Stop a running generation after the current row of every worker. Rows of unsent
+     * batches are rolled back.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Get the number of rows committed so far by the running or last generation.
+     *
+     * @return Committed rows
+     */
+    public long getRowsWritten() {
+        return rowsWritten.get();
+    }
+
+    /**
+     * Inserts one contiguous range of rows.
+     */
+    private class GeneratorTask {
+        private final DatabaseConnection target;
+        private final boolean useTarget;
+        private final String schema;
+        private final String table;
+        private final List<ColumnSpec> columns;
+        private final long start;
+        private final long end;
+        private final int batchSize;
+        private final SplittableRandom random;
+
+        GeneratorTask(DatabaseConnection target, boolean useTarget, String schema, String table,
+                      List<ColumnSpec> columns, long start, long end, int batchSize, SplittableRandom random) {
+            this.target = target;
+            this.useTarget = useTarget;
+            this.schema = schema;
+            this.table = table;
+            this.columns = columns;
+            this.start = start;
+            this.end = end;
+            this.batchSize = batchSize;
+            this.random = random;
+        }
+
+        void run() throws SQLException {
+            DatabaseConnection connection = target;
+            if (!useTarget) {
+                connection = new DatabaseConnection(target.getProfile());
+                connection.connect();
+            }
+            try (TableWriter writer = new TableWriter(connection, schema, table, toWriterColumns(columns),
+                    batchSize)) {
+                Object[] values = new Object[columns.size()];
+                long reported = 0;
+                for (long row = start; row < end && !cancelled; row++) {
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = columns.get(i).nextValue(random, row);
+                    }
+                    writer.write(values);
+                    if (writer.getRowsWritten() != reported) {
+                        rowsWritten.addAndGet(writer.getRowsWritten() - reported);
+                        reported = writer.getRowsWritten();
+                    }
+                }
+                if (!cancelled) {
+                    writer.flush();
+                    rowsWritten.addAndGet(writer.getRowsWritten() - reported);
+                }
+            } finally {
+                if (!useTarget) {
+                    connection.disconnect();
+                }
+            }
+        }
+    }
+
+    /**
+     * How the values of a column are drawn.
+     */
+    public enum Distribution {
+        /** Every value of the range equally likely */
+        UNIFORM,
+        /** The first values of the range far more likely than the last, like real keys and categories */
+        ZIPF,
+        /** Consecutive values from the start of the range, one per row, for keys */
+        SEQUENCE
+    }
+
+    /**
+     * A column to generate and how to draw its values.
+     * <p>
+     * The range is in the natural unit of the type: integer values, whole units of
+     * decimals and floats, days since 1970-01-01 for dates, seconds since the epoch for
+     * timestamps and seconds of the day for times. Text and binary columns draw from
+     * {@code cardinality} distinct values (0 for a distinct value per row) that fit the
+     * column size.
+     */
+    public static class ColumnSpec {
+        private static final long DEFAULT_START_DAY = LocalDate.of(2020, 1, 1).toEpochDay();
+        private static final long DEFAULT_END_DAY = LocalDate.of(2025, 12, 31).toEpochDay();
+        private static final int MAX_TEXT_LENGTH = 24;
+        private static final int MAX_BINARY_LENGTH = 16;
+
+        private final String name;
+        private final int sqlType;
+        private final int size;
+        private final int scale;
+        private final boolean nullable;
+        private Distribution distribution = Distribution.UNIFORM;
+        private double nullRate;
+        private int cardinality = DEFAULT_CARDINALITY;
+        private double zipfExponent = 1.0;
+        private long min;
+        private long max;
+        private ZipfSampler zipfSampler;
+        private long scaleFactor = 1;
+
+        /**
+         * @param name The column name
+         * @param sqlType The column type, a {@link java.sql.Types} constant
+         * @param size Maximum length of text and binary values, or decimal precision; 0 if unknown
+         * @param scale Decimal digits of decimal values
+         * @param nullable Whether the column accepts nulls
+         */
+        public ColumnSpec(String name, int sqlType, int size, int scale, boolean nullable) {
+            // OTHER is only accepted for UUIDs, see generatedType
+            int generatedType = (sqlType == Types.OTHER) ? Types.OTHER : generatedType(sqlType, null);
+            if (generatedType == Types.NULL) {
+                throw new IllegalArgumentException("Cannot generate values of SQL type " + sqlType + " for " + name);
+            }
+            this.name = name;
+            this.sqlType = generatedType;
+            this.size = size;
+            this.scale = Math.max(0, scale);
+            this.nullable = nullable;
+            setDefaultRange();
+        }
+
+        /**
+         * Map a column type to the type values are generated as.
+         *
+         * @param sqlType The JDBC type of the column
+         * @param typeName The database type name, or null
+         * @return The type to generate, or {@link Types#NULL} if values cannot be generated
+         */
+        static int generatedType(int sqlType, String typeName) {
+            switch (sqlType) {
+                case Types.TINYINT:
+                case Types.SMALLINT:
+                case Types.INTEGER:
+                case Types.BIGINT:
+                case Types.DECIMAL:
+                case Types.NUMERIC:
+                case Types.REAL:
+                case Types.FLOAT:
+                case Types.DOUBLE:
+                case Types.BOOLEAN:
+                case Types.CHAR:
+                case Types.VARCHAR:
+                case Types.LONGVARCHAR:
+                case Types.NCHAR:
+                case Types.NVARCHAR:
+                case Types.LONGNVARCHAR:
+                case Types.CLOB:
+                case Types.DATE:
+                case Types.TIME:
+                case Types.TIMESTAMP:
+                case Types.BINARY:
+                case Types.VARBINARY:
+                case Types.LONGVARBINARY:
+                case Types.BLOB:
+                    return sqlType;
+                case Types.BIT:
+                    // Booleans on PostgreSQL and MySQL; bit strings are not generated
+                    return (typeName == null || typeName.equalsIgnoreCase("bool")
+                        || typeName.equalsIgnoreCase("boolean") || typeName.equalsIgnoreCase("bit"))
+                        ? Types.BOOLEAN : Types.NULL;
+                case Types.OTHER:
+                    return (typeName != null && typeName.equalsIgnoreCase("uuid")) ? Types.OTHER : Types.NULL;
+                default:
+                    return Types.NULL;
+            }
+        }
+
+        private void setDefaultRange() {
+            switch (sqlType) {
+                case Types.TINYINT:
+                    setRange(0, 127);
+                    break;
+                case Types.SMALLINT:
+                    setRange(0, 32_767);
+                    break;
+                case Types.INTEGER:
+                case Types.BIGINT:
+                    setRange(1, 1_000_000);
+                    break;
+                case Types.DECIMAL:
+                case Types.NUMERIC:
+                    // Stay within the precision when it is known
+                    long maxWhole = 10_000;
+                    if (size > scale && size - scale < 18) {
+                        maxWhole = Math.min(maxWhole, (long) Math.pow(10, size - scale) - 1);
+                    }
+                    setRange(0, maxWhole);
+                    break;
+                case Types.DATE:
+                    setRange(DEFAULT_START_DAY, DEFAULT_END_DAY);
+                    break;
+                case Types.TIMESTAMP:
+                    setRange(DEFAULT_START_DAY * 86_400, DEFAULT_END_DAY * 86_400 + 86_399);
+                    break;
+                case Types.TIME:
+                    setRange(0, 86_399);
+                    break;
+                case Types.BOOLEAN:
+                    setRange(0, 1);
+                    break;
+                default:
+                    setRange(0, 10_000);
+                    break;
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getSqlType() {
+            return sqlType;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public int getScale() {
+            return scale;
+        }
+
+        public boolean isNullable() {
+            return nullable;
+        }
+
+        public Distribution getDistribution() {
+            return distribution;
+        }
+
+        public void setDistribution(Distribution distribution) {
+            this.distribution = distribution;
+        }
+
+        public double getNullRate() {
+            return nullRate;
+        }
+
+        public void setNullRate(double nullRate) {
+            if (nullRate < 0 || nullRate > 1) {
+                throw new IllegalArgumentException("Null rate must be between 0 and 1");
+            }
+            if (nullRate > 0 && !nullable) {
+                throw new IllegalArgumentException("Column " + name + " does not accept nulls");
+            }
+            this.nullRate = nullRate;
+        }
+
+        public int getCardinality() {
+            return cardinality;
+        }
+
+        /**
+         * Set the number of distinct text or binary values.
+         *
+         * @param cardinality Distinct values, or 0 for a distinct value per row
+         */
+        public void setCardinality(int cardinality) {
+            if (cardinality < 0) {
+                throw new IllegalArgumentException("Cardinality cannot be negative");
+            }
+            this.cardinality = cardinality;
+        }
+
+        public double getZipfExponent() {
+            return zipfExponent;
+        }
+
+        /**
+         * Set the skew of the Zipf distribution; 1 is the classic Zipf law and higher values
+         * concentrate more rows on the first values.
+         *
+         * @param zipfExponent The exponent, greater than 0
+         */
+        public void setZipfExponent(double zipfExponent) {
+            if (zipfExponent <= 0) {
+                throw new IllegalArgumentException("Zipf exponent must be positive");
+            }
+            this.zipfExponent = zipfExponent;
+        }
+
+        public long getMin() {
+            return min;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public void setRange(long min, long max) {
+            if (min > max) {
+                throw new IllegalArgumentException("Range start must not be after its end");
+            }
+            this.min = min;
+            this.max = max;
+        }
+
+        private boolean isText() {
+            switch (sqlType) {
+                case Types.CHAR:
+                case Types.VARCHAR:
+                case Types.LONGVARCHAR:
+                case Types.NCHAR:
+                case Types.NVARCHAR:
+                case Types.LONGNVARCHAR:
+                case Types.CLOB:
+                case Types.BINARY:
+                case Types.VARBINARY:
+                case Types.LONGVARBINARY:
+                case Types.BLOB:
+                case Types.OTHER:
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        /**
+         * Set up the samplers before rows are generated; called once per generation.
+         */
+        void prepare() {
+            long values = isText()
+                ? (cardinality > 0 ? cardinality : Integer.MAX_VALUE)
+                : (max - min >= Integer.MAX_VALUE - 1 || max - min < 0) ? Integer.MAX_VALUE : max - min + 1;
+            zipfSampler = (distribution == Distribution.ZIPF) ? new ZipfSampler((int) values, zipfExponent) : null;
+            scaleFactor = 1;
+            for (int i = 0; i < Math.min(scale, 18); i++) {
+                scaleFactor *= 10;
+            }
+        }
+
+        /**
+         * Draw the value of this column for a row.
+         *
+         * @param random The worker's random generator
+         * @param row The row number, from 0, unique across workers
+         * @return The value, null for nulls
+         */
+        Object nextValue(SplittableRandom random, long row) {
+            if (nullRate > 0 && random.nextDouble() < nullRate) {
+                return null;
+            }
+            switch (sqlType) {
+                case Types.TINYINT:
+                case Types.SMALLINT:
+                case Types.INTEGER:
+                    return (int) nextLong(random, row);
+                case Types.BIGINT:
+                    return nextLong(random, row);
+                case Types.DECIMAL:
+                case Types.NUMERIC:
+                    BigDecimal whole = BigDecimal.valueOf(nextLong(random, row));
+                    return (scaleFactor > 1)
+                        ? whole.add(BigDecimal.valueOf(random.nextLong(scaleFactor), Math.min(scale, 18)))
+                        : whole;
+                case Types.REAL:
+                case Types.FLOAT:
+                case Types.DOUBLE:
+                    return (distribution == Distribution.UNIFORM)
+                        ? min + random.nextDouble() * (max - min) : nextLong(random, row) + random.nextDouble();
+                case Types.BOOLEAN:
+                    return (distribution == Distribution.UNIFORM)
+                        ? random.nextBoolean() : nextLong(random, row) % 2 == 0;
+                case Types.DATE:
+                    return Date.valueOf(LocalDate.ofEpochDay(nextLong(random, row)));
+                case Types.TIMESTAMP:
+                    return new Timestamp(nextLong(random, row) * 1000);
+                case Types.TIME:
+                    return Time.valueOf(LocalTime.ofSecondOfDay(Math.floorMod(nextLong(random, row), 86_400)));
+                case Types.BINARY:
+                case Types.VARBINARY:
+                case Types.LONGVARBINARY:
+                case Types.BLOB:
+                    return binaryValue(nextKey(random, row));
+                case Types.OTHER:
+                    long key = nextKey(random, row);
+                    // Version 4 and IETF variant bits, like random UUIDs
+                    return new UUID((mix(key) & 0xffffffffffff0fffL) | 0x4000L,
+                        (mix(~key) & 0x3fffffffffffffffL) | 0x8000000000000000L);
+                default:
+                    return textValue(nextKey(random, row));
+            }
+        }
+
+        /**
+         * Draw a value of the range.
+         */
+        private long nextLong(SplittableRandom random, long row) {
+            switch (distribution) {
+                case SEQUENCE:
+                    long span = max - min + 1;
+                    return (span > 0) ? min + Math.floorMod(row, span) : min + row;
+                case ZIPF:
+                    return min + zipfSampler.sample(random) - 1;
+                default:
+                    return (max == Long.MAX_VALUE) ? min + random.nextLong(Long.MAX_VALUE - min)
+                        : random.nextLong(min, max + 1);
+            }
+        }
+
+        /**
+         * Draw which of the distinct text or binary values to use.
+         */
+        private long nextKey(SplittableRandom random, long row) {
+            if (distribution == Distribution.SEQUENCE || cardinality == 0) {
+                return row;
+            } else if (distribution == Distribution.ZIPF) {
+                return zipfSampler.sample(random) - 1;
+            }
+            return random.nextInt(cardinality);
+        }
+
+        /**
+         * Build the text of a distinct value: its number in base 36, which keeps values
+         * distinct, then letters derived from it, cut to the column size.
+         */
+        private String textValue(long key) {
+            int length = (size > 0) ? Math.min(size, MAX_TEXT_LENGTH) : MAX_TEXT_LENGTH;
+            StringBuilder text = new StringBuilder(Long.toString(key, 36));
+            long bits = mix(key);
+            int letters = 4 + (int) Math.floorMod(bits, 9L);
+            if (text.length() + 1 < length) {
+                text.append('-');
+                for (int i = 0; i < letters && text.length() < length; i++) {
+                    text.append((char) ('a' + Math.floorMod(bits >>> (i * 5), 26L)));
+                }
+            }
+            return (text.length() > length) ? text.substring(0, length) : text.toString();
+        }
+
+        private byte[] binaryValue(long key) {
+            int length = (size > 0) ? Math.min(size, MAX_BINARY_LENGTH) : MAX_BINARY_LENGTH;
+            byte[] bytes = new byte[length];
+            long bits = mix(key);
+            for (int i = 0; i < length; i++) {
+                if (i % 8 == 0 && i > 0) {
+                    bits = mix(bits);
+                }
+                bytes[i] = (byte) (bits >>> ((i % 8) * 8));
+            }
+            return bytes;
+        }
+
+        /**
+         * SplitMix64 finalizer, spreads consecutive keys over all bits.
+         */
+        private static long mix(long value) {
+            long z = value + 0x9e3779b97f4a7c15L;
+            z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+            z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+            return z ^ (z >>> 31);
+        }
+
+        @Override
+        public String toString() {
+            String detail = isText() ? "cardinality " + (cardinality > 0 ? cardinality : "unique")
+                : "range " + min + ".." + max;
+            return String.format(Locale.ROOT, "%s %s, %s, nulls %.0f%%", name,
+                distribution.name().toLowerCase(Locale.ROOT), detail, nullRate * 100);
+        }
+    }
+
+    /**
+     * Size and parallelism of a generation.
+     */
+    public static class GenerateOptions {
+        public static final int DEFAULT_WORKERS = 4;
+
+        private final long rows;
+        private final int workers;
+        private final int batchSize;
+        private final long seed;
+
+        public GenerateOptions(long rows) {
+            this(rows, DEFAULT_WORKERS, TableWriter.DEFAULT_BATCH_SIZE, 42);
+        }
+
+        public GenerateOptions(long rows, int workers, int batchSize, long seed) {
+            if (rows <= 0) {
+                throw new IllegalArgumentException("Number of rows must be a positive integer");
+            }
+            if (workers <= 0) {
+                throw new IllegalArgumentException("Number of workers must be a positive integer");
+            }
+            if (batchSize <= 0) {
+                throw new IllegalArgumentException("Batch size must be a positive integer");
+            }
+            this.rows = rows;
+            this.workers = workers;
+            this.batchSize = batchSize;
+            this.seed = seed;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        /**
+         * Parse a generation spec such as {@code "100000 workers=8 distribution=zipf nulls=0.05"}:
+         * the number of rows followed by options. {@code workers}, {@code batch} and
+         * {@code seed} set the returned options; {@code distribution} ({@code uniform} or
+         * {@code zipf}), {@code nulls}, {@code cardinality} and {@code zipf} (the exponent)
+         * apply to every column except sequences, nulls only to nullable columns.
+         *
+         * @param spec The spec
+         * @param columns The columns to apply column options to
+         * @return The generation options
+         * @throws IllegalArgumentException if the spec is invalid
+         */
+        public static GenerateOptions parse(String spec, List<ColumnSpec> columns) {
+            String[] parts = spec.trim().split("\\s+");
+            long rows;
+            try {
+                rows = Long.parseLong(parts[0].replace("_", ""));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid number of rows: " + parts[0]);
+            }
+            int workers = DEFAULT_WORKERS;
+            int batchSize = TableWriter.DEFAULT_BATCH_SIZE;
+            long seed = 42;
+            for (int i = 1; i < parts.length; i++) {
+                int equals = parts[i].indexOf('=');
+                if (equals <= 0) {
+                    throw new IllegalArgumentException("Invalid option, expected name=value: " + parts[i]);
+                }
+                String option = parts[i].substring(0, equals).toLowerCase(Locale.ROOT);
+                String value = parts[i].substring(equals + 1);
+                try {
+                    switch (option) {
+                        case "workers":
+                            workers = Integer.parseInt(value);
+                            break;
+                        case "batch":
+                            batchSize = Integer.parseInt(value);
+                            break;
+                        case "seed":
+                            seed = Long.parseLong(value);
+                            break;
+                        case "distribution":
+                            Distribution distribution = Distribution.valueOf(value.toUpperCase(Locale.ROOT));
+                            for (ColumnSpec column : columns) {
+                                if (column.getDistribution() != Distribution.SEQUENCE) {
+                                    column.setDistribution(distribution);
+                                }
+                            }
+                            break;
+                        case "nulls":
+                            double nullRate = Double.parseDouble(value);
+                            for (ColumnSpec column : columns) {
+                                if (column.isNullable() && column.getDistribution() != Distribution.SEQUENCE) {
+                                    column.setNullRate(nullRate);
+                                }
+                            }
+                            break;
+                        case "cardinality":
+                            int cardinality = Integer.parseInt(value);
+                            for (ColumnSpec column : columns) {
+                                column.setCardinality(cardinality);
+                            }
+                            break;
+                        case "zipf":
+                            double exponent = Double.parseDouble(value);
+                            for (ColumnSpec column : columns) {
+                                column.setZipfExponent(exponent);
+                            }
+                            break;
+                        default:
+                            throw new IllegalArgumentException("Unknown option: " + option);
+                    }
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid value for " + option + ": " + value);
+                }
+            }
+            return new GenerateOptions(rows, workers, batchSize, seed);
+        }
+    }
+
+    /**
+     * Outcome of a generation.
+     */
+    public static class GenerateResult {
+        private final long rows;
+        private final int workers;
+        private final long elapsedNanos;
+        private final boolean cancelled;
+
+        public GenerateResult(long rows, int workers, long elapsedNanos, boolean cancelled) {
+            this.rows = rows;
+            this.workers = workers;
+            this.elapsedNanos = elapsedNanos;
+            this.cancelled = cancelled;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public long getElapsedMs() {
+            return elapsedNanos / 1_000_000;
+        }
+
+        public double getRowsPerSecond() {
+            return (elapsedNanos > 0) ? rows * 1_000_000_000.0 / elapsedNanos : 0;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d rows in %,d ms (%,.0f rows/s, %d %s)%s", rows, getElapsedMs(),
+                getRowsPerSecond(), workers, workers == 1 ? "worker" : "workers", cancelled ? ", cancelled" : "");
+        }
+    }
+}
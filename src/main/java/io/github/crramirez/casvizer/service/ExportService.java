@@ -17,8 +17,10 @@
  */
 package io.github.crramirez.casvizer.service;
 
+import io.github.crramirez.casvizer.event.ExportEvent;
 import io.github.crramirez.casvizer.model.QueryResult;
 
+import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
@@ -30,27 +32,95 @@ import java.util.List;
  */
 public class ExportService {
     
+    private MetricsRegistry metrics;
+    
+    /**
+     * Sets the registry that receives the duration, size and throughput of exports per
+     * format.
+     * 
+     * @param metrics The registry to update, or null to record no metrics
+     */
+    public void setMetrics(MetricsRegistry metrics) {
+        this.metrics = metrics;
+    }
+    
     public void exportToCSV(QueryResult result, String filename) throws IOException {
+        long startNanos = System.nanoTime();
+        ExportEvent event = new ExportEvent();
+        event.begin();
+        Throwable failure = null;
+        try {
+            writeCsv(result, filename);
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            recordOperation(event, "csv", result, filename, startNanos, failure);
+        }
+    }
+
+    private void writeCsv(QueryResult result, String filename) throws IOException {
         try (PrintWriter writer = new PrintWriter(new FileWriter(filename))) {
-            // Write header with proper escaping
-            List<String> escapedHeaders = new ArrayList<>();
-            for (String columnName : result.getColumnNames()) {
-                escapedHeaders.add(escapeCsvValue(columnName));
-            }
-            writer.println(String.join(",", escapedHeaders));
-            
-            // Write rows
-            for (List<Object> row : result.getRows()) {
-                List<String> values = new ArrayList<>();
-                for (Object value : row) {
-                    String strValue = value != null ? value.toString() : "";
-                    values.add(escapeCsvValue(strValue));
-                }
-                writer.println(String.join(",", values));
+            writeCsv(result, writer);
+        }
+    }
+    
+    /**
+     * Write a result as CSV, e.g. to standard output. Unlike the exports it records no
+     * metrics or events.
+     * 
+     * @param result The result to write
+     * @param writer The writer to write to; left open
+     */
+    public void writeCsv(QueryResult result, PrintWriter writer) {
+        // Write header with proper escaping
+        List<String> escapedHeaders = new ArrayList<>();
+        for (String columnName : result.getColumnNames()) {
+            escapedHeaders.add(escapeCsvValue(columnName));
+        }
+        writer.println(String.join(",", escapedHeaders));
+        
+        // Write rows
+        for (List<Object> row : result.getRows()) {
+            List<String> values = new ArrayList<>();
+            for (Object value : row) {
+                String strValue = value != null ? value.toString() : "";
+                values.add(escapeCsvValue(strValue));
             }
+            writer.println(String.join(",", values));
         }
     }
     
+    /**
+     * Record a finished export in the metrics registry, if one is set, and emit its
+     * export event if a recording wants it. The file size is only read for either.
+     */
+    private void recordOperation(ExportEvent event, String format, QueryResult result, String filename,
+                                 long startNanos, Throwable failure) {
+        MetricsRegistry registry = metrics;
+        if (registry != null) {
+            LatencyHistogram histogram = registry.histogram("export." + format, "bytes");
+            if (failure != null) {
+                histogram.recordError();
+            } else {
+                histogram.record(System.nanoTime() - startNanos, new File(filename).length());
+                registry.counter("export.rows").add(result.getRowCount());
+            }
+        }
+        
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.setFormat(format);
+        event.setFile(filename);
+        event.setRows(result.getRowCount());
+        event.setColumns(result.getColumnCount());
+        event.setBytes(new File(filename).length());
+        event.setError(failure);
+        event.commit();
+    }
+
     /**
      * Escape a value for CSV output according to RFC 4180.
      * Preserves newlines within quoted fields.
@@ -80,6 +150,21 @@ public class ExportService {
      * @throws IOException if file writing fails
      */
     public void exportToSQL(QueryResult result, String tableName, String filename) throws IOException {
+        long startNanos = System.nanoTime();
+        ExportEvent event = new ExportEvent();
+        event.begin();
+        Throwable failure = null;
+        try {
+            writeSql(result, tableName, filename);
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            recordOperation(event, "sql", result, filename, startNanos, failure);
+        }
+    }
+
+    private void writeSql(QueryResult result, String tableName, String filename) throws IOException {
         try (PrintWriter writer = new PrintWriter(new FileWriter(filename))) {
             List<String> columns = result.getColumnNames();
             
@@ -132,55 +217,81 @@ public class ExportService {
     }
 
     public void exportToText(QueryResult result, String filename) throws IOException {
+        long startNanos = System.nanoTime();
+        ExportEvent event = new ExportEvent();
+        event.begin();
+        Throwable failure = null;
+        try {
+            writeText(result, filename);
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            recordOperation(event, "text", result, filename, startNanos, failure);
+        }
+    }
+
+    private void writeText(QueryResult result, String filename) throws IOException {
         try (PrintWriter writer = new PrintWriter(new FileWriter(filename))) {
-            List<String> columns = result.getColumnNames();
-            
-            // Calculate column widths (considering newline replacement in values)
-            int[] widths = new int[columns.size()];
-            for (int i = 0; i < columns.size(); i++) {
-                widths[i] = columns.get(i).length();
+            writeText(result, writer);
+        }
+    }
+
+    /**
+     * Write a result as an aligned text table, e.g. to standard output. Unlike the
+     * exports it records no metrics or events.
+     * 
+     * @param result The result to write
+     * @param writer The writer to write to; left open
+     */
+    public void writeText(QueryResult result, PrintWriter writer) {
+        List<String> columns = result.getColumnNames();
+        
+        // Calculate column widths (considering newline replacement in values)
+        int[] widths = new int[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            widths[i] = columns.get(i).length();
+        }
+        
+        for (List<Object> row : result.getRows()) {
+            for (int i = 0; i < row.size(); i++) {
+                String value = row.get(i) != null ? row.get(i).toString() : "NULL";
+                // Calculate width after newline replacement
+                value = value.replace("\r\n", " ").replace("\n", " ").replace("\r", " ");
+                widths[i] = Math.max(widths[i], value.length());
             }
-            
-            for (List<Object> row : result.getRows()) {
-                for (int i = 0; i < row.size(); i++) {
-                    String value = row.get(i) != null ? row.get(i).toString() : "NULL";
-                    // Calculate width after newline replacement
-                    value = value.replace("\r\n", " ").replace("\n", " ").replace("\r", " ");
-                    widths[i] = Math.max(widths[i], value.length());
-                }
+        }
+        
+        // Write header
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.print(" | ");
             }
-            
-            // Write header
-            for (int i = 0; i < columns.size(); i++) {
-                if (i > 0) {
-                    writer.print(" | ");
-                }
-                writer.print(String.format("%-" + widths[i] + "s", columns.get(i)));
+            writer.print(String.format("%-" + widths[i] + "s", columns.get(i)));
+        }
+        writer.println();
+        
+        // Write separator
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.print("-+-");
             }
-            writer.println();
-            
-            // Write separator
-            for (int i = 0; i < columns.size(); i++) {
+            writer.print("-".repeat(widths[i]));
+        }
+        writer.println();
+        
+        // Write rows
+        for (List<Object> row : result.getRows()) {
+            for (int i = 0; i < row.size(); i++) {
                 if (i > 0) {
-                    writer.print("-+-");
+                    writer.print(" | ");
                 }
-                writer.print("-".repeat(widths[i]));
+                String value = row.get(i) != null ? row.get(i).toString() : "NULL";
+                // Replace newlines with space to prevent breaking table structure
+                value = value.replace("\r\n", " ").replace("\n", " ").replace("\r", " ");
+                writer.print(String.format("%-" + widths[i] + "s", value));
             }
             writer.println();
-            
-            // Write rows
-            for (List<Object> row : result.getRows()) {
-                for (int i = 0; i < row.size(); i++) {
-                    if (i > 0) {
-                        writer.print(" | ");
-                    }
-                    String value = row.get(i) != null ? row.get(i).toString() : "NULL";
-                    // Replace newlines with space to prevent breaking table structure
-                    value = value.replace("\r\n", " ").replace("\n", " ").replace("\r", " ");
-                    writer.print(String.format("%-" + widths[i] + "s", value));
-                }
-                writer.println();
-            }
         }
     }
 }
@@ -0,0 +1,92 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Misra-Gries summary of the most frequent values in a stream.
+ * <p>
+ * Keeps at most {@code capacity} counters. When a new value arrives and all counters are
+ * taken, every counter is decremented instead, so counts are lower bounds that are exact
+ * as long as no decrement happened. A value whose count exceeds the number of decrements
+ * is certainly more frequent than any value that is not tracked.
+ */
+final class HeavyHitters {
+
+    private final int capacity;
+    private final Map<Object, long[]> counters;
+    private long decrements;
+
+    HeavyHitters(int capacity) {
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    void add(Object value) {
+        Object key = value instanceof byte[] bytes ? HexFormat.of().formatHex(bytes) : value;
+        long[] counter = counters.get(key);
+        if (counter != null) {
+            counter[0]++;
+        } else if (counters.size() < capacity) {
+            counters.put(key, new long[] {1});
+        } else {
+            decrements++;
+            Iterator<long[]> it = counters.values().iterator();
+            while (it.hasNext()) {
+                if (--it.next()[0] == 0) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Check whether the counts are exact, i.e. the stream never had more distinct values
+     * than there are counters.
+     */
+    boolean isExact() {
+        return decrements == 0;
+    }
+
+    int size() {
+        return counters.size();
+    }
+
+    /**
+     * Get the most frequent values that are certainly more frequent than any untracked value.
+     *
+     * @param limit The most values to return
+     * @return Values with their (lower bound) counts, most frequent first
+     */
+    List<Map.Entry<Object, Long>> top(int limit) {
+        List<Map.Entry<Object, Long>> entries = new ArrayList<>();
+        for (Map.Entry<Object, long[]> entry : counters.entrySet()) {
+            if (entry.getValue()[0] > decrements) {
+                entries.add(Map.entry(entry.getKey(), entry.getValue()[0]));
+            }
+        }
+        entries.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+        return entries.size() > limit ? new ArrayList<>(entries.subList(0, limit)) : entries;
+    }
+}
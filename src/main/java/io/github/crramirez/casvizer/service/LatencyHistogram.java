@@ -0,0 +1,186 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear histogram of operation latencies, in nanoseconds.
+ * <p>
+ * Values below 64 get a bucket each; above that every power of two is split into 32
+ * linear sub-buckets, so any recorded value is reported within about 3% of its true
+ * value with 1888 buckets (15 KB) covering the whole {@code long} range. Recording is a
+ * few atomic increments and never blocks, so the histogram can be updated from any
+ * number of threads while it is being read.
+ * <p>
+ * Each observation can also carry an amount of work (rows, bytes, items) so the
+ * histogram reports the throughput of the operation over the time spent in it.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final String unit;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder amount = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * @param unit Unit of the amount recorded with each observation (e.g. "rows"), or
+     *             null if observations carry no amount
+     */
+    public LatencyHistogram(String unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * Record a successful operation.
+     *
+     * @param nanos Time the operation took
+     * @param amount Work done by the operation, in the histogram unit
+     */
+    public void record(long nanos, long amount) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(bucketIndex(value));
+        totalNanos.add(value);
+        if (amount > 0) {
+            this.amount.add(amount);
+        }
+        long max = maxNanos.get();
+        while (value > max && !maxNanos.compareAndSet(max, value)) {
+            max = maxNanos.get();
+        }
+    }
+
+    /**
+     * Record a failed operation. Failures are counted but kept out of the latencies.
+     */
+    public void recordError() {
+        errors.increment();
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+
+    /**
+     * Get the number of successful operations recorded.
+     *
+     * @return Operation count
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += buckets.get(i);
+        }
+        return count;
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getAmount() {
+        return amount.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    public double getMeanNanos() {
+        long count = getCount();
+        return (count > 0) ? (double) getTotalNanos() / count : 0;
+    }
+
+    /**
+     * Get the amount of work done per second spent in the operation.
+     *
+     * @return Amount per second, 0 if nothing was recorded
+     */
+    public double getThroughput() {
+        long nanos = getTotalNanos();
+        return (nanos > 0) ? getAmount() * 1_000_000_000.0 / nanos : 0;
+    }
+
+    /**
+     * Get a latency percentile.
+     *
+     * @param percentile Percentile between 0 and 100
+     * @return Latency in nanoseconds, 0 if nothing was recorded
+     */
+    public long getPercentileNanos(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            count += counts[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        if (rank >= count) {
+            return getMaxNanos();
+        }
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                // Middle of the bucket, never above the largest value actually recorded
+                long lower = bucketLowerBound(i);
+                long middle = lower + (bucketWidth(i) - 1) / 2;
+                return Math.min(middle, getMaxNanos());
+            }
+        }
+        return getMaxNanos();
+    }
+
+    static int bucketIndex(long value) {
+        if (value < 2 * SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    static long bucketLowerBound(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        return (long) (index % SUB_BUCKETS + SUB_BUCKETS) << shift;
+    }
+
+    private static long bucketWidth(int index) {
+        return (index < 2 * SUB_BUCKETS) ? 1 : 1L << (index / SUB_BUCKETS - 1);
+    }
+}
@@ -19,30 +19,56 @@ package io.github.crramirez.casvizer.service;
 
 import io.github.crramirez.casvizer.dialect.Dialect;
 import io.github.crramirez.casvizer.dialect.DialectFactory;
+import io.github.crramirez.casvizer.event.MetadataEvent;
 import io.github.crramirez.casvizer.model.DatabaseConnection;
 
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Types;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service for database metadata introspection.
  */
 public class MetadataService {
     
+    private MetricsRegistry metrics;
+    
+    /**
+     * Sets the registry that receives the count, latency and size of metadata reads,
+     * labelled with the connection profile.
+     * 
+     * @param metrics The registry to update, or null to record no metrics
+     */
+    public void setMetrics(MetricsRegistry metrics) {
+        this.metrics = metrics;
+    }
+    
     public List<String> listSchemas(DatabaseConnection dbConnection) throws SQLException {
         Dialect dialect = DialectFactory.getDialect(dbConnection.getDatabaseType());
         String query = dialect.getListSchemasQuery();
         
+        long startNanos = System.nanoTime();
+        MetadataEvent event = new MetadataEvent();
+        event.begin();
         List<String> schemas = new ArrayList<>();
+        Throwable failure = null;
         try (Statement stmt = dbConnection.getConnection().createStatement();
              ResultSet rs = stmt.executeQuery(query)) {
             while (rs.next()) {
                 schemas.add(rs.getString(1));
             }
+        } catch (SQLException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            recordOperation(event, "schemas", dbConnection, null, null, schemas.size(), startNanos, failure);
         }
         return schemas;
     }
@@ -51,12 +77,21 @@ public class MetadataService {
         Dialect dialect = DialectFactory.getDialect(dbConnection.getDatabaseType());
         String query = dialect.getListTablesQuery(schema);
         
+        long startNanos = System.nanoTime();
+        MetadataEvent event = new MetadataEvent();
+        event.begin();
         List<String> tables = new ArrayList<>();
+        Throwable failure = null;
         try (Statement stmt = dbConnection.getConnection().createStatement();
              ResultSet rs = stmt.executeQuery(query)) {
             while (rs.next()) {
                 tables.add(rs.getString(1));
             }
+        } catch (SQLException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            recordOperation(event, "tables", dbConnection, schema, null, tables.size(), startNanos, failure);
         }
         return tables;
     }
@@ -65,7 +100,11 @@ public class MetadataService {
         Dialect dialect = DialectFactory.getDialect(dbConnection.getDatabaseType());
         String query = dialect.getListColumnsQuery(schema, table);
         
+        long startNanos = System.nanoTime();
+        MetadataEvent event = new MetadataEvent();
+        event.begin();
         List<ColumnInfo> columns = new ArrayList<>();
+        Throwable failure = null;
         try (Statement stmt = dbConnection.getConnection().createStatement();
              ResultSet rs = stmt.executeQuery(query)) {
             
@@ -88,10 +127,215 @@ public class MetadataService {
                     columns.add(new ColumnInfo(name, type, nullable, defaultValue));
                 }
             }
+        } catch (SQLException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            recordOperation(event, "columns", dbConnection, schema, table, columns.size(), startNanos, failure);
+        }
+        return columns;
+    }
+
+    /**
+     * Find the primary key of a table if it is a single integer column, which allows
+     * key-range access such as sampling.
+     *
+     * @param dbConnection The database connection
+     * @param schema The schema name (null for default)
+     * @param table The table name
+     * @return The key column name, or null if the key is missing, compound or not an integer
+     * @throws SQLException if the metadata cannot be read
+     */
+    public String getIntegerPrimaryKey(DatabaseConnection dbConnection, String schema, String table)
+            throws SQLException {
+        long startNanos = System.nanoTime();
+        MetadataEvent event = new MetadataEvent();
+        event.begin();
+        String key = null;
+        Throwable failure = null;
+        try {
+            key = findIntegerPrimaryKey(dbConnection, schema, table);
+            return key;
+        } catch (SQLException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            recordOperation(event, "primaryKey", dbConnection, schema, table, (key != null) ? 1 : 0, startNanos,
+                failure);
+        }
+    }
+
+    /**
+     * Describe the columns of a table from the driver's metadata, with their JDBC type,
+     * size and scale, which the catalog queries of {@link #listColumns} do not return.
+     *
+     * @param dbConnection The database connection to use
+     * @param schema The schema name (null for default)
+     * @param table The table name
+     * @return The column definitions in table order
+     * @throws SQLException if the metadata cannot be read
+     */
+    public List<ColumnDefinition> getColumnDefinitions(DatabaseConnection dbConnection, String schema, String table)
+            throws SQLException {
+        long startNanos = System.nanoTime();
+        MetadataEvent event = new MetadataEvent();
+        event.begin();
+        List<ColumnDefinition> columns = new ArrayList<>();
+        Throwable failure = null;
+        try {
+            DatabaseMetaData metaData = dbConnection.getConnection().getMetaData();
+            // MySQL exposes databases as catalogs rather than schemas
+            boolean schemaIsCatalog = dbConnection.getDatabaseType().equalsIgnoreCase("mysql");
+            String catalog = schemaIsCatalog ? schema : null;
+            String schemaPattern = schemaIsCatalog ? null : schema;
+            try (ResultSet rs = metaData.getColumns(catalog, schemaPattern, table, null)) {
+                while (rs.next()) {
+                    // The table name is a pattern, so "_" may have matched other tables
+                    if (!table.equals(rs.getString("TABLE_NAME"))) {
+                        continue;
+                    }
+                    columns.add(new ColumnDefinition(rs.getString("COLUMN_NAME"), rs.getInt("DATA_TYPE"),
+                        rs.getString("TYPE_NAME"), rs.getInt("COLUMN_SIZE"), rs.getInt("DECIMAL_DIGITS"),
+                        rs.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls, rs.getString("COLUMN_DEF"),
+                        "YES".equalsIgnoreCase(rs.getString("IS_AUTOINCREMENT"))));
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            recordOperation(event, "columnDefinitions", dbConnection, schema, table, columns.size(), startNanos,
+                failure);
         }
         return columns;
     }
 
+    private String findIntegerPrimaryKey(DatabaseConnection dbConnection, String schema, String table)
+            throws SQLException {
+        DatabaseMetaData metaData = dbConnection.getConnection().getMetaData();
+        // MySQL exposes databases as catalogs rather than schemas
+        boolean schemaIsCatalog = dbConnection.getDatabaseType().equalsIgnoreCase("mysql");
+        String catalog = schemaIsCatalog ? schema : null;
+        String schemaPattern = schemaIsCatalog ? null : schema;
+        
+        List<String> keyColumns = new ArrayList<>();
+        try (ResultSet rs = metaData.getPrimaryKeys(catalog, schemaPattern, table)) {
+            while (rs.next()) {
+                keyColumns.add(rs.getString("COLUMN_NAME"));
+            }
+        }
+        if (keyColumns.size() != 1) {
+            return null;
+        }
+        
+        try (ResultSet rs = metaData.getColumns(catalog, schemaPattern, table, keyColumns.get(0))) {
+            while (rs.next()) {
+                if (!keyColumns.get(0).equals(rs.getString("COLUMN_NAME"))) {
+                    continue;
+                }
+                switch (rs.getInt("DATA_TYPE")) {
+                    case Types.TINYINT:
+                    case Types.SMALLINT:
+                    case Types.INTEGER:
+                    case Types.BIGINT:
+                        return keyColumns.get(0);
+                    default:
+                        return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Read approximate row counts and sizes of the tables in a schema from the catalog.
+     * Nothing is scanned, so this is cheap even for very large tables; the estimates are
+     * as fresh as the database's last statistics update.
+     *
+     * @param dbConnection The database connection
+     * @param schema The schema name (null for default)
+     * @return Statistics by table name, in name order
+     * @throws SQLException if no statistics query succeeds
+     */
+    public Map<String, TableStatistics> getTableStatistics(DatabaseConnection dbConnection, String schema)
+            throws SQLException {
+        long startNanos = System.nanoTime();
+        MetadataEvent event = new MetadataEvent();
+        event.begin();
+        Map<String, TableStatistics> statistics = null;
+        Throwable failure = null;
+        try {
+            statistics = readTableStatistics(dbConnection, schema);
+            return statistics;
+        } catch (SQLException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            recordOperation(event, "statistics", dbConnection, schema, null, (statistics != null) ? statistics.size() : 0,
+                startNanos, failure);
+        }
+    }
+
+    private Map<String, TableStatistics> readTableStatistics(DatabaseConnection dbConnection, String schema)
+            throws SQLException {
+        Dialect dialect = DialectFactory.getDialect(dbConnection.getDatabaseType());
+        List<String> queries = dialect.getTableStatisticsQueries(schema);
+        
+        SQLException lastException = null;
+        for (String query : queries) {
+            Map<String, TableStatistics> statistics = new LinkedHashMap<>();
+            try (Statement stmt = dbConnection.getConnection().createStatement();
+                 ResultSet rs = stmt.executeQuery(query)) {
+                while (rs.next()) {
+                    String name = rs.getString(1);
+                    statistics.put(name, new TableStatistics(name, getNullableLong(rs, 2), getNullableLong(rs, 3),
+                        getNullableLong(rs, 4), getNullableLong(rs, 5)));
+                }
+                return statistics;
+            } catch (SQLException e) {
+                // Try the next, less complete query
+                lastException = e;
+            }
+        }
+        throw lastException;
+    }
+
+    /**
+     * Record a finished metadata read in the metrics registry, if one is set, and emit its
+     * metadata event if a recording wants it.
+     */
+    private void recordOperation(MetadataEvent event, String operation, DatabaseConnection dbConnection,
+                                 String schema, String table, long items, long startNanos, Throwable failure) {
+        MetricsRegistry registry = metrics;
+        if (registry != null) {
+            String profileName = (dbConnection.getProfile() != null) ? dbConnection.getProfile().getName() : null;
+            LatencyHistogram histogram = registry.histogram(
+                MetricsRegistry.name("metadata." + operation, profileName), "items");
+            if (failure != null) {
+                histogram.recordError();
+            } else {
+                histogram.record(System.nanoTime() - startNanos, items);
+            }
+        }
+        
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.setOperation(operation);
+        event.setConnection(dbConnection);
+        event.setSchema(schema);
+        event.setTable(table);
+        event.setItems(items);
+        event.setError(failure);
+        event.commit();
+    }
+
+    private static Long getNullableLong(ResultSet rs, int column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
     public static class ColumnInfo {
         private final String name;
         private final String dataType;
@@ -126,4 +370,150 @@ public class MetadataService {
             return String.format("%s (%s)%s", name, dataType, nullable ? " NULL" : " NOT NULL");
         }
     }
+
+    /**
+     * Catalog statistics of a table. Values are null when the database has not collected them.
+     */
+    /**
+     * Column description from the driver's metadata.
+     */
+    public static class ColumnDefinition {
+        private final String name;
+        private final int sqlType;
+        private final String typeName;
+        private final int size;
+        private final int scale;
+        private final boolean nullable;
+        private final String defaultValue;
+        private final boolean autoIncrement;
+
+        public ColumnDefinition(String name, int sqlType, String typeName, int size, int scale, boolean nullable,
+                                String defaultValue, boolean autoIncrement) {
+            this.name = name;
+            this.sqlType = sqlType;
+            this.typeName = typeName;
+            this.size = size;
+            this.scale = scale;
+            this.nullable = nullable;
+            this.defaultValue = defaultValue;
+            this.autoIncrement = autoIncrement;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Get the column type as a {@link java.sql.Types} constant.
+         */
+        public int getSqlType() {
+            return sqlType;
+        }
+
+        /**
+         * Get the database-specific type name, e.g. {@code uuid} or {@code jsonb}.
+         */
+        public String getTypeName() {
+            return typeName;
+        }
+
+        /**
+         * Get the maximum length of character and binary columns, or the precision of
+         * numeric columns; 0 if unknown.
+         */
+        public int getSize() {
+            return size;
+        }
+
+        public int getScale() {
+            return scale;
+        }
+
+        public boolean isNullable() {
+            return nullable;
+        }
+
+        public String getDefaultValue() {
+            return defaultValue;
+        }
+
+        public boolean isAutoIncrement() {
+            return autoIncrement;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %s(%d,%d)%s", name, typeName, size, scale, nullable ? " NULL" : " NOT NULL");
+        }
+    }
+
+    public static class TableStatistics {
+        private final String tableName;
+        private final Long estimatedRows;
+        private final Long totalBytes;
+        private final Long dataBytes;
+        private final Long indexBytes;
+
+        public TableStatistics(String tableName, Long estimatedRows, Long totalBytes, Long dataBytes,
+                               Long indexBytes) {
+            this.tableName = tableName;
+            this.estimatedRows = estimatedRows;
+            this.totalBytes = totalBytes;
+            this.dataBytes = dataBytes;
+            this.indexBytes = indexBytes;
+        }
+
+        public String getTableName() {
+            return tableName;
+        }
+
+        public Long getEstimatedRows() {
+            return estimatedRows;
+        }
+
+        /**
+         * Get the on-disk size of the table including its indexes.
+         */
+        public Long getTotalBytes() {
+            return totalBytes;
+        }
+
+        public Long getDataBytes() {
+            return dataBytes;
+        }
+
+        public Long getIndexBytes() {
+            return indexBytes;
+        }
+
+        /**
+         * Format a byte count with a binary unit, e.g. {@code 245.3 MB}.
+         *
+         * @param bytes The byte count
+         * @return The formatted size
+         */
+        public static String formatBytes(long bytes) {
+            if (bytes < 1024) {
+                return bytes + " B";
+            }
+            String[] units = {"KB", "MB", "GB", "TB", "PB"};
+            double value = bytes;
+            int unit = -1;
+            while (value >= 1024 && unit < units.length - 1) {
+                value /= 1024;
+                unit++;
+            }
+            return String.format("%.1f %s", value, units[unit]);
+        }
+
+        @Override
+        public String toString() {
+            String rows = estimatedRows != null ? String.format("~%,d rows", estimatedRows) : "rows unknown";
+            if (totalBytes == null) {
+                return rows;
+            }
+            return rows + ", " + formatBytes(totalBytes)
+                + (indexBytes != null && indexBytes > 0 ? " (" + formatBytes(indexBytes) + " indexes)" : "");
+        }
+    }
 }
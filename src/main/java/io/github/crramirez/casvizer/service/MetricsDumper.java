@@ -0,0 +1,142 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.service;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends snapshots of a {@link MetricsRegistry} to a local file, on request or
+ * periodically from a background thread.
+ * <p>
+ * Each snapshot is one JSON line with the time, the session start and every metric, so
+ * the file can be followed with {@code tail -f} or loaded line by line for analysis.
+ */
+public class MetricsDumper {
+
+    public static final int DEFAULT_INTERVAL_SECONDS = 60;
+
+    private final MetricsRegistry registry;
+    private final File dumpFile;
+    private final Gson gson;
+    private ScheduledExecutorService scheduler;
+    private int intervalSeconds;
+    private volatile String lastError;
+
+    public MetricsDumper(MetricsRegistry registry, String dumpPath) {
+        this.registry = registry;
+        this.dumpFile = new File(dumpPath);
+        this.gson = new GsonBuilder().disableHtmlEscaping().create();
+    }
+
+    /**
+     * Append a snapshot of all metrics to the dump file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public synchronized void dump() throws IOException {
+        Snapshot snapshot = new Snapshot(System.currentTimeMillis(), registry.getStartTime(), registry.snapshot());
+        try (FileWriter writer = new FileWriter(dumpFile, true)) {
+            writer.write(gson.toJson(snapshot));
+            writer.write(System.lineSeparator());
+        }
+    }
+
+    /**
+     * Start dumping periodically, replacing any running schedule. Failures are kept in
+     * {@link #getLastError()} and do not stop later dumps.
+     *
+     * @param intervalSeconds Seconds between dumps
+     */
+    public synchronized void start(int intervalSeconds) {
+        if (intervalSeconds <= 0) {
+            throw new IllegalArgumentException("Dump interval must be a positive number of seconds");
+        }
+        stop();
+        this.intervalSeconds = intervalSeconds;
+        this.lastError = null;
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "casvizer-metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::dumpQuietly, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stop periodic dumps. A dump in progress is allowed to finish.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    public synchronized int getIntervalSeconds() {
+        return intervalSeconds;
+    }
+
+    public String getPath() {
+        return dumpFile.getAbsolutePath();
+    }
+
+    /**
+     * Get the error of the last failed periodic dump.
+     *
+     * @return The error message, or null if no periodic dump failed
+     */
+    public String getLastError() {
+        return lastError;
+    }
+
+    private void dumpQuietly() {
+        try {
+            dump();
+        } catch (IOException | RuntimeException e) {
+            lastError = (e.getMessage() != null) ? e.getMessage() : e.getClass().getSimpleName();
+        }
+    }
+
+    /**
+     * One line of the dump file.
+     */
+    private static class Snapshot {
+        private final long timestamp;
+        private final long sessionStart;
+        private final List<MetricsRegistry.MetricSnapshot> metrics;
+
+        Snapshot(long timestamp, long sessionStart, List<MetricsRegistry.MetricSnapshot> metrics) {
+            this.timestamp = timestamp;
+            this.sessionStart = sessionStart;
+            this.metrics = metrics;
+        }
+    }
+}
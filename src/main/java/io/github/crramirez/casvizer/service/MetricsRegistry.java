@@ -0,0 +1,248 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.service;
+
+import io.github.crramirez.casvizer.model.QueryResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process registry of session metrics: counters, gauges and latency histograms.
+ * <p>
+ * Services look metrics up by name on every update, creating them on first use, so a
+ * metric exists only once something was recorded. Per-connection metrics carry the
+ * profile name as a label, e.g. {@code query{production}}. All updates are lock-free.
+ */
+public class MetricsRegistry {
+
+    public static final String TYPE_COUNTER = "counter";
+    public static final String TYPE_GAUGE = "gauge";
+    public static final String TYPE_HISTOGRAM = "histogram";
+
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private volatile long startTime = System.currentTimeMillis();
+
+    /**
+     * Build the name of a labelled metric.
+     *
+     * @param base The metric name
+     * @param label The label, usually a connection profile name, or null for none
+     * @return The full metric name
+     */
+    public static String name(String base, String label) {
+        return (label != null) ? base + "{" + label + "}" : base;
+    }
+
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    /**
+     * Register a gauge, replacing any gauge of the same name.
+     *
+     * @param name The metric name
+     * @param supplier Reads the current value; called whenever metrics are read
+     */
+    public void gauge(String name, LongSupplier supplier) {
+        gauges.put(name, supplier);
+    }
+
+    /**
+     * Get a latency histogram, creating it on first use.
+     *
+     * @param name The metric name
+     * @param unit Unit of the amount recorded with each observation, or null for none
+     * @return The histogram
+     */
+    public LatencyHistogram histogram(String name, String unit) {
+        return histograms.computeIfAbsent(name, key -> new LatencyHistogram(unit));
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Drop all counters and histograms and restart the session clock. Gauges stay
+     * registered since they read live values.
+     */
+    public void reset() {
+        counters.clear();
+        histograms.clear();
+        startTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Take a snapshot of every metric, sorted by name.
+     *
+     * @return One snapshot per metric
+     */
+    public List<MetricSnapshot> snapshot() {
+        double uptimeSeconds = Math.max(1, System.currentTimeMillis() - startTime) / 1000.0;
+        Map<String, MetricSnapshot> snapshots = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : counters.entrySet()) {
+            long value = entry.getValue().sum();
+            snapshots.put(entry.getKey(), new MetricSnapshot(entry.getKey(), TYPE_COUNTER, value, value / uptimeSeconds));
+        }
+        for (Map.Entry<String, LongSupplier> entry : gauges.entrySet()) {
+            snapshots.put(entry.getKey(), new MetricSnapshot(entry.getKey(), TYPE_GAUGE,
+                entry.getValue().getAsLong(), 0));
+        }
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            snapshots.put(entry.getKey(), new MetricSnapshot(entry.getKey(), entry.getValue()));
+        }
+        return new ArrayList<>(snapshots.values());
+    }
+
+    /**
+     * Describe every metric as a table, one row per metric with its count, latency
+     * percentiles and throughput.
+     *
+     * @return The metrics report
+     */
+    public QueryResult toQueryResult() {
+        List<String> columnNames = List.of("Metric", "Type", "Count", "Errors", "Mean ms", "p50 ms", "p95 ms",
+            "p99 ms", "Max ms", "Total", "Throughput");
+        List<List<Object>> rows = new ArrayList<>();
+        for (MetricSnapshot metric : snapshot()) {
+            if (TYPE_HISTOGRAM.equals(metric.getType())) {
+                String unit = (metric.getUnit() != null) ? metric.getUnit() : "";
+                rows.add(List.of(metric.getName(), metric.getType(), metric.getValue(), metric.getErrors(),
+                    formatMs(metric.getMeanMs()), formatMs(metric.getP50Ms()), formatMs(metric.getP95Ms()),
+                    formatMs(metric.getP99Ms()), formatMs(metric.getMaxMs()),
+                    unit.isEmpty() ? "" : metric.getAmount() + " " + unit,
+                    unit.isEmpty() ? "" : formatRate(metric.getThroughput(), unit)));
+            } else {
+                rows.add(List.of(metric.getName(), metric.getType(), metric.getValue(), "", "", "", "", "", "", "",
+                    TYPE_COUNTER.equals(metric.getType()) ? formatRate(metric.getThroughput(), "") : ""));
+            }
+        }
+        return new QueryResult(columnNames, rows, 0);
+    }
+
+    private static String formatMs(double ms) {
+        return String.format(Locale.ROOT, "%.2f", ms);
+    }
+
+    private static String formatRate(double perSecond, String unit) {
+        String prefix = unit.isEmpty() ? "" : " " + unit;
+        if ("bytes".equals(unit) && perSecond >= 1024 * 1024) {
+            return String.format(Locale.ROOT, "%.1f MB/s", perSecond / (1024 * 1024));
+        }
+        return String.format(Locale.ROOT, "%.1f%s/s", perSecond, prefix);
+    }
+
+    /**
+     * Point-in-time values of one metric. Latencies are in milliseconds; the throughput
+     * of a histogram is its amount per second spent in the operation and that of a
+     * counter its increase per second of session.
+     */
+    public static class MetricSnapshot {
+        private final String name;
+        private final String type;
+        private final long value;
+        private long errors;
+        private double meanMs;
+        private double p50Ms;
+        private double p95Ms;
+        private double p99Ms;
+        private double maxMs;
+        private long amount;
+        private String unit;
+        private final double throughput;
+
+        MetricSnapshot(String name, String type, long value, double throughput) {
+            this.name = name;
+            this.type = type;
+            this.value = value;
+            this.throughput = throughput;
+        }
+
+        MetricSnapshot(String name, LatencyHistogram histogram) {
+            this(name, TYPE_HISTOGRAM, histogram.getCount(), histogram.getThroughput());
+            this.errors = histogram.getErrors();
+            this.meanMs = histogram.getMeanNanos() / 1_000_000.0;
+            this.p50Ms = histogram.getPercentileNanos(50) / 1_000_000.0;
+            this.p95Ms = histogram.getPercentileNanos(95) / 1_000_000.0;
+            this.p99Ms = histogram.getPercentileNanos(99) / 1_000_000.0;
+            this.maxMs = histogram.getMaxNanos() / 1_000_000.0;
+            this.amount = histogram.getAmount();
+            this.unit = histogram.getUnit();
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        /**
+         * Get the counter or gauge value, or the number of operations of a histogram.
+         */
+        public long getValue() {
+            return value;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public double getMeanMs() {
+            return meanMs;
+        }
+
+        public double getP50Ms() {
+            return p50Ms;
+        }
+
+        public double getP95Ms() {
+            return p95Ms;
+        }
+
+        public double getP99Ms() {
+            return p99Ms;
+        }
+
+        public double getMaxMs() {
+            return maxMs;
+        }
+
+        public long getAmount() {
+            return amount;
+        }
+
+        public String getUnit() {
+            return unit;
+        }
+
+        public double getThroughput() {
+            return throughput;
+        }
+    }
+}
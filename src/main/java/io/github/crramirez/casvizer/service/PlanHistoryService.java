@@ -0,0 +1,366 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.service;
+
+import io.github.crramirez.casvizer.model.DatabaseConnection;
+import io.github.crramirez.casvizer.model.PlanHistoryEntry;
+import io.github.crramirez.casvizer.model.QueryPlan;
+import io.github.crramirez.casvizer.model.QueryResult;
+import io.github.crramirez.casvizer.model.QueryTimings;
+import io.github.crramirez.casvizer.persistence.PlanHistoryStore;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Records the plan and timing of executed queries and flags plan changes and slowdowns.
+ * <p>
+ * Each recorded execution is compared with the earlier executions of the same normalized
+ * query on the same connection profile. The plan changed when its shape fingerprint
+ * differs from the latest one; the execution regressed when it took at least
+ * {@link #REGRESSION_FACTOR} times the median of the recent executions and at least
+ * {@link #MIN_REGRESSION_MS} more.
+ */
+public class PlanHistoryService {
+
+    /**
+     * Slowdown relative to the baseline from which an execution counts as a regression.
+     */
+    public static final double REGRESSION_FACTOR = 2.0;
+
+    /**
+     * Minimum absolute slowdown of a regression, so that jitter on fast queries is ignored.
+     */
+    public static final double MIN_REGRESSION_MS = 50;
+
+    /**
+     * Number of recent executions the baseline median is taken from.
+     */
+    public static final int BASELINE_EXECUTIONS = 10;
+
+    private final QueryService queryService;
+    private final PlanHistoryStore store;
+    private volatile boolean enabled = true;
+    private DatabaseConnection explainConnection;
+
+    public PlanHistoryService(QueryService queryService, PlanHistoryStore store) {
+        this.queryService = queryService;
+        this.store = store;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable recording. While disabled, {@link #record} does nothing, so
+     * executions do not pay for the extra EXPLAIN.
+     *
+     * @param enabled Whether executions are recorded
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Record an execution of a query. The plan is obtained with a plain EXPLAIN, which
+     * does not run the query again. Only read-only queries are recorded.
+     * <p>
+     * The EXPLAIN runs on a separate connection to the same profile, so it can be called
+     * from a background thread without entering a transaction the caller's connection
+     * has started in the meantime. Calls are serialized on that connection.
+     *
+     * @param dbConnection The connection the query ran on
+     * @param query The query text
+     * @param timings The phase timings of the execution; the total time, which excludes
+     *                rendering, is compared with earlier executions
+     * @return The comparison with earlier executions, or null if nothing was recorded
+     * @throws SQLException if the query cannot be explained
+     * @throws IOException if the history cannot be written
+     */
+    public synchronized PlanCheck record(DatabaseConnection dbConnection, String query, QueryTimings timings)
+            throws SQLException, IOException {
+        if (!enabled || !SqlUtils.isReadOnlyQuery(query)) {
+            return null;
+        }
+        QueryPlan plan = queryService.explainPlan(explainConnection(dbConnection), query, false);
+        return addEntry(dbConnection, query, plan, timings.getTotalNanos() / 1_000_000.0, timings);
+    }
+
+    /**
+     * Get the connection EXPLAINs run on, reopening it when the profile changed or the
+     * previous one was lost.
+     */
+    private DatabaseConnection explainConnection(DatabaseConnection dbConnection) throws SQLException {
+        if (explainConnection != null && explainConnection.getProfile() == dbConnection.getProfile()
+                && explainConnection.isConnected()) {
+            return explainConnection;
+        }
+        close();
+        DatabaseConnection opened = new DatabaseConnection(dbConnection.getProfile());
+        opened.connect();
+        explainConnection = opened;
+        return opened;
+    }
+
+    /**
+     * Close the connection used for EXPLAINs, if one is open.
+     *
+     * @throws SQLException if closing the connection fails
+     */
+    public synchronized void close() throws SQLException {
+        DatabaseConnection open = explainConnection;
+        explainConnection = null;
+        if (open != null) {
+            open.disconnect();
+        }
+    }
+
+    /**
+     * Record an execution of a query whose plan is already known, e.g. from EXPLAIN
+     * ANALYZE.
+     *
+     * @param dbConnection The connection the query ran on
+     * @param query The query text
+     * @param plan The plan of the execution
+     * @param executionTimeMs How long the execution took
+     * @return The comparison with earlier executions, or null if recording is disabled
+     * @throws IOException if the history cannot be written
+     */
+    public PlanCheck record(DatabaseConnection dbConnection, String query, QueryPlan plan, double executionTimeMs)
+            throws IOException {
+        if (!enabled) {
+            return null;
+        }
+        return addEntry(dbConnection, query, plan, executionTimeMs, null);
+    }
+
+    private PlanCheck addEntry(DatabaseConnection dbConnection, String query, QueryPlan plan, double executionTimeMs,
+                               QueryTimings timings) throws IOException {
+        List<String> shape = plan.getShape();
+        PlanHistoryEntry entry = new PlanHistoryEntry(dbConnection.getProfile().getName(),
+            dbConnection.getDatabaseType(), SqlUtils.normalize(query), System.currentTimeMillis(),
+            executionTimeMs, QueryPlan.fingerprint(shape), shape);
+        entry.setTimings(timings);
+        
+        List<PlanHistoryEntry> earlier = getExecutions(store.loadEntries(), entry);
+        store.addEntry(entry);
+        return check(entry, earlier);
+    }
+
+    /**
+     * Get all recorded executions, oldest first.
+     *
+     * @return The history entries
+     * @throws IOException if the history cannot be read
+     */
+    public List<PlanHistoryEntry> getHistory() throws IOException {
+        return store.loadEntries();
+    }
+
+    /**
+     * Compare a recorded execution with the executions of the same query before it.
+     *
+     * @param entry An entry of the history
+     * @return The comparison
+     * @throws IOException if the history cannot be read
+     */
+    public PlanCheck check(PlanHistoryEntry entry) throws IOException {
+        List<PlanHistoryEntry> history = store.loadEntries();
+        int index = history.indexOf(entry);
+        List<PlanHistoryEntry> earlier = getExecutions((index >= 0) ? history.subList(0, index) : history, entry);
+        return check(entry, earlier);
+    }
+
+    /**
+     * Remove all recorded executions.
+     *
+     * @throws IOException if the history cannot be written
+     */
+    public void clear() throws IOException {
+        store.clear();
+    }
+
+    /**
+     * Put two plan shapes side by side, aligning the nodes they have in common. Lines only
+     * in the previous plan are marked {@code -}, lines only in the current plan {@code +},
+     * and a removed line directly replaced by an added one {@code ~}.
+     *
+     * @param previous The earlier execution
+     * @param current The later execution
+     * @return A table with the marker and both plans' lines
+     */
+    public static QueryResult diff(PlanHistoryEntry previous, PlanHistoryEntry current) {
+        List<String> left = previous.getPlanShape();
+        List<String> right = current.getPlanShape();
+        int n = left.size();
+        int m = right.size();
+        
+        // Longest common subsequence lengths of the suffixes
+        int[][] lcs = new int[n + 1][m + 1];
+        for (int i = n - 1; i >= 0; i--) {
+            for (int j = m - 1; j >= 0; j--) {
+                lcs[i][j] = left.get(i).equals(right.get(j))
+                    ? lcs[i + 1][j + 1] + 1
+                    : Math.max(lcs[i + 1][j], lcs[i][j + 1]);
+            }
+        }
+        
+        List<List<Object>> rows = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        List<String> added = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < n || j < m) {
+            if (i < n && j < m && left.get(i).equals(right.get(j))) {
+                addChanges(removed, added, rows);
+                rows.add(Arrays.asList("", left.get(i), right.get(j)));
+                i++;
+                j++;
+            } else if (j < m && (i == n || lcs[i][j + 1] >= lcs[i + 1][j])) {
+                added.add(right.get(j++));
+            } else {
+                removed.add(left.get(i++));
+            }
+        }
+        addChanges(removed, added, rows);
+        return new QueryResult(Arrays.asList("", "Previous plan", "Current plan"), rows, 0);
+    }
+
+    private static void addChanges(List<String> removed, List<String> added, List<List<Object>> rows) {
+        int count = Math.max(removed.size(), added.size());
+        for (int k = 0; k < count; k++) {
+            String left = (k < removed.size()) ? removed.get(k) : null;
+            String right = (k < added.size()) ? added.get(k) : null;
+            String marker = (left != null && right != null) ? "~" : (left != null ? "-" : "+");
+            rows.add(Arrays.asList(marker, left, right));
+        }
+        removed.clear();
+        added.clear();
+    }
+
+    private static List<PlanHistoryEntry> getExecutions(List<PlanHistoryEntry> history, PlanHistoryEntry entry) {
+        List<PlanHistoryEntry> executions = new ArrayList<>();
+        for (PlanHistoryEntry candidate : history) {
+            if (candidate != entry && candidate.isSameQuery(entry)) {
+                executions.add(candidate);
+            }
+        }
+        return executions;
+    }
+
+    private static PlanCheck check(PlanHistoryEntry entry, List<PlanHistoryEntry> earlier) {
+        if (earlier.isEmpty()) {
+            return new PlanCheck(entry, null, false, null);
+        }
+        PlanHistoryEntry previous = earlier.get(earlier.size() - 1);
+        boolean planChanged = !previous.getPlanFingerprint().equals(entry.getPlanFingerprint());
+        
+        List<Double> recent = new ArrayList<>();
+        for (PlanHistoryEntry execution : earlier.subList(Math.max(0, earlier.size() - BASELINE_EXECUTIONS),
+                earlier.size())) {
+            recent.add(execution.getExecutionTimeMs());
+        }
+        Collections.sort(recent);
+        int middle = recent.size() / 2;
+        double baseline = (recent.size() % 2 == 1) ? recent.get(middle)
+            : (recent.get(middle - 1) + recent.get(middle)) / 2;
+        return new PlanCheck(entry, previous, planChanged, baseline);
+    }
+
+    /**
+     * Result of comparing an execution with the earlier executions of the same query.
+     */
+    public static class PlanCheck {
+        private final PlanHistoryEntry entry;
+        private final PlanHistoryEntry previous;
+        private final boolean planChanged;
+        private final Double baselineMs;
+
+        public PlanCheck(PlanHistoryEntry entry, PlanHistoryEntry previous, boolean planChanged, Double baselineMs) {
+            this.entry = entry;
+            this.previous = previous;
+            this.planChanged = planChanged;
+            this.baselineMs = baselineMs;
+        }
+
+        public PlanHistoryEntry getEntry() {
+            return entry;
+        }
+
+        /**
+         * Get the latest earlier execution of the same query.
+         *
+         * @return The previous entry, or null if this is the first execution
+         */
+        public PlanHistoryEntry getPrevious() {
+            return previous;
+        }
+
+        public boolean isPlanChanged() {
+            return planChanged;
+        }
+
+        /**
+         * Get the median time of the recent earlier executions.
+         *
+         * @return Milliseconds, or null if this is the first execution
+         */
+        public Double getBaselineMs() {
+            return baselineMs;
+        }
+
+        public boolean isRegression() {
+            if (baselineMs == null) {
+                return false;
+            }
+            double time = entry.getExecutionTimeMs();
+            return time >= baselineMs * REGRESSION_FACTOR && time - baselineMs >= MIN_REGRESSION_MS;
+        }
+
+        /**
+         * Check whether the execution deserves attention.
+         *
+         * @return true if the plan changed or the execution regressed
+         */
+        public boolean isFlagged() {
+            return planChanged || isRegression();
+        }
+
+        @Override
+        public String toString() {
+            if (previous == null) {
+                return "First execution";
+            }
+            List<String> notes = new ArrayList<>();
+            if (planChanged) {
+                notes.add("plan changed");
+            }
+            if (isRegression()) {
+                notes.add(String.format(Locale.ROOT, "%.1fx slower than the median of %.1f ms",
+                    entry.getExecutionTimeMs() / Math.max(baselineMs, 0.001), baselineMs));
+            }
+            return notes.isEmpty() ? "Same plan" : String.join(", ", notes);
+        }
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.service;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import io.github.crramirez.casvizer.dialect.PlanFormat;
+import io.github.crramirez.casvizer.model.PlanNode;
+import io.github.crramirez.casvizer.model.QueryPlan;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses the output of the dialects' structured EXPLAIN queries into a {@link QueryPlan}.
+ * <p>
+ * Each {@link PlanFormat} has its own reader:
+ * <ul>
+ *   <li>PostgreSQL JSON plans are read with Gson, including actual rows, times and
+ *       shared buffer counts when the plan was analyzed.</li>
+ *   <li>MySQL tree plans are read line by line; the depth of a node follows from its
+ *       indentation and the estimates and actuals from the parenthesized suffixes.</li>
+ *   <li>SQLite query plan rows are linked by their parent id. They carry no estimates
+ *       or runtime statistics.</li>
+ * </ul>
+ */
+public class PlanParser {
+
+    private static final String NUMBER = "([0-9]+(?:\\.[0-9]+)?(?:e[+-]?[0-9]+)?)";
+    private static final Pattern MYSQL_COST = Pattern.compile(
+        "\\(cost=(?:" + NUMBER + "\\.\\.)?" + NUMBER + " rows=" + NUMBER + "\\)");
+    private static final Pattern MYSQL_ACTUAL = Pattern.compile(
+        "\\(actual time=" + NUMBER + "\\.\\." + NUMBER + " rows=" + NUMBER + " loops=([0-9]+)\\)");
+    private static final String MYSQL_NEVER_EXECUTED = "(never executed)";
+    private static final int MYSQL_INDENT = 4;
+
+    /**
+     * PostgreSQL condition properties shown in a node's detail, in display order.
+     */
+    private static final String[] POSTGRES_CONDITIONS = {
+        "Hash Cond", "Merge Cond", "Index Cond", "Recheck Cond", "Join Filter", "Filter"
+    };
+
+    private PlanParser() {
+    }
+
+    /**
+     * Parse EXPLAIN output.
+     *
+     * @param format The format of the output
+     * @param output The EXPLAIN output; for SQLite one line per plan row with id, parent
+     *               and detail separated by tabs
+     * @param analyzed Whether the output comes from an analyze run
+     * @return The parsed plan
+     * @throws IllegalArgumentException if the output is not a plan in the given format
+     */
+    public static QueryPlan parse(PlanFormat format, String output, boolean analyzed) {
+        switch (format) {
+            case POSTGRES_JSON:
+                return parsePostgres(output, analyzed);
+            case MYSQL_TREE:
+                return parseMySQL(output, analyzed);
+            case SQLITE_QUERY_PLAN:
+                return parseSQLite(output, analyzed);
+            default:
+                throw new IllegalArgumentException("Unsupported plan format: " + format);
+        }
+    }
+
+    private static QueryPlan parsePostgres(String output, boolean analyzed) {
+        JsonObject document;
+        try {
+            JsonElement element = JsonParser.parseString(output);
+            if (element.isJsonArray()) {
+                JsonArray array = element.getAsJsonArray();
+                if (array.isEmpty()) {
+                    throw new IllegalArgumentException("Empty PostgreSQL plan");
+                }
+                element = array.get(0);
+            }
+            document = element.getAsJsonObject();
+        } catch (JsonParseException | IllegalStateException e) {
+            throw new IllegalArgumentException("Invalid PostgreSQL JSON plan: " + e.getMessage(), e);
+        }
+        if (!document.has("Plan")) {
+            throw new IllegalArgumentException("PostgreSQL JSON plan has no Plan object");
+        }
+        PlanNode root = parsePostgresNode(document.getAsJsonObject("Plan"));
+        return new QueryPlan(root, analyzed, getDouble(document, "Planning Time"),
+            getDouble(document, "Execution Time"), output);
+    }
+
+    private static PlanNode parsePostgresNode(JsonObject json) {
+        String nodeType = getString(json, "Node Type");
+        String operation = (nodeType != null) ? nodeType : "?";
+        String strategy = getString(json, "Strategy");
+        if ("Aggregate".equals(operation) && strategy != null) {
+            switch (strategy) {
+                case "Hashed":
+                    operation = "HashAggregate";
+                    break;
+                case "Sorted":
+                    operation = "GroupAggregate";
+                    break;
+                case "Mixed":
+                    operation = "MixedAggregate";
+                    break;
+                default:
+                    break;
+            }
+        }
+        String joinType = getString(json, "Join Type");
+        if (joinType != null && !"Inner".equals(joinType)) {
+            operation = operation.endsWith(" Join")
+                ? operation.substring(0, operation.length() - 5) + " " + joinType + " Join"
+                : operation + " " + joinType + " Join";
+        }
+
+        StringBuilder detail = new StringBuilder();
+        String indexName = getString(json, "Index Name");
+        if (indexName != null) {
+            detail.append("using ").append(indexName);
+        }
+        String relation = getString(json, "Relation Name");
+        if (relation != null) {
+            if (detail.length() > 0) {
+                detail.append(' ');
+            }
+            detail.append("on ").append(relation);
+            String alias = getString(json, "Alias");
+            if (alias != null && !alias.equals(relation)) {
+                detail.append(' ').append(alias);
+            }
+        }
+        for (String condition : POSTGRES_CONDITIONS) {
+            String value = getString(json, condition);
+            if (value != null) {
+                if (detail.length() > 0) {
+                    detail.append(' ');
+                }
+                detail.append('[').append(condition).append(": ").append(value).append(']');
+            }
+        }
+
+        PlanNode node = new PlanNode(operation, detail.toString());
+        node.setEstimatedCost(getDouble(json, "Total Cost"));
+        node.setEstimatedRows(getDouble(json, "Plan Rows"));
+        Double actualRows = getDouble(json, "Actual Rows");
+        Double actualTime = getDouble(json, "Actual Total Time");
+        Double loops = getDouble(json, "Actual Loops");
+        if (actualRows != null && loops != null) {
+            node.setActual(actualRows, (actualTime != null) ? actualTime : 0, loops.longValue());
+        }
+        Double hit = getDouble(json, "Shared Hit Blocks");
+        Double read = getDouble(json, "Shared Read Blocks");
+        if (hit != null || read != null) {
+            node.setBuffers((hit != null) ? hit.longValue() : null, (read != null) ? read.longValue() : null);
+        }
+        if (json.has("Plans") && json.get("Plans").isJsonArray()) {
+            for (JsonElement child : json.getAsJsonArray("Plans")) {
+                node.addChild(parsePostgresNode(child.getAsJsonObject()));
+            }
+        }
+        return node;
+    }
+
+    private static QueryPlan parseMySQL(String output, boolean analyzed) {
+        // Lines that do not start a node continue the text of the previous one
+        List<String> lines = new ArrayList<>();
+        List<Integer> depths = new ArrayList<>();
+        for (String line : output.split("\r?\n")) {
+            String trimmed = line.strip();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (trimmed.startsWith("->")) {
+                int indent = line.indexOf("->");
+                depths.add(indent / MYSQL_INDENT);
+                lines.add(trimmed.substring(2).strip());
+            } else if (!lines.isEmpty()) {
+                int last = lines.size() - 1;
+                lines.set(last, lines.get(last) + " " + trimmed);
+            }
+        }
+        if (lines.isEmpty()) {
+            throw new IllegalArgumentException("MySQL plan has no nodes");
+        }
+
+        List<PlanNode> topLevel = new ArrayList<>();
+        Deque<PlanNode> stack = new ArrayDeque<>();
+        Deque<Integer> stackDepths = new ArrayDeque<>();
+        for (int i = 0; i < lines.size(); i++) {
+            PlanNode node = parseMySQLNode(lines.get(i));
+            int depth = depths.get(i);
+            while (!stackDepths.isEmpty() && stackDepths.peek() >= depth) {
+                stack.pop();
+                stackDepths.pop();
+            }
+            if (stack.isEmpty()) {
+                topLevel.add(node);
+            } else {
+                stack.peek().addChild(node);
+            }
+            stack.push(node);
+            stackDepths.push(depth);
+        }
+
+        PlanNode root;
+        if (topLevel.size() == 1) {
+            root = topLevel.get(0);
+        } else {
+            root = new PlanNode("Plan", "");
+            for (PlanNode node : topLevel) {
+                root.addChild(node);
+            }
+        }
+        Double executionTime = (analyzed && root.hasActual()) ? root.getTotalTimeMs() : null;
+        return new QueryPlan(root, analyzed, null, executionTime, output);
+    }
+
+    private static PlanNode parseMySQLNode(String text) {
+        Double cost = null;
+        Double estimatedRows = null;
+        Double actualRows = null;
+        double actualTime = 0;
+        long loops = 0;
+        boolean neverExecuted = false;
+
+        int statsStart = text.length();
+        Matcher costMatcher = MYSQL_COST.matcher(text);
+        if (costMatcher.find()) {
+            cost = Double.parseDouble(costMatcher.group(2));
+            estimatedRows = Double.parseDouble(costMatcher.group(3));
+            statsStart = costMatcher.start();
+        }
+        Matcher actualMatcher = MYSQL_ACTUAL.matcher(text);
+        if (actualMatcher.find()) {
+            actualTime = Double.parseDouble(actualMatcher.group(2));
+            actualRows = Double.parseDouble(actualMatcher.group(3));
+            loops = Long.parseLong(actualMatcher.group(4));
+            statsStart = Math.min(statsStart, actualMatcher.start());
+        }
+        int neverIndex = text.lastIndexOf(MYSQL_NEVER_EXECUTED);
+        if (neverIndex >= 0) {
+            neverExecuted = true;
+            statsStart = Math.min(statsStart, neverIndex);
+        }
+
+        String description = text.substring(0, statsStart).strip();
+        String operation = description;
+        String detail = "";
+        int colon = description.indexOf(": ");
+        int on = description.indexOf(" on ");
+        int split = (colon >= 0 && (on < 0 || colon < on)) ? colon : on;
+        if (split > 0) {
+            operation = description.substring(0, split);
+            detail = description.substring(split == colon ? split + 2 : split + 1).strip();
+        }
+
+        PlanNode node = new PlanNode(operation, detail);
+        node.setEstimatedCost(cost);
+        node.setEstimatedRows(estimatedRows);
+        if (actualRows != null) {
+            node.setActual(actualRows, actualTime, loops);
+        } else if (neverExecuted) {
+            node.setActual(0, 0, 0);
+        }
+        return node;
+    }
+
+    private static QueryPlan parseSQLite(String output, boolean analyzed) {
+        PlanNode root = new PlanNode("QUERY PLAN", "");
+        Map<String, PlanNode> nodesById = new HashMap<>();
+        for (String line : output.split("\r?\n")) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String[] parts = line.split("\t", 3);
+            if (parts.length < 3) {
+                throw new IllegalArgumentException("Invalid SQLite query plan row: " + line);
+            }
+            String text = parts[2].strip();
+            String operation = text;
+            String detail = "";
+            int space = text.indexOf(' ');
+            if (space > 0) {
+                String verb = text.substring(0, space);
+                if (verb.equals("SCAN") || verb.equals("SEARCH") || verb.equals("CO-ROUTINE")
+                        || verb.equals("MATERIALIZE")) {
+                    operation = verb;
+                    detail = text.substring(space + 1);
+                }
+            }
+            PlanNode node = new PlanNode(operation, detail);
+            PlanNode parent = nodesById.get(parts[1].strip());
+            (parent != null ? parent : root).addChild(node);
+            nodesById.put(parts[0].strip(), node);
+        }
+        return new QueryPlan(root, analyzed, null, null, output);
+    }
+
+    private static String getString(JsonObject json, String name) {
+        JsonElement element = json.get(name);
+        return (element != null && element.isJsonPrimitive()) ? element.getAsString() : null;
+    }
+
+    private static Double getDouble(JsonObject json, String name) {
+        JsonElement element = json.get(name);
+        if (element == null || !element.isJsonPrimitive() || !element.getAsJsonPrimitive().isNumber()) {
+            return null;
+        }
+        return element.getAsDouble();
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.service;
+
+import java.util.Arrays;
+
+/**
+ * Merging t-digest for estimating quantiles of a stream of numbers in constant memory.
+ * <p>
+ * Values are buffered and periodically merged into a sorted list of weighted centroids.
+ * Centroids may only grow large near the median, so estimates are most accurate at the
+ * tails, where ad-hoc questions (p95, p99) usually are. The number of centroids stays
+ * around {@code compression}.
+ */
+final class QuantileDigest {
+
+    private static final int BUFFER_SIZE = 2048;
+
+    private final double compression;
+    private double[] means = new double[0];
+    private double[] weights = new double[0];
+    private int centroids;
+    private final double[] buffer = new double[BUFFER_SIZE];
+    private int buffered;
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    QuantileDigest(double compression) {
+        this.compression = compression;
+    }
+
+    void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        buffer[buffered++] = value;
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        if (buffered == BUFFER_SIZE) {
+            merge();
+        }
+    }
+
+    long size() {
+        return count;
+    }
+
+    /**
+     * Estimate a quantile.
+     *
+     * @param q The quantile, between 0 and 1
+     * @return The estimated value, or NaN if no values were added
+     */
+    double quantile(double q) {
+        merge();
+        if (centroids == 0) {
+            return Double.NaN;
+        }
+        if (centroids == 1) {
+            return means[0];
+        }
+        double target = q * count;
+        double cumulative = 0;
+        double previousCenter = 0;
+        double previousMean = min;
+        for (int i = 0; i < centroids; i++) {
+            double center = cumulative + weights[i] / 2;
+            if (target < center) {
+                double fraction = center == previousCenter ? 0 : (target - previousCenter) / (center - previousCenter);
+                return previousMean + fraction * (means[i] - previousMean);
+            }
+            cumulative += weights[i];
+            previousCenter = center;
+            previousMean = means[i];
+        }
+        double fraction = count == previousCenter ? 1 : (target - previousCenter) / (count - previousCenter);
+        return previousMean + fraction * (max - previousMean);
+    }
+
+    /**
+     * Merge the buffer into the centroids, combining neighbours while the combined weight
+     * stays within the size limit for its position in the distribution.
+     */
+    private void merge() {
+        if (buffered == 0) {
+            return;
+        }
+        Arrays.sort(buffer, 0, buffered);
+        int total = centroids + buffered;
+        double[] newMeans = new double[total];
+        double[] newWeights = new double[total];
+        int merged = 0;
+        double cumulative = 0;
+        double currentMean = 0;
+        double currentWeight = 0;
+        int c = 0;
+        int b = 0;
+        
+        while (c < centroids || b < buffered) {
+            double mean;
+            double weight;
+            if (b == buffered || (c < centroids && means[c] <= buffer[b])) {
+                mean = means[c];
+                weight = weights[c++];
+            } else {
+                mean = buffer[b++];
+                weight = 1;
+            }
+            if (currentWeight == 0) {
+                currentMean = mean;
+                currentWeight = weight;
+                continue;
+            }
+            double q0 = cumulative / count;
+            double q2 = (cumulative + currentWeight + weight) / count;
+            double limit = 4 * count * Math.min(q0 * (1 - q0), q2 * (1 - q2)) / compression;
+            if (currentWeight + weight <= limit) {
+                currentWeight += weight;
+                currentMean += (mean - currentMean) * weight / currentWeight;
+            } else {
+                newMeans[merged] = currentMean;
+                newWeights[merged++] = currentWeight;
+                cumulative += currentWeight;
+                currentMean = mean;
+                currentWeight = weight;
+            }
+        }
+        newMeans[merged] = currentMean;
+        newWeights[merged++] = currentWeight;
+        
+        means = Arrays.copyOf(newMeans, merged);
+        weights = Arrays.copyOf(newWeights, merged);
+        centroids = merged;
+        buffered = 0;
+    }
+}
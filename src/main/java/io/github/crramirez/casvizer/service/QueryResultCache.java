@@ -0,0 +1,219 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.service;
+
+import io.github.crramirez.casvizer.model.ConnectionProfile;
+import io.github.crramirez.casvizer.model.QueryResult;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory cache of query results, keyed by connection profile and normalized SQL text.
+ * <p>
+ * Entries are evicted least-recently-used first when the entry limit or the memory budget
+ * is exceeded, and are dropped once older than the time-to-live. Each entry remembers the
+ * tables its query referenced so that writes to those tables on the same connection can
+ * invalidate it.
+ * <p>
+ * Results of queries calling volatile functions (e.g. {@code now()} or {@code random()}) are
+ * cached like any other; the time-to-live bounds how stale they can get.
+ */
+public class QueryResultCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 100;
+    public static final long DEFAULT_TTL_MS = 5 * 60 * 1000L;
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    private final int maxEntries;
+    private final long ttlMs;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    public QueryResultCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_TTL_MS, DEFAULT_MAX_BYTES);
+    }
+
+    public QueryResultCache(int maxEntries, long ttlMs, long maxBytes) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Maximum entries must be a positive integer");
+        }
+        if (ttlMs <= 0) {
+            throw new IllegalArgumentException("Time-to-live must be positive");
+        }
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Memory budget must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlMs = ttlMs;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Look up a cached result.
+     *
+     * @param profile The connection profile the query runs against
+     * @param sql The SQL text as it would be executed
+     * @return The cached result, or null if there is no live entry
+     */
+    public synchronized QueryResult get(ConnectionProfile profile, String sql) {
+        String key = key(profile, sql);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (System.currentTimeMillis() - entry.createdAt > ttlMs) {
+            remove(key);
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.result;
+    }
+
+    /**
+     * Store a result. Results larger than the whole memory budget are not cached.
+     *
+     * @param profile The connection profile the query ran against
+     * @param sql The SQL text as it was executed
+     * @param result The result to cache
+     */
+    public synchronized void put(ConnectionProfile profile, String sql, QueryResult result) {
+        long size = result.getEstimatedBytes();
+        if (size > maxBytes) {
+            return;
+        }
+        String key = key(profile, sql);
+        remove(key);
+        entries.put(key, new Entry(scope(profile), result, SqlUtils.referencedTables(sql), size));
+        totalBytes += size;
+
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || totalBytes > maxBytes) && eldest.hasNext()) {
+            Entry evicted = eldest.next().getValue();
+            eldest.remove();
+            totalBytes -= evicted.sizeBytes;
+            evictions++;
+        }
+    }
+
+    /**
+     * Drop the entries of a connection whose queries referenced any of the given tables.
+     * An empty table set drops every entry of the connection, since the affected tables
+     * are unknown.
+     *
+     * @param profile The connection profile that was written to
+     * @param tables Lower-cased names of the tables that may have changed
+     */
+    public synchronized void invalidate(ConnectionProfile profile, Set<String> tables) {
+        String scope = scope(profile);
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (!entry.scope.equals(scope)) {
+                continue;
+            }
+            if (tables.isEmpty() || entry.tables.isEmpty() || containsAny(entry.tables, tables)) {
+                iterator.remove();
+                totalBytes -= entry.sizeBytes;
+                invalidations++;
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        totalBytes = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized long getInvalidations() {
+        return invalidations;
+    }
+
+    private void remove(String key) {
+        Entry previous = entries.remove(key);
+        if (previous != null) {
+            totalBytes -= previous.sizeBytes;
+        }
+    }
+
+    private static boolean containsAny(Set<String> tables, Set<String> candidates) {
+        for (String candidate : candidates) {
+            if (tables.contains(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Identify the database a profile points to. Profiles are compared by name, URL and
+     * user so that two ad-hoc profiles sharing a name do not share entries.
+     */
+    private static String scope(ConnectionProfile profile) {
+        return profile.getName() + "|" + profile.getJdbcUrl() + "|" + profile.getUsername();
+    }
+
+    private static String key(ConnectionProfile profile, String sql) {
+        return scope(profile) + "\u0000" + SqlUtils.normalize(sql);
+    }
+
+    private static final class Entry {
+        final String scope;
+        final QueryResult result;
+        final Set<String> tables;
+        final long sizeBytes;
+        final long createdAt;
+
+        Entry(String scope, QueryResult result, Set<String> tables, long sizeBytes) {
+            this.scope = scope;
+            this.result = result;
+            this.tables = tables;
+            this.sizeBytes = sizeBytes;
+            this.createdAt = System.currentTimeMillis();
+        }
+    }
+}
@@ -19,15 +19,29 @@ package io.github.crramirez.casvizer.service;
 
 import io.github.crramirez.casvizer.dialect.Dialect;
 import io.github.crramirez.casvizer.dialect.DialectFactory;
+import io.github.crramirez.casvizer.dialect.PlanFormat;
+import io.github.crramirez.casvizer.event.QueryEvent;
+import io.github.crramirez.casvizer.model.ColumnStorage;
+import io.github.crramirez.casvizer.model.ConnectionProfile;
 import io.github.crramirez.casvizer.model.DatabaseConnection;
+import io.github.crramirez.casvizer.model.QueryPlan;
 import io.github.crramirez.casvizer.model.QueryResult;
+import io.github.crramirez.casvizer.model.QueryTimings;
+import io.github.crramirez.casvizer.persistence.SlowQueryLog;
 
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Service for executing database queries with pagination support.
@@ -39,6 +53,101 @@ public class QueryService {
      */
     private static final int MAX_QUERY_OFFSET = 1_000_000;
     
+    /**
+     * Default and maximum number of rows of a table sample.
+     */
+    public static final int DEFAULT_SAMPLE_ROWS = 100;
+    public static final int MAX_SAMPLE_ROWS = 100_000;
+    
+    /**
+     * Number of rows sampled to estimate the bytes of a result.
+     */
+    private static final int BYTES_SAMPLE_ROWS = 1000;
+    
+    private boolean typedReadersEnabled = true;
+    private QueryResultCache resultCache;
+    private MetricsRegistry metrics;
+    private StatementStatistics statementStatistics;
+    private SlowQueryLog slowQueryLog;
+    
+    /**
+     * Enables or disables type-specialized column readers.
+     * <p>
+     * When disabled every non-character cell is read with {@code getObject}, as older
+     * versions did. This is mainly useful to compare fetch throughput.
+     * 
+     * @param typedReadersEnabled true to read numeric and binary columns with typed getters
+     */
+    public void setTypedReadersEnabled(boolean typedReadersEnabled) {
+        this.typedReadersEnabled = typedReadersEnabled;
+    }
+    
+    /**
+     * Sets the cache used to reuse results of read-only queries.
+     * 
+     * @param resultCache The cache to use, or null to disable caching
+     */
+    public void setResultCache(QueryResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+    
+    public QueryResultCache getResultCache() {
+        return resultCache;
+    }
+    
+    /**
+     * Sets the registry that receives latency, row and byte metrics of every statement,
+     * labelled with the connection profile.
+     * 
+     * @param metrics The registry to update, or null to record no metrics
+     */
+    public void setMetrics(MetricsRegistry metrics) {
+        this.metrics = metrics;
+    }
+    
+    /**
+     * Sets the statistics that aggregate calls, time and rows of every executed statement
+     * by fingerprint.
+     * 
+     * @param statementStatistics The statistics to update, or null to keep none
+     */
+    public void setStatementStatistics(StatementStatistics statementStatistics) {
+        this.statementStatistics = statementStatistics;
+    }
+    
+    public StatementStatistics getStatementStatistics() {
+        return statementStatistics;
+    }
+    
+    /**
+     * Sets the log that receives queries and updates slower than its threshold, together
+     * with their EXPLAIN output. The plan is read on the same connection right after the
+     * statement, which adds the time of the EXPLAIN to slow statements only.
+     * 
+     * @param slowQueryLog The log to write to, or null to log nothing
+     */
+    public void setSlowQueryLog(SlowQueryLog slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+    
+    public SlowQueryLog getSlowQueryLog() {
+        return slowQueryLog;
+    }
+    
+    /**
+     * Drops cached results of a connection that reference the given tables, for writes
+     * made outside this service (e.g. materializing into a scratch table).
+     * 
+     * @param profile The connection profile that was written to
+     * @param tables Lower-cased names of the tables that may have changed
+     */
+    public void invalidateCache(ConnectionProfile profile, Set<String> tables) {
+        QueryResultCache cache = resultCache;
+        if (cache != null) {
+            cache.invalidate(profile, tables);
+        }
+    }
+    
     /**
      * Executes a SQL query without pagination.
      * 
@@ -58,7 +167,12 @@ public class QueryService {
      * very large result sets, this could cause OutOfMemoryError. Consider using pagination
      * with appropriate limit values to manage memory usage.
      * <p>
-     * Execution time includes both query execution and result set processing time.
+     * Execution time includes both query execution and result set processing time. The time
+     * of each phase is available from {@link QueryResult#getTimings()}.
+     * <p>
+     * If a result cache is set, read-only queries are first looked up in it and a hit is
+     * returned flagged via {@link QueryResult#isCached()}. Other statements run through this
+     * method invalidate cached results of the tables they reference.
      * 
      * @param dbConnection The database connection to use
      * @param query The SQL query to execute
@@ -69,7 +183,9 @@ public class QueryService {
      * @throws IllegalArgumentException if offset exceeds MAX_QUERY_OFFSET
      */
     public QueryResult executeQuery(DatabaseConnection dbConnection, String query, int limit, int offset) throws SQLException {
-        long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        
+        Dialect dialect = DialectFactory.getDialect(dbConnection.getDatabaseType());
         
         // Add pagination if specified
         if (limit > 0) {
@@ -77,41 +193,474 @@ public class QueryService {
             if (offset > MAX_QUERY_OFFSET) {
                 throw new IllegalArgumentException("Offset too large: " + offset + ". Maximum allowed is " + MAX_QUERY_OFFSET);
             }
-            Dialect dialect = DialectFactory.getDialect(dbConnection.getDatabaseType());
             query = dialect.addPagination(query, limit, offset);
         }
         
-        List<String> columnNames = new ArrayList<>();
-        List<List<Object>> rows = new ArrayList<>();
+        QueryResultCache cache = resultCache;
+        boolean cacheable = cache != null && SqlUtils.isReadOnlyQuery(query);
+        if (cacheable) {
+            QueryEvent event = new QueryEvent();
+            event.begin();
+            QueryResult cachedResult = cache.get(dbConnection.getProfile(), query);
+            if (cachedResult != null) {
+                QueryResult hit = cachedResult.asCacheHit();
+                recordOperation(event, "query", dbConnection, query, hit, hit.getRowCount(), startNanos, null);
+                return hit;
+            }
+        }
         
-        try (Statement stmt = dbConnection.getConnection().createStatement();
-             ResultSet rs = stmt.executeQuery(query)) {
-            
-            ResultSetMetaData metaData = rs.getMetaData();
-            int columnCount = metaData.getColumnCount();
-            
-            // Get column names
-            for (int i = 1; i <= columnCount; i++) {
-                columnNames.add(metaData.getColumnName(i));
+        QueryResult result;
+        try {
+            result = fetchResult(dbConnection, dialect, query, startNanos, "query");
+        } finally {
+            // Statements that are not plain reads (e.g. DML with RETURNING) may change data
+            if (cache != null && !cacheable) {
+                cache.invalidate(dbConnection.getProfile(), SqlUtils.referencedTables(query));
+            }
+        }
+        
+        if (cacheable) {
+            cache.put(dbConnection.getProfile(), query, result);
+        }
+        return result;
+    }
+
+    private QueryResult fetchResult(DatabaseConnection dbConnection, Dialect dialect, String query, long startNanos,
+                                    String operation) throws SQLException {
+        QueryEvent event = new QueryEvent();
+        event.begin();
+        QueryResult result = null;
+        Throwable failure = null;
+        try {
+            result = readResult(dbConnection, dialect, query, startNanos);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            recordOperation(event, operation, dbConnection, query, result,
+                (result != null) ? result.getRowCount() : 0, startNanos, failure);
+        }
+    }
+
+    /**
+     * Record a finished statement in the metrics registry and statement statistics, log it
+     * if it was slow, and emit its query event if a recording wants it. The fingerprint is
+     * only computed when one of them needs it, so the event costs next to nothing while
+     * Flight Recorder is off.
+     */
+    private void recordOperation(QueryEvent event, String operation, DatabaseConnection dbConnection, String sql,
+                                 QueryResult result, long rows, long startNanos, Throwable failure) {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        boolean executed = result == null || !result.isCached();
+        String profileName = (dbConnection.getProfile() != null) ? dbConnection.getProfile().getName() : null;
+        MetricsRegistry registry = metrics;
+        if (registry != null) {
+            if (!executed) {
+                registry.counter(MetricsRegistry.name("query.cache_hits", profileName)).increment();
+            } else {
+                LatencyHistogram histogram = registry.histogram(
+                    MetricsRegistry.name(operation.replace(' ', '_'), profileName), "rows");
+                if (failure != null) {
+                    histogram.recordError();
+                } else {
+                    histogram.record(elapsedNanos, rows);
+                }
+                if (result != null && result.getTimings() != null) {
+                    registry.counter(MetricsRegistry.name(operation + ".bytes", profileName))
+                        .add(result.getTimings().getApproximateBytes());
+                }
+            }
+        }
+        
+        // Explains are left out, they would be counted as runs of the statement they explain
+        String fingerprint = null;
+        StatementStatistics statistics = statementStatistics;
+        if (statistics != null && executed && !operation.startsWith("explain")) {
+            fingerprint = SqlUtils.fingerprint(sql);
+            statistics.record(profileName, fingerprint, sql, elapsedNanos, rows, failure != null);
+        }
+        
+        // A batch runs its statement once per row, so its total time says nothing about one statement
+        SlowQueryLog log = slowQueryLog;
+        if (log != null && failure == null && executed && log.isSlow(elapsedNanos)
+                && ("query".equals(operation) || "update".equals(operation) || "sample".equals(operation))) {
+            if (fingerprint == null) {
+                fingerprint = SqlUtils.fingerprint(sql);
             }
+            logSlowQuery(log, dbConnection, profileName, fingerprint, sql, elapsedNanos, rows);
+        }
+        
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.setOperation(operation);
+        event.setConnection(dbConnection);
+        event.setFingerprint((fingerprint != null) ? fingerprint : SqlUtils.fingerprint(sql));
+        event.setRows(rows);
+        event.setError(failure);
+        if (result != null) {
+            event.setCached(result.isCached());
+            QueryTimings timings = result.getTimings();
+            if (timings != null) {
+                event.setBytes(timings.getApproximateBytes());
+                event.setExecuteNanos(timings.getExecuteNanos());
+                event.setFetchNanos(timings.getFetchNanos());
+                event.setMaterializeNanos(timings.getMaterializeNanos());
+            }
+        }
+        event.commit();
+    }
+
+    /**
+     * Write a slow statement to the slow query log with its plan. Plain EXPLAIN does not
+     * run the statement again, and a statement that cannot be explained (e.g. DDL) is
+     * logged with the reason instead.
+     */
+    private void logSlowQuery(SlowQueryLog log, DatabaseConnection dbConnection, String profileName,
+                              String fingerprint, String sql, long elapsedNanos, long rows) {
+        String plan;
+        try {
+            plan = getExplainPlan(dbConnection, sql).strip();
+        } catch (SQLException | RuntimeException e) {
+            String errorMsg = (e.getMessage() != null) ? e.getMessage() : e.getClass().getSimpleName();
+            plan = "EXPLAIN failed: " + errorMsg;
+        }
+        try {
+            log.write(profileName, dbConnection.getDatabaseType(), fingerprint, sql, elapsedNanos, rows, plan);
+        } catch (IOException e) {
+            // Logging must not fail the statement; the log keeps the error for the UI
+        }
+    }
+
+    private QueryResult readResult(DatabaseConnection dbConnection, Dialect dialect, String query, long startNanos)
+            throws SQLException {
+        List<String> columnNames = new ArrayList<>();
+        List<ColumnStorage> columns = new ArrayList<>();
+        int rowCount = 0;
+        long connectionNanos;
+        long prepareNanos;
+        long executeNanos;
+        long fetchNanos = 0;
+        long materializeNanos = 0;
+        
+        long phaseStart = System.nanoTime();
+        Connection connection = dbConnection.getConnection();
+        long now = System.nanoTime();
+        connectionNanos = now - phaseStart;
+        phaseStart = now;
+        
+        try (Statement stmt = connection.createStatement()) {
+            now = System.nanoTime();
+            prepareNanos = now - phaseStart;
+            phaseStart = now;
             
-            // Get rows
-            while (rs.next()) {
-                List<Object> row = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery(query)) {
+                ResultSetMetaData metaData = rs.getMetaData();
+                int columnCount = metaData.getColumnCount();
+                
+                // Get column names
                 for (int i = 1; i <= columnCount; i++) {
-                    row.add(rs.getObject(i));
+                    columnNames.add(metaData.getColumnName(i));
+                }
+                
+                // Resolve one reader per column up front so the row loop does no type dispatch
+                ColumnReader[] readers = ColumnReader.forMetaData(metaData,
+                    typedReadersEnabled && dialect.hasStrictColumnTypes());
+                
+                boolean hasRow = rs.next();
+                now = System.nanoTime();
+                executeNanos = now - phaseStart;
+                phaseStart = now;
+                
+                // Get rows, splitting the time between reading values and advancing the
+                // result set. Sampling rows instead would be cheaper but skewed: a GC pause
+                // in a sampled row gets multiplied by the sampling interval.
+                while (hasRow) {
+                    for (ColumnReader reader : readers) {
+                        reader.read(rs);
+                    }
+                    now = System.nanoTime();
+                    materializeNanos += now - phaseStart;
+                    phaseStart = now;
+                    
+                    rowCount++;
+                    hasRow = rs.next();
+                    now = System.nanoTime();
+                    fetchNanos += now - phaseStart;
+                    phaseStart = now;
                 }
-                rows.add(row);
+                
+                for (ColumnReader reader : readers) {
+                    ColumnStorage column = reader.getStorage();
+                    column.trimToSize();
+                    columns.add(column);
+                }
+                materializeNanos += System.nanoTime() - phaseStart;
             }
         }
+        long totalNanos = System.nanoTime() - startNanos;
         
-        long executionTime = System.currentTimeMillis() - startTime;
-        return new QueryResult(columnNames, rows, executionTime);
+        QueryTimings timings = new QueryTimings(connectionNanos, prepareNanos, executeNanos, fetchNanos,
+            materializeNanos, 0, totalNanos, rowCount, estimateTransferBytes(columns, rowCount));
+        return new QueryResult(columnNames, columns, rowCount, timings);
+    }
+
+    /**
+     * Estimate the size of a result as received from the database from a sample of its
+     * rows: text and binary values count their length, numbers their width.
+     */
+    private static long estimateTransferBytes(List<ColumnStorage> columns, int rowCount) {
+        if (rowCount == 0) {
+            return 0;
+        }
+        int step = Math.max(1, rowCount / BYTES_SAMPLE_ROWS);
+        long sampleBytes = 0;
+        int sampleRows = 0;
+        for (int row = 0; row < rowCount; row += step) {
+            for (ColumnStorage column : columns) {
+                sampleBytes += estimateValueBytes(column.get(row));
+            }
+            sampleRows++;
+        }
+        return sampleBytes * rowCount / sampleRows;
+    }
+
+    private static long estimateValueBytes(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String text) {
+            return text.length();
+        }
+        if (value instanceof byte[] bytes) {
+            return bytes.length;
+        }
+        if (value instanceof Long || value instanceof Double) {
+            return 8;
+        }
+        if (value instanceof Integer || value instanceof Float) {
+            return 4;
+        }
+        if (value instanceof Short) {
+            return 2;
+        }
+        if (value instanceof Byte || value instanceof Boolean) {
+            return 1;
+        }
+        return value.toString().length();
     }
 
+    /**
+     * Builds a per-column report of how a result is stored in memory and how much
+     * the column encodings save compared to one object per row.
+     * 
+     * @param result The query result to describe
+     * @return QueryResult with one row per column of the described result
+     */
+    public QueryResult getStorageReport(QueryResult result) {
+        List<String> columnNames = List.of("Column", "Encoding", "Distinct", "Estimated Bytes", "Saved Bytes");
+        List<List<Object>> rows = new ArrayList<>();
+        for (int i = 0; i < result.getColumnCount(); i++) {
+            ColumnStorage column = result.getColumn(i);
+            int distinct = column.getDistinctCount();
+            rows.add(List.of(
+                result.getColumnNames().get(i),
+                column.getEncoding(),
+                distinct >= 0 ? distinct : "-",
+                column.getEstimatedBytes(),
+                column.getEstimatedRawBytes() - column.getEstimatedBytes()));
+        }
+        return new QueryResult(columnNames, rows, 0);
+    }
+
+    /**
+     * Executes a DML or DDL statement.
+     * <p>
+     * If a result cache is set, cached results of the same connection that reference any
+     * table touched by the statement are invalidated, even if the statement fails part way.
+     * 
+     * @param dbConnection The database connection to use
+     * @param query The SQL statement to execute
+     * @return The number of affected rows
+     * @throws SQLException if statement execution fails
+     */
     public int executeUpdate(DatabaseConnection dbConnection, String query) throws SQLException {
+        long startNanos = System.nanoTime();
+        QueryEvent event = new QueryEvent();
+        event.begin();
+        int affectedRows = 0;
+        Throwable failure = null;
         try (Statement stmt = dbConnection.getConnection().createStatement()) {
-            return stmt.executeUpdate(query);
+            affectedRows = stmt.executeUpdate(query);
+            return affectedRows;
+        } catch (SQLException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            recordOperation(event, "update", dbConnection, query, null, affectedRows, startNanos, failure);
+            QueryResultCache cache = resultCache;
+            if (cache != null) {
+                cache.invalidate(dbConnection.getProfile(), SqlUtils.referencedTables(query));
+            }
+        }
+    }
+
+    /**
+     * Executes a parameterized DML statement once per parameter row, using JDBC batches.
+     * <p>
+     * Autocommit is disabled for the duration of the call. Rows are sent every
+     * {@code batchSize} rows and committed every {@code commitInterval} rows, or only at the
+     * end when the interval is 0. If a batch or commit fails, everything since the last commit
+     * is rolled back and the exception is rethrown with the range of rows that were rolled
+     * back; with a commit interval of 0 this leaves the table untouched. The same rollback
+     * happens if reading the parameter rows fails, before autocommit is restored.
+     * <p>
+     * Every row must have as many values as the first one, since values bound for one row
+     * would otherwise silently carry over to a shorter next row.
+     * 
+     * @param dbConnection The database connection to use
+     * @param sql The statement with {@code ?} placeholders
+     * @param parameterRows One array of parameter values per execution, in placeholder order;
+     *                      closed when the call returns
+     * @param options Batch size and commit interval
+     * @return Row counts and per-batch timings
+     * @throws SQLException if a batch or commit fails
+     * @throws IllegalArgumentException if a row's width differs from the first row's
+     */
+    public BatchResult executeBatch(DatabaseConnection dbConnection, String sql, Stream<Object[]> parameterRows,
+                                    BatchOptions options) throws SQLException {
+        QueryEvent event = new QueryEvent();
+        event.begin();
+        Throwable failure = null;
+        Connection connection = dbConnection.getConnection();
+        boolean restoreAutoCommit = connection.getAutoCommit();
+        BatchResult result = new BatchResult();
+        long startTime = System.nanoTime();
+        long uncommittedRows = 0;
+        int pendingRows = 0;
+        
+        try (Stream<Object[]> rowStream = parameterRows;
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            if (restoreAutoCommit) {
+                connection.setAutoCommit(false);
+            }
+            Iterator<Object[]> rows = rowStream.iterator();
+            int width = -1;
+            while (rows.hasNext()) {
+                Object[] values = rows.next();
+                // Bound values stay in force across addBatch, so a short row would reuse the previous row's
+                if (width < 0) {
+                    width = values.length;
+                } else if (values.length != width) {
+                    throw new IllegalArgumentException(String.format("Parameter row %d has %d values, expected %d",
+                        result.committedRows + uncommittedRows + pendingRows + 1, values.length, width));
+                }
+                for (int i = 0; i < values.length; i++) {
+                    stmt.setObject(i + 1, values[i]);
+                }
+                stmt.addBatch();
+                pendingRows++;
+                
+                if (pendingRows >= options.getBatchSize()) {
+                    result.addBatch(stmt, pendingRows);
+                    uncommittedRows += pendingRows;
+                    pendingRows = 0;
+                    if (options.getCommitInterval() > 0 && uncommittedRows >= options.getCommitInterval()) {
+                        connection.commit();
+                        result.commits++;
+                        result.committedRows += uncommittedRows;
+                        uncommittedRows = 0;
+                    }
+                }
+            }
+            if (pendingRows > 0) {
+                result.addBatch(stmt, pendingRows);
+                uncommittedRows += pendingRows;
+                pendingRows = 0;
+            }
+            connection.commit();
+            result.commits++;
+            result.committedRows += uncommittedRows;
+            result.elapsedNanos = System.nanoTime() - startTime;
+            return result;
+        } catch (SQLException e) {
+            failure = e;
+            // Everything sent since the last commit is rolled back, not only the failing batch
+            long rolledBackRows = uncommittedRows + pendingRows;
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackException) {
+                e.addSuppressed(rollbackException);
+            }
+            String rolledBack = (rolledBackRows > 0)
+                ? String.format("rows %d-%d were rolled back", result.committedRows + 1,
+                    result.committedRows + rolledBackRows)
+                : "no rows were rolled back";
+            throw new SQLException(String.format("Batch failed; %d rows were committed before the failure and %s: %s",
+                result.committedRows, rolledBack, e.getMessage()), e.getSQLState(), e.getErrorCode(), e);
+        } catch (RuntimeException | Error e) {
+            // Restoring autocommit would commit the pending rows, roll them back first
+            failure = e;
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackException) {
+                e.addSuppressed(rollbackException);
+            }
+            throw e;
+        } finally {
+            try {
+                if (restoreAutoCommit && !connection.isClosed()) {
+                    connection.setAutoCommit(true);
+                }
+            } finally {
+                QueryResultCache cache = resultCache;
+                if (cache != null) {
+                    cache.invalidate(dbConnection.getProfile(), SqlUtils.referencedTables(sql));
+                }
+                recordOperation(event, "batch", dbConnection, sql, null, result.getSubmittedRows(), startTime,
+                    failure);
+            }
+        }
+    }
+
+    /**
+     * Reads a sample of a table with the dialect's cheapest sampling mechanism, for a quick
+     * look that does not scan the table. Samples bypass the result cache so that every call
+     * returns a fresh sample. If the table does not support the sampling query (e.g. a SQLite
+     * table without rowid), its first rows are returned instead.
+     * 
+     * @param dbConnection The database connection to use
+     * @param schema The schema name (null for default)
+     * @param table The table to sample
+     * @param rows The number of rows to sample
+     * @param estimatedRows The estimated row count of the table, or null if unknown
+     * @param integerKey The table's single-column integer primary key, or null if it has none
+     * @return The sampled rows and how they were read
+     * @throws SQLException if the table cannot be read
+     */
+    public SampleResult sampleTable(DatabaseConnection dbConnection, String schema, String table, int rows,
+                                    Long estimatedRows, String integerKey) throws SQLException {
+        if (rows <= 0 || rows > MAX_SAMPLE_ROWS) {
+            throw new IllegalArgumentException("Sample size must be between 1 and " + MAX_SAMPLE_ROWS);
+        }
+        Dialect dialect = DialectFactory.getDialect(dbConnection.getDatabaseType());
+        String query = dialect.getSampleQuery(schema, table, rows, estimatedRows, integerKey);
+        
+        try {
+            return new SampleResult(fetchResult(dbConnection, dialect, query, System.nanoTime(), "sample"), query,
+                estimatedRows);
+        } catch (SQLException e) {
+            String qualifiedTable = (schema == null || schema.isEmpty())
+                ? dialect.quoteIdentifier(table)
+                : dialect.quoteIdentifier(schema) + "." + dialect.quoteIdentifier(table);
+            String fallbackQuery = dialect.addPagination("SELECT * FROM " + qualifiedTable, rows, 0);
+            if (fallbackQuery.equals(query)) {
+                throw e;
+            }
+            return new SampleResult(fetchResult(dbConnection, dialect, fallbackQuery, System.nanoTime(), "sample"),
+                fallbackQuery, estimatedRows);
         }
     }
 
@@ -139,4 +688,242 @@ public class QueryService {
         
         return result.toString();
     }
+
+    /**
+     * Get the execution plan of a query as a node tree.
+     * <p>
+     * In analyze mode the query is executed, so only read-only queries are accepted. For
+     * databases whose plans carry no runtime statistics (SQLite), the query is run once
+     * more after explaining it and its elapsed time and row count are recorded on the
+     * root node.
+     *
+     * @param dbConnection The database connection
+     * @param query The query to explain
+     * @param analyze Whether to execute the query and collect actual rows and times
+     * @return The parsed plan
+     * @throws SQLException if the query cannot be explained
+     * @throws IllegalArgumentException if analyze is requested for a statement that writes
+     */
+    public QueryPlan explainPlan(DatabaseConnection dbConnection, String query, boolean analyze) throws SQLException {
+        String normalized = SqlUtils.normalize(query);
+        if (analyze && !SqlUtils.isReadOnlyQuery(normalized)) {
+            throw new IllegalArgumentException("Only read-only queries can be analyzed, since EXPLAIN ANALYZE executes them");
+        }
+        long startNanos = System.nanoTime();
+        QueryEvent event = new QueryEvent();
+        event.begin();
+        QueryPlan plan = null;
+        Throwable failure = null;
+        try {
+            plan = readPlan(dbConnection, normalized, analyze);
+            return plan;
+        } catch (SQLException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            long rows = (plan != null && plan.getRoot().hasActual()) ? Math.round(plan.getRoot().getActualRows()) : 0;
+            recordOperation(event, analyze ? "explain analyze" : "explain", dbConnection, normalized, null, rows,
+                startNanos, failure);
+        }
+    }
+
+    private QueryPlan readPlan(DatabaseConnection dbConnection, String normalized, boolean analyze)
+            throws SQLException {
+        Dialect dialect = DialectFactory.getDialect(dbConnection.getDatabaseType());
+        PlanFormat format = dialect.getPlanFormat();
+        
+        StringBuilder output = new StringBuilder();
+        try (Statement stmt = dbConnection.getConnection().createStatement();
+             ResultSet rs = stmt.executeQuery(dialect.getStructuredExplainQuery(normalized, analyze))) {
+            
+            while (rs.next()) {
+                if (format == PlanFormat.SQLITE_QUERY_PLAN) {
+                    output.append(rs.getString(1)).append('\t').append(rs.getString(2)).append('\t')
+                          .append(rs.getString(rs.getMetaData().getColumnCount())).append('\n');
+                } else {
+                    output.append(rs.getString(1)).append('\n');
+                }
+            }
+        }
+        
+        QueryPlan plan = PlanParser.parse(format, output.toString(), analyze);
+        if (!analyze || format.hasRuntimeStatistics()) {
+            return plan;
+        }
+        
+        long rows = 0;
+        long start = System.nanoTime();
+        try (Statement stmt = dbConnection.getConnection().createStatement();
+             ResultSet rs = stmt.executeQuery(normalized)) {
+            while (rs.next()) {
+                rows++;
+            }
+        }
+        double elapsedMs = (System.nanoTime() - start) / 1_000_000.0;
+        plan.getRoot().setActual(rows, elapsedMs, 1);
+        return new QueryPlan(plan.getRoot(), true, null, elapsedMs, plan.getRawOutput());
+    }
+
+    /**
+     * Batch size and commit interval for {@link #executeBatch}.
+     */
+    public static class BatchOptions {
+        public static final int DEFAULT_BATCH_SIZE = 1000;
+        public static final int DEFAULT_COMMIT_INTERVAL = 10_000;
+
+        private final int batchSize;
+        private final long commitInterval;
+
+        public BatchOptions() {
+            this(DEFAULT_BATCH_SIZE, DEFAULT_COMMIT_INTERVAL);
+        }
+
+        /**
+         * @param batchSize Number of rows sent per round trip
+         * @param commitInterval Number of rows per transaction, or 0 to commit once at the end
+         */
+        public BatchOptions(int batchSize, long commitInterval) {
+            if (batchSize <= 0) {
+                throw new IllegalArgumentException("Batch size must be a positive integer");
+            }
+            if (commitInterval < 0) {
+                throw new IllegalArgumentException("Commit interval must not be negative");
+            }
+            this.batchSize = batchSize;
+            this.commitInterval = commitInterval;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public long getCommitInterval() {
+            return commitInterval;
+        }
+    }
+
+    /**
+     * Outcome of {@link #executeBatch}.
+     */
+    public static class BatchResult {
+        private long[] batchNanos = new long[16];
+        private int batchCount;
+        private long submittedRows;
+        private long committedRows;
+        private long affectedRows;
+        private boolean affectedRowsExact = true;
+        private int commits;
+        private long elapsedNanos;
+
+        void addBatch(PreparedStatement stmt, int rows) throws SQLException {
+            long start = System.nanoTime();
+            int[] counts = stmt.executeBatch();
+            long elapsed = System.nanoTime() - start;
+            
+            if (batchCount == batchNanos.length) {
+                batchNanos = Arrays.copyOf(batchNanos, batchCount * 2);
+            }
+            batchNanos[batchCount++] = elapsed;
+            submittedRows += rows;
+            for (int count : counts) {
+                if (count >= 0) {
+                    affectedRows += count;
+                } else {
+                    // Rewritten batches report SUCCESS_NO_INFO instead of per-row counts
+                    affectedRowsExact = false;
+                }
+            }
+        }
+
+        /**
+         * Get the time each batch took to execute, in submission order.
+         *
+         * @return Elapsed nanoseconds per batch
+         */
+        public long[] getBatchNanos() {
+            return Arrays.copyOf(batchNanos, batchCount);
+        }
+
+        public int getBatchCount() {
+            return batchCount;
+        }
+
+        public long getSubmittedRows() {
+            return submittedRows;
+        }
+
+        public long getCommittedRows() {
+            return committedRows;
+        }
+
+        /**
+         * Get the number of affected rows reported by the driver.
+         *
+         * @return The affected row count; a lower bound if {@link #isAffectedRowsExact()} is false
+         */
+        public long getAffectedRows() {
+            return affectedRows;
+        }
+
+        public boolean isAffectedRowsExact() {
+            return affectedRowsExact;
+        }
+
+        public int getCommits() {
+            return commits;
+        }
+
+        public long getElapsedMs() {
+            return elapsedNanos / 1_000_000;
+        }
+
+        @Override
+        public String toString() {
+            long slowest = 0;
+            long total = 0;
+            for (int i = 0; i < batchCount; i++) {
+                slowest = Math.max(slowest, batchNanos[i]);
+                total += batchNanos[i];
+            }
+            return String.format("%d rows in %d batches and %d commits, %dms (mean batch %.1fms, slowest %.1fms)",
+                committedRows, batchCount, commits, getElapsedMs(),
+                batchCount > 0 ? total / 1e6 / batchCount : 0.0, slowest / 1e6);
+        }
+    }
+
+    /**
+     * Outcome of {@link #sampleTable}.
+     */
+    public static class SampleResult {
+        private final QueryResult result;
+        private final String query;
+        private final Long estimatedRows;
+
+        public SampleResult(QueryResult result, String query, Long estimatedRows) {
+            this.result = result;
+            this.query = query;
+            this.estimatedRows = estimatedRows;
+        }
+
+        public QueryResult getResult() {
+            return result;
+        }
+
+        /**
+         * Get the query that produced the sample, showing the sampling mechanism used.
+         */
+        public String getQuery() {
+            return query;
+        }
+
+        public Long getEstimatedRows() {
+            return estimatedRows;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d rows%s in %dms", result.getRowCount(),
+                estimatedRows != null ? String.format(" of ~%,d", estimatedRows) : "", result.getExecutionTimeMs());
+        }
+    }
 }
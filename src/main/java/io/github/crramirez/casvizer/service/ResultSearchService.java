@@ -0,0 +1,294 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.service;
+
+import io.github.crramirez.casvizer.model.ColumnStorage;
+import io.github.crramirez.casvizer.model.QueryResult;
+import io.github.crramirez.casvizer.model.StringColumnStorage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Full-text search over the cells of a query result.
+ * <p>
+ * The rows are split into chunks that are scanned in parallel on the common fork/join
+ * pool. Matches are handed to a listener chunk by chunk as soon as they are found, so a
+ * caller can show the first hits of a large result immediately. A running search checks
+ * for cancellation between rows and stops as soon as {@link SearchTask#cancel()} is called.
+ */
+public class ResultSearchService {
+
+    /**
+     * Number of rows scanned by a single task.
+     */
+    private static final int CHUNK_ROWS = 16_384;
+
+    /**
+     * Default cap on the number of matches reported by one search.
+     */
+    public static final int DEFAULT_MAX_MATCHES = 10_000;
+
+    /**
+     * Start searching a result in the background.
+     * <p>
+     * Plain text is matched as a substring; a regular expression matches if it is found
+     * anywhere in the cell text. SQL NULL cells never match. The listener is called from
+     * pool threads, possibly concurrently, with matches in no particular order.
+     *
+     * @param result The result (or result view) to search; rows are reported in its order
+     * @param text The text or regular expression to look for
+     * @param regex Whether {@code text} is a regular expression
+     * @param caseInsensitive Whether to ignore case
+     * @param maxMatches Stop after this many matches
+     * @param listener Receives matches and the completion notice
+     * @return Handle to cancel or inspect the running search
+     * @throws java.util.regex.PatternSyntaxException if the regular expression is invalid
+     */
+    public SearchTask search(QueryResult result, String text, boolean regex, boolean caseInsensitive,
+                             int maxMatches, SearchListener listener) {
+        if (text == null || text.isEmpty()) {
+            throw new IllegalArgumentException("Search text must be non-null and non-empty");
+        }
+        CellMatcher matcher = createMatcher(text, regex, caseInsensitive);
+
+        // Test each distinct value of dictionary encoded columns once instead of once per row
+        int columnCount = result.getColumnCount();
+        boolean[][] dictionaryMatches = new boolean[columnCount][];
+        for (int c = 0; c < columnCount; c++) {
+            if (result.getColumn(c) instanceof StringColumnStorage strings && strings.isDictionaryEncoded()) {
+                List<String> dictionary = strings.getDictionary();
+                boolean[] matches = new boolean[dictionary.size()];
+                for (int code = 0; code < matches.length; code++) {
+                    matches[code] = matcher.matches(dictionary.get(code));
+                }
+                dictionaryMatches[c] = matches;
+            }
+        }
+
+        SearchTask task = new SearchTask(maxMatches);
+        ChunkScan root = new ChunkScan(result, matcher, dictionaryMatches, 0, result.getRowCount(), task, listener);
+        ForkJoinPool.commonPool().execute(() -> {
+            try {
+                ForkJoinPool.commonPool().invoke(root);
+            } finally {
+                task.done.set(true);
+                listener.onComplete(task.getMatchCount(), task.isCancelled());
+            }
+        });
+        return task;
+    }
+
+    private static CellMatcher createMatcher(String text, boolean regex, boolean caseInsensitive) {
+        if (regex) {
+            int flags = caseInsensitive ? Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE : 0;
+            Pattern pattern = Pattern.compile(text, flags);
+            return value -> pattern.matcher(value).find();
+        }
+        if (caseInsensitive) {
+            return value -> containsIgnoreCase(value, text);
+        }
+        return value -> value.contains(text);
+    }
+
+    private static boolean containsIgnoreCase(String value, String text) {
+        int last = value.length() - text.length();
+        for (int i = 0; i <= last; i++) {
+            if (value.regionMatches(true, i, text, 0, text.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tests the text of a single cell.
+     */
+    @FunctionalInterface
+    private interface CellMatcher {
+        boolean matches(String value);
+    }
+
+    private static final class ChunkScan extends RecursiveAction {
+        private final QueryResult result;
+        private final CellMatcher matcher;
+        private final boolean[][] dictionaryMatches;
+        private final int from;
+        private final int to;
+        private final SearchTask task;
+        private final SearchListener listener;
+
+        ChunkScan(QueryResult result, CellMatcher matcher, boolean[][] dictionaryMatches, int from, int to,
+                  SearchTask task, SearchListener listener) {
+            this.result = result;
+            this.matcher = matcher;
+            this.dictionaryMatches = dictionaryMatches;
+            this.from = from;
+            this.to = to;
+            this.task = task;
+            this.listener = listener;
+        }
+
+        @Override
+        protected void compute() {
+            if (task.isStopped()) {
+                return;
+            }
+            if (to - from > CHUNK_ROWS) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ChunkScan(result, matcher, dictionaryMatches, from, middle, task, listener),
+                          new ChunkScan(result, matcher, dictionaryMatches, middle, to, task, listener));
+                return;
+            }
+
+            List<CellMatch> matches = new ArrayList<>();
+            int columnCount = result.getColumnCount();
+            for (int row = from; row < to && !task.isStopped(); row++) {
+                int storageRow = result.getStorageRow(row);
+                for (int c = 0; c < columnCount; c++) {
+                    String text = matchingText(c, storageRow);
+                    if (text != null) {
+                        if (!task.reserveMatch()) {
+                            break;
+                        }
+                        matches.add(new CellMatch(row, c, text));
+                    }
+                }
+            }
+            if (!matches.isEmpty() && !task.isCancelled()) {
+                listener.onMatches(matches);
+            }
+        }
+
+        /**
+         * Returns the cell text if it matches, or null if it does not.
+         */
+        private String matchingText(int column, int storageRow) {
+            ColumnStorage storage = result.getColumn(column);
+            boolean[] dictionary = dictionaryMatches[column];
+            if (dictionary != null) {
+                int code = ((StringColumnStorage) storage).getCode(storageRow);
+                return code >= 0 && dictionary[code] ? ((StringColumnStorage) storage).get(storageRow) : null;
+            }
+            Object value = storage.get(storageRow);
+            if (value == null) {
+                return null;
+            }
+            String text = value instanceof byte[] ? null : value.toString();
+            return text != null && matcher.matches(text) ? text : null;
+        }
+    }
+
+    /**
+     * Receives the progress of a search.
+     */
+    public interface SearchListener {
+
+        /**
+         * Called with the matches of one chunk of rows.
+         *
+         * @param matches The matches found in the chunk
+         */
+        void onMatches(List<CellMatch> matches);
+
+        /**
+         * Called once when the search has finished, was cancelled or hit the match limit.
+         *
+         * @param matchCount The number of matches reported
+         * @param cancelled Whether the search was cancelled
+         */
+        void onComplete(int matchCount, boolean cancelled);
+    }
+
+    /**
+     * Handle to a running search.
+     */
+    public static class SearchTask {
+        private final int maxMatches;
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private final AtomicBoolean done = new AtomicBoolean();
+        private final AtomicInteger matchCount = new AtomicInteger();
+
+        SearchTask(int maxMatches) {
+            if (maxMatches <= 0) {
+                throw new IllegalArgumentException("Maximum matches must be a positive integer");
+            }
+            this.maxMatches = maxMatches;
+        }
+
+        /**
+         * Stop the search; chunks still running stop before their next row and report nothing.
+         */
+        public void cancel() {
+            cancelled.set(true);
+        }
+
+        public boolean isCancelled() {
+            return cancelled.get();
+        }
+
+        public boolean isDone() {
+            return done.get();
+        }
+
+        public int getMatchCount() {
+            return Math.min(matchCount.get(), maxMatches);
+        }
+
+        boolean isStopped() {
+            return cancelled.get() || matchCount.get() >= maxMatches;
+        }
+
+        boolean reserveMatch() {
+            return matchCount.incrementAndGet() <= maxMatches;
+        }
+    }
+
+    /**
+     * A cell whose text matched the search.
+     */
+    public static class CellMatch {
+        private final int row;
+        private final int column;
+        private final String text;
+
+        public CellMatch(int row, int column, String text) {
+            this.row = row;
+            this.column = column;
+            this.text = text;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public int getColumn() {
+            return column;
+        }
+
+        public String getText() {
+            return text;
+        }
+    }
+}
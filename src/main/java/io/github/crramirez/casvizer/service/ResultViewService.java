@@ -0,0 +1,526 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.service;
+
+import io.github.crramirez.casvizer.model.ColumnStorage;
+import io.github.crramirez.casvizer.model.ObjectColumnStorage;
+import io.github.crramirez.casvizer.model.QueryResult;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.IntStream;
+
+/**
+ * Client-side sorting and filtering of query results.
+ * <p>
+ * Neither operation copies values: both produce an index of storage rows and return a
+ * view of the original result (see {@link QueryResult#withRowOrder(int[])}). Sorting uses
+ * a parallel merge sort over the index when its working set fits the memory threshold,
+ * and otherwise an external merge sort that spills sorted runs of row numbers to disk and
+ * merges them, so the extra heap stays bounded by the threshold.
+ */
+public class ResultViewService {
+
+    /**
+     * Default heap budget for the sort working set (the index plus its merge buffer).
+     */
+    public static final long DEFAULT_MEMORY_THRESHOLD_BYTES = 128L * 1024 * 1024;
+
+    /**
+     * Bytes of sort working set per row: the index entry and its merge buffer entry.
+     */
+    private static final int BYTES_PER_SORTED_ROW = 8;
+
+    /**
+     * Ranges at most this long are sorted by a single task.
+     */
+    private static final int PARALLEL_SORT_THRESHOLD = 8192;
+
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    private final long memoryThresholdBytes;
+    private final Path spillDirectory;
+
+    public ResultViewService() {
+        this(DEFAULT_MEMORY_THRESHOLD_BYTES, Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    public ResultViewService(long memoryThresholdBytes, Path spillDirectory) {
+        if (memoryThresholdBytes < BYTES_PER_SORTED_ROW * (long) PARALLEL_SORT_THRESHOLD) {
+            throw new IllegalArgumentException("Memory threshold too small: " + memoryThresholdBytes);
+        }
+        this.memoryThresholdBytes = memoryThresholdBytes;
+        this.spillDirectory = spillDirectory;
+    }
+
+    /**
+     * Sort a result by one or more columns. The sort is stable and SQL NULL sorts first
+     * in ascending order.
+     *
+     * @param result The result (or result view) to sort
+     * @param keys The sort keys, most significant first
+     * @return A sorted view of the result
+     * @throws IOException if spilling sorted runs to disk fails
+     */
+    public QueryResult sort(QueryResult result, List<SortKey> keys) throws IOException {
+        if (keys.isEmpty()) {
+            return result;
+        }
+        int[] index = new int[result.getRowCount()];
+        for (int i = 0; i < index.length; i++) {
+            index[i] = result.getStorageRow(i);
+        }
+
+        RowComparator comparator = createComparator(result, keys);
+        long workingSetBytes = (long) index.length * BYTES_PER_SORTED_ROW;
+        if (workingSetBytes <= memoryThresholdBytes) {
+            parallelSort(index, 0, index.length, comparator);
+        } else {
+            externalSort(index, comparator);
+        }
+        return result.withRowOrder(index);
+    }
+
+    /**
+     * Keep only the rows matching a predicate, preserving their order.
+     *
+     * @param result The result (or result view) to filter
+     * @param filter The predicate to apply
+     * @return A filtered view of the result
+     */
+    public QueryResult filter(QueryResult result, RowFilter filter) {
+        ColumnStorage column = result.getColumn(filter.getColumn());
+        int[] matches = IntStream.range(0, result.getRowCount())
+            .parallel()
+            .map(result::getStorageRow)
+            .filter(storageRow -> filter.matches(column.get(storageRow)))
+            .toArray();
+        return result.withRowOrder(matches);
+    }
+
+    private RowComparator createComparator(QueryResult result, List<SortKey> keys) {
+        ColumnStorage[] columns = new ColumnStorage[keys.size()];
+        boolean[] descending = new boolean[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            columns[i] = result.getColumn(keys.get(i).getColumn());
+            descending[i] = !keys.get(i).isAscending();
+        }
+        return (a, b) -> {
+            for (int i = 0; i < columns.length; i++) {
+                int cmp = columns[i].compare(a, b);
+                if (cmp != 0) {
+                    return descending[i] ? -cmp : cmp;
+                }
+            }
+            return 0;
+        };
+    }
+
+    private void parallelSort(int[] index, int from, int to, RowComparator comparator) {
+        int[] buffer = new int[to - from];
+        ForkJoinPool.commonPool().invoke(new MergeSortTask(index, buffer, from, to, from, comparator));
+    }
+
+    /**
+     * Sort runs that fit the memory threshold, spill each to a temporary file, then merge
+     * all runs back into the index with a k-way merge.
+     */
+    private void externalSort(int[] index, RowComparator comparator) throws IOException {
+        int runLength = (int) Math.min(Integer.MAX_VALUE, memoryThresholdBytes / BYTES_PER_SORTED_ROW);
+        List<Path> runs = new ArrayList<>();
+        try {
+            for (int from = 0; from < index.length; from += runLength) {
+                int to = Math.min(index.length, from + runLength);
+                int[] run = new int[to - from];
+                System.arraycopy(index, from, run, 0, run.length);
+                parallelSort(run, 0, run.length, comparator);
+                runs.add(writeRun(run));
+            }
+            mergeRuns(runs, index, comparator);
+        } finally {
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+        }
+    }
+
+    private Path writeRun(int[] run) throws IOException {
+        Path file = Files.createTempFile(spillDirectory, "casvizer-sort-", ".run");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            for (int row : run) {
+                out.writeInt(row);
+            }
+        }
+        return file;
+    }
+
+    private void mergeRuns(List<Path> runs, int[] target, RowComparator comparator) throws IOException {
+        List<RunReader> readers = new ArrayList<>();
+        try {
+            // Ties go to the earlier run, which keeps the merge stable
+            PriorityQueue<RunReader> heads = new PriorityQueue<>((a, b) -> {
+                int cmp = comparator.compare(a.current, b.current);
+                return cmp != 0 ? cmp : Integer.compare(a.runNumber, b.runNumber);
+            });
+            for (int i = 0; i < runs.size(); i++) {
+                RunReader reader = new RunReader(runs.get(i), i);
+                readers.add(reader);
+                if (reader.advance()) {
+                    heads.add(reader);
+                }
+            }
+            int position = 0;
+            while (!heads.isEmpty()) {
+                RunReader reader = heads.poll();
+                target[position++] = reader.current;
+                if (reader.advance()) {
+                    heads.add(reader);
+                }
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    /**
+     * Compares two storage rows.
+     */
+    @FunctionalInterface
+    private interface RowComparator {
+        int compare(int rowA, int rowB);
+    }
+
+    private static final class MergeSortTask extends RecursiveAction {
+        private final int[] index;
+        private final int[] buffer;
+        private final int from;
+        private final int to;
+        private final int bufferOffset;
+        private final RowComparator comparator;
+
+        MergeSortTask(int[] index, int[] buffer, int from, int to, int bufferOffset, RowComparator comparator) {
+            this.index = index;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.bufferOffset = bufferOffset;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_SORT_THRESHOLD) {
+                sequentialSort(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new MergeSortTask(index, buffer, from, middle, bufferOffset, comparator),
+                      new MergeSortTask(index, buffer, middle, to, bufferOffset, comparator));
+            merge(from, middle, to);
+        }
+
+        private void sequentialSort(int start, int end) {
+            if (end - start <= INSERTION_SORT_THRESHOLD) {
+                insertionSort(start, end);
+                return;
+            }
+            int middle = (start + end) >>> 1;
+            sequentialSort(start, middle);
+            sequentialSort(middle, end);
+            merge(start, middle, end);
+        }
+
+        private void insertionSort(int start, int end) {
+            for (int i = start + 1; i < end; i++) {
+                int value = index[i];
+                int j = i - 1;
+                while (j >= start && comparator.compare(index[j], value) > 0) {
+                    index[j + 1] = index[j];
+                    j--;
+                }
+                index[j + 1] = value;
+            }
+        }
+
+        private void merge(int start, int middle, int end) {
+            // Already ordered halves need no merge
+            if (comparator.compare(index[middle - 1], index[middle]) <= 0) {
+                return;
+            }
+            int length = middle - start;
+            System.arraycopy(index, start, buffer, start - bufferOffset, length);
+            int left = start - bufferOffset;
+            int leftEnd = left + length;
+            int right = middle;
+            int out = start;
+            while (left < leftEnd && right < end) {
+                if (comparator.compare(index[right], buffer[left]) < 0) {
+                    index[out++] = index[right++];
+                } else {
+                    index[out++] = buffer[left++];
+                }
+            }
+            System.arraycopy(buffer, left, index, out, leftEnd - left);
+        }
+    }
+
+    private static final class RunReader {
+        private final DataInputStream in;
+        private final int runNumber;
+        private int current;
+
+        RunReader(Path file, int runNumber) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16));
+            this.runNumber = runNumber;
+        }
+
+        boolean advance() throws IOException {
+            try {
+                current = in.readInt();
+                return true;
+            } catch (EOFException e) {
+                return false;
+            }
+        }
+
+        void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * A column to sort by and its direction.
+     */
+    public static class SortKey {
+        private final int column;
+        private final boolean ascending;
+
+        public SortKey(int column, boolean ascending) {
+            this.column = column;
+            this.ascending = ascending;
+        }
+
+        public int getColumn() {
+            return column;
+        }
+
+        public boolean isAscending() {
+            return ascending;
+        }
+
+        /**
+         * Parse a sort specification such as {@code "country, amount desc"}.
+         *
+         * @param spec Comma separated column names, each optionally followed by ASC or DESC
+         * @param columnNames The column names of the result to sort
+         * @return The parsed sort keys
+         * @throws IllegalArgumentException if a column is unknown or a direction is invalid
+         */
+        public static List<SortKey> parse(String spec, List<String> columnNames) {
+            List<SortKey> keys = new ArrayList<>();
+            for (String part : spec.split(",")) {
+                String[] words = part.trim().split("\\s+");
+                if (words.length == 0 || words[0].isEmpty()) {
+                    continue;
+                }
+                boolean ascending = true;
+                if (words.length == 2) {
+                    String direction = words[1].toUpperCase(Locale.ROOT);
+                    if (!direction.equals("ASC") && !direction.equals("DESC")) {
+                        throw new IllegalArgumentException("Invalid sort direction: " + words[1]);
+                    }
+                    ascending = direction.equals("ASC");
+                } else if (words.length > 2) {
+                    throw new IllegalArgumentException("Invalid sort key: " + part.trim());
+                }
+                keys.add(new SortKey(columnIndex(columnNames, words[0]), ascending));
+            }
+            return keys;
+        }
+    }
+
+    /**
+     * A predicate comparing one column against a constant.
+     */
+    public static class RowFilter {
+        private final int column;
+        private final String operator;
+        private final String operand;
+        private final BigDecimal numericOperand;
+
+        public RowFilter(int column, String operator, String operand) {
+            switch (operator) {
+                case "=":
+                case "!=":
+                case "<":
+                case "<=":
+                case ">":
+                case ">=":
+                case "CONTAINS":
+                case "IS NULL":
+                case "IS NOT NULL":
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported filter operator: " + operator);
+            }
+            this.column = column;
+            this.operator = operator;
+            this.operand = operand;
+            this.numericOperand = parseNumber(operand);
+        }
+
+        public int getColumn() {
+            return column;
+        }
+
+        /**
+         * Test a single cell value. Comparisons with NULL never match, as in SQL.
+         *
+         * @param value The cell value (may be null)
+         * @return true if the value satisfies the predicate
+         */
+        public boolean matches(Object value) {
+            if (operator.equals("IS NULL")) {
+                return value == null;
+            }
+            if (operator.equals("IS NOT NULL")) {
+                return value != null;
+            }
+            if (value == null) {
+                return false;
+            }
+            if (operator.equals("CONTAINS")) {
+                return value.toString().toLowerCase(Locale.ROOT).contains(operand.toLowerCase(Locale.ROOT));
+            }
+            int cmp = compareToOperand(value);
+            switch (operator) {
+                case "=":
+                    return cmp == 0;
+                case "!=":
+                    return cmp != 0;
+                case "<":
+                    return cmp < 0;
+                case "<=":
+                    return cmp <= 0;
+                case ">":
+                    return cmp > 0;
+                default:
+                    return cmp >= 0;
+            }
+        }
+
+        private int compareToOperand(Object value) {
+            if (value instanceof Number && numericOperand != null) {
+                return ObjectColumnStorage.compareValues(value, numericOperand);
+            }
+            return value.toString().compareTo(operand);
+        }
+
+        /**
+         * Parse a filter expression such as {@code "status = active"}, {@code "amount >= 10"},
+         * {@code "name contains smith"} or {@code "email is null"}. Quotes around the value
+         * are optional.
+         *
+         * @param expression The filter expression
+         * @param columnNames The column names of the result to filter
+         * @return The parsed filter
+         * @throws IllegalArgumentException if the expression cannot be parsed
+         */
+        public static RowFilter parse(String expression, List<String> columnNames) {
+            String trimmed = expression.trim();
+            String upper = trimmed.toUpperCase(Locale.ROOT);
+            for (String nullCheck : new String[] {" IS NOT NULL", " IS NULL"}) {
+                if (upper.endsWith(nullCheck)) {
+                    String column = trimmed.substring(0, trimmed.length() - nullCheck.length()).trim();
+                    return new RowFilter(columnIndex(columnNames, column), nullCheck.trim(), null);
+                }
+            }
+            int containsAt = upper.indexOf(" CONTAINS ");
+            if (containsAt > 0) {
+                return new RowFilter(columnIndex(columnNames, trimmed.substring(0, containsAt).trim()),
+                    "CONTAINS", unquote(trimmed.substring(containsAt + " CONTAINS ".length()).trim()));
+            }
+            // Use the leftmost operator, preferring two-character operators at the same position
+            String op = null;
+            int at = -1;
+            for (String candidate : new String[] {"!=", "<>", "<=", ">=", "=", "<", ">"}) {
+                int position = trimmed.indexOf(candidate);
+                if (position > 0 && (at < 0 || position < at)) {
+                    op = candidate;
+                    at = position;
+                }
+            }
+            if (op != null) {
+                String column = trimmed.substring(0, at).trim();
+                String value = unquote(trimmed.substring(at + op.length()).trim());
+                return new RowFilter(columnIndex(columnNames, column), op.equals("<>") ? "!=" : op, value);
+            }
+            throw new IllegalArgumentException("Cannot parse filter: " + expression);
+        }
+
+        private static String unquote(String value) {
+            if (value.length() >= 2 && value.startsWith("'") && value.endsWith("'")) {
+                return value.substring(1, value.length() - 1).replace("''", "'");
+            }
+            return value;
+        }
+
+        private static BigDecimal parseNumber(String value) {
+            if (value == null) {
+                return null;
+            }
+            try {
+                return new BigDecimal(value);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Find a column by name, ignoring case.
+     *
+     * @param columnNames The column names of a result
+     * @param name The name to look up
+     * @return The zero-based column index
+     * @throws IllegalArgumentException if no column has that name
+     */
+    public static int columnIndex(List<String> columnNames, String name) {
+        for (int i = 0; i < columnNames.size(); i++) {
+            if (columnNames.get(i).equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown column: " + name);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.service;
+
+import io.github.crramirez.casvizer.dialect.Dialect;
+import io.github.crramirez.casvizer.dialect.DialectFactory;
+import io.github.crramirez.casvizer.model.DatabaseConnection;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Counts the rows of a table exactly with {@code SELECT COUNT(*)}.
+ * <p>
+ * This scans the whole table (or an index), so it should only run when explicitly
+ * requested, off the UI thread; {@link #cancel()} stops it on the server.
+ */
+public class RowCounter {
+
+    private volatile Statement activeStatement;
+    private volatile boolean cancelled;
+
+    /**
+     * Count the rows of a table.
+     *
+     * @param dbConnection The database connection
+     * @param schema The schema name (null for default)
+     * @param table The table name
+     * @return The exact row count
+     * @throws SQLException if the count fails or is cancelled
+     */
+    public long count(DatabaseConnection dbConnection, String schema, String table) throws SQLException {
+        Dialect dialect = DialectFactory.getDialect(dbConnection.getDatabaseType());
+        String qualifiedName = (schema == null || schema.isEmpty())
+            ? dialect.quoteIdentifier(table)
+            : dialect.quoteIdentifier(schema) + "." + dialect.quoteIdentifier(table);
+        cancelled = false;
+        
+        try (Statement stmt = dbConnection.getConnection().createStatement()) {
+            activeStatement = stmt;
+            try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + qualifiedName)) {
+                rs.next();
+                return rs.getLong(1);
+            } catch (SQLException e) {
+                if (cancelled) {
+                    throw new SQLException("Row count of " + table + " was cancelled", e);
+                }
+                throw e;
+            }
+        } finally {
+            activeStatement = null;
+        }
+    }
+
+    /**
+     * Cancel a running count.
+     */
+    public void cancel() {
+        cancelled = true;
+        Statement stmt = activeStatement;
+        if (stmt != null) {
+            try {
+                stmt.cancel();
+            } catch (SQLException e) {
+                // The count may have completed in the meantime
+            }
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.service;
+
+import io.github.crramirez.casvizer.dialect.DialectFactory;
+import io.github.crramirez.casvizer.model.ConnectionProfile;
+import io.github.crramirez.casvizer.model.DatabaseConnection;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Local SQLite database used as a scratch area for query results pulled from other
+ * connections.
+ * <p>
+ * A remote result is materialized by streaming it from a server-side cursor into a
+ * scratch table with batched inserts through a {@link CopyPipeline}, so memory use does not
+ * depend on the result size and fetching overlaps with writing.
+ * Further filtering, joins and aggregations can then run locally, including joins between
+ * results materialized from different connections.
+ */
+public class ScratchWorkspace implements AutoCloseable {
+
+    /**
+     * Name of the connection profile pointing to the scratch database.
+     */
+    public static final String PROFILE_NAME = "Scratch";
+
+    private final ConnectionProfile profile;
+    private DatabaseConnection connection;
+
+    public ScratchWorkspace(String databasePath) {
+        this.profile = new ConnectionProfile(PROFILE_NAME, "sqlite");
+        this.profile.setDatabase(databasePath);
+    }
+
+    /**
+     * Get the profile of the scratch database, e.g. to open it in the query editor.
+     *
+     * @return The SQLite connection profile
+     */
+    public ConnectionProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * Get the workspace's own connection to the scratch database, opening it on first use.
+     *
+     * @return The scratch database connection
+     * @throws SQLException if the database cannot be opened
+     */
+    public synchronized DatabaseConnection getConnection() throws SQLException {
+        if (connection == null || !connection.isConnected()) {
+            DatabaseConnection opened = new DatabaseConnection(profile);
+            opened.connect();
+            // WAL lets other connections (such as the query editor's) read while we write
+            try (Statement stmt = opened.getConnection().createStatement()) {
+                stmt.execute("PRAGMA journal_mode=WAL");
+            }
+            connection = opened;
+        }
+        return connection;
+    }
+
+    /**
+     * Stream the result of a query into a scratch table, replacing any table of the same name.
+     *
+     * @param source The connection to run the query on
+     * @param query The query whose result to materialize
+     * @param tableName The scratch table to create
+     * @return Summary of the materialized table
+     * @throws SQLException if reading from the source or writing the table fails
+     */
+    public synchronized MaterializeResult materialize(DatabaseConnection source, String query, String tableName)
+            throws SQLException {
+        if (tableName == null || tableName.isBlank()) {
+            throw new IllegalArgumentException("Table name must be non-null and non-empty");
+        }
+        CopyPipeline.CopyResult result = new CopyPipeline().copy(source, query, getConnection(), tableName, true, null);
+        return new MaterializeResult(tableName, result.getColumnCount(), result.getRowsWritten(), result.getElapsedMs());
+    }
+
+    /**
+     * Drop a scratch table if it exists.
+     *
+     * @param tableName The scratch table to drop
+     * @throws SQLException if the table cannot be dropped
+     */
+    public synchronized void dropTable(String tableName) throws SQLException {
+        DatabaseConnection scratch = getConnection();
+        String quoted = DialectFactory.getDialect(scratch.getDatabaseType()).quoteIdentifier(tableName);
+        try (Statement stmt = scratch.getConnection().createStatement()) {
+            stmt.executeUpdate("DROP TABLE IF EXISTS " + quoted);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws SQLException {
+        if (connection != null) {
+            connection.disconnect();
+            connection = null;
+        }
+    }
+
+    /**
+     * Summary of a materialized scratch table.
+     */
+    public static class MaterializeResult {
+        private final String tableName;
+        private final int columnCount;
+        private final long rowCount;
+        private final long elapsedMs;
+
+        public MaterializeResult(String tableName, int columnCount, long rowCount, long elapsedMs) {
+            this.tableName = tableName;
+            this.columnCount = columnCount;
+            this.rowCount = rowCount;
+            this.elapsedMs = elapsedMs;
+        }
+
+        public String getTableName() {
+            return tableName;
+        }
+
+        public int getColumnCount() {
+            return columnCount;
+        }
+
+        public long getRowCount() {
+            return rowCount;
+        }
+
+        public long getElapsedMs() {
+            return elapsedMs;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d rows, %d columns into %s in %dms", rowCount, columnCount, tableName, elapsedMs);
+        }
+    }
+}
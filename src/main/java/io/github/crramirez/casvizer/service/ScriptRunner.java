@@ -0,0 +1,603 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.service;
+
+import io.github.crramirez.casvizer.model.DatabaseConnection;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Executes SQL scripts statement by statement, streaming them from disk so that dump files
+ * far larger than the heap can be run.
+ * <p>
+ * DML and DDL statements are sent in JDBC batches and committed every
+ * {@code commitInterval} statements. Other statements (queries, {@code SET}, {@code PRAGMA}
+ * and the like) are executed one at a time. Transaction statements in the script
+ * ({@code BEGIN}, {@code COMMIT}, {@code ROLLBACK}, ...) are not sent to the server but
+ * mapped onto the runner's own commits, so dumps that wrap everything in one transaction
+ * still run with periodic commits.
+ * <p>
+ * With {@link ErrorPolicy#ABORT} the first failure rolls back the uncommitted statements
+ * and stops the script. With {@link ErrorPolicy#CONTINUE} the uncommitted statements are
+ * rolled back and replayed one by one, so only the failing statements are skipped.
+ * <p>
+ * PostgreSQL and SQLite run DDL inside the transaction, so it is batched and rolled back
+ * like DML. MySQL commits implicitly before and after DDL ({@code CREATE}, {@code ALTER},
+ * {@code DROP}, {@code TRUNCATE}, {@code RENAME}, {@code GRANT}, {@code REVOKE}), so there
+ * the runner treats DDL as a commit point: pending statements are committed first and the
+ * DDL runs and commits on its own, and a later failure never replays statements that the
+ * server already committed.
+ */
+public class ScriptRunner {
+
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    public static final int DEFAULT_COMMIT_INTERVAL = 1000;
+
+    /**
+     * Maximum number of errors kept in the result; further failures are only counted.
+     */
+    public static final int MAX_RECORDED_ERRORS = 100;
+
+    private static final long PROGRESS_INTERVAL_NANOS = 500_000_000L;
+
+    private static final int MAX_STATEMENT_PREVIEW = 200;
+
+    private static final Set<String> BATCHABLE_COMMANDS = Set.of(
+        "INSERT", "UPDATE", "DELETE", "REPLACE", "MERGE", "UPSERT",
+        "CREATE", "ALTER", "DROP", "TRUNCATE", "RENAME", "COMMENT", "GRANT", "REVOKE");
+
+    /**
+     * Statements after which MySQL commits implicitly.
+     */
+    private static final Set<String> MYSQL_IMPLICIT_COMMIT_COMMANDS = Set.of(
+        "CREATE", "ALTER", "DROP", "TRUNCATE", "RENAME", "GRANT", "REVOKE");
+
+    /**
+     * What to do when a statement fails.
+     */
+    public enum ErrorPolicy {
+        ABORT, CONTINUE
+    }
+
+    private final int batchSize;
+    private final int commitInterval;
+    private final ErrorPolicy errorPolicy;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private volatile Statement currentStatement;
+
+    public ScriptRunner() {
+        this(DEFAULT_BATCH_SIZE, DEFAULT_COMMIT_INTERVAL, ErrorPolicy.ABORT);
+    }
+
+    public ScriptRunner(int batchSize, int commitInterval, ErrorPolicy errorPolicy) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be a positive integer");
+        }
+        if (commitInterval < batchSize) {
+            throw new IllegalArgumentException("Commit interval must not be smaller than the batch size");
+        }
+        this.batchSize = batchSize;
+        this.commitInterval = commitInterval;
+        this.errorPolicy = errorPolicy;
+    }
+
+    /**
+     * Run a UTF-8 script file.
+     *
+     * @param target The connection to run the script on
+     * @param script The script file
+     * @param listener Receives progress snapshots about twice a second; may be null
+     * @return The outcome of the run
+     * @throws IOException if reading the script fails; statements not yet committed are rolled back
+     * @throws SQLException if transaction handling on the connection fails
+     */
+    public ScriptResult run(DatabaseConnection target, Path script, ProgressListener listener)
+            throws IOException, SQLException {
+        try (FileChannel channel = FileChannel.open(script, StandardOpenOption.READ);
+             Reader reader = Channels.newReader(channel, StandardCharsets.UTF_8)) {
+            long totalBytes = channel.size();
+            LongSupplier bytesRead = () -> {
+                try {
+                    return channel.position();
+                } catch (IOException e) {
+                    return -1;
+                }
+            };
+            return run(target, reader, bytesRead, totalBytes, listener);
+        }
+    }
+
+    /**
+     * Run a script from a reader, e.g. the text of the query editor.
+     *
+     * @param target The connection to run the script on
+     * @param script The script text
+     * @param listener Receives progress snapshots about twice a second; may be null
+     * @return The outcome of the run
+     * @throws IOException if reading the script fails; statements not yet committed are rolled back
+     * @throws SQLException if transaction handling on the connection fails
+     */
+    public ScriptResult run(DatabaseConnection target, Reader script, ProgressListener listener)
+            throws IOException, SQLException {
+        return run(target, script, () -> -1, -1, listener);
+    }
+
+    /**
+     * Stop the running script after the current statement; uncommitted statements are rolled back.
+     */
+    public void cancel() {
+        cancelled.set(true);
+        Statement statement = currentStatement;
+        if (statement != null) {
+            try {
+                statement.cancel();
+            } catch (SQLException e) {
+                // The statement may have completed in the meantime
+            }
+        }
+    }
+
+    private ScriptResult run(DatabaseConnection target, Reader script, LongSupplier bytesRead, long totalBytes,
+                             ProgressListener listener) throws IOException, SQLException {
+        cancelled.set(false);
+        SqlScriptSplitter splitter = new SqlScriptSplitter(
+            script, SqlScriptSplitter.Syntax.forDatabaseType(target.getDatabaseType()));
+        Connection connection = target.getConnection();
+        boolean restoreAutoCommit = connection.getAutoCommit();
+        Run run = new Run(connection, bytesRead, totalBytes, listener,
+            target.getDatabaseType().equalsIgnoreCase("mysql"));
+        boolean failed = false;
+        
+        try {
+            if (restoreAutoCommit) {
+                connection.setAutoCommit(false);
+            }
+            try (Statement statement = connection.createStatement()) {
+                // Results of queries in a script are discarded, so don't let the driver buffer them
+                statement.setMaxRows(1);
+                currentStatement = statement;
+                run.statement = statement;
+                String sql;
+                while (!run.aborted && !cancelled.get() && (sql = splitter.next()) != null) {
+                    run.execute(new ScriptStatement(sql, splitter.getStatementLine()));
+                    run.reportProgress(false);
+                }
+                if (!run.aborted && !cancelled.get()) {
+                    run.commit();
+                }
+            } catch (SQLException | IOException | RuntimeException | Error e) {
+                // Restoring autocommit would commit the pending statements, roll them back first
+                failed = true;
+                try {
+                    connection.rollback();
+                } catch (SQLException rollbackException) {
+                    e.addSuppressed(rollbackException);
+                }
+                throw e;
+            } finally {
+                currentStatement = null;
+                if (!failed && (run.aborted || cancelled.get())) {
+                    connection.rollback();
+                }
+            }
+        } finally {
+            if (restoreAutoCommit) {
+                connection.setAutoCommit(true);
+            }
+        }
+        
+        return run.snapshot(true, cancelled.get());
+    }
+
+    private static String commandOf(String sql) {
+        int end = 0;
+        while (end < sql.length() && Character.isLetter(sql.charAt(end))) {
+            end++;
+        }
+        return sql.substring(0, end).toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Classify script-level transaction statements, which the runner handles itself.
+     *
+     * @return "BEGIN", "COMMIT" or "ROLLBACK", or null for any other statement
+     */
+    private static String transactionCommand(String sql) {
+        String normalized = sql.toUpperCase(Locale.ROOT).replaceAll("\\s+", " ");
+        switch (normalized) {
+            case "BEGIN":
+            case "BEGIN TRANSACTION":
+            case "BEGIN WORK":
+            case "BEGIN DEFERRED TRANSACTION":
+            case "BEGIN IMMEDIATE TRANSACTION":
+            case "BEGIN EXCLUSIVE TRANSACTION":
+            case "START TRANSACTION":
+                return "BEGIN";
+            case "COMMIT":
+            case "COMMIT TRANSACTION":
+            case "COMMIT WORK":
+            case "END":
+            case "END TRANSACTION":
+                return "COMMIT";
+            case "ROLLBACK":
+            case "ROLLBACK TRANSACTION":
+            case "ROLLBACK WORK":
+                return "ROLLBACK";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * State of one script run.
+     */
+    private final class Run {
+        private final Connection connection;
+        private final LongSupplier bytesRead;
+        private final long totalBytes;
+        private final ProgressListener listener;
+        private final boolean ddlCommitsImplicitly;
+        private final long startNanos = System.nanoTime();
+        private final List<ScriptStatement> uncommitted = new ArrayList<>();
+        private final List<ScriptError> errors = new ArrayList<>();
+        private Statement statement;
+        private int batched;
+        private int batchStart;
+        private int executingBatchStart = -1;
+        private long committed;
+        private long failed;
+        private long lastProgressNanos = startNanos;
+        private boolean aborted;
+
+        Run(Connection connection, LongSupplier bytesRead, long totalBytes, ProgressListener listener,
+            boolean ddlCommitsImplicitly) {
+            this.connection = connection;
+            this.bytesRead = bytesRead;
+            this.totalBytes = totalBytes;
+            this.listener = listener;
+            this.ddlCommitsImplicitly = ddlCommitsImplicitly;
+        }
+
+        void execute(ScriptStatement next) throws SQLException {
+            String transaction = transactionCommand(next.sql);
+            if (transaction != null) {
+                if (transaction.equals("ROLLBACK")) {
+                    statement.clearBatch();
+                    batched = 0;
+                    connection.rollback();
+                    uncommitted.clear();
+                } else {
+                    commit();
+                }
+                return;
+            }
+            
+            String command = commandOf(next.sql);
+            if (ddlCommitsImplicitly && MYSQL_IMPLICIT_COMMIT_COMMANDS.contains(command)) {
+                executeCommitPoint(next);
+                return;
+            }
+            uncommitted.add(next);
+            try {
+                if (BATCHABLE_COMMANDS.contains(command)) {
+                    if (batched == 0) {
+                        batchStart = uncommitted.size() - 1;
+                    }
+                    statement.addBatch(next.sql);
+                    batched++;
+                    if (batched >= batchSize) {
+                        executeBatch();
+                    }
+                } else {
+                    executeBatch();
+                    statement.execute(next.sql);
+                }
+            } catch (SQLException e) {
+                handleFailure(e);
+                return;
+            }
+            if (uncommitted.size() >= commitInterval) {
+                commit();
+            }
+        }
+
+        /**
+         * Run a statement the server commits implicitly, after committing the pending
+         * statements, so a failure never replays statements that are already committed.
+         */
+        private void executeCommitPoint(ScriptStatement next) throws SQLException {
+            commit();
+            if (aborted || cancelled.get()) {
+                return;
+            }
+            uncommitted.add(next);
+            try {
+                statement.execute(next.sql);
+                connection.commit();
+                committed++;
+                uncommitted.clear();
+            } catch (SQLException e) {
+                handleFailure(e);
+            }
+        }
+
+        void commit() throws SQLException {
+            try {
+                executeBatch();
+                connection.commit();
+                committed += uncommitted.size();
+                uncommitted.clear();
+            } catch (SQLException e) {
+                handleFailure(e);
+            }
+        }
+
+        private void executeBatch() throws SQLException {
+            if (batched > 0) {
+                batched = 0;
+                executingBatchStart = batchStart;
+                statement.executeBatch();
+                executingBatchStart = -1;
+            }
+        }
+
+        private void handleFailure(SQLException e) throws SQLException {
+            ScriptStatement failing = failingStatement(e);
+            executingBatchStart = -1;
+            statement.clearBatch();
+            batched = 0;
+            connection.rollback();
+            if (cancelled.get()) {
+                return;
+            }
+            
+            if (errorPolicy == ErrorPolicy.ABORT) {
+                failed++;
+                recordError(failing, e);
+                uncommitted.clear();
+                aborted = true;
+                return;
+            }
+            
+            // Replay the rolled back statements one at a time to skip only the failing ones
+            List<ScriptStatement> replay = new ArrayList<>(uncommitted);
+            uncommitted.clear();
+            for (ScriptStatement entry : replay) {
+                if (cancelled.get()) {
+                    return;
+                }
+                try {
+                    statement.execute(entry.sql);
+                    connection.commit();
+                    committed++;
+                } catch (SQLException replayError) {
+                    connection.rollback();
+                    failed++;
+                    recordError(entry, replayError);
+                }
+            }
+        }
+
+        /**
+         * Find the statement that failed. For a failed batch this uses the update counts
+         * when the driver reports them, and otherwise the first statement of the batch.
+         */
+        private ScriptStatement failingStatement(SQLException e) {
+            if (uncommitted.isEmpty()) {
+                return null;
+            }
+            if (executingBatchStart < 0) {
+                return uncommitted.get(uncommitted.size() - 1);
+            }
+            int index = 0;
+            if (e instanceof BatchUpdateException batchError && batchError.getUpdateCounts() != null) {
+                int[] counts = batchError.getUpdateCounts();
+                index = counts.length;
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] == Statement.EXECUTE_FAILED) {
+                        index = i;
+                        break;
+                    }
+                }
+            }
+            return uncommitted.get(Math.min(executingBatchStart + index, uncommitted.size() - 1));
+        }
+
+        private void recordError(ScriptStatement entry, SQLException e) {
+            if (errors.size() < MAX_RECORDED_ERRORS) {
+                String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                errors.add(entry != null
+                    ? new ScriptError(entry.line, preview(entry.sql), message)
+                    : new ScriptError(0, "", message));
+            }
+        }
+
+        void reportProgress(boolean force) {
+            long now = System.nanoTime();
+            if (listener != null && (force || now - lastProgressNanos >= PROGRESS_INTERVAL_NANOS)) {
+                lastProgressNanos = now;
+                listener.onProgress(snapshot(false, false));
+            }
+        }
+
+        ScriptResult snapshot(boolean finished, boolean wasCancelled) {
+            long executed = committed + (finished ? 0 : uncommitted.size());
+            return new ScriptResult(executed, failed, bytesRead.getAsLong(), totalBytes,
+                System.nanoTime() - startNanos, finished, aborted, wasCancelled, errors);
+        }
+    }
+
+    private static String preview(String sql) {
+        String singleLine = sql.replaceAll("\\s+", " ");
+        return singleLine.length() > MAX_STATEMENT_PREVIEW
+            ? singleLine.substring(0, MAX_STATEMENT_PREVIEW) + "..." : singleLine;
+    }
+
+    private static final class ScriptStatement {
+        private final String sql;
+        private final int line;
+
+        ScriptStatement(String sql, int line) {
+            this.sql = sql;
+            this.line = line;
+        }
+    }
+
+    /**
+     * Receives progress while a script runs.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(ScriptResult progress);
+    }
+
+    /**
+     * A statement that failed.
+     */
+    public static class ScriptError {
+        private final int line;
+        private final String statement;
+        private final String message;
+
+        public ScriptError(int line, String statement, String message) {
+            this.line = line;
+            this.statement = statement;
+            this.message = message;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public String getStatement() {
+            return statement;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return "Line " + line + ": " + message;
+        }
+    }
+
+    /**
+     * Progress or final outcome of a script run.
+     */
+    public static class ScriptResult {
+        private final long statementsExecuted;
+        private final long statementsFailed;
+        private final long bytesRead;
+        private final long totalBytes;
+        private final long elapsedNanos;
+        private final boolean finished;
+        private final boolean aborted;
+        private final boolean cancelled;
+        private final List<ScriptError> errors;
+
+        public ScriptResult(long statementsExecuted, long statementsFailed, long bytesRead, long totalBytes,
+                            long elapsedNanos, boolean finished, boolean aborted, boolean cancelled,
+                            List<ScriptError> errors) {
+            this.statementsExecuted = statementsExecuted;
+            this.statementsFailed = statementsFailed;
+            this.bytesRead = bytesRead;
+            this.totalBytes = totalBytes;
+            this.elapsedNanos = elapsedNanos;
+            this.finished = finished;
+            this.aborted = aborted;
+            this.cancelled = cancelled;
+            this.errors = Collections.unmodifiableList(new ArrayList<>(errors));
+        }
+
+        /**
+         * Get the number of successful statements; in the final result only committed ones count.
+         */
+        public long getStatementsExecuted() {
+            return statementsExecuted;
+        }
+
+        public long getStatementsFailed() {
+            return statementsFailed;
+        }
+
+        /**
+         * Get the number of script bytes read so far, or -1 if unknown.
+         */
+        public long getBytesRead() {
+            return bytesRead;
+        }
+
+        /**
+         * Get the script size in bytes, or -1 if unknown.
+         */
+        public long getTotalBytes() {
+            return totalBytes;
+        }
+
+        public long getElapsedMs() {
+            return elapsedNanos / 1_000_000;
+        }
+
+        public double getStatementsPerSecond() {
+            return elapsedNanos > 0 ? (statementsExecuted + statementsFailed) * 1e9 / elapsedNanos : 0;
+        }
+
+        public boolean isFinished() {
+            return finished;
+        }
+
+        public boolean isAborted() {
+            return aborted;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public List<ScriptError> getErrors() {
+            return errors;
+        }
+
+        @Override
+        public String toString() {
+            String progress = totalBytes > 0 ? String.format(" (%d%%)", bytesRead * 100 / totalBytes) : "";
+            return String.format("%d statements, %d failed, %.0f stmts/s, %dms%s",
+                statementsExecuted, statementsFailed, getStatementsPerSecond(), getElapsedMs(), progress);
+        }
+    }
+}
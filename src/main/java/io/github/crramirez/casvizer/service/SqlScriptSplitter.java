@@ -0,0 +1,464 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Locale;
+
+/**
+ * Splits a SQL script into statements while reading it, so scripts of any size can be
+ * executed without loading them into memory.
+ * <p>
+ * The splitter understands the lexical rules that decide whether a semicolon ends a
+ * statement: quoted strings and identifiers, line and block comments, PostgreSQL
+ * dollar-quoted bodies and {@code BEGIN ATOMIC} blocks, the MySQL client
+ * {@code DELIMITER} command and SQLite trigger bodies. Comments before a statement are
+ * dropped; comments inside a statement are kept.
+ */
+public class SqlScriptSplitter implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Lexical rules of a SQL dialect.
+     */
+    public enum Syntax {
+        POSTGRES, MYSQL, SQLITE;
+
+        /**
+         * Get the syntax for a connection profile's database type.
+         *
+         * @param databaseType The database type, e.g. {@code "postgresql"}
+         * @return The matching syntax
+         * @throws IllegalArgumentException if the database type is not supported
+         */
+        public static Syntax forDatabaseType(String databaseType) {
+            if (databaseType == null) {
+                throw new IllegalArgumentException("Database type cannot be null");
+            }
+            
+            switch (databaseType.toLowerCase(Locale.ROOT)) {
+                case "postgres":
+                case "postgresql":
+                    return POSTGRES;
+                case "mysql":
+                    return MYSQL;
+                case "sqlite":
+                    return SQLITE;
+                default:
+                    throw new IllegalArgumentException("Unsupported database type: " + databaseType);
+            }
+        }
+    }
+
+    private final Reader reader;
+    private final Syntax syntax;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+    private int line = 1;
+    private int statementLine;
+    private String delimiter = ";";
+
+    // Per-statement state used to find the end of compound bodies
+    private final StringBuilder word = new StringBuilder();
+    private int wordCount;
+    private String firstWord;
+    private String previousWord;
+    private boolean triggerSeen;
+    private int blockDepth;
+
+    public SqlScriptSplitter(Reader reader, Syntax syntax) {
+        this.reader = reader;
+        this.syntax = syntax;
+    }
+
+    /**
+     * Read the next statement.
+     *
+     * @return The statement text without its delimiter, or null at the end of the script
+     * @throws IOException if reading the script fails
+     * @throws IllegalArgumentException if a {@code DELIMITER} command has no value
+     */
+    public String next() throws IOException {
+        StringBuilder statement = new StringBuilder();
+        resetStatementState();
+        
+        while (true) {
+            int c = read();
+            if (c < 0) {
+                break;
+            }
+            boolean started = statement.length() > 0;
+            
+            if (!started && Character.isWhitespace(c)) {
+                continue;
+            }
+            if (c == '-' && peek(0) == '-' || c == '#' && syntax == Syntax.MYSQL) {
+                endWord();
+                skipLineComment(started ? statement : null, (char) c);
+                continue;
+            }
+            if (c == '/' && peek(0) == '*') {
+                endWord();
+                // MySQL executes /*! ... */ comments, and mysqldump relies on them
+                boolean executable = syntax == Syntax.MYSQL && peek(1) == '!';
+                if (executable && !started) {
+                    statementLine = line;
+                }
+                skipBlockComment(started || executable ? statement : null);
+                continue;
+            }
+            if (!started) {
+                statementLine = line;
+                if (syntax == Syntax.MYSQL && (c == 'D' || c == 'd') && matchesKeyword("ELIMITER")) {
+                    readDelimiterCommand();
+                    continue;
+                }
+            }
+            
+            if (isDelimiterStart(c)) {
+                endWord();
+                if (blockDepth == 0) {
+                    skip(delimiter.length() - 1);
+                    String text = statement.toString().trim();
+                    if (text.isEmpty()) {
+                        continue;
+                    }
+                    return text;
+                }
+            }
+            
+            statement.append((char) c);
+            if (isWordChar(c)) {
+                word.append((char) c);
+                continue;
+            }
+            endWord();
+            switch (c) {
+                case '\'':
+                    readQuoted(statement, '\'', syntax == Syntax.MYSQL || isEscapeStringPrefix(statement));
+                    break;
+                case '"':
+                    readQuoted(statement, '"', syntax == Syntax.MYSQL);
+                    break;
+                case '`':
+                    if (syntax != Syntax.POSTGRES) {
+                        readQuoted(statement, '`', false);
+                    }
+                    break;
+                case '[':
+                    if (syntax == Syntax.SQLITE) {
+                        readQuoted(statement, ']', false);
+                    }
+                    break;
+                case '$':
+                    if (syntax == Syntax.POSTGRES
+                            && (statement.length() < 2 || !isWordChar(statement.charAt(statement.length() - 2)))) {
+                        readDollarQuoted(statement);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        
+        endWord();
+        String text = statement.toString().trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    /**
+     * Get the line on which the statement last returned by {@link #next()} starts.
+     *
+     * @return The one-based line number
+     */
+    public int getStatementLine() {
+        return statementLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void resetStatementState() {
+        word.setLength(0);
+        wordCount = 0;
+        firstWord = null;
+        previousWord = null;
+        triggerSeen = false;
+        blockDepth = 0;
+    }
+
+    /**
+     * Track keywords that open and close compound bodies in which semicolons do not end
+     * the statement: SQLite {@code CREATE TRIGGER ... BEGIN ... END} and PostgreSQL
+     * {@code BEGIN ATOMIC ... END}.
+     */
+    private void endWord() {
+        if (word.length() == 0) {
+            return;
+        }
+        String current = word.toString().toUpperCase(Locale.ROOT);
+        word.setLength(0);
+        wordCount++;
+        if (wordCount == 1) {
+            firstWord = current;
+        }
+        
+        if (blockDepth > 0) {
+            if (current.equals("CASE")) {
+                blockDepth++;
+            } else if (current.equals("END")) {
+                blockDepth--;
+            }
+        } else if ("CREATE".equals(firstWord)) {
+            if (syntax == Syntax.SQLITE) {
+                if (current.equals("TRIGGER") && wordCount <= 4) {
+                    triggerSeen = true;
+                } else if (current.equals("BEGIN") && triggerSeen) {
+                    blockDepth = 1;
+                }
+            } else if (syntax == Syntax.POSTGRES && current.equals("ATOMIC") && "BEGIN".equals(previousWord)) {
+                blockDepth = 1;
+            }
+        }
+        previousWord = current;
+    }
+
+    private boolean isDelimiterStart(int c) throws IOException {
+        if (c != delimiter.charAt(0)) {
+            return false;
+        }
+        for (int i = 1; i < delimiter.length(); i++) {
+            if (peek(i - 1) != delimiter.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A PostgreSQL {@code E'...'} string allows backslash escapes.
+     */
+    private boolean isEscapeStringPrefix(StringBuilder statement) {
+        int quote = statement.length() - 1;
+        if (syntax != Syntax.POSTGRES || quote < 1) {
+            return false;
+        }
+        char prefix = statement.charAt(quote - 1);
+        return (prefix == 'E' || prefix == 'e') && (quote < 2 || !isWordChar(statement.charAt(quote - 2)));
+    }
+
+    private void readQuoted(StringBuilder statement, char close, boolean backslashEscapes) throws IOException {
+        while (true) {
+            int c = read();
+            if (c < 0) {
+                return;
+            }
+            statement.append((char) c);
+            if (backslashEscapes && c == '\\') {
+                int escaped = read();
+                if (escaped >= 0) {
+                    statement.append((char) escaped);
+                }
+            } else if (c == close) {
+                // A doubled closing quote is an escaped quote, except for SQLite's [identifier]
+                if (close != ']' && peek(0) == close) {
+                    statement.append((char) read());
+                } else {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Read a {@code $tag$ ... $tag$} body. The opening {@code $} has been consumed;
+     * a {@code $} that does not start a valid tag (e.g. a {@code $1} parameter) is left alone.
+     */
+    private void readDollarQuoted(StringBuilder statement) throws IOException {
+        int length = 0;
+        while (true) {
+            int c = peek(length);
+            if (c == '$') {
+                break;
+            }
+            if (c < 0 || !isWordChar(c) || (length == 0 && Character.isDigit(c))) {
+                return;
+            }
+            length++;
+        }
+        StringBuilder tag = new StringBuilder("$");
+        for (int i = 0; i <= length; i++) {
+            tag.append((char) read());
+        }
+        statement.append(tag, 1, tag.length());
+        
+        String closing = tag.toString();
+        int matched = 0;
+        while (matched < closing.length()) {
+            int c = read();
+            if (c < 0) {
+                return;
+            }
+            statement.append((char) c);
+            if (c == closing.charAt(matched)) {
+                matched++;
+            } else {
+                matched = c == '$' ? 1 : 0;
+            }
+        }
+    }
+
+    private void skipLineComment(StringBuilder statement, char first) throws IOException {
+        if (statement != null) {
+            statement.append(first);
+        }
+        while (true) {
+            int c = read();
+            if (c < 0) {
+                return;
+            }
+            if (statement != null) {
+                statement.append((char) c);
+            }
+            if (c == '\n') {
+                return;
+            }
+        }
+    }
+
+    private void skipBlockComment(StringBuilder statement) throws IOException {
+        read();
+        if (statement != null) {
+            statement.append("/*");
+        }
+        // PostgreSQL block comments nest; other dialects end at the first */
+        int depth = 1;
+        int previous = -1;
+        while (true) {
+            int c = read();
+            if (c < 0) {
+                return;
+            }
+            if (statement != null) {
+                statement.append((char) c);
+            }
+            if (previous == '/' && c == '*') {
+                depth++;
+                c = -1;
+            } else if (previous == '*' && c == '/') {
+                depth--;
+                if (depth == 0 || syntax != Syntax.POSTGRES) {
+                    return;
+                }
+                c = -1;
+            }
+            previous = c;
+        }
+    }
+
+    private boolean matchesKeyword(String rest) throws IOException {
+        for (int i = 0; i < rest.length(); i++) {
+            int c = peek(i);
+            if (c < 0 || Character.toUpperCase(c) != rest.charAt(i)) {
+                return false;
+            }
+        }
+        int after = peek(rest.length());
+        return after == ' ' || after == '\t';
+    }
+
+    private void readDelimiterCommand() throws IOException {
+        skip("ELIMITER".length());
+        StringBuilder value = new StringBuilder();
+        while (true) {
+            int c = read();
+            if (c < 0 || c == '\n') {
+                break;
+            }
+            value.append((char) c);
+        }
+        String newDelimiter = value.toString().trim();
+        if (newDelimiter.isEmpty()) {
+            throw new IllegalArgumentException("DELIMITER without a value at line " + statementLine);
+        }
+        delimiter = newDelimiter;
+    }
+
+    private static boolean isWordChar(int c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    private int read() throws IOException {
+        if (position >= limit && !fill(1)) {
+            return -1;
+        }
+        char c = buffer[position++];
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    private void skip(int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            read();
+        }
+    }
+
+    /**
+     * Look ahead without consuming input.
+     *
+     * @param offset Number of characters past the next one to look at
+     * @return The character, or -1 if the input ends first
+     */
+    private int peek(int offset) throws IOException {
+        if (position + offset >= limit && !fill(offset + 1)) {
+            return -1;
+        }
+        return buffer[position + offset];
+    }
+
+    /**
+     * Make at least {@code needed} unread characters available in the buffer.
+     */
+    private boolean fill(int needed) throws IOException {
+        if (needed > buffer.length) {
+            return false;
+        }
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+        }
+        while (limit < needed && !endOfInput) {
+            int read = reader.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                endOfInput = true;
+            } else {
+                limit += read;
+            }
+        }
+        return limit >= needed;
+    }
+}
@@ -0,0 +1,421 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Utility methods for inspecting SQL text without a full parser.
+ * <p>
+ * SQL is split into a flat list of tokens (words, quoted identifiers, literals and
+ * punctuation) with comments dropped. This is enough to normalize statements for use
+ * as cache keys and to find the tables a statement reads or writes. Results are
+ * best-effort: callers must treat unknown statements conservatively.
+ */
+public class SqlUtils {
+
+    /**
+     * Words that make a statement unsafe to serve from a result cache.
+     */
+    private static final Set<String> WRITE_KEYWORDS = Set.of(
+        "INSERT", "UPDATE", "DELETE", "MERGE", "REPLACE", "UPSERT", "INTO", "CREATE", "DROP",
+        "ALTER", "TRUNCATE", "GRANT", "REVOKE", "LOCK", "CALL", "NEXTVAL", "SETVAL");
+
+    /**
+     * Words that are directly followed by a table name.
+     */
+    private static final Set<String> TABLE_KEYWORDS = Set.of(
+        "FROM", "JOIN", "UPDATE", "INTO", "TABLE", "TRUNCATE");
+
+    /**
+     * Words that may appear between a table keyword and the table name.
+     */
+    private static final Set<String> TABLE_MODIFIERS = Set.of(
+        "IF", "NOT", "EXISTS", "ONLY", "LATERAL", "TEMPORARY", "TEMP");
+
+    /**
+     * Tokens substituted by {@link #fingerprint(String)} for constants and collapsed lists.
+     */
+    private static final Token PLACEHOLDER = new Token(TokenType.SYMBOL, "?");
+    private static final Token ELLIPSIS = new Token(TokenType.SYMBOL, "...");
+
+    private SqlUtils() {
+        // Utility class should not be instantiated
+    }
+
+    /**
+     * Normalize SQL text for comparison: comments are removed, whitespace is collapsed
+     * to single spaces and trailing semicolons are dropped. Everything else is kept
+     * verbatim, since identifier case can be significant (e.g. MySQL table names).
+     *
+     * @param sql The SQL text
+     * @return The normalized SQL text
+     */
+    public static String normalize(String sql) {
+        StringBuilder normalized = new StringBuilder(sql.length());
+        List<Token> tokens = tokenize(sql);
+        int end = tokens.size();
+        while (end > 0 && tokens.get(end - 1).text.equals(";")) {
+            end--;
+        }
+        for (int i = 0; i < end; i++) {
+            Token token = tokens.get(i);
+            if (i > 0 && needsSpace(tokens.get(i - 1), token)) {
+                normalized.append(' ');
+            }
+            normalized.append(token.text);
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Reduce a statement to a fingerprint shared by all executions that differ only in
+     * their constants, in the spirit of {@code pg_stat_statements}: comments are dropped,
+     * literals, numbers and positional parameters become {@code ?}, unquoted words are
+     * lower-cased, and lists of placeholders such as {@code IN (1, 2, 3)} or the rows of a
+     * multi-row {@code VALUES} collapse to {@code (...)} regardless of their length.
+     *
+     * @param sql The SQL text
+     * @return The fingerprint text
+     */
+    public static String fingerprint(String sql) {
+        List<Token> tokens = tokenize(sql);
+        List<Token> parts = new ArrayList<>(tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            Token token = tokens.get(i);
+            if (token.type == TokenType.LITERAL || token.type == TokenType.NUMBER) {
+                parts.add(PLACEHOLDER);
+            } else if (token.text.equals("$") && i + 1 < tokens.size() && tokens.get(i + 1).type == TokenType.NUMBER) {
+                parts.add(PLACEHOLDER);
+                i++;
+            } else if (token.type == TokenType.WORD) {
+                parts.add(new Token(TokenType.WORD, token.text.toLowerCase(Locale.ROOT)));
+            } else {
+                parts.add(token);
+            }
+            if (token.text.equals(")")) {
+                collapseList(parts);
+            }
+        }
+        int end = parts.size();
+        while (end > 0 && parts.get(end - 1).text.equals(";")) {
+            end--;
+        }
+        StringBuilder fingerprint = new StringBuilder();
+        for (int i = 0; i < end; i++) {
+            if (i > 0 && needsSpace(parts.get(i - 1), parts.get(i))) {
+                fingerprint.append(' ');
+            }
+            fingerprint.append(parts.get(i).text);
+        }
+        return fingerprint.toString();
+    }
+
+    /**
+     * Collapse a just closed parenthesized list of placeholders into {@code (...)}, and
+     * drop it if it repeats the list before it, as in multi-row {@code VALUES}.
+     */
+    private static void collapseList(List<Token> parts) {
+        int close = parts.size() - 1;
+        int open = close - 1;
+        while (open >= 0 && (parts.get(open).text.equals("?") || parts.get(open).text.equals(",")
+                || parts.get(open) == ELLIPSIS)) {
+            open--;
+        }
+        if (open < 0 || open == close - 1 || !parts.get(open).text.equals("(")) {
+            return;
+        }
+        parts.subList(open + 1, parts.size()).clear();
+        parts.add(ELLIPSIS);
+        parts.add(new Token(TokenType.SYMBOL, ")"));
+        int size = parts.size();
+        if (size >= 7 && parts.get(size - 4).text.equals(",") && parts.get(size - 5).text.equals(")")
+                && parts.get(size - 6) == ELLIPSIS && parts.get(size - 7).text.equals("(")) {
+            parts.subList(size - 4, size).clear();
+        }
+    }
+
+    /**
+     * Check whether a statement only reads data, so its result may be reused.
+     * Only SELECT, WITH, VALUES and TABLE statements without any data-changing
+     * keyword (including SELECT ... INTO and FOR UPDATE) qualify.
+     *
+     * @param sql The SQL text
+     * @return true if the statement is read-only
+     */
+    public static boolean isReadOnlyQuery(String sql) {
+        List<Token> tokens = tokenize(sql);
+        if (tokens.isEmpty()) {
+            return false;
+        }
+        String first = tokens.get(0).upper();
+        if (!first.equals("SELECT") && !first.equals("WITH") && !first.equals("VALUES") && !first.equals("TABLE")) {
+            return false;
+        }
+        for (Token token : tokens) {
+            if (token.type == TokenType.WORD && WRITE_KEYWORDS.contains(token.upper())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Find the names of the tables a statement refers to. Schema qualifiers and
+     * identifier quotes are removed and names are lower-cased, so the result is
+     * suitable for matching rather than for building SQL.
+     *
+     * @param sql The SQL text
+     * @return Set of referenced table names, empty if none could be found
+     */
+    public static Set<String> referencedTables(String sql) {
+        Set<String> tables = new LinkedHashSet<>();
+        List<Token> tokens = tokenize(sql);
+        for (int i = 0; i < tokens.size(); i++) {
+            Token token = tokens.get(i);
+            if (token.type != TokenType.WORD || !TABLE_KEYWORDS.contains(token.upper())) {
+                continue;
+            }
+            boolean fromClause = token.upper().equals("FROM");
+            int next = i + 1;
+            while (next < tokens.size()) {
+                while (next < tokens.size() && tokens.get(next).type == TokenType.WORD
+                        && TABLE_MODIFIERS.contains(tokens.get(next).upper())) {
+                    next++;
+                }
+                next = readTableName(tokens, next, tables);
+                // FROM a, b lists several tables; skip an optional alias before the comma
+                if (!fromClause) {
+                    break;
+                }
+                if (next < tokens.size() && tokens.get(next).upper().equals("AS")) {
+                    next++;
+                }
+                if (next < tokens.size() && isIdentifier(tokens.get(next))
+                        && !isClauseKeyword(tokens.get(next))) {
+                    next++;
+                }
+                if (next < tokens.size() && tokens.get(next).text.equals(",")) {
+                    next++;
+                } else {
+                    break;
+                }
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * Reads a possibly qualified table name starting at the given token.
+     *
+     * @return Index of the first token after the name
+     */
+    private static int readTableName(List<Token> tokens, int start, Set<String> tables) {
+        if (start >= tokens.size() || !isIdentifier(tokens.get(start)) || isClauseKeyword(tokens.get(start))) {
+            return start;
+        }
+        String name = unquote(tokens.get(start));
+        int next = start + 1;
+        while (next + 1 < tokens.size() && tokens.get(next).text.equals(".") && isIdentifier(tokens.get(next + 1))) {
+            name = unquote(tokens.get(next + 1));
+            next += 2;
+        }
+        tables.add(name.toLowerCase(Locale.ROOT));
+        return next;
+    }
+
+    private static boolean isIdentifier(Token token) {
+        return token.type == TokenType.WORD || token.type == TokenType.QUOTED_IDENTIFIER;
+    }
+
+    private static boolean isClauseKeyword(Token token) {
+        if (token.type != TokenType.WORD) {
+            return false;
+        }
+        switch (token.upper()) {
+            case "SELECT":
+            case "WHERE":
+            case "JOIN":
+            case "INNER":
+            case "LEFT":
+            case "RIGHT":
+            case "FULL":
+            case "CROSS":
+            case "NATURAL":
+            case "ON":
+            case "USING":
+            case "GROUP":
+            case "ORDER":
+            case "HAVING":
+            case "LIMIT":
+            case "OFFSET":
+            case "UNION":
+            case "EXCEPT":
+            case "INTERSECT":
+            case "WINDOW":
+            case "FOR":
+            case "SET":
+            case "VALUES":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static String unquote(Token token) {
+        if (token.type != TokenType.QUOTED_IDENTIFIER) {
+            return token.text;
+        }
+        String text = token.text;
+        char quote = text.charAt(0);
+        char close = quote == '[' ? ']' : quote;
+        String inner = text.substring(1, text.length() - 1);
+        return inner.replace(String.valueOf(close) + close, String.valueOf(close));
+    }
+
+    private static boolean needsSpace(Token previous, Token current) {
+        if (current.text.equals(",") || current.text.equals(")") || current.text.equals(".")
+                || current.text.equals(";")) {
+            return false;
+        }
+        return !previous.text.equals("(") && !previous.text.equals(".");
+    }
+
+    /**
+     * Split SQL text into tokens, dropping whitespace and comments.
+     */
+    static List<Token> tokenize(String sql) {
+        List<Token> tokens = new ArrayList<>();
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                i = skipLineComment(sql, i);
+            } else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+            } else if (c == '\'') {
+                int end = skipQuoted(sql, i, '\'');
+                tokens.add(new Token(TokenType.LITERAL, sql.substring(i, end)));
+                i = end;
+            } else if (c == '"' || c == '`') {
+                int end = skipQuoted(sql, i, c);
+                tokens.add(new Token(TokenType.QUOTED_IDENTIFIER, sql.substring(i, end)));
+                i = end;
+            } else if (c == '$' && dollarTagEnd(sql, i) > 0) {
+                int tagEnd = dollarTagEnd(sql, i);
+                String tag = sql.substring(i, tagEnd);
+                int close = sql.indexOf(tag, tagEnd);
+                int end = close < 0 ? length : close + tag.length();
+                tokens.add(new Token(TokenType.LITERAL, sql.substring(i, end)));
+                i = end;
+            } else if (Character.isDigit(c) || (c == '.' && i + 1 < length && Character.isDigit(sql.charAt(i + 1)))) {
+                int end = i + 1;
+                while (end < length && (Character.isLetterOrDigit(sql.charAt(end)) || sql.charAt(end) == '.')) {
+                    end++;
+                }
+                tokens.add(new Token(TokenType.NUMBER, sql.substring(i, end)));
+                i = end;
+            } else if (Character.isLetter(c) || c == '_') {
+                int end = i + 1;
+                while (end < length && (Character.isLetterOrDigit(sql.charAt(end)) || sql.charAt(end) == '_'
+                        || sql.charAt(end) == '$')) {
+                    end++;
+                }
+                tokens.add(new Token(TokenType.WORD, sql.substring(i, end)));
+                i = end;
+            } else {
+                tokens.add(new Token(TokenType.SYMBOL, String.valueOf(c)));
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    private static int skipLineComment(String sql, int start) {
+        int end = sql.indexOf('\n', start);
+        return end < 0 ? sql.length() : end + 1;
+    }
+
+    /**
+     * Returns the index just past a quoted section, treating a doubled quote as an escape.
+     */
+    private static int skipQuoted(String sql, int start, char quote) {
+        int i = start + 1;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == quote) {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return sql.length();
+    }
+
+    /**
+     * If a PostgreSQL dollar-quote tag ({@code $$} or {@code $tag$}) starts at the given
+     * index, returns the index just past it; otherwise returns -1.
+     */
+    private static int dollarTagEnd(String sql, int start) {
+        int i = start + 1;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == '$') {
+                return i + 1;
+            }
+            if (!Character.isLetterOrDigit(c) && c != '_') {
+                return -1;
+            }
+            if (i == start + 1 && Character.isDigit(c)) {
+                // $1 is a positional parameter, not a tag
+                return -1;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    enum TokenType {
+        WORD, QUOTED_IDENTIFIER, LITERAL, NUMBER, SYMBOL
+    }
+
+    static final class Token {
+        final TokenType type;
+        final String text;
+
+        Token(TokenType type, String text) {
+            this.type = type;
+            this.text = text;
+        }
+
+        String upper() {
+            return type == TokenType.WORD ? text.toUpperCase(Locale.ROOT) : text;
+        }
+    }
+}
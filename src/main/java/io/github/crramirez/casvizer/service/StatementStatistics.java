@@ -0,0 +1,256 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.service;
+
+import io.github.crramirez.casvizer.model.QueryResult;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client-side statement statistics in the spirit of {@code pg_stat_statements}: calls,
+ * time and rows of every statement run through {@link QueryService}, aggregated per
+ * connection profile and {@linkplain SqlUtils#fingerprint(String) fingerprint}, so runs
+ * that only differ in their literals or IN-list lengths count as one statement.
+ * <p>
+ * The number of tracked statements is bounded. When a new statement arrives while the
+ * limit is reached, the least called 5% are dropped first, as PostgreSQL does. Each
+ * tracked statement costs about 16 KB, mostly for its latency histogram.
+ */
+public class StatementStatistics {
+
+    public static final int DEFAULT_MAX_STATEMENTS = 500;
+
+    private static final double DEALLOCATE_FRACTION = 0.05;
+    private static final int EXAMPLE_MAX_LENGTH = 4000;
+
+    private final int maxStatements;
+    private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+    private final AtomicLong deallocations = new AtomicLong();
+
+    public StatementStatistics() {
+        this(DEFAULT_MAX_STATEMENTS);
+    }
+
+    public StatementStatistics(int maxStatements) {
+        if (maxStatements <= 0) {
+            throw new IllegalArgumentException("Maximum number of statements must be a positive integer");
+        }
+        this.maxStatements = maxStatements;
+    }
+
+    /**
+     * Record one execution of a statement.
+     *
+     * @param profileName The connection profile it ran on, may be null
+     * @param fingerprint The statement fingerprint
+     * @param sql The statement as executed, kept as an example of the fingerprint
+     * @param nanos Time the execution took
+     * @param rows Rows returned or affected
+     * @param failed Whether the execution failed; failures are counted apart from the times
+     */
+    public void record(String profileName, String fingerprint, String sql, long nanos, long rows, boolean failed) {
+        String key = profileName + "\n" + fingerprint;
+        StatementStats stats = statements.get(key);
+        if (stats == null) {
+            stats = add(key, profileName, fingerprint, sql);
+        }
+        if (failed) {
+            stats.histogram.recordError();
+        } else {
+            stats.histogram.record(nanos, rows);
+        }
+        stats.lastSeen = System.currentTimeMillis();
+    }
+
+    private synchronized StatementStats add(String key, String profileName, String fingerprint, String sql) {
+        StatementStats stats = statements.get(key);
+        if (stats != null) {
+            return stats;
+        }
+        if (statements.size() >= maxStatements) {
+            deallocate();
+        }
+        String example = (sql.length() > EXAMPLE_MAX_LENGTH) ? sql.substring(0, EXAMPLE_MAX_LENGTH) + "..." : sql;
+        stats = new StatementStats(profileName, fingerprint, example);
+        statements.put(key, stats);
+        return stats;
+    }
+
+    /**
+     * Drop the least called statements, oldest first among equals.
+     */
+    private void deallocate() {
+        // Calls are summed from the histogram buckets, so read them once before sorting
+        Map<String, Long> calls = new HashMap<>();
+        for (Map.Entry<String, StatementStats> entry : statements.entrySet()) {
+            calls.put(entry.getKey(), entry.getValue().getCalls());
+        }
+        List<String> keys = new ArrayList<>(calls.keySet());
+        keys.sort(Comparator.comparingLong((String key) -> calls.get(key))
+            .thenComparingLong(key -> statements.get(key).getLastSeen()));
+        int count = Math.min(keys.size(), Math.max(1, (int) (maxStatements * DEALLOCATE_FRACTION)));
+        for (int i = 0; i < count; i++) {
+            statements.remove(keys.get(i));
+        }
+        deallocations.addAndGet(count);
+    }
+
+    /**
+     * Get the tracked statements, those with the most total time first.
+     *
+     * @return A snapshot of the statements
+     */
+    public List<StatementStats> getStatements() {
+        List<StatementStats> list = new ArrayList<>(statements.values());
+        list.sort(Comparator.comparingLong(StatementStats::getTotalNanos).reversed());
+        return list;
+    }
+
+    /**
+     * Get the number of statements dropped to stay within the limit. A high value means
+     * the limit is too low for the workload and the statistics miss statements.
+     *
+     * @return The number of dropped statements
+     */
+    public long getDeallocations() {
+        return deallocations.get();
+    }
+
+    public int getMaxStatements() {
+        return maxStatements;
+    }
+
+    public synchronized void reset() {
+        statements.clear();
+        deallocations.set(0);
+    }
+
+    /**
+     * Describe the tracked statements as a table, those with the most total time first.
+     *
+     * @return The statistics report
+     */
+    public QueryResult toQueryResult() {
+        List<String> columnNames = List.of("Statement", "Profile", "Calls", "Errors", "Total ms", "Mean ms",
+            "p95 ms", "Max ms", "Rows", "Rows/Call", "% Time");
+        List<StatementStats> list = getStatements();
+        long totalNanos = 0;
+        for (StatementStats stats : list) {
+            totalNanos += stats.getTotalNanos();
+        }
+        List<List<Object>> rows = new ArrayList<>();
+        for (StatementStats stats : list) {
+            long calls = stats.getCalls();
+            rows.add(List.of(
+                stats.getFingerprint(),
+                (stats.getProfileName() != null) ? stats.getProfileName() : "",
+                calls,
+                stats.getErrors(),
+                formatMs(stats.getTotalNanos()),
+                formatMs(stats.getMeanNanos()),
+                formatMs(stats.getPercentileNanos(95)),
+                formatMs(stats.getMaxNanos()),
+                stats.getRows(),
+                String.format(Locale.ROOT, "%.1f", (calls > 0) ? (double) stats.getRows() / calls : 0),
+                String.format(Locale.ROOT, "%.1f", (totalNanos > 0) ? 100.0 * stats.getTotalNanos() / totalNanos : 0)));
+        }
+        return new QueryResult(columnNames, rows, 0);
+    }
+
+    private static String formatMs(double nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Aggregated executions of one statement fingerprint on one connection profile.
+     */
+    public static class StatementStats {
+        private final String profileName;
+        private final String fingerprint;
+        private final String example;
+        private final long firstSeen;
+        private volatile long lastSeen;
+        private final LatencyHistogram histogram = new LatencyHistogram("rows");
+
+        StatementStats(String profileName, String fingerprint, String example) {
+            this.profileName = profileName;
+            this.fingerprint = fingerprint;
+            this.example = example;
+            this.firstSeen = System.currentTimeMillis();
+            this.lastSeen = firstSeen;
+        }
+
+        public String getProfileName() {
+            return profileName;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        /**
+         * Get the statement text of the first execution, with its literals.
+         */
+        public String getExample() {
+            return example;
+        }
+
+        public long getFirstSeen() {
+            return firstSeen;
+        }
+
+        public long getLastSeen() {
+            return lastSeen;
+        }
+
+        public long getCalls() {
+            return histogram.getCount();
+        }
+
+        public long getErrors() {
+            return histogram.getErrors();
+        }
+
+        public long getTotalNanos() {
+            return histogram.getTotalNanos();
+        }
+
+        public double getMeanNanos() {
+            return histogram.getMeanNanos();
+        }
+
+        public long getMaxNanos() {
+            return histogram.getMaxNanos();
+        }
+
+        public long getPercentileNanos(double percentile) {
+            return histogram.getPercentileNanos(percentile);
+        }
+
+        public long getRows() {
+            return histogram.getAmount();
+        }
+    }
+}
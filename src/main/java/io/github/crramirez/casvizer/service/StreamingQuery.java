@@ -0,0 +1,120 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.service;
+
+import io.github.crramirez.casvizer.dialect.Dialect;
+import io.github.crramirez.casvizer.dialect.DialectFactory;
+import io.github.crramirez.casvizer.model.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * A query whose rows are streamed from a server-side cursor instead of being buffered
+ * by the driver, so arbitrarily large results can be read in constant memory.
+ * <p>
+ * Autocommit is switched off while the query is open (PostgreSQL needs this to use a
+ * cursor) and restored on {@link #close()}.
+ * <p>
+ * <strong>Note:</strong> MySQL does not allow other statements on the same connection
+ * until a streamed result has been fully read or closed.
+ */
+public class StreamingQuery implements AutoCloseable {
+    private final Connection connection;
+    private final boolean restoreAutoCommit;
+    private Statement statement;
+    private ResultSet resultSet;
+
+    public StreamingQuery(DatabaseConnection dbConnection, String query) throws SQLException {
+        Dialect dialect = DialectFactory.getDialect(dbConnection.getDatabaseType());
+        this.connection = dbConnection.getConnection();
+        this.restoreAutoCommit = connection.getAutoCommit();
+
+        try {
+            if (restoreAutoCommit) {
+                connection.setAutoCommit(false);
+            }
+            statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(dialect.getStreamingFetchSize());
+            resultSet = statement.executeQuery(query);
+        } catch (SQLException e) {
+            try {
+                close();
+            } catch (SQLException closeException) {
+                e.addSuppressed(closeException);
+            }
+            throw e;
+        }
+    }
+
+    public ResultSet getResultSet() {
+        return resultSet;
+    }
+
+    /**
+     * Cancel the query on the server, e.g. from another thread.
+     *
+     * @throws SQLException if the driver fails to cancel
+     */
+    public void cancel() throws SQLException {
+        Statement current = statement;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        SQLException firstException = null;
+        try {
+            if (resultSet != null) {
+                resultSet.close();
+            }
+        } catch (SQLException e) {
+            firstException = e;
+        }
+        try {
+            if (statement != null) {
+                statement.close();
+            }
+        } catch (SQLException e) {
+            firstException = addException(firstException, e);
+        }
+        try {
+            if (restoreAutoCommit && !connection.isClosed()) {
+                // Ends the read-only transaction opened for the cursor
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            firstException = addException(firstException, e);
+        }
+        if (firstException != null) {
+            throw firstException;
+        }
+    }
+
+    private static SQLException addException(SQLException first, SQLException next) {
+        if (first == null) {
+            return next;
+        }
+        first.addSuppressed(next);
+        return first;
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.service;
+
+import io.github.crramirez.casvizer.dialect.Dialect;
+import io.github.crramirez.casvizer.dialect.DialectFactory;
+import io.github.crramirez.casvizer.model.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Writes rows into a table using batched prepared inserts.
+ * <p>
+ * Rows are added to a JDBC batch and sent every {@code batchSize} rows, committing after
+ * each batch, so memory use stays constant regardless of how many rows are written.
+ * Autocommit is disabled while the writer is open and restored by {@link #close()}, which
+ * also rolls back a batch that was not flushed.
+ */
+public class TableWriter implements AutoCloseable {
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private final DatabaseConnection target;
+    private final Dialect dialect;
+    private final String quotedTableName;
+    private final List<Column> columns;
+    private final int batchSize;
+    private final boolean sqliteTarget;
+    private final Connection connection;
+    private final boolean restoreAutoCommit;
+    private PreparedStatement insertStatement;
+    private int pendingRows;
+    private long rowsWritten;
+    private long batches;
+    private long writeNanos;
+
+    public TableWriter(DatabaseConnection target, String tableName, List<Column> columns, int batchSize)
+            throws SQLException {
+        this(target, null, tableName, columns, batchSize);
+    }
+
+    /**
+     * @param target The connection to write to
+     * @param schema The schema of the table (null or empty for the default schema)
+     * @param tableName The table name
+     * @param columns The columns to write, in value order
+     * @param batchSize Rows per batch and per commit
+     * @throws SQLException if autocommit cannot be turned off
+     */
+    public TableWriter(DatabaseConnection target, String schema, String tableName, List<Column> columns,
+                       int batchSize) throws SQLException {
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("At least one column is required");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be a positive integer");
+        }
+        this.target = target;
+        this.dialect = DialectFactory.getDialect(target.getDatabaseType());
+        this.quotedTableName = (schema == null || schema.isEmpty())
+            ? dialect.quoteIdentifier(tableName)
+            : dialect.quoteIdentifier(schema) + "." + dialect.quoteIdentifier(tableName);
+        this.columns = columns;
+        this.batchSize = batchSize;
+        this.sqliteTarget = target.getDatabaseType().equalsIgnoreCase("sqlite");
+        this.connection = target.getConnection();
+        this.restoreAutoCommit = connection.getAutoCommit();
+        if (restoreAutoCommit) {
+            connection.setAutoCommit(false);
+        }
+    }
+
+    /**
+     * Create the target table with column types mapped through the target dialect.
+     *
+     * @param replace Whether to drop an existing table of the same name first
+     * @throws SQLException if the table cannot be created
+     */
+    public void createTable(boolean replace) throws SQLException {
+        StringBuilder ddl = new StringBuilder("CREATE TABLE ");
+        ddl.append(quotedTableName).append(" (");
+        for (int i = 0; i < columns.size(); i++) {
+            Column column = columns.get(i);
+            if (i > 0) {
+                ddl.append(", ");
+            }
+            ddl.append(dialect.quoteIdentifier(column.getName())).append(' ')
+               .append(dialect.getColumnTypeName(column.getSqlType(), column.getPrecision(), column.getScale()));
+        }
+        ddl.append(")");
+
+        try (Statement stmt = connection.createStatement()) {
+            if (replace) {
+                stmt.executeUpdate("DROP TABLE IF EXISTS " + quotedTableName);
+            }
+            stmt.executeUpdate(ddl.toString());
+        }
+        connection.commit();
+    }
+
+    /**
+     * Add a row to the current batch, sending the batch once it is full.
+     *
+     * @param values The column values, in column order
+     * @throws SQLException if the insert fails
+     */
+    public void write(Object[] values) throws SQLException {
+        if (insertStatement == null) {
+            insertStatement = connection.prepareStatement(buildInsert());
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            insertStatement.setObject(i + 1, convertValue(values[i]));
+        }
+        insertStatement.addBatch();
+        pendingRows++;
+        if (pendingRows >= batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Send the pending batch and commit it.
+     *
+     * @throws SQLException if the batch fails
+     */
+    public void flush() throws SQLException {
+        if (pendingRows == 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        insertStatement.executeBatch();
+        connection.commit();
+        writeNanos += System.nanoTime() - start;
+        rowsWritten += pendingRows;
+        pendingRows = 0;
+        batches++;
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    public long getBatches() {
+        return batches;
+    }
+
+    /**
+     * Get the total time spent sending batches and committing them.
+     *
+     * @return Elapsed nanoseconds
+     */
+    public long getWriteNanos() {
+        return writeNanos;
+    }
+
+    public DatabaseConnection getTarget() {
+        return target;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        SQLException firstException = null;
+        try {
+            if (pendingRows > 0) {
+                connection.rollback();
+                pendingRows = 0;
+            }
+        } catch (SQLException e) {
+            firstException = e;
+        }
+        try {
+            if (insertStatement != null) {
+                insertStatement.close();
+            }
+        } catch (SQLException e) {
+            if (firstException == null) {
+                firstException = e;
+            } else {
+                firstException.addSuppressed(e);
+            }
+        }
+        try {
+            if (restoreAutoCommit && !connection.isClosed()) {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            if (firstException == null) {
+                firstException = e;
+            } else {
+                firstException.addSuppressed(e);
+            }
+        }
+        if (firstException != null) {
+            throw firstException;
+        }
+    }
+
+    private String buildInsert() {
+        StringBuilder sql = new StringBuilder("INSERT INTO ");
+        sql.append(quotedTableName).append(" (");
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(dialect.quoteIdentifier(columns.get(i).getName()));
+        }
+        sql.append(") VALUES (");
+        for (int i = 0; i < columns.size(); i++) {
+            sql.append(i > 0 ? ", ?" : "?");
+        }
+        sql.append(")");
+        return sql.toString();
+    }
+
+    /**
+     * The SQLite driver only binds basic Java types and stores dates as epoch milliseconds
+     * by default. Other values (dates, decimals, UUIDs, intervals, arrays, ...) are stored
+     * as their text form so they stay readable.
+     */
+    private Object convertValue(Object value) {
+        if (!sqliteTarget || value == null) {
+            return value;
+        }
+        if (value instanceof String || value instanceof Boolean || value instanceof byte[]
+                || value instanceof Long || value instanceof Integer || value instanceof Short
+                || value instanceof Byte || value instanceof Double || value instanceof Float) {
+            return value;
+        }
+        return value.toString();
+    }
+
+    /**
+     * Describes a column of the table being written.
+     */
+    public static class Column {
+        private final String name;
+        private final int sqlType;
+        private final int precision;
+        private final int scale;
+
+        public Column(String name, int sqlType, int precision, int scale) {
+            this.name = name;
+            this.sqlType = sqlType;
+            this.precision = precision;
+            this.scale = scale;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getSqlType() {
+            return sqlType;
+        }
+
+        public int getPrecision() {
+            return precision;
+        }
+
+        public int getScale() {
+            return scale;
+        }
+
+        /**
+         * Describe the columns of a result set. Duplicate labels, as produced by joins,
+         * get a numeric suffix so they can be used as column names.
+         *
+         * @param metaData The result set metadata
+         * @return The column descriptions in result order
+         * @throws SQLException if the metadata cannot be read
+         */
+        public static List<Column> fromMetaData(ResultSetMetaData metaData) throws SQLException {
+            List<Column> columns = new ArrayList<>();
+            Set<String> used = new HashSet<>();
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                String name = metaData.getColumnLabel(i);
+                if (name == null || name.isEmpty()) {
+                    name = "column" + i;
+                }
+                String unique = name;
+                for (int suffix = 2; !used.add(unique.toLowerCase(Locale.ROOT)); suffix++) {
+                    unique = name + "_" + suffix;
+                }
+                columns.add(new Column(unique, metaData.getColumnType(i),
+                    metaData.getPrecision(i), metaData.getScale(i)));
+            }
+            return columns;
+        }
+    }
+}
@@ -0,0 +1,826 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.service;
+
+import io.github.crramirez.casvizer.model.ConnectionProfile;
+import io.github.crramirez.casvizer.model.DatabaseConnection;
+import io.github.crramirez.casvizer.model.QueryResult;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a captured workload against a connection profile at a chosen concurrency.
+ * <p>
+ * The log is either a SQL file, split like a script, or a CSV file of timestamped
+ * statements. It is streamed from the calling thread through a bounded queue to
+ * {@code workers} virtual threads, each with its own connection, which execute the
+ * statements and read their results to the end. When timing is honored, each statement
+ * waits until its original offset from the first one (divided by the speed factor);
+ * a statement that could not start on time because every worker was busy is counted
+ * as late, which means the workload needs more workers than were given. Otherwise
+ * statements run back to back.
+ * <p>
+ * Statements run independently in autocommit mode and any worker may take any of them,
+ * so statements that depend on session state (transactions, temporary tables, session
+ * settings) do not replay faithfully. Latency, errors and rows are aggregated per
+ * statement fingerprint.
+ */
+public class WorkloadReplayer {
+
+    public static final int MAX_RECORDED_ERRORS = 100;
+
+    private static final int QUEUE_CAPACITY_PER_WORKER = 4;
+
+    private static final long PROGRESS_INTERVAL_NANOS = 500_000_000L;
+
+    private static final long POLL_INTERVAL_MS = 100;
+
+    /**
+     * Statements starting later than this after their due time are counted as late.
+     */
+    private static final long LATE_THRESHOLD_NANOS = 10_000_000L;
+
+    /**
+     * Marks the end of the log in the queue.
+     */
+    private static final LoggedStatement END_OF_LOG = new LoggedStatement(0, 0, "");
+
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    /**
+     * Replay a workload log. The log is read as CSV if its name ends in {@code .csv} and
+     * as a SQL script otherwise.
+     *
+     * @param profile The profile to open the worker connections from
+     * @param log The log file
+     * @param options Workers, timing and statement timeout
+     * @param listener Receives progress snapshots about twice a second; may be null
+     * @return Throughput, errors and latency percentiles, overall and per fingerprint
+     * @throws IOException if the log cannot be read or is malformed
+     * @throws SQLException if the worker connections cannot be opened
+     */
+    public ReplayResult replay(ConnectionProfile profile, Path log, ReplayOptions options, ProgressListener listener)
+            throws IOException, SQLException {
+        cancelled.set(false);
+        List<DatabaseConnection> connections = openConnections(profile, options.getWorkers());
+        Run run = new Run(profile.getName(), options);
+        try (LogReader reader = openLog(log, connections.get(0).getDatabaseType())) {
+            BlockingQueue<LoggedStatement> queue =
+                new ArrayBlockingQueue<>(options.getWorkers() * QUEUE_CAPACITY_PER_WORKER);
+            List<Thread> workers = new ArrayList<>();
+            run.startNanos = System.nanoTime();
+            for (DatabaseConnection connection : connections) {
+                workers.add(Thread.ofVirtual().name("casvizer-replay-" + workers.size())
+                    .start(() -> execute(connection, queue, run)));
+            }
+            
+            try {
+                produce(reader, queue, run, listener);
+            } finally {
+                for (int i = 0; i < workers.size(); i++) {
+                    enqueue(queue, END_OF_LOG);
+                }
+                for (Thread worker : workers) {
+                    try {
+                        worker.join();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        cancelled.set(true);
+                    }
+                }
+            }
+        } finally {
+            for (DatabaseConnection connection : connections) {
+                try {
+                    connection.disconnect();
+                } catch (SQLException e) {
+                    // The replay result matters more than a failed close
+                }
+            }
+        }
+        
+        ReplayResult result = run.snapshot(true, cancelled.get());
+        if (listener != null) {
+            listener.onProgress(result);
+        }
+        return result;
+    }
+
+    /**
+     * Stop the running replay once the statements in progress complete.
+     */
+    public void cancel() {
+        cancelled.set(true);
+    }
+
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    /**
+     * Open the worker connections concurrently so setup time does not grow with the
+     * number of workers.
+     */
+    private static List<DatabaseConnection> openConnections(ConnectionProfile profile, int count)
+            throws SQLException {
+        List<DatabaseConnection> connections = new ArrayList<>();
+        List<Callable<DatabaseConnection>> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tasks.add(() -> {
+                DatabaseConnection connection = new DatabaseConnection(profile);
+                connection.connect();
+                return connection;
+            });
+        }
+        SQLException failure = null;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Future<DatabaseConnection> future : executor.invokeAll(tasks)) {
+                try {
+                    connections.add(future.get());
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = (e.getCause() instanceof SQLException sqlException)
+                            ? sqlException : new SQLException(e.getCause().getMessage(), e.getCause());
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = new SQLException("Interrupted while opening replay connections", e);
+        }
+        if (failure != null) {
+            for (DatabaseConnection connection : connections) {
+                connection.disconnect();
+            }
+            throw failure;
+        }
+        return connections;
+    }
+
+    private static LogReader openLog(Path log, String databaseType) throws IOException {
+        BufferedReader reader = Files.newBufferedReader(log, StandardCharsets.UTF_8);
+        if (log.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv")) {
+            return new CsvLogReader(new CsvReader(reader));
+        }
+        return new SqlLogReader(new SqlScriptSplitter(reader, SqlScriptSplitter.Syntax.forDatabaseType(databaseType)));
+    }
+
+    private void produce(LogReader reader, BlockingQueue<LoggedStatement> queue, Run run, ProgressListener listener)
+            throws IOException {
+        long lastProgress = System.nanoTime();
+        long firstTimestamp = Long.MIN_VALUE;
+        long scheduleStart = 0;
+        double speed = run.options.getSpeed();
+        LoggedStatement statement;
+        while (!cancelled.get() && (statement = reader.next()) != null) {
+            if (run.options.isHonorTiming() && statement.timestampMicros != Long.MIN_VALUE) {
+                if (firstTimestamp == Long.MIN_VALUE) {
+                    firstTimestamp = statement.timestampMicros;
+                    scheduleStart = System.nanoTime();
+                }
+                statement.dueNanos = scheduleStart
+                    + (long) ((statement.timestampMicros - firstTimestamp) * 1000 / speed);
+            }
+            enqueue(queue, statement);
+            run.read.increment();
+            
+            long now = System.nanoTime();
+            if (listener != null && now - lastProgress >= PROGRESS_INTERVAL_NANOS) {
+                lastProgress = now;
+                listener.onProgress(run.snapshot(false, false));
+            }
+        }
+    }
+
+    /**
+     * Hand a statement to the workers, waiting while the queue is full.
+     */
+    private void enqueue(BlockingQueue<LoggedStatement> queue, LoggedStatement statement) {
+        try {
+            while (!queue.offer(statement, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+                if (cancelled.get() && statement != END_OF_LOG) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelled.set(true);
+        }
+    }
+
+    private void execute(DatabaseConnection connection, BlockingQueue<LoggedStatement> queue, Run run) {
+        int timeoutSeconds = run.options.getTimeoutSeconds();
+        try {
+            while (true) {
+                LoggedStatement statement = queue.take();
+                if (statement == END_OF_LOG) {
+                    break;
+                }
+                if (cancelled.get()) {
+                    continue;
+                }
+                if (statement.dueNanos != Long.MIN_VALUE) {
+                    long lag = waitUntil(statement.dueNanos);
+                    if (lag > LATE_THRESHOLD_NANOS) {
+                        run.late.increment();
+                    }
+                    run.maxLagNanos.accumulateAndGet(lag, Math::max);
+                }
+                
+                long startNanos = System.nanoTime();
+                long rows = 0;
+                String error = null;
+                try (Statement stmt = connection.getConnection().createStatement()) {
+                    if (timeoutSeconds > 0) {
+                        stmt.setQueryTimeout(timeoutSeconds);
+                    }
+                    if (stmt.execute(statement.sql)) {
+                        try (ResultSet rs = stmt.getResultSet()) {
+                            while (rs.next()) {
+                                rows++;
+                            }
+                        }
+                    } else {
+                        rows = Math.max(0, stmt.getUpdateCount());
+                    }
+                } catch (SQLException e) {
+                    error = (e.getMessage() != null) ? e.getMessage() : e.getClass().getSimpleName();
+                }
+                run.record(statement, System.nanoTime() - startNanos, rows, error);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Sleep until a due time, unless cancelled.
+     *
+     * @return How late the due time has passed, 0 if it was met
+     */
+    private long waitUntil(long dueNanos) {
+        long remaining = dueNanos - System.nanoTime();
+        if (remaining < 0) {
+            return -remaining;
+        }
+        while (remaining > 0 && !cancelled.get()) {
+            LockSupport.parkNanos(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(POLL_INTERVAL_MS)));
+            remaining = dueNanos - System.nanoTime();
+        }
+        return 0;
+    }
+
+    /**
+     * Parse a CSV log timestamp: ISO-8601 date-times with a {@code T} or a space, optionally
+     * followed by an offset or a zone name (as PostgreSQL's {@code log_line_prefix %m}
+     * writes them), integers as epoch milliseconds and decimals as epoch seconds.
+     * Date-times without a zone are taken in the local zone; only differences matter.
+     *
+     * @param text The timestamp text
+     * @return Microseconds since the epoch
+     * @throws IllegalArgumentException if the text is not a timestamp
+     */
+    static long parseTimestamp(String text) {
+        String value = text.trim();
+        try {
+            if (value.matches("-?\\d+")) {
+                return Long.parseLong(value) * 1000;
+            } else if (value.matches("-?\\d+\\.\\d+")) {
+                return (long) (Double.parseDouble(value) * 1_000_000);
+            }
+            String isoValue = (value.length() > 10 && value.charAt(10) == ' ')
+                ? value.substring(0, 10) + "T" + value.substring(11) : value;
+            Instant instant;
+            int zoneStart = isoValue.indexOf(' ');
+            if (zoneStart > 0) {
+                String zone = isoValue.substring(zoneStart + 1).trim();
+                LocalDateTime dateTime = LocalDateTime.parse(isoValue.substring(0, zoneStart));
+                instant = dateTime.atZone(ZoneId.of(zone, ZoneId.SHORT_IDS)).toInstant();
+            } else if (isoValue.endsWith("Z") || isoValue.matches(".*[+-]\\d\\d(:?\\d\\d)?$")) {
+                instant = OffsetDateTime.parse(isoValue.replaceFirst("([+-]\\d\\d)$", "$1:00")).toInstant();
+            } else {
+                instant = LocalDateTime.parse(isoValue).atZone(ZoneId.systemDefault()).toInstant();
+            }
+            return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+        } catch (DateTimeException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid timestamp: " + text);
+        }
+    }
+
+    /**
+     * A statement of the log.
+     */
+    private static class LoggedStatement {
+        private final int line;
+        private final long timestampMicros;
+        private final String sql;
+        private long dueNanos = Long.MIN_VALUE;
+
+        LoggedStatement(int line, long timestampMicros, String sql) {
+            this.line = line;
+            this.timestampMicros = timestampMicros;
+            this.sql = sql;
+        }
+    }
+
+    private interface LogReader extends Closeable {
+        /**
+         * @return The next statement, or null at the end of the log
+         */
+        LoggedStatement next() throws IOException;
+    }
+
+    /**
+     * Reads a SQL file; its statements have no timestamps and run back to back.
+     */
+    private static class SqlLogReader implements LogReader {
+        private final SqlScriptSplitter splitter;
+
+        SqlLogReader(SqlScriptSplitter splitter) {
+            this.splitter = splitter;
+        }
+
+        @Override
+        public LoggedStatement next() throws IOException {
+            String sql;
+            while ((sql = splitter.next()) != null) {
+                if (!sql.isBlank()) {
+                    return new LoggedStatement(splitter.getStatementLine(), Long.MIN_VALUE, sql);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            splitter.close();
+        }
+    }
+
+    /**
+     * Reads a CSV file of timestamped statements (RFC 4180, statements may span lines in
+     * quoted fields). A header naming a {@code timestamp}/{@code time}/{@code log_time}
+     * column and a {@code statement}/{@code query}/{@code sql} column selects them among
+     * other columns; without a header the first column is the timestamp and the second
+     * the statement.
+     */
+    private static class CsvLogReader implements LogReader {
+        private static final List<String> TIMESTAMP_COLUMNS = List.of("timestamp", "time", "ts", "log_time",
+            "start_time");
+        private static final List<String> STATEMENT_COLUMNS = List.of("statement", "query", "sql", "sql_text");
+
+        private final CsvReader reader;
+        private int timestampColumn = -1;
+        private int statementColumn = -1;
+
+        CsvLogReader(CsvReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public LoggedStatement next() throws IOException {
+            while (true) {
+                List<String> fields = reader.next();
+                if (fields == null) {
+                    return null;
+                }
+                int recordLine = reader.getRecordLine();
+                if (timestampColumn < 0 && readHeader(fields)) {
+                    continue;
+                }
+                if (fields.size() == 1 && fields.get(0).isBlank()) {
+                    continue;
+                }
+                if (fields.size() <= Math.max(timestampColumn, statementColumn)) {
+                    throw new IOException("Line " + recordLine + ": expected at least "
+                        + (Math.max(timestampColumn, statementColumn) + 1) + " fields");
+                }
+                String sql = fields.get(statementColumn).trim();
+                if (sql.isEmpty()) {
+                    continue;
+                }
+                try {
+                    return new LoggedStatement(recordLine, parseTimestamp(fields.get(timestampColumn)), sql);
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Line " + recordLine + ": " + e.getMessage());
+                }
+            }
+        }
+
+        /**
+         * Find the columns from the first record.
+         *
+         * @return Whether the record is a header
+         */
+        private boolean readHeader(List<String> fields) throws IOException {
+            for (int i = 0; i < fields.size(); i++) {
+                String name = fields.get(i).trim().toLowerCase(Locale.ROOT);
+                if (timestampColumn < 0 && TIMESTAMP_COLUMNS.contains(name)) {
+                    timestampColumn = i;
+                } else if (statementColumn < 0 && STATEMENT_COLUMNS.contains(name)) {
+                    statementColumn = i;
+                }
+            }
+            if (timestampColumn >= 0 && statementColumn >= 0) {
+                return true;
+            }
+            try {
+                parseTimestamp(fields.get(0));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("The CSV log needs timestamp and statement columns, "
+                    + "either named in a header or as its first two columns");
+            }
+            timestampColumn = 0;
+            statementColumn = 1;
+            return false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /**
+     * Counters of a running replay, shared by the workers.
+     */
+    private static class Run {
+        private final String profileName;
+        private final ReplayOptions options;
+        private final StatementStatistics statistics = new StatementStatistics(Integer.MAX_VALUE);
+        private final LatencyHistogram overall = new LatencyHistogram("rows");
+        private final LongAdder read = new LongAdder();
+        private final LongAdder late = new LongAdder();
+        private final AtomicLong maxLagNanos = new AtomicLong();
+        private final List<ScriptRunner.ScriptError> errors = new ArrayList<>();
+        private volatile long startNanos;
+
+        Run(String profileName, ReplayOptions options) {
+            this.profileName = profileName;
+            this.options = options;
+        }
+
+        void record(LoggedStatement statement, long nanos, long rows, String error) {
+            statistics.record(profileName, SqlUtils.fingerprint(statement.sql), statement.sql, nanos, rows,
+                error != null);
+            if (error == null) {
+                overall.record(nanos, rows);
+                return;
+            }
+            overall.recordError();
+            synchronized (errors) {
+                if (errors.size() < MAX_RECORDED_ERRORS) {
+                    errors.add(new ScriptRunner.ScriptError(statement.line, statement.sql, error));
+                }
+            }
+        }
+
+        ReplayResult snapshot(boolean finished, boolean cancelled) {
+            List<ScriptRunner.ScriptError> errorsCopy;
+            synchronized (errors) {
+                errorsCopy = new ArrayList<>(errors);
+            }
+            return new ReplayResult(options, read.sum(), overall, statistics, late.sum(), maxLagNanos.get(),
+                errorsCopy, System.nanoTime() - startNanos, finished, cancelled);
+        }
+    }
+
+    /**
+     * Concurrency and pacing of a replay.
+     */
+    public static class ReplayOptions {
+        public static final int DEFAULT_WORKERS = 8;
+
+        private final int workers;
+        private final boolean honorTiming;
+        private final double speed;
+        private final int timeoutSeconds;
+
+        public ReplayOptions(int workers) {
+            this(workers, false, 1.0, 0);
+        }
+
+        /**
+         * @param workers Number of concurrent connections
+         * @param honorTiming Whether to keep the original intervals between timestamped statements
+         * @param speed Factor the original intervals are divided by, e.g. 2 to replay twice as fast
+         * @param timeoutSeconds Statement timeout, 0 for none
+         */
+        public ReplayOptions(int workers, boolean honorTiming, double speed, int timeoutSeconds) {
+            if (workers <= 0) {
+                throw new IllegalArgumentException("Number of workers must be a positive integer");
+            }
+            if (!(speed > 0)) {
+                throw new IllegalArgumentException("Speed must be positive");
+            }
+            if (timeoutSeconds < 0) {
+                throw new IllegalArgumentException("Timeout cannot be negative");
+            }
+            this.workers = workers;
+            this.honorTiming = honorTiming;
+            this.speed = speed;
+            this.timeoutSeconds = timeoutSeconds;
+        }
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public boolean isHonorTiming() {
+            return honorTiming;
+        }
+
+        public double getSpeed() {
+            return speed;
+        }
+
+        public int getTimeoutSeconds() {
+            return timeoutSeconds;
+        }
+
+        /**
+         * Parse replay options such as {@code "workers=16 timing=on speed=2 timeout=30"}.
+         * Omitted options keep their defaults: {@link #DEFAULT_WORKERS} workers, no timing,
+         * speed 1 and no timeout.
+         *
+         * @param spec The options, may be empty
+         * @return The options
+         * @throws IllegalArgumentException if an option is unknown or invalid
+         */
+        public static ReplayOptions parse(String spec) {
+            int workers = DEFAULT_WORKERS;
+            boolean honorTiming = false;
+            double speed = 1.0;
+            int timeoutSeconds = 0;
+            for (String part : spec.trim().split("\\s+")) {
+                if (part.isEmpty()) {
+                    continue;
+                }
+                int equals = part.indexOf('=');
+                if (equals <= 0) {
+                    throw new IllegalArgumentException("Invalid option, expected name=value: " + part);
+                }
+                String option = part.substring(0, equals).toLowerCase(Locale.ROOT);
+                String value = part.substring(equals + 1);
+                try {
+                    switch (option) {
+                        case "workers":
+                            workers = Integer.parseInt(value);
+                            break;
+                        case "timing":
+                            honorTiming = parseSwitch(value);
+                            break;
+                        case "speed":
+                            speed = Double.parseDouble(value);
+                            break;
+                        case "timeout":
+                            timeoutSeconds = Integer.parseInt(value);
+                            break;
+                        default:
+                            throw new IllegalArgumentException("Unknown option: " + option);
+                    }
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid value for " + option + ": " + value);
+                }
+            }
+            return new ReplayOptions(workers, honorTiming, speed, timeoutSeconds);
+        }
+
+        private static boolean parseSwitch(String value) {
+            switch (value.toLowerCase(Locale.ROOT)) {
+                case "on":
+                case "true":
+                case "yes":
+                    return true;
+                case "off":
+                case "false":
+                case "no":
+                    return false;
+                default:
+                    throw new IllegalArgumentException("Expected on or off: " + value);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%d workers, %s", workers,
+                honorTiming ? String.format(Locale.ROOT, "original timing at %.2fx", speed) : "back to back");
+        }
+    }
+
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(ReplayResult progress);
+    }
+
+    /**
+     * Progress or final outcome of a replay.
+     */
+    public static class ReplayResult {
+        private final ReplayOptions options;
+        private final long statementsRead;
+        private final LatencyHistogram overall;
+        private final StatementStatistics statistics;
+        private final long lateStatements;
+        private final long maxLagNanos;
+        private final List<ScriptRunner.ScriptError> errors;
+        private final long elapsedNanos;
+        private final boolean finished;
+        private final boolean cancelled;
+
+        ReplayResult(ReplayOptions options, long statementsRead, LatencyHistogram overall,
+                     StatementStatistics statistics, long lateStatements, long maxLagNanos,
+                     List<ScriptRunner.ScriptError> errors, long elapsedNanos, boolean finished, boolean cancelled) {
+            this.options = options;
+            this.statementsRead = statementsRead;
+            this.overall = overall;
+            this.statistics = statistics;
+            this.lateStatements = lateStatements;
+            this.maxLagNanos = maxLagNanos;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+            this.finished = finished;
+            this.cancelled = cancelled;
+        }
+
+        public ReplayOptions getOptions() {
+            return options;
+        }
+
+        /**
+         * Get the number of statements read from the log so far, including those waiting
+         * for a worker.
+         *
+         * @return Statements read
+         */
+        public long getStatementsRead() {
+            return statementsRead;
+        }
+
+        public long getStatementsExecuted() {
+            return overall.getCount() + overall.getErrors();
+        }
+
+        public long getStatementsFailed() {
+            return overall.getErrors();
+        }
+
+        public double getErrorRate() {
+            long executed = getStatementsExecuted();
+            return (executed > 0) ? (double) getStatementsFailed() / executed : 0;
+        }
+
+        public double getStatementsPerSecond() {
+            return (elapsedNanos > 0) ? getStatementsExecuted() * 1_000_000_000.0 / elapsedNanos : 0;
+        }
+
+        /**
+         * Get a latency percentile of the successful statements.
+         *
+         * @param percentile The percentile, 0 to 100
+         * @return The latency in nanoseconds
+         */
+        public long getPercentileNanos(double percentile) {
+            return overall.getPercentileNanos(percentile);
+        }
+
+        public long getRows() {
+            return overall.getAmount();
+        }
+
+        /**
+         * Get the number of statements that started more than 10 ms after their original
+         * offset because no worker was free.
+         *
+         * @return Late statements, always 0 when timing is not honored
+         */
+        public long getLateStatements() {
+            return lateStatements;
+        }
+
+        public long getMaxLagMs() {
+            return maxLagNanos / 1_000_000;
+        }
+
+        /**
+         * Get the first {@link #MAX_RECORDED_ERRORS} failures, with the log line of the
+         * statement.
+         *
+         * @return The recorded failures
+         */
+        public List<ScriptRunner.ScriptError> getErrors() {
+            return errors;
+        }
+
+        public long getElapsedMs() {
+            return elapsedNanos / 1_000_000;
+        }
+
+        public boolean isFinished() {
+            return finished;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Describe the replay per statement fingerprint, those with the most total time
+         * first, after a row for all statements.
+         *
+         * @return The replay report
+         */
+        public QueryResult toQueryResult() {
+            List<String> columnNames = List.of("Statement", "Calls", "Errors", "Error %", "Calls/s", "Mean ms",
+                "p50 ms", "p95 ms", "p99 ms", "Max ms", "Rows");
+            List<List<Object>> rows = new ArrayList<>();
+            rows.add(List.of("(all statements)", overall.getCount(), overall.getErrors(),
+                formatPercent(overall.getErrors(), overall.getCount()), formatRate(overall.getCount()),
+                formatMs(overall.getMeanNanos()), formatMs(overall.getPercentileNanos(50)),
+                formatMs(overall.getPercentileNanos(95)), formatMs(overall.getPercentileNanos(99)),
+                formatMs(overall.getMaxNanos()), overall.getAmount()));
+            for (StatementStatistics.StatementStats stats : statistics.getStatements()) {
+                rows.add(List.of(stats.getFingerprint(), stats.getCalls(), stats.getErrors(),
+                    formatPercent(stats.getErrors(), stats.getCalls()), formatRate(stats.getCalls()),
+                    formatMs(stats.getMeanNanos()), formatMs(stats.getPercentileNanos(50)),
+                    formatMs(stats.getPercentileNanos(95)), formatMs(stats.getPercentileNanos(99)),
+                    formatMs(stats.getMaxNanos()), stats.getRows()));
+            }
+            return new QueryResult(columnNames, rows, 0);
+        }
+
+        private String formatRate(long calls) {
+            return String.format(Locale.ROOT, "%.1f", (elapsedNanos > 0) ? calls * 1_000_000_000.0 / elapsedNanos : 0);
+        }
+
+        private static String formatPercent(long errors, long calls) {
+            return String.format(Locale.ROOT, "%.1f", (errors + calls > 0) ? 100.0 * errors / (errors + calls) : 0);
+        }
+
+        private static String formatMs(double nanos) {
+            return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder summary = new StringBuilder(String.format(Locale.ROOT,
+                "%,d statements in %,d ms (%,.1f/s, %d workers), %,d failed (%.1f%%), p50 %.2f ms, p95 %.2f ms, "
+                    + "p99 %.2f ms", getStatementsExecuted(), getElapsedMs(), getStatementsPerSecond(),
+                options.getWorkers(), getStatementsFailed(), getErrorRate() * 100,
+                getPercentileNanos(50) / 1_000_000.0, getPercentileNanos(95) / 1_000_000.0,
+                getPercentileNanos(99) / 1_000_000.0));
+            if (options.isHonorTiming()) {
+                summary.append(String.format(Locale.ROOT, ", %,d late (max lag %,d ms)", lateStatements,
+                    getMaxLagMs()));
+            }
+            if (cancelled) {
+                summary.append(", cancelled");
+            }
+            return summary.toString();
+        }
+    }
+}
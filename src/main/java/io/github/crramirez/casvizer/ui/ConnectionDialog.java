@@ -21,6 +21,7 @@ import casciian.TApplication;
 import casciian.TWidget;
 import casciian.TWindow;
 import io.github.crramirez.casvizer.model.ConnectionProfile;
+import io.github.crramirez.casvizer.model.DatabaseConnection;
 import io.github.crramirez.casvizer.persistence.ProfileStore;
 import io.github.crramirez.casvizer.service.ConnectionService;
 
@@ -98,10 +99,14 @@ public class ConnectionDialog extends TWindow {
             profile.setPassword("");
             
             // Connect
-            connectionService.connect(profile);
+            DatabaseConnection connection = connectionService.connect(profile);
             
             // Show success message
-            getApplication().messageBox("Success", "Connected to database successfully!");
+            int rejected = connection.getRejectedSettings().size();
+            getApplication().messageBox("Success", rejected == 0
+                ? "Connected to database successfully!"
+                : "Connected to database successfully, but the database rejected " + rejected
+                    + " preset setting(s). See Connection > Connection Info.");
             close();
         } catch (Exception e) {
             getApplication().messageBox("Error", "Connection failed: " + e.getMessage());
@@ -0,0 +1,183 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.ui;
+
+import casciian.TApplication;
+import casciian.TField;
+import casciian.TLabel;
+import casciian.TWindow;
+import io.github.crramirez.casvizer.model.DatabaseConnection;
+import io.github.crramirez.casvizer.service.ConnectionService;
+import io.github.crramirez.casvizer.service.CopyPipeline;
+import io.github.crramirez.casvizer.service.QueryService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Window for copying a query result from the active connection into a table on another
+ * open connection.
+ * <p>
+ * The copy runs in the background while the window shows throughput and how long the
+ * reader and writer waited on each other, which tells whether the source or the target
+ * limits the copy.
+ */
+public class CopyTableWindow extends TWindow {
+
+    private final ConnectionService connectionService;
+    private final QueryService queryService;
+    private final DatabaseConnection source;
+    private TField queryField;
+    private TField targetField;
+    private TField tableField;
+    private TLabel statusLabel;
+    private TLabel waitLabel;
+    private volatile CopyPipeline activeCopy;
+
+    public CopyTableWindow(TApplication application, ConnectionService connectionService,
+                           QueryService queryService, DatabaseConnection source) {
+        super(application, "Copy Table - " + source.getProfile().getName(), 0, 0, 80, 14, CENTERED);
+
+        this.connectionService = connectionService;
+        this.queryService = queryService;
+        this.source = source;
+
+        setupUI();
+    }
+
+    private void setupUI() {
+        List<String> targets = new ArrayList<>();
+        for (DatabaseConnection connection : connectionService.getAllConnections()) {
+            if (connection != source) {
+                targets.add(connection.getProfile().getName());
+            }
+        }
+        
+        int row = 1;
+        addLabel("Source query:", 2, row);
+        queryField = addField(18, row, getWidth() - 22, false, "SELECT * FROM ");
+        
+        row += 2;
+        addLabel("Target:", 2, row);
+        targetField = addField(18, row, 30, false, targets.isEmpty() ? "" : targets.get(0));
+        if (targets.size() > 1) {
+            addLabel("(" + String.join(", ", targets) + ")", 50, row);
+        }
+        
+        row += 2;
+        addLabel("Target table:", 2, row);
+        tableField = addField(18, row, 30, false, "");
+        
+        row += 2;
+        statusLabel = addLabel(targets.isEmpty() ? "Open a connection to copy into first." : "", 2, row);
+        waitLabel = addLabel("", 2, row + 1);
+        
+        row = getHeight() - 3;
+        addButton("&Copy", 2, row, () -> startCopy(false));
+        addButton("&Replace", 11, row, () -> startCopy(true));
+        addButton("C&ancel", 23, row, this::cancelCopy);
+        addButton("C&lose", 34, row, this::close);
+    }
+
+    private void startCopy(boolean replace) {
+        if (activeCopy != null) {
+            getApplication().messageBox("Info", "A copy is already running");
+            return;
+        }
+        String query = queryField.getText();
+        String tableName = tableField.getText();
+        String targetName = targetField.getText();
+        if (query == null || query.trim().isEmpty() || tableName == null || tableName.trim().isEmpty()) {
+            getApplication().messageBox("Error", "Enter a source query and a target table");
+            return;
+        }
+        DatabaseConnection target = findTarget(targetName == null ? "" : targetName.trim());
+        if (target == null) {
+            getApplication().messageBox("Error", "No open connection named " + targetName);
+            return;
+        }
+        
+        CopyPipeline pipeline = new CopyPipeline();
+        activeCopy = pipeline;
+        String table = tableName.trim();
+        statusLabel.setLabel("Copying...");
+        waitLabel.setLabel("");
+        
+        Thread worker = new Thread(() -> {
+            String status;
+            try {
+                CopyPipeline.CopyResult result = pipeline.copy(source, query.trim(), target, table, replace,
+                    progress -> getApplication().invokeLater(() -> showProgress(progress)));
+                getApplication().invokeLater(() -> showProgress(result));
+                status = (result.isCancelled() ? "Cancelled after " : "Copied ")
+                    + result.getRowsWritten() + " rows into " + table;
+            } catch (Exception e) {
+                String errorMsg = (e.getMessage() != null) ? e.getMessage() : e.getClass().getSimpleName();
+                status = "Copy failed: " + errorMsg;
+            } finally {
+                activeCopy = null;
+                queryService.invalidateCache(target.getProfile(), Set.of(table.toLowerCase(Locale.ROOT)));
+            }
+            String message = status;
+            getApplication().invokeLater(() -> getApplication().messageBox("Copy Table", message));
+        }, "casvizer-copy-reader");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private DatabaseConnection findTarget(String name) {
+        for (DatabaseConnection connection : connectionService.getAllConnections()) {
+            if (connection != source && connection.getProfile().getName().equals(name)) {
+                return connection;
+            }
+        }
+        return null;
+    }
+
+    private void showProgress(CopyPipeline.CopyResult progress) {
+        statusLabel.setLabel(String.format("%,d rows read, %,d written, %,.0f rows/s, %,d ms",
+            progress.getRowsRead(), progress.getRowsWritten(), progress.getRowsPerSecond(),
+            progress.getElapsedMs()));
+        String bottleneck;
+        if (progress.getReaderBlockedMs() > progress.getWriterIdleMs()) {
+            bottleneck = "target-bound";
+        } else if (progress.getWriterIdleMs() > progress.getReaderBlockedMs()) {
+            bottleneck = "source-bound";
+        } else {
+            bottleneck = "balanced";
+        }
+        waitLabel.setLabel(String.format("Reader blocked %,d ms, writer idle %,d ms, queue peak %d/%d (%s)",
+            progress.getReaderBlockedMs(), progress.getWriterIdleMs(), progress.getMaxQueueDepth(),
+            progress.getQueueCapacity(), bottleneck));
+    }
+
+    private void cancelCopy() {
+        CopyPipeline pipeline = activeCopy;
+        if (pipeline != null) {
+            pipeline.cancel();
+        }
+    }
+
+    @Override
+    public void onClose() {
+        cancelCopy();
+        super.onClose();
+    }
+}
@@ -24,18 +24,36 @@ import io.github.crramirez.casvizer.model.DatabaseConnection;
 import io.github.crramirez.casvizer.service.ConnectionService;
 import io.github.crramirez.casvizer.service.MetadataService;
 import io.github.crramirez.casvizer.service.QueryService;
+import io.github.crramirez.casvizer.service.DataGenerator;
+import io.github.crramirez.casvizer.service.RowCounter;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Window for browsing database structure (schemas, tables, columns).
+ * <p>
+ * Tables are annotated with approximate row counts and sizes from the catalog, loaded in
+ * the background. An exact count only runs when requested for the selected table, and a
+ * preview reads a small sample instead of scanning the table.
  */
 public class DatabaseBrowserWindow extends TWindow {
     private final ConnectionService connectionService;
     private final MetadataService metadataService;
     private final QueryService queryService;
     private TList structureList;
+    private final List<String> items = new ArrayList<>();
+    // Schema and table of each list item; the table is null for schema items
+    private final List<String[]> itemTables = new ArrayList<>();
+    // Catalog statistics by schema and table name, once loaded
+    private final Map<List<String>, MetadataService.TableStatistics> tableStatistics = new HashMap<>();
+    private volatile int generation;
+    private volatile RowCounter activeCount;
+    private volatile DataGenerator activeGenerator;
     
     // UI layout constants
     private static final int BOTTOM_MARGIN = 4;
@@ -61,10 +79,17 @@ public class DatabaseBrowserWindow extends TWindow {
         
         row = getHeight() - 3;
         addButton("&Refresh", 2, row, this::loadDatabaseStructure);
-        addButton("&Close", 15, row, this::close);
+        addButton("&Count Rows", 15, row, this::countRows);
+        addButton("&Preview...", 31, row, this::previewSample);
+        addButton("&Generate...", 46, row, this::generateData);
+        addButton("C&lose", 62, row, this::close);
     }
 
     private void loadDatabaseStructure() {
+        generation++;
+        items.clear();
+        itemTables.clear();
+        tableStatistics.clear();
         try {
             DatabaseConnection connection = connectionService.getActiveConnection();
             if (connection == null) {
@@ -72,17 +97,18 @@ public class DatabaseBrowserWindow extends TWindow {
                 return;
             }
             
-            List<String> items = new ArrayList<>();
             List<String> schemas = metadataService.listSchemas(connection);
             
             // Build hierarchical list of database objects
             for (String schema : schemas) {
                 items.add("Schema: " + schema);
+                itemTables.add(new String[] {schema, null});
                 
                 // List tables in schema
                 List<String> tables = metadataService.listTables(connection, schema);
                 for (String table : tables) {
                     items.add("  Table: " + table);
+                    itemTables.add(new String[] {schema, table});
                     
                     // Optionally list columns (commented out to avoid too much detail)
                     // List<MetadataService.ColumnInfo> columns = metadataService.listColumns(connection, schema, table);
@@ -93,14 +119,246 @@ public class DatabaseBrowserWindow extends TWindow {
             }
             
             if (items.isEmpty()) {
-                items.add("No schemas found");
+                structureList.setList(List.of("No schemas found"));
+                return;
             }
             
-            structureList.setList(items);
+            structureList.setList(new ArrayList<>(items));
+            loadStatistics(connection, schemas);
         } catch (Exception e) {
             String errorMsg = (e.getMessage() != null) ? e.getMessage() : e.getClass().getSimpleName();
+            items.clear();
+            itemTables.clear();
             structureList.setList(List.of("Error loading database structure: " + errorMsg));
             getApplication().messageBox("Error", "Failed to load database structure: " + errorMsg);
         }
     }
+
+    /**
+     * Read catalog statistics in the background, since some sources (such as SQLite's
+     * dbstat) read every page of the database, then annotate the table items.
+     */
+    private void loadStatistics(DatabaseConnection connection, List<String> schemas) {
+        int loadGeneration = generation;
+        Thread worker = new Thread(() -> {
+            for (String schema : schemas) {
+                Map<String, MetadataService.TableStatistics> statistics;
+                try {
+                    statistics = metadataService.getTableStatistics(connection, schema);
+                } catch (Exception e) {
+                    // Statistics are optional, e.g. when the catalog is not readable
+                    continue;
+                }
+                getApplication().invokeLater(() -> {
+                    if (loadGeneration != generation) {
+                        return;
+                    }
+                    for (int i = 0; i < itemTables.size(); i++) {
+                        String[] entry = itemTables.get(i);
+                        MetadataService.TableStatistics tableStats =
+                            entry[1] != null && entry[0].equals(schema) ? statistics.get(entry[1]) : null;
+                        if (tableStats != null) {
+                            tableStatistics.put(List.of(schema, entry[1]), tableStats);
+                            items.set(i, "  Table: " + entry[1] + "  (" + tableStats + ")");
+                        }
+                    }
+                    refreshList();
+                });
+            }
+        }, "casvizer-table-statistics");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void countRows() {
+        RowCounter running = activeCount;
+        if (running != null) {
+            running.cancel();
+            getApplication().messageBox("Count Rows", "Cancelling the running count.");
+            return;
+        }
+        
+        int index = structureList.getSelectedIndex();
+        if (index < 0 || index >= itemTables.size() || itemTables.get(index)[1] == null) {
+            getApplication().messageBox("Info", "Select a table to count its rows.");
+            return;
+        }
+        DatabaseConnection connection = connectionService.getActiveConnection();
+        if (connection == null) {
+            getApplication().messageBox("Error", "No active connection");
+            return;
+        }
+        String schema = itemTables.get(index)[0];
+        String table = itemTables.get(index)[1];
+        int countGeneration = generation;
+        RowCounter counter = new RowCounter();
+        activeCount = counter;
+        setTitle("Database Browser - Counting " + table + "...");
+        
+        Thread worker = new Thread(() -> {
+            String label = null;
+            String error = null;
+            try {
+                long rows = counter.count(connection, schema, table);
+                label = String.format("  Table: %s  (%,d rows, exact)", table, rows);
+            } catch (Exception e) {
+                if (!counter.isCancelled()) {
+                    error = (e.getMessage() != null) ? e.getMessage() : e.getClass().getSimpleName();
+                }
+            } finally {
+                activeCount = null;
+            }
+            String itemLabel = label;
+            String errorMsg = error;
+            getApplication().invokeLater(() -> {
+                setTitle("Database Browser");
+                if (errorMsg != null) {
+                    getApplication().messageBox("Error", "Row count failed: " + errorMsg);
+                } else if (itemLabel != null && countGeneration == generation) {
+                    items.set(index, itemLabel);
+                    refreshList();
+                }
+            });
+        }, "casvizer-row-count");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void previewSample() {
+        int index = structureList.getSelectedIndex();
+        if (index < 0 || index >= itemTables.size() || itemTables.get(index)[1] == null) {
+            getApplication().messageBox("Info", "Select a table to preview.");
+            return;
+        }
+        DatabaseConnection connection = connectionService.getActiveConnection();
+        if (connection == null) {
+            getApplication().messageBox("Error", "No active connection");
+            return;
+        }
+        String size = getApplication().inputBox("Preview Sample", "Rows to sample:",
+            String.valueOf(QueryService.DEFAULT_SAMPLE_ROWS)).getText();
+        if (size == null || size.trim().isEmpty()) {
+            return;
+        }
+        
+        String schema = itemTables.get(index)[0];
+        String table = itemTables.get(index)[1];
+        try {
+            int rows = Integer.parseInt(size.trim());
+            String integerKey;
+            try {
+                integerKey = metadataService.getIntegerPrimaryKey(connection, schema, table);
+            } catch (Exception e) {
+                // Without a known key the dialect falls back to another sampling method
+                integerKey = null;
+            }
+            MetadataService.TableStatistics statistics = tableStatistics.get(List.of(schema, table));
+            QueryService.SampleResult sample = queryService.sampleTable(connection, schema, table, rows,
+                statistics != null ? statistics.getEstimatedRows() : null, integerKey);
+            new ResultWindow(getApplication(), "Sample of " + table + " - " + sample + " - " + sample.getQuery(),
+                sample.getResult());
+        } catch (NumberFormatException e) {
+            getApplication().messageBox("Error", "Invalid sample size: " + size.trim());
+        } catch (Exception e) {
+            String errorMsg = (e.getMessage() != null) ? e.getMessage() : e.getClass().getSimpleName();
+            getApplication().messageBox("Error", "Preview failed: " + errorMsg);
+        }
+    }
+
+    private void generateData() {
+        DataGenerator running = activeGenerator;
+        if (running != null) {
+            running.cancel();
+            getApplication().messageBox("Generate Data", String.format(
+                "Cancelling the running generation after %,d rows.", running.getRowsWritten()));
+            return;
+        }
+        
+        int index = structureList.getSelectedIndex();
+        if (index < 0 || index >= itemTables.size() || itemTables.get(index)[1] == null) {
+            getApplication().messageBox("Info", "Select a table to fill with generated rows.");
+            return;
+        }
+        DatabaseConnection connection = connectionService.getActiveConnection();
+        if (connection == null) {
+            getApplication().messageBox("Error", "No active connection");
+            return;
+        }
+        String schema = itemTables.get(index)[0];
+        String table = itemTables.get(index)[1];
+        List<DataGenerator.ColumnSpec> columns;
+        try {
+            columns = DataGenerator.describeTable(metadataService, connection, schema, table);
+        } catch (Exception e) {
+            String errorMsg = (e.getMessage() != null) ? e.getMessage() : e.getClass().getSimpleName();
+            getApplication().messageBox("Error", "Cannot generate data: " + errorMsg);
+            return;
+        }
+        String spec = getApplication().inputBox("Generate Data",
+            "Rows and options (workers, batch, seed, distribution=uniform|zipf, nulls, cardinality, zipf):",
+            "10000 workers=" + DataGenerator.GenerateOptions.DEFAULT_WORKERS + " distribution=uniform").getText();
+        if (spec == null || spec.trim().isEmpty()) {
+            return;
+        }
+        DataGenerator.GenerateOptions options;
+        try {
+            options = DataGenerator.GenerateOptions.parse(spec, columns);
+        } catch (IllegalArgumentException e) {
+            getApplication().messageBox("Error", e.getMessage());
+            return;
+        }
+        
+        DataGenerator generator = new DataGenerator();
+        activeGenerator = generator;
+        setTitle("Database Browser - Generating " + table + "...");
+        Thread worker = new Thread(() -> {
+            String message;
+            String error = null;
+            try {
+                message = "Inserted " + generator.generate(connection, schema, table, columns, options)
+                    + " into " + table + ".";
+            } catch (Exception e) {
+                message = null;
+                error = (e.getMessage() != null) ? e.getMessage() : e.getClass().getSimpleName();
+            } finally {
+                activeGenerator = null;
+                // Batches commit as they go, so cached results are stale even after a failure
+                queryService.invalidateCache(connection.getProfile(), Set.of(table.toLowerCase(Locale.ROOT)));
+            }
+            String resultMsg = message;
+            String errorMsg = (error != null)
+                ? String.format("%s (%,d rows committed)", error, generator.getRowsWritten()) : null;
+            getApplication().invokeLater(() -> {
+                setTitle("Database Browser");
+                if (errorMsg != null) {
+                    getApplication().messageBox("Error", "Data generation failed: " + errorMsg);
+                } else {
+                    getApplication().messageBox("Generate Data", resultMsg);
+                }
+            });
+        }, "casvizer-data-generator");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void refreshList() {
+        int selected = structureList.getSelectedIndex();
+        structureList.setList(new ArrayList<>(items));
+        if (selected >= 0 && selected < items.size()) {
+            structureList.setSelectedIndex(selected);
+        }
+    }
+
+    @Override
+    public void onClose() {
+        RowCounter running = activeCount;
+        if (running != null) {
+            running.cancel();
+        }
+        DataGenerator generator = activeGenerator;
+        if (generator != null) {
+            generator.cancel();
+        }
+        super.onClose();
+    }
 }
@@ -0,0 +1,116 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.ui;
+
+import casciian.TApplication;
+import casciian.TLabel;
+import casciian.TTable;
+import casciian.TWindow;
+import io.github.crramirez.casvizer.service.MetricsDumper;
+import io.github.crramirez.casvizer.service.MetricsRegistry;
+
+/**
+ * Window showing the session metrics: latency percentiles and throughput of queries per
+ * connection, metadata reads, exports and connects, plus counters and gauges. Snapshots
+ * can be appended to the dump file on demand or periodically.
+ */
+public class MetricsWindow extends TWindow {
+    private final MetricsRegistry metricsRegistry;
+    private final MetricsDumper metricsDumper;
+    private TLabel summaryLabel;
+    private TTable metricsTable;
+
+    public MetricsWindow(TApplication application, MetricsRegistry metricsRegistry, MetricsDumper metricsDumper) {
+        super(application, "Session Metrics", 0, 0, 130, 24, RESIZABLE);
+
+        this.metricsRegistry = metricsRegistry;
+        this.metricsDumper = metricsDumper;
+
+        setupUI();
+        refresh();
+    }
+
+    private void setupUI() {
+        int row = 1;
+        summaryLabel = addLabel("", 2, row++);
+        row++;
+        metricsTable = addTable(2, row, getWidth() - 4, getHeight() - row - 4, 11, 1);
+        metricsTable.setShowColumnLabels(true);
+
+        row = getHeight() - 3;
+        addButton("&Refresh", 2, row, this::refresh);
+        addButton("Dump &Now", 14, row, this::dumpNow);
+        addButton("&Periodic Dump...", 27, row, this::togglePeriodicDump);
+        addButton("R&eset", 47, row, this::reset);
+        addButton("&Close", 57, row, this::close);
+    }
+
+    private void refresh() {
+        ResultWindow.populateTable(metricsTable, metricsRegistry.toQueryResult());
+        
+        long uptimeSeconds = (System.currentTimeMillis() - metricsRegistry.getStartTime()) / 1000;
+        String dumpStatus;
+        if (metricsDumper.isRunning()) {
+            dumpStatus = String.format("dumping every %d s to %s", metricsDumper.getIntervalSeconds(),
+                metricsDumper.getPath());
+            if (metricsDumper.getLastError() != null) {
+                dumpStatus += " (last dump failed: " + metricsDumper.getLastError() + ")";
+            }
+        } else {
+            dumpStatus = "periodic dump off";
+        }
+        summaryLabel.setLabel(String.format("Session %dh %02dm %02ds, %s",
+            uptimeSeconds / 3600, (uptimeSeconds / 60) % 60, uptimeSeconds % 60, dumpStatus));
+    }
+
+    private void dumpNow() {
+        try {
+            metricsDumper.dump();
+            getApplication().messageBox("Metrics", "Metrics appended to " + metricsDumper.getPath());
+        } catch (Exception e) {
+            String errorMsg = (e.getMessage() != null) ? e.getMessage() : e.getClass().getSimpleName();
+            getApplication().messageBox("Error", "Failed to dump metrics: " + errorMsg);
+        }
+    }
+
+    private void togglePeriodicDump() {
+        if (metricsDumper.isRunning()) {
+            metricsDumper.stop();
+            refresh();
+            return;
+        }
+        String interval = getApplication().inputBox("Periodic Dump", "Seconds between dumps:",
+            String.valueOf(MetricsDumper.DEFAULT_INTERVAL_SECONDS)).getText();
+        if (interval == null || interval.trim().isEmpty()) {
+            return;
+        }
+        try {
+            metricsDumper.start(Integer.parseInt(interval.trim()));
+            refresh();
+        } catch (NumberFormatException e) {
+            getApplication().messageBox("Error", "Invalid interval: " + interval.trim());
+        } catch (IllegalArgumentException e) {
+            getApplication().messageBox("Error", e.getMessage());
+        }
+    }
+
+    private void reset() {
+        metricsRegistry.reset();
+        refresh();
+    }
+}
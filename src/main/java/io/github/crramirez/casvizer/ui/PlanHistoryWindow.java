@@ -0,0 +1,136 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.ui;
+
+import casciian.TApplication;
+import casciian.TList;
+import casciian.TWindow;
+import io.github.crramirez.casvizer.model.PlanHistoryEntry;
+import io.github.crramirez.casvizer.service.PlanHistoryService;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Window listing recorded query executions, newest first, with their time and plan
+ * fingerprint. Executions whose plan changed or that regressed are flagged, and any
+ * execution can be diffed against the previous execution of the same query.
+ */
+public class PlanHistoryWindow extends TWindow {
+    private static final int QUERY_PREVIEW_LENGTH = 60;
+
+    private final PlanHistoryService planHistoryService;
+    private TList historyList;
+    // Entries in list order, newest first
+    private final List<PlanHistoryEntry> entries = new ArrayList<>();
+    private final List<PlanHistoryService.PlanCheck> checks = new ArrayList<>();
+
+    public PlanHistoryWindow(TApplication application, PlanHistoryService planHistoryService) {
+        super(application, "Plan History", 0, 0, 110, 24, RESIZABLE);
+
+        this.planHistoryService = planHistoryService;
+
+        setupUI();
+        loadHistory();
+    }
+
+    private void setupUI() {
+        int row = 1;
+        addLabel("Executions (newest first):", 2, row++);
+        historyList = addList(new ArrayList<>(), 2, row, getWidth() - 4, getHeight() - row - 4, null);
+        
+        row = getHeight() - 3;
+        addButton("&Diff with Previous", 2, row, this::diffWithPrevious);
+        addButton("&Details", 24, row, this::showDetails);
+        addButton("&Refresh", 36, row, this::loadHistory);
+        addButton("Clear &History", 48, row, this::clearHistory);
+        addButton("&Close", 66, row, this::close);
+    }
+
+    private void loadHistory() {
+        entries.clear();
+        checks.clear();
+        try {
+            List<PlanHistoryEntry> history = planHistoryService.getHistory();
+            List<String> items = new ArrayList<>();
+            SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+            for (int i = history.size() - 1; i >= 0; i--) {
+                PlanHistoryEntry entry = history.get(i);
+                PlanHistoryService.PlanCheck check = planHistoryService.check(entry);
+                entries.add(entry);
+                checks.add(check);
+                
+                String flags = (check.isPlanChanged() ? "CHANGED " : "") + (check.isRegression() ? "SLOWER" : "");
+                String query = entry.getQuery();
+                if (query.length() > QUERY_PREVIEW_LENGTH) {
+                    query = query.substring(0, QUERY_PREVIEW_LENGTH - 3) + "...";
+                }
+                items.add(String.format("%s %10.1f ms  %.8s  %-14s %s  [%s]",
+                    dateFormat.format(new Date(entry.getTimestamp())), entry.getExecutionTimeMs(),
+                    entry.getPlanFingerprint(), flags, query, entry.getProfileName()));
+            }
+            historyList.setList(items.isEmpty() ? List.of("No executions recorded") : items);
+            setTitle(String.format("Plan History - %d executions", entries.size()));
+        } catch (Exception e) {
+            String errorMsg = (e.getMessage() != null) ? e.getMessage() : e.getClass().getSimpleName();
+            historyList.setList(List.of("Error loading plan history: " + errorMsg));
+            getApplication().messageBox("Error", "Failed to load plan history: " + errorMsg);
+        }
+    }
+
+    private void diffWithPrevious() {
+        int index = historyList.getSelectedIndex();
+        if (index < 0 || index >= entries.size()) {
+            getApplication().messageBox("Info", "Select an execution first.");
+            return;
+        }
+        PlanHistoryService.PlanCheck check = checks.get(index);
+        if (check.getPrevious() == null) {
+            getApplication().messageBox("Info", "This is the first recorded execution of the query.");
+            return;
+        }
+        
+        new ResultWindow(getApplication(), "Plan Diff - " + check,
+            PlanHistoryService.diff(check.getPrevious(), check.getEntry()));
+    }
+
+    private void showDetails() {
+        int index = historyList.getSelectedIndex();
+        if (index < 0 || index >= entries.size()) {
+            getApplication().messageBox("Info", "Select an execution first.");
+            return;
+        }
+        PlanHistoryEntry entry = entries.get(index);
+        String timings = (entry.getTimings() != null) ? String.format("%n%s", entry.getTimings()) : "";
+        getApplication().messageBox("Execution", String.format("%s%n%n%.1f ms on %s (%s), plan %s%n%s%s",
+            entry.getQuery(), entry.getExecutionTimeMs(), entry.getProfileName(), entry.getDatabaseType(),
+            entry.getPlanFingerprint(), checks.get(index), timings));
+    }
+
+    private void clearHistory() {
+        try {
+            planHistoryService.clear();
+            loadHistory();
+        } catch (Exception e) {
+            String errorMsg = (e.getMessage() != null) ? e.getMessage() : e.getClass().getSimpleName();
+            getApplication().messageBox("Error", "Failed to clear plan history: " + errorMsg);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.ui;
+
+import casciian.TApplication;
+import casciian.TLabel;
+import casciian.TTable;
+import casciian.TWindow;
+import io.github.crramirez.casvizer.model.DatabaseConnection;
+import io.github.crramirez.casvizer.model.QueryPlan;
+import io.github.crramirez.casvizer.service.PlanHistoryService;
+import io.github.crramirez.casvizer.service.QueryService;
+
+/**
+ * Window that explains a query in the background and shows its plan tree, one row per
+ * node with estimated and actual rows, loops, inclusive and self time. The most expensive
+ * nodes are flagged HOT and nodes with badly estimated row counts MISESTIMATE.
+ */
+public class PlanWindow extends TWindow {
+    private TTable planTable;
+    private TLabel summaryLabel;
+    private volatile QueryPlan plan;
+
+    public PlanWindow(TApplication application, QueryService queryService, PlanHistoryService planHistoryService,
+                      DatabaseConnection connection, String query, boolean analyze) {
+        super(application, analyze ? "Explain Analyze - running..." : "Explain - running...", 0, 0, 110, 22,
+            RESIZABLE);
+
+        setupUI();
+        startExplain(queryService, planHistoryService, connection, query, analyze);
+    }
+
+    private void setupUI() {
+        int row = 1;
+        planTable = addTable(2, row, getWidth() - 4, getHeight() - row - 6, 10, 1);
+        planTable.setShowColumnLabels(true);
+
+        row = getHeight() - 5;
+        summaryLabel = addLabel("", 2, row);
+
+        row += 2;
+        addButton("&Raw Output", 2, row, this::showRawOutput);
+        addButton("&Close", 17, row, this::close);
+    }
+
+    private void startExplain(QueryService queryService, PlanHistoryService planHistoryService,
+                              DatabaseConnection connection, String query, boolean analyze) {
+        String title = analyze ? "Explain Analyze" : "Explain";
+        Thread worker = new Thread(() -> {
+            try {
+                QueryPlan result = queryService.explainPlan(connection, query, analyze);
+                // Analyzed runs are executions too, so they go into the plan history
+                PlanHistoryService.PlanCheck check = (analyze && result.getExecutionTimeMs() != null)
+                    ? planHistoryService.record(connection, query, result, result.getExecutionTimeMs())
+                    : null;
+                String summary = (check != null && check.isFlagged()) ? result + "; " + check : result.toString();
+                getApplication().invokeLater(() -> {
+                    plan = result;
+                    ResultWindow.populateTable(planTable, result.toQueryResult());
+                    summaryLabel.setLabel(summary);
+                    setTitle(result.getExecutionTimeMs() != null
+                        ? String.format("%s - %.3f ms", title, result.getExecutionTimeMs())
+                        : title);
+                });
+            } catch (Exception e) {
+                String errorMsg = (e.getMessage() != null) ? e.getMessage() : e.getClass().getSimpleName();
+                getApplication().invokeLater(() -> {
+                    setTitle(title + " - failed");
+                    getApplication().messageBox("Error", "Explain failed: " + errorMsg);
+                });
+            }
+        }, "casvizer-explain");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void showRawOutput() {
+        QueryPlan current = plan;
+        if (current == null) {
+            getApplication().messageBox("Info", "The plan is not ready yet.");
+            return;
+        }
+        
+        TWindow rawWindow = new TWindow(getApplication(), "Raw Plan", 0, 0, 100, 24, RESIZABLE);
+        rawWindow.addText(current.getRawOutput(), 1, 1, rawWindow.getWidth() - 4, rawWindow.getHeight() - 4);
+    }
+}
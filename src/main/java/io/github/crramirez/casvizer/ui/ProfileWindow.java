@@ -0,0 +1,109 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.ui;
+
+import casciian.TApplication;
+import casciian.TTable;
+import casciian.TWindow;
+import io.github.crramirez.casvizer.model.DatabaseConnection;
+import io.github.crramirez.casvizer.model.QueryResult;
+import io.github.crramirez.casvizer.service.ColumnProfiler;
+import io.github.crramirez.casvizer.service.ExportService;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Window that profiles the columns of a query in the background and shows one row per
+ * column: null rate, distinct count, range, percentiles and most frequent values.
+ */
+public class ProfileWindow extends TWindow {
+    private final ExportService exportService;
+    private final ColumnProfiler profiler = new ColumnProfiler();
+    private TTable profileTable;
+    private volatile QueryResult report;
+
+    public ProfileWindow(TApplication application, ExportService exportService, DatabaseConnection connection,
+                         String query) {
+        super(application, "Column Profile - running...", 0, 0, 100, 20, RESIZABLE);
+
+        this.exportService = exportService;
+
+        setupUI();
+        startProfile(connection, query);
+    }
+
+    private void setupUI() {
+        int row = 1;
+        profileTable = addTable(2, row, getWidth() - 4, getHeight() - row - 4, 12, 1);
+        profileTable.setShowColumnLabels(true);
+
+        row = getHeight() - 3;
+        addButton("E&xport", 2, row, this::exportProfile);
+        addButton("&Stop", 13, row, profiler::cancel);
+        addButton("&Close", 22, row, this::close);
+    }
+
+    private void startProfile(DatabaseConnection connection, String query) {
+        Thread worker = new Thread(() -> {
+            try {
+                ColumnProfiler.ProfileResult result = profiler.profile(connection, query,
+                    rows -> getApplication().invokeLater(
+                        () -> setTitle(String.format("Column Profile - %,d rows read...", rows))));
+                QueryResult profile = result.toQueryResult();
+                getApplication().invokeLater(() -> {
+                    report = profile;
+                    ResultWindow.populateTable(profileTable, profile);
+                    setTitle(String.format("Column Profile - %,d rows, %dms%s", result.getRowCount(),
+                        result.getElapsedMs(), result.isCancelled() ? " (stopped)" : ""));
+                });
+            } catch (Exception e) {
+                String errorMsg = (e.getMessage() != null) ? e.getMessage() : e.getClass().getSimpleName();
+                getApplication().invokeLater(() -> {
+                    setTitle("Column Profile - failed");
+                    getApplication().messageBox("Error", "Profile failed: " + errorMsg);
+                });
+            }
+        }, "casvizer-profiler");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void exportProfile() {
+        if (report == null) {
+            getApplication().messageBox("Info", "The profile has not finished yet.");
+            return;
+        }
+        
+        try {
+            Path path = Paths.get(System.getProperty("java.io.tmpdir"),
+                "column_profile_" + System.currentTimeMillis() + ".csv");
+            exportService.exportToCSV(report, path.toString());
+            getApplication().messageBox("Success", "Profile exported to " + path);
+        } catch (Exception e) {
+            String errorMsg = (e.getMessage() != null) ? e.getMessage() : e.getClass().getSimpleName();
+            getApplication().messageBox("Error", "Export failed: " + errorMsg);
+        }
+    }
+
+    @Override
+    public void onClose() {
+        profiler.cancel();
+        super.onClose();
+    }
+}
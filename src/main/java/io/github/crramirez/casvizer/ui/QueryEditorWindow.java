@@ -21,12 +21,26 @@ import casciian.TApplication;
 import casciian.TEditor;
 import casciian.TTable;
 import casciian.TWindow;
+import io.github.crramirez.casvizer.model.DatabaseConnection;
 import io.github.crramirez.casvizer.model.QueryResult;
+import io.github.crramirez.casvizer.model.QueryTimings;
+import io.github.crramirez.casvizer.service.AggregationService;
 import io.github.crramirez.casvizer.service.ConnectionService;
+import io.github.crramirez.casvizer.service.DataDiffService;
 import io.github.crramirez.casvizer.service.QueryService;
 import io.github.crramirez.casvizer.service.ExportService;
+import io.github.crramirez.casvizer.service.PlanHistoryService;
+import io.github.crramirez.casvizer.service.ResultSearchService;
+import io.github.crramirez.casvizer.service.ResultViewService;
+import io.github.crramirez.casvizer.service.ScratchWorkspace;
+import io.github.crramirez.casvizer.service.ScriptRunner;
 
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 /**
  * Window for editing and executing SQL queries.
@@ -35,17 +49,27 @@ public class QueryEditorWindow extends TWindow {
     private final ConnectionService connectionService;
     private final QueryService queryService;
     private final ExportService exportService;
+    private final ScratchWorkspace scratchWorkspace;
+    private final PlanHistoryService planHistoryService;
+    private final ResultViewService resultViewService = new ResultViewService();
+    private final ResultSearchService resultSearchService = new ResultSearchService();
+    private final AggregationService aggregationService = new AggregationService();
     private TEditor queryEditor;
     private TTable resultsTable;
     private QueryResult currentResult;
+    private volatile ScriptRunner activeScript;
+    private volatile DataDiffService activeDiff;
 
     public QueryEditorWindow(TApplication application, ConnectionService connectionService,
-                            QueryService queryService, ExportService exportService) {
+                            QueryService queryService, ExportService exportService,
+                            ScratchWorkspace scratchWorkspace, PlanHistoryService planHistoryService) {
         super(application, "Query Editor", 0, 0, 80, 30, RESIZABLE);
 
         this.connectionService = connectionService;
         this.queryService = queryService;
         this.exportService = exportService;
+        this.scratchWorkspace = scratchWorkspace;
+        this.planHistoryService = planHistoryService;
 
         setupUI();
     }
@@ -60,7 +84,23 @@ public class QueryEditorWindow extends TWindow {
         
         addButton("&Execute", 2, row, this::executeQuery);
         addButton("E&xport Results", 15, row, this::exportResults);
-        addButton("&Close", 33, row, this::close);
+        addButton("S&torage", 33, row, this::showStorageReport);
+        addButton("&Materialize", 45, row, this::materializeResults);
+        addButton("&Close", 61, row, this::close);
+        
+        row += 2;
+        addButton("&Sort...", 2, row, this::sortResults);
+        addButton("&Filter...", 15, row, this::filterResults);
+        addButton("&Reset View", 33, row, this::resetResultView);
+        addButton("Searc&h...", 45, row, this::searchResults);
+        addButton("Pr&ofile...", 59, row, this::profileColumns);
+        
+        row += 2;
+        addButton("&Group By...", 2, row, this::groupResults);
+        addButton("Pi&vot...", 17, row, this::pivotResults);
+        addButton("Run Scr&ipt...", 30, row, this::runScript);
+        addButton("&Diff...", 49, row, this::diffQueries);
+        addButton("Ex&plain...", 59, row, this::explainQuery);
         
         row += 2;
         addLabel("Results:", 2, row++);
@@ -78,45 +118,441 @@ public class QueryEditorWindow extends TWindow {
                 return;
             }
             
-            QueryResult result = queryService.executeQuery(
-                connectionService.getActiveConnection(), query.trim());
+            DatabaseConnection connection = connectionService.getActiveConnection();
+            QueryResult result = queryService.executeQuery(connection, query.trim());
             
             currentResult = result;
-            displayResults(result);
+            QueryTimings timings = displayResults(result);
+            if (!result.isCached() && timings != null) {
+                recordPlan(connection, query.trim(), timings);
+            }
         } catch (Exception e) {
             String errorMsg = (e.getMessage() != null) ? e.getMessage() : e.getClass().getSimpleName();
             getApplication().messageBox("Error", "Query execution failed: " + errorMsg);
         }
     }
 
-    private void displayResults(QueryResult result) {
-        // Set up table columns and rows
-        int colCount = result.getColumnCount();
-        int rowCount = result.getRowCount();
+    /**
+     * Add the execution to the plan history in the background, since it runs another EXPLAIN
+     * (on the plan history's own connection) and rewrites the history file, and point out
+     * plan changes and regressions.
+     * Failures are only reported in the title, since the query itself succeeded.
+     */
+    private void recordPlan(DatabaseConnection connection, String query, QueryTimings timings) {
+        if (!planHistoryService.isEnabled()) {
+            return;
+        }
+        Thread worker = new Thread(() -> {
+            try {
+                PlanHistoryService.PlanCheck check = planHistoryService.record(connection, query, timings);
+                if (check != null && check.isFlagged()) {
+                    getApplication().invokeLater(() -> getApplication().messageBox("Plan History",
+                        "This query " + check.toString().replace("plan changed", "has a different plan")
+                            + ". See Tools > Plan History for a diff."));
+                }
+            } catch (Exception e) {
+                String errorMsg = (e.getMessage() != null) ? e.getMessage() : e.getClass().getSimpleName();
+                getApplication().invokeLater(() -> setTitle(getTitle() + " (plan not recorded: " + errorMsg + ")"));
+            }
+        }, "casvizer-plan-history");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Show a result and its timings in the status line.
+     *
+     * @return The result's timings including the rendering time, or null if not timed
+     */
+    private QueryTimings displayResults(QueryResult result) {
+        long renderStart = System.nanoTime();
+        ResultWindow.populateTable(resultsTable, result);
+        long renderNanos = System.nanoTime() - renderStart;
+        
+        // Update status message
+        String statusMsg = String.format("Rows: %d, Time: %dms%s", 
+            result.getRowCount(), result.getExecutionTimeMs(), result.isCached() ? " (cached)" : "");
+        QueryTimings timings = (result.getTimings() != null) ? result.getTimings().withRenderNanos(renderNanos) : null;
+        if (timings != null) {
+            statusMsg += " [" + timings.toStatusString() + "]";
+        }
+        setTitle("Query Editor - " + statusMsg);
+        return timings;
+    }
+
+    private void sortResults() {
+        if (currentResult == null) {
+            getApplication().messageBox("Info", "No results to sort. Execute a query first.");
+            return;
+        }
+        
+        String spec = getApplication().inputBox("Sort Results",
+            "Columns to sort by (e.g. country, amount desc):", "").getText();
+        if (spec == null || spec.trim().isEmpty()) {
+            return;
+        }
+        
+        try {
+            List<ResultViewService.SortKey> keys =
+                ResultViewService.SortKey.parse(spec, currentResult.getColumnNames());
+            currentResult = resultViewService.sort(currentResult, keys);
+            displayResults(currentResult);
+        } catch (Exception e) {
+            String errorMsg = (e.getMessage() != null) ? e.getMessage() : e.getClass().getSimpleName();
+            getApplication().messageBox("Error", "Sort failed: " + errorMsg);
+        }
+    }
+
+    private void filterResults() {
+        if (currentResult == null) {
+            getApplication().messageBox("Info", "No results to filter. Execute a query first.");
+            return;
+        }
+        
+        String expression = getApplication().inputBox("Filter Results",
+            "Filter (e.g. status = active, amount >= 10, name contains smith, email is null):", "").getText();
+        if (expression == null || expression.trim().isEmpty()) {
+            return;
+        }
+        
+        try {
+            ResultViewService.RowFilter filter =
+                ResultViewService.RowFilter.parse(expression, currentResult.getColumnNames());
+            currentResult = resultViewService.filter(currentResult, filter);
+            displayResults(currentResult);
+        } catch (Exception e) {
+            String errorMsg = (e.getMessage() != null) ? e.getMessage() : e.getClass().getSimpleName();
+            getApplication().messageBox("Error", "Filter failed: " + errorMsg);
+        }
+    }
+
+    private void searchResults() {
+        if (currentResult == null) {
+            getApplication().messageBox("Info", "No results to search. Execute a query first.");
+            return;
+        }
+        
+        new SearchWindow(getApplication(), resultSearchService, currentResult);
+    }
+
+    private void profileColumns() {
+        String query = queryEditor.getText();
+        if (query == null || query.trim().isEmpty()) {
+            getApplication().messageBox("Error", "Please enter a SQL query");
+            return;
+        }
+        DatabaseConnection connection = connectionService.getActiveConnection();
+        if (connection == null) {
+            getApplication().messageBox("Error", "No active connection");
+            return;
+        }
+        
+        new ProfileWindow(getApplication(), exportService, connection, query.trim());
+    }
+
+    private void explainQuery() {
+        String query = queryEditor.getText();
+        if (query == null || query.trim().isEmpty()) {
+            getApplication().messageBox("Error", "Please enter a SQL query");
+            return;
+        }
+        DatabaseConnection connection = connectionService.getActiveConnection();
+        if (connection == null) {
+            getApplication().messageBox("Error", "No active connection");
+            return;
+        }
+        
+        String mode = getApplication().inputBox("Explain Query",
+            "Mode: plan (estimates only) or analyze (executes the query):", "plan").getText();
+        if (mode == null || mode.trim().isEmpty()) {
+            return;
+        }
+        mode = mode.trim().toLowerCase(Locale.ROOT);
+        if (!mode.equals("plan") && !mode.equals("analyze")) {
+            getApplication().messageBox("Error", "Mode must be plan or analyze");
+            return;
+        }
         
-        resultsTable.setGridSize(colCount, rowCount);
+        new PlanWindow(getApplication(), queryService, planHistoryService, connection, query.trim(),
+            mode.equals("analyze"));
+    }
+
+    private void groupResults() {
+        if (currentResult == null) {
+            getApplication().messageBox("Info", "No results to group. Execute a query first.");
+            return;
+        }
         
-        // Set column headers
-        List<String> columns = result.getColumnNames();
-        for (int i = 0; i < columns.size(); i++) {
-            resultsTable.setColumnLabel(i, columns.get(i));
+        String columnSpec = getApplication().inputBox("Group Results",
+            "Group by one or two columns (e.g. country, status):", "").getText();
+        if (columnSpec == null || columnSpec.trim().isEmpty()) {
+            return;
+        }
+        String aggregateSpec = getApplication().inputBox("Group Results",
+            "Aggregates (count, sum, avg, min, max; e.g. count(*), sum(amount)):", "count(*)").getText();
+        if (aggregateSpec == null || aggregateSpec.trim().isEmpty()) {
+            return;
         }
         
-        // Set data rows
-        List<List<Object>> rows = result.getRows();
-        for (int rowIdx = 0; rowIdx < rows.size(); rowIdx++) {
-            List<Object> row = rows.get(rowIdx);
-            for (int colIdx = 0; colIdx < row.size(); colIdx++) {
-                Object value = row.get(colIdx);
-                String cellValue = value != null ? value.toString() : "NULL";
-                resultsTable.setCellText(colIdx, rowIdx, cellValue);
+        try {
+            List<String> columnNames = currentResult.getColumnNames();
+            List<Integer> groupColumns = new ArrayList<>();
+            for (String name : columnSpec.split(",")) {
+                groupColumns.add(ResultViewService.columnIndex(columnNames, name.trim()));
             }
+            QueryResult grouped = aggregationService.groupBy(currentResult, groupColumns,
+                AggregationService.Aggregate.parse(aggregateSpec, columnNames));
+            new ResultWindow(getApplication(), "Grouped Results - " + grouped.getRowCount() + " groups", grouped);
+        } catch (Exception e) {
+            String errorMsg = (e.getMessage() != null) ? e.getMessage() : e.getClass().getSimpleName();
+            getApplication().messageBox("Error", "Group by failed: " + errorMsg);
+        }
+    }
+
+    private void pivotResults() {
+        if (currentResult == null) {
+            getApplication().messageBox("Info", "No results to pivot. Execute a query first.");
+            return;
         }
         
-        // Update status message
-        String statusMsg = String.format("Rows: %d, Time: %dms", 
-            result.getRowCount(), result.getExecutionTimeMs());
-        setTitle("Query Editor - " + statusMsg);
+        String spec = getApplication().inputBox("Pivot Results",
+            "Row column, pivot column, aggregate (e.g. country, status, sum(amount)):", "").getText();
+        if (spec == null || spec.trim().isEmpty()) {
+            return;
+        }
+        
+        try {
+            String[] parts = spec.split(",", 3);
+            if (parts.length < 2) {
+                throw new IllegalArgumentException("Expected a row column and a pivot column");
+            }
+            List<String> columnNames = currentResult.getColumnNames();
+            String aggregateSpec = parts.length == 3 ? parts[2] : "count(*)";
+            List<AggregationService.Aggregate> aggregates =
+                AggregationService.Aggregate.parse(aggregateSpec, columnNames);
+            if (aggregates.size() != 1) {
+                throw new IllegalArgumentException("Pivot takes exactly one aggregate");
+            }
+            QueryResult pivoted = aggregationService.pivot(currentResult,
+                ResultViewService.columnIndex(columnNames, parts[0].trim()),
+                ResultViewService.columnIndex(columnNames, parts[1].trim()),
+                aggregates.get(0));
+            new ResultWindow(getApplication(), "Pivoted Results", pivoted);
+        } catch (Exception e) {
+            String errorMsg = (e.getMessage() != null) ? e.getMessage() : e.getClass().getSimpleName();
+            getApplication().messageBox("Error", "Pivot failed: " + errorMsg);
+        }
+    }
+
+    private void runScript() {
+        ScriptRunner running = activeScript;
+        if (running != null) {
+            running.cancel();
+            getApplication().messageBox("Run Script", "Cancelling the running script.");
+            return;
+        }
+        
+        DatabaseConnection connection = connectionService.getActiveConnection();
+        if (connection == null) {
+            getApplication().messageBox("Error", "No active connection");
+            return;
+        }
+        String file = getApplication().inputBox("Run Script",
+            "Script file (leave empty to run the editor text as a script):", "").getText();
+        if (file == null) {
+            return;
+        }
+        String policy = getApplication().inputBox("Run Script",
+            "On error (abort or continue):", "abort").getText();
+        if (policy == null || policy.trim().isEmpty()) {
+            return;
+        }
+        
+        ScriptRunner runner;
+        try {
+            ScriptRunner.ErrorPolicy errorPolicy =
+                ScriptRunner.ErrorPolicy.valueOf(policy.trim().toUpperCase(Locale.ROOT));
+            runner = new ScriptRunner(ScriptRunner.DEFAULT_BATCH_SIZE, ScriptRunner.DEFAULT_COMMIT_INTERVAL,
+                errorPolicy);
+        } catch (IllegalArgumentException e) {
+            getApplication().messageBox("Error", "Unknown error policy: " + policy.trim());
+            return;
+        }
+        String editorText = queryEditor.getText();
+        activeScript = runner;
+        setTitle("Query Editor - Running script...");
+        
+        Thread worker = new Thread(() -> {
+            String summary;
+            try {
+                ScriptRunner.ProgressListener listener = progress -> getApplication().invokeLater(
+                    () -> setTitle("Query Editor - Script: " + progress));
+                ScriptRunner.ScriptResult result = file.trim().isEmpty()
+                    ? runner.run(connection, new StringReader(editorText), listener)
+                    : runner.run(connection, Path.of(file.trim()), listener);
+                summary = formatScriptResult(result);
+            } catch (Exception e) {
+                String errorMsg = (e.getMessage() != null) ? e.getMessage() : e.getClass().getSimpleName();
+                summary = "Script failed: " + errorMsg;
+            } finally {
+                activeScript = null;
+                // The script may have changed any table on this connection
+                queryService.invalidateCache(connection.getProfile(), Set.of());
+            }
+            String message = summary;
+            getApplication().invokeLater(() -> {
+                setTitle("Query Editor");
+                getApplication().messageBox("Run Script", message);
+            });
+        }, "casvizer-script-runner");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void diffQueries() {
+        DataDiffService running = activeDiff;
+        if (running != null) {
+            running.cancel();
+            getApplication().messageBox("Diff", "Cancelling the running comparison.");
+            return;
+        }
+        
+        String query = queryEditor.getText();
+        if (query == null || query.trim().isEmpty()) {
+            getApplication().messageBox("Error", "Please enter the source query");
+            return;
+        }
+        DatabaseConnection source = connectionService.getActiveConnection();
+        if (source == null) {
+            getApplication().messageBox("Error", "No active connection");
+            return;
+        }
+        List<String> names = new ArrayList<>();
+        for (DatabaseConnection connection : connectionService.getAllConnections()) {
+            names.add(connection.getProfile().getName());
+        }
+        String targetName = getApplication().inputBox("Diff",
+            "Target connection (" + String.join(", ", names) + "):", source.getProfile().getName()).getText();
+        if (targetName == null || targetName.trim().isEmpty()) {
+            return;
+        }
+        DatabaseConnection target = null;
+        for (DatabaseConnection connection : connectionService.getAllConnections()) {
+            if (connection.getProfile().getName().equals(targetName.trim())) {
+                target = connection;
+            }
+        }
+        if (target == null) {
+            getApplication().messageBox("Error", "No open connection named " + targetName.trim());
+            return;
+        }
+        String targetQuery = getApplication().inputBox("Diff", "Target query:", query.trim()).getText();
+        if (targetQuery == null || targetQuery.trim().isEmpty()) {
+            return;
+        }
+        String keyColumn = getApplication().inputBox("Diff", "Unique integer key column:", "id").getText();
+        if (keyColumn == null || keyColumn.trim().isEmpty()) {
+            return;
+        }
+        
+        DataDiffService diffService = new DataDiffService();
+        activeDiff = diffService;
+        setTitle("Query Editor - Comparing...");
+        DatabaseConnection targetConnection = target;
+        
+        Thread worker = new Thread(() -> {
+            DataDiffService.DiffResult result = null;
+            String error = null;
+            try {
+                result = diffService.diff(source, query.trim(), targetConnection, targetQuery.trim(),
+                    keyColumn.trim(), DataDiffService.DEFAULT_MAX_REPORTED_DIFFERENCES);
+            } catch (Exception e) {
+                String errorMsg = (e.getMessage() != null) ? e.getMessage() : e.getClass().getSimpleName();
+                error = "Diff failed: " + errorMsg;
+            } finally {
+                activeDiff = null;
+            }
+            DataDiffService.DiffResult diff = result;
+            String message = error;
+            getApplication().invokeLater(() -> {
+                setTitle("Query Editor");
+                if (diff == null) {
+                    getApplication().messageBox("Diff", message);
+                } else if (diff.getDifferenceCount() == 0) {
+                    getApplication().messageBox("Diff", (diff.isCancelled() ? "Cancelled; no differences so far. "
+                        : "No differences. ") + diff);
+                } else {
+                    new ResultWindow(getApplication(), (diff.isCancelled() ? "Diff (cancelled) - " : "Diff - ")
+                        + diff, diff.toQueryResult());
+                }
+            });
+        }, "casvizer-diff-runner");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private static String formatScriptResult(ScriptRunner.ScriptResult result) {
+        StringBuilder message = new StringBuilder();
+        if (result.isCancelled()) {
+            message.append("Cancelled. ");
+        } else if (result.isAborted()) {
+            message.append("Aborted; uncommitted statements were rolled back. ");
+        } else {
+            message.append("Completed. ");
+        }
+        message.append(result);
+        int shown = 0;
+        for (ScriptRunner.ScriptError error : result.getErrors()) {
+            if (shown++ == 5) {
+                message.append("\n...");
+                break;
+            }
+            message.append("\n").append(error);
+        }
+        return message.toString();
+    }
+
+    private void resetResultView() {
+        if (currentResult == null) {
+            return;
+        }
+        currentResult = currentResult.withoutRowOrder();
+        displayResults(currentResult);
+    }
+
+    private void showStorageReport() {
+        if (currentResult == null) {
+            getApplication().messageBox("Info", "No results to describe. Execute a query first.");
+            return;
+        }
+        
+        new ResultWindow(getApplication(), "Result Storage", queryService.getStorageReport(currentResult));
+    }
+
+    private void materializeResults() {
+        String query = queryEditor.getText();
+        if (query == null || query.trim().isEmpty()) {
+            getApplication().messageBox("Error", "Please enter a SQL query");
+            return;
+        }
+        
+        String tableName = getApplication().inputBox("Materialize",
+            "Scratch table name (replaced if it exists):", "result_1").getText();
+        if (tableName == null || tableName.trim().isEmpty()) {
+            return;
+        }
+        
+        try {
+            ScratchWorkspace.MaterializeResult result = scratchWorkspace.materialize(
+                connectionService.getActiveConnection(), query.trim(), tableName.trim());
+            queryService.invalidateCache(scratchWorkspace.getProfile(),
+                Set.of(tableName.trim().toLowerCase(Locale.ROOT)));
+            getApplication().messageBox("Success", "Materialized " + result
+                + ". Use Tools > Scratch Workspace to query it.");
+        } catch (Exception e) {
+            String errorMsg = (e.getMessage() != null) ? e.getMessage() : e.getClass().getSimpleName();
+            getApplication().messageBox("Error", "Materialization failed: " + errorMsg);
+        }
     }
 
     private void exportResults() {
@@ -0,0 +1,79 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.ui;
+
+import casciian.TApplication;
+import casciian.TTable;
+import casciian.TWindow;
+import io.github.crramirez.casvizer.model.QueryResult;
+
+import java.util.List;
+
+/**
+ * Read-only window that shows a query result (or a report shaped like one) in a table.
+ */
+public class ResultWindow extends TWindow {
+    private final QueryResult result;
+    private TTable resultsTable;
+
+    public ResultWindow(TApplication application, String title, QueryResult result) {
+        super(application, title, 0, 0, 80, 20, RESIZABLE);
+
+        this.result = result;
+
+        setupUI();
+    }
+
+    private void setupUI() {
+        int row = 1;
+        resultsTable = addTable(2, row, getWidth() - 4, getHeight() - row - 4, 5, 10);
+        resultsTable.setShowColumnLabels(true);
+        populateTable(resultsTable, result);
+
+        row = getHeight() - 3;
+        addButton("&Close", 2, row, this::close);
+    }
+
+    /**
+     * Fill a table widget with the column labels and cell values of a result.
+     *
+     * @param table The table widget to fill
+     * @param result The result to display
+     */
+    static void populateTable(TTable table, QueryResult result) {
+        int colCount = result.getColumnCount();
+        int rowCount = result.getRowCount();
+        
+        table.setGridSize(colCount, rowCount);
+        
+        // Set column headers
+        List<String> columns = result.getColumnNames();
+        for (int i = 0; i < columns.size(); i++) {
+            table.setColumnLabel(i, columns.get(i));
+        }
+        
+        // Set data rows, reading cells directly from the column storage
+        for (int rowIdx = 0; rowIdx < rowCount; rowIdx++) {
+            for (int colIdx = 0; colIdx < colCount; colIdx++) {
+                Object value = result.getValue(rowIdx, colIdx);
+                String cellValue = value != null ? value.toString() : "NULL";
+                table.setCellText(colIdx, rowIdx, cellValue);
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.ui;
+
+import casciian.TApplication;
+import casciian.TField;
+import casciian.TList;
+import casciian.TWindow;
+import io.github.crramirez.casvizer.model.QueryResult;
+import io.github.crramirez.casvizer.service.ResultSearchService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Window for searching the cells of a query result.
+ * <p>
+ * Text written as {@code /pattern/} is treated as a regular expression. The search ignores
+ * case unless the text contains an upper-case letter. Matches are listed while the search
+ * runs; starting a new search or closing the window cancels the previous one.
+ */
+public class SearchWindow extends TWindow {
+    private static final int MAX_TEXT_LENGTH = 60;
+
+    private final ResultSearchService searchService;
+    private final QueryResult result;
+    private final List<ResultSearchService.CellMatch> matches = new ArrayList<>();
+    private TField searchField;
+    private TList matchList;
+    private ResultSearchService.SearchTask activeSearch;
+    private volatile int generation;
+    private boolean refreshPending;
+
+    public SearchWindow(TApplication application, ResultSearchService searchService, QueryResult result) {
+        super(application, "Search Results", 0, 0, 80, 20, RESIZABLE);
+
+        this.searchService = searchService;
+        this.result = result;
+
+        setupUI();
+    }
+
+    private void setupUI() {
+        int row = 1;
+        addLabel("Find:", 2, row);
+        searchField = addField(9, row, getWidth() - 24, false, "");
+        addButton("&Find", getWidth() - 13, row, this::startSearch);
+
+        row += 2;
+        matchList = addList(new ArrayList<>(), 2, row, getWidth() - 4, getHeight() - row - 4, null);
+
+        row = getHeight() - 3;
+        addButton("&Stop", 2, row, this::cancelSearch);
+        addButton("&Close", 12, row, this::close);
+    }
+
+    private void startSearch() {
+        cancelSearch();
+        synchronized (matches) {
+            matches.clear();
+        }
+        matchList.setList(new ArrayList<>());
+
+        String text = searchField.getText();
+        if (text == null || text.isEmpty()) {
+            setTitle("Search Results");
+            return;
+        }
+
+        boolean regex = text.length() > 2 && text.startsWith("/") && text.endsWith("/");
+        String pattern = regex ? text.substring(1, text.length() - 1) : text;
+        boolean caseInsensitive = pattern.equals(pattern.toLowerCase());
+
+        try {
+            setTitle("Search Results - searching...");
+            activeSearch = searchService.search(result, pattern, regex, caseInsensitive,
+                ResultSearchService.DEFAULT_MAX_MATCHES, new MatchCollector());
+        } catch (PatternSyntaxException e) {
+            setTitle("Search Results");
+            getApplication().messageBox("Error", "Invalid regular expression: " + e.getDescription());
+        }
+    }
+
+    private void cancelSearch() {
+        generation++;
+        if (activeSearch != null) {
+            activeSearch.cancel();
+            activeSearch = null;
+        }
+    }
+
+    @Override
+    public void onClose() {
+        cancelSearch();
+        super.onClose();
+    }
+
+    /**
+     * Redraw the match list on the UI thread.
+     */
+    private void refreshMatches(String status) {
+        List<String> lines = new ArrayList<>();
+        synchronized (matches) {
+            matches.sort((a, b) -> a.getRow() != b.getRow()
+                ? Integer.compare(a.getRow(), b.getRow()) : Integer.compare(a.getColumn(), b.getColumn()));
+            for (ResultSearchService.CellMatch match : matches) {
+                lines.add(formatMatch(match));
+            }
+            refreshPending = false;
+        }
+        matchList.setList(lines);
+        setTitle("Search Results - " + lines.size() + " matches" + status);
+    }
+
+    private String formatMatch(ResultSearchService.CellMatch match) {
+        String text = match.getText();
+        if (text.length() > MAX_TEXT_LENGTH) {
+            text = text.substring(0, MAX_TEXT_LENGTH) + "...";
+        }
+        return String.format("Row %d, %s: %s", match.getRow() + 1,
+            result.getColumnNames().get(match.getColumn()), text);
+    }
+
+    /**
+     * Collects the matches of one search and schedules list updates, coalescing bursts of
+     * chunk results into a single redraw. Callbacks from a superseded search are ignored.
+     */
+    private class MatchCollector implements ResultSearchService.SearchListener {
+        private final int searchGeneration = generation;
+
+        @Override
+        public void onMatches(List<ResultSearchService.CellMatch> chunk) {
+            boolean schedule;
+            synchronized (matches) {
+                if (isStale()) {
+                    return;
+                }
+                matches.addAll(chunk);
+                schedule = !refreshPending;
+                refreshPending = true;
+            }
+            if (schedule) {
+                getApplication().invokeLater(() -> {
+                    if (!isStale()) {
+                        refreshMatches(" (searching...)");
+                    }
+                });
+            }
+        }
+
+        @Override
+        public void onComplete(int matchCount, boolean cancelled) {
+            getApplication().invokeLater(() -> {
+                if (!isStale()) {
+                    refreshMatches(matchCount >= ResultSearchService.DEFAULT_MAX_MATCHES ? " (limit reached)" : "");
+                }
+            });
+        }
+
+        private boolean isStale() {
+            return searchGeneration != generation;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Casvizer - Database visualization TUI tool
+ *
+ * Copyright 2025 Carlos Rafael Ramirez
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.crramirez.casvizer.ui;
+
+import casciian.TApplication;
+import casciian.TList;
+import casciian.TWindow;
+import io.github.crramirez.casvizer.service.StatementStatistics;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Window listing the statements executed in this session by fingerprint, the ones with
+ * the most total time first, with their calls, mean and p95 time and rows.
+ */
+public class StatementStatisticsWindow extends TWindow {
+    private static final int FINGERPRINT_PREVIEW_LENGTH = 60;
+
+    private final StatementStatistics statementStatistics;
+    private TList statementList;
+    // Statements in list order, most total time first
+    private final List<StatementStatistics.StatementStats> statements = new ArrayList<>();
+
+    public StatementStatisticsWindow(TApplication application, StatementStatistics statementStatistics) {
+        super(application, "Statement Statistics", 0, 0, 120, 24, RESIZABLE);
+
+        this.statementStatistics = statementStatistics;
+
+        setupUI();
+        loadStatistics();
+    }
+
+    private void setupUI() {
+        int row = 1;
+        addLabel(String.format("%7s %10s %9s %9s %10s %5s  %s", "Calls", "Total ms", "Mean ms", "p95 ms", "Rows",
+            "Err", "Statement [profile]"), 2, row++);
+        statementList = addList(new ArrayList<>(), 2, row, getWidth() - 4, getHeight() - row - 4, null);
+        
+        row = getHeight() - 3;
+        addButton("&Details", 2, row, this::showDetails);
+        addButton("&Table", 14, row, this::showTable);
+        addButton("&Refresh", 24, row, this::loadStatistics);
+        addButton("R&eset", 36, row, this::reset);
+        addButton("&Close", 46, row, this::close);
+    }
+
+    private void loadStatistics() {
+        statements.clear();
+        statements.addAll(statementStatistics.getStatements());
+        List<String> items = new ArrayList<>();
+        for (StatementStatistics.StatementStats stats : statements) {
+            String fingerprint = stats.getFingerprint();
+            if (fingerprint.length() > FINGERPRINT_PREVIEW_LENGTH) {
+                fingerprint = fingerprint.substring(0, FINGERPRINT_PREVIEW_LENGTH - 3) + "...";
+            }
+            items.add(String.format("%,7d %,10.1f %,9.2f %,9.2f %,10d %5d  %s  [%s]",
+                stats.getCalls(), stats.getTotalNanos() / 1_000_000.0, stats.getMeanNanos() / 1_000_000.0,
+                stats.getPercentileNanos(95) / 1_000_000.0, stats.getRows(), stats.getErrors(), fingerprint,
+                stats.getProfileName()));
+        }
+        statementList.setList(items.isEmpty() ? List.of("No statements executed") : items);
+        String dropped = (statementStatistics.getDeallocations() > 0)
+            ? String.format(", %d dropped", statementStatistics.getDeallocations()) : "";
+        setTitle(String.format("Statement Statistics - %d of %d statements%s", statements.size(),
+            statementStatistics.getMaxStatements(), dropped));
+    }
+
+    private void showDetails() {
+        int index = statementList.getSelectedIndex();
+        if (index < 0 || index >= statements.size()) {
+            getApplication().messageBox("Info", "Select a statement first.");
+            return;
+        }
+        StatementStatistics.StatementStats stats = statements.get(index);
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        getApplication().messageBox("Statement", String.format(
+            "%s%n%nExample:%n%s%n%n%d calls, %d errors on %s%nTotal %.1f ms, mean %.2f ms, p95 %.2f ms, max %.2f ms"
+                + "%n%d rows%nFirst run %s, last run %s",
+            stats.getFingerprint(), stats.getExample(), stats.getCalls(), stats.getErrors(), stats.getProfileName(),
+            stats.getTotalNanos() / 1_000_000.0, stats.getMeanNanos() / 1_000_000.0,
+            stats.getPercentileNanos(95) / 1_000_000.0, stats.getMaxNanos() / 1_000_000.0, stats.getRows(),
+            dateFormat.format(new Date(stats.getFirstSeen())), dateFormat.format(new Date(stats.getLastSeen()))));
+    }
+
+    private void showTable() {
+        new ResultWindow(getApplication(), "Statement Statistics", statementStatistics.toQueryResult());
+    }
+
+    private void reset() {
+        statementStatistics.reset();
+        loadStatistics();
+    }
+}